@@ -31,8 +31,10 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.function.IntFunction;
 
+import org.adempiere.ad.persistence.POSaveBatch;
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.trx.api.OnTrxMissingPolicy;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.adempiere.location.LocationId;
@@ -41,6 +43,8 @@ import org.adempiere.service.ClientId;
 import org.adempiere.service.ISysConfigBL;
 import org.adempiere.service.OrgId;
 import org.adempiere.user.UserId;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.adempiere.util.lang.NullAutoCloseable;
 import org.adempiere.util.logging.LoggingHelper;
 import org.adempiere.warehouse.WarehouseId;
 import org.compiere.model.I_C_BP_BankAccount;
@@ -151,6 +155,8 @@ import lombok.NonNull;
 public abstract class Doc<DocLineType extends DocLine<?>>
 {
 	private final String SYSCONFIG_CREATE_NOTE_ON_ERROR = "org.compiere.acct.Doc.createNoteOnPostError";
+	/** If enabled, all Fact_Acct records of a document are inserted in one JDBC batch (see {@link POSaveBatch}) */
+	private static final String SYSCONFIG_SaveFactAcctInBatch = "org.compiere.acct.Doc.SaveFactAcctInBatch";
 
 	// services
 	private final transient ISysConfigBL sysConfigBL = Services.get(ISysConfigBL.class);
@@ -517,15 +523,18 @@ public abstract class Doc<DocLineType extends DocLine<?>>
 		//
 		// Save facts
 		// p_Status = postCommit (p_Status);
-		for (final Fact fact : facts)
+		try (final IAutoCloseable saveBatch = temporaryEnableFactAcctSaveBatch())
 		{
-			// Skip null facts
-			if (fact == null)
+			for (final Fact fact : facts)
 			{
-				continue;
-			}
+				// Skip null facts
+				if (fact == null)
+				{
+					continue;
+				}
 
-			fact.save();
+				fact.save();
+			}
 		}
 
 		//
@@ -548,6 +557,23 @@ public abstract class Doc<DocLineType extends DocLine<?>>
 		}
 	}
 
+	private IAutoCloseable temporaryEnableFactAcctSaveBatch()
+	{
+		if (!sysConfigBL.getBooleanValue(SYSCONFIG_SaveFactAcctInBatch, false, getAD_Client_ID(), getAD_Org_ID()))
+		{
+			return NullAutoCloseable.instance;
+		}
+
+		final String trxName = trxManager.getThreadInheritedTrxName(OnTrxMissingPolicy.ReturnTrxNone);
+		if (trxManager.isNull(trxName))
+		{
+			return NullAutoCloseable.instance;
+		}
+
+		// NOTE: the pending inserts are executed when the batch is closed, i.e. before the AFTER_POST listeners are fired
+		return POSaveBatch.temporaryEnable(trxName);
+	}
+
 	/**
 	 * Delete Accounting
 	 *
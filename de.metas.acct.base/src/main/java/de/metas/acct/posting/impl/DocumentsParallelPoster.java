@@ -0,0 +1,170 @@
+package de.metas.acct.posting.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.adempiere.service.ClientId;
+import org.adempiere.util.concurrent.OrderedParallelExecutor;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.adempiere.util.lang.impl.TableRecordReference;
+import org.compiere.model.I_M_InOut;
+import org.compiere.model.I_M_Inventory;
+import org.compiere.model.I_M_MatchInv;
+import org.compiere.model.I_M_MatchPO;
+import org.compiere.model.I_M_Movement;
+import org.compiere.util.Env;
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.acct.api.IPostingRequestBuilder.PostImmediate;
+import de.metas.acct.api.IPostingService;
+import de.metas.document.engine.IDocument;
+import de.metas.logging.LogManager;
+import de.metas.util.Services;
+import lombok.Builder;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.acct.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Posts a set of documents directly (without contacting the accounting server), using multiple threads.
+ * <p>
+ * The documents which are relevant for costing (material receipts and shipments, matchings, inventories and movements) are posted one after the other by the same thread,
+ * ordered by document date, because their costs depend on the costs posted by the documents before them, no matter the table.
+ * The other documents are posted in parallel, one thread per table, each table's documents in the given order.
+ * <p>
+ * Each document is posted in its own transaction, for all accounting schemas of the client.
+ */
+public final class DocumentsParallelPoster
+{
+	private static final Logger logger = LogManager.getLogger(DocumentsParallelPoster.class);
+	private final IPostingService postingService = Services.get(IPostingService.class);
+
+	/** Tables whose documents are posted sequentially, ordered by document date, because they are relevant for costing */
+	private static final ImmutableSet<String> COSTING_TABLE_NAMES = ImmutableSet.of(
+			I_M_InOut.Table_Name,
+			I_M_MatchInv.Table_Name,
+			I_M_Inventory.Table_Name,
+			I_M_Movement.Table_Name,
+			I_M_MatchPO.Table_Name);
+
+	private final ClientId clientId;
+	private final int threadsCount;
+
+	/**
+	 * @param threadsCount maximum number of threads used for posting; if less than 2, the documents are posted sequentially
+	 */
+	@Builder
+	private DocumentsParallelPoster(
+			@NonNull final ClientId clientId,
+			final int threadsCount)
+	{
+		this.clientId = clientId;
+		this.threadsCount = threadsCount;
+	}
+
+	public void postAll(@NonNull final List<IDocument> documents)
+	{
+		final List<List<TableRecordReference>> lanes = splitInLanes(documents);
+
+		final int threadsCountEffective = Math.min(threadsCount, lanes.size());
+		if (threadsCountEffective <= 1)
+		{
+			logger.debug("Posting {} documents sequentially", documents.size());
+			documents.forEach(document -> post(document.toTableRecordReference()));
+			return;
+		}
+
+		logger.debug("Posting {} documents in {} lanes, using {} threads", documents.size(), lanes.size(), threadsCountEffective);
+
+		final Properties ctx = Env.getCtx();
+		try (final OrderedParallelExecutor<Void> executor = OrderedParallelExecutor.<Void> builder()
+				.threadNamePrefix(DocumentsParallelPoster.class.getSimpleName())
+				.threadsCount(threadsCountEffective)
+				.build())
+		{
+			lanes.forEach(lane -> executor.submit(() -> postAll(ctx, lane)));
+			executor.awaitAll();
+		}
+	}
+
+	/**
+	 * @return the lists of documents which shall be posted sequentially: first the costing relevant documents ordered by date (if any), then the other documents, one list per table.
+	 */
+	private static List<List<TableRecordReference>> splitInLanes(final List<IDocument> documents)
+	{
+		final List<IDocument> costingDocuments = new ArrayList<>();
+		final Map<Integer, List<TableRecordReference>> otherDocumentRefsByTableId = new LinkedHashMap<>();
+		for (final IDocument document : documents)
+		{
+			final TableRecordReference documentRef = document.toTableRecordReference();
+			if (COSTING_TABLE_NAMES.contains(documentRef.getTableName()))
+			{
+				costingDocuments.add(document);
+			}
+			else
+			{
+				otherDocumentRefsByTableId.computeIfAbsent(documentRef.getAD_Table_ID(), tableId -> new ArrayList<>()).add(documentRef);
+			}
+		}
+
+		final ImmutableList.Builder<List<TableRecordReference>> lanes = ImmutableList.builder();
+		if (!costingDocuments.isEmpty())
+		{
+			// NOTE: the sorting is stable, so documents with the same date are posted in the given order
+			lanes.add(costingDocuments.stream()
+					.sorted(Comparator.comparing(IDocument::getDocumentDate, Comparator.nullsLast(Comparator.naturalOrder())))
+					.map(IDocument::toTableRecordReference)
+					.collect(ImmutableList.toImmutableList()));
+		}
+		lanes.addAll(otherDocumentRefsByTableId.values());
+		return lanes.build();
+	}
+
+	private void postAll(final Properties ctx, final List<TableRecordReference> documentRefs)
+	{
+		// NOTE: each thread gets its own copy, because the context is changed while posting
+		try (final IAutoCloseable ctxRestorer = Env.switchContext(Env.copyCtx(ctx)))
+		{
+			documentRefs.forEach(this::post);
+		}
+	}
+
+	private void post(final TableRecordReference documentRef)
+	{
+		postingService.newPostingRequest()
+				.setClientId(clientId)
+				.setDocument(documentRef.getAD_Table_ID(), documentRef.getRecord_ID())
+				.setFailOnError(false) // don't stop posting the other documents if one fails
+				.setPostImmediate(PostImmediate.Yes)
+				.setForce(false)
+				.setPostWithoutServer() // post directly, in this thread
+				.postIt();
+	}
+}
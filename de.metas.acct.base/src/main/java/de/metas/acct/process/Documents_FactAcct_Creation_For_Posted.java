@@ -5,12 +5,12 @@ import java.util.Date;
 import java.util.List;
 
 import org.adempiere.service.ClientId;
+import org.adempiere.service.ISysConfigBL;
 import org.compiere.model.POInfo;
 import org.compiere.util.TimeUtil;
 
-import de.metas.acct.api.IPostingRequestBuilder.PostImmediate;
-import de.metas.acct.api.IPostingService;
 import de.metas.acct.posting.IDocumentRepostingSupplierService;
+import de.metas.acct.posting.impl.DocumentsParallelPoster;
 import de.metas.document.engine.IDocument;
 import de.metas.process.JavaProcess;
 import de.metas.process.Param;
@@ -49,6 +49,9 @@ import de.metas.util.time.SystemTime;
  */
 public class Documents_FactAcct_Creation_For_Posted extends JavaProcess
 {
+	/** Max number of document tables to be posted in parallel; 0 or 1 means the documents are posted sequentially */
+	private static final String SYSCONFIG_ThreadsCount = "de.metas.acct.process.Documents_FactAcct_Creation_For_Posted.ThreadsCount";
+
 	@Param(parameterName = "DateStart")
 	private Date p_Date;
 
@@ -79,8 +82,6 @@ public class Documents_FactAcct_Creation_For_Posted extends JavaProcess
 
 		final ILoggable loggable = Loggables.get();
 
-		final IPostingService postingService = Services.get(IPostingService.class);
-
 		for (final IDocument document : documentsPostedNoFacts)
 		{
 			final int tableID = document.get_Table_ID();
@@ -99,17 +100,16 @@ public class Documents_FactAcct_Creation_For_Posted extends JavaProcess
 					recordID,
 					tableName,
 					documentNo);
-
-			postingService.newPostingRequest()
-					.setClientId(ClientId.ofRepoId(getAD_Client_ID()))
-					.setDocument(document) // the document to be posted
-					.setFailOnError(false) // don't fail because we don't want to fail the main document posting because one of it's depending documents are failing
-					.setPostImmediate(PostImmediate.Yes) // yes, post it immediate
-					.setForce(false) // don't force it
-					.setPostWithoutServer() // post directly (don't contact the server) because we want to post on client or server like the main document
-					.postIt(); // do it!
 		}
 
+		// post directly (don't contact the server) because we want to post on client or server like the main document.
+		// NOTE: failing documents are not stopping the others from being posted
+		DocumentsParallelPoster.builder()
+				.clientId(ClientId.ofRepoId(getAD_Client_ID()))
+				.threadsCount(Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_ThreadsCount, 0))
+				.build()
+				.postAll(documentsPostedNoFacts);
+
 		return MSG_OK;
 	}
 
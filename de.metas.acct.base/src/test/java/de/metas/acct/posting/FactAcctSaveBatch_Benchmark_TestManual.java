@@ -0,0 +1,109 @@
+package de.metas.acct.posting;
+
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.ad.persistence.POSaveBatch;
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.tools.AdempiereToolsHelper;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.adempiere.util.lang.NullAutoCloseable;
+import org.compiere.model.PO;
+import org.compiere.model.X_Fact_Acct;
+import org.compiere.util.Env;
+import org.junit.Ignore;
+
+import com.google.common.base.Stopwatch;
+
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * de.metas.acct.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Compares saving the Fact_Acct records of a synthetic document set one by one with saving them in one JDBC batch per document
+ * (like {@link org.compiere.acct.Doc} does when <code>org.compiere.acct.Doc.SaveFactAcctInBatch</code> is enabled).
+ * <p>
+ * The synthetic records are copies of an existing Fact_Acct record. Everything is rolled back at the end.
+ * <p>
+ * Arguments: template Fact_Acct_ID, [documents count (default 2000)], [lines per document (default 20)]
+ */
+@Ignore
+public class FactAcctSaveBatch_Benchmark_TestManual
+{
+	public static void main(final String[] args)
+	{
+		final int templateFactAcctId = Integer.parseInt(args[0]);
+		final int documentsCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		final int linesPerDocument = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+		AdempiereToolsHelper.getInstance().startupMinimal();
+
+		final X_Fact_Acct template = new X_Fact_Acct(Env.getCtx(), templateFactAcctId, ITrx.TRXNAME_None);
+		Env.setContext(Env.getCtx(), Env.CTXNAME_AD_Client_ID, template.getAD_Client_ID());
+
+		// warm up
+		run(template, 50, linesPerDocument, false);
+		run(template, 50, linesPerDocument, true);
+
+		final long oneByOneMillis = run(template, documentsCount, linesPerDocument, false);
+		final long batchedMillis = run(template, documentsCount, linesPerDocument, true);
+
+		final int linesCount = documentsCount * linesPerDocument;
+		System.out.println("Fact_Acct records: " + linesCount + " (" + documentsCount + " documents x " + linesPerDocument + " lines)");
+		System.out.println("One by one: " + oneByOneMillis + "ms (" + linesCount * 1000L / Math.max(oneByOneMillis, 1) + " records/sec)");
+		System.out.println("Batched per document: " + batchedMillis + "ms (" + linesCount * 1000L / Math.max(batchedMillis, 1) + " records/sec)");
+	}
+
+	private static long run(final X_Fact_Acct template, final int documentsCount, final int linesPerDocument, final boolean batched)
+	{
+		final ITrxManager trxManager = Services.get(ITrxManager.class);
+		final String trxName = trxManager.createTrxName("FactAcctSaveBatch_Benchmark", true);
+		final ITrx trx = trxManager.get(trxName, false);
+		try
+		{
+			final Stopwatch stopwatch = Stopwatch.createStarted();
+			for (int documentNo = 1; documentNo <= documentsCount; documentNo++)
+			{
+				try (final IAutoCloseable saveBatch = batched ? POSaveBatch.temporaryEnable(trxName) : NullAutoCloseable.instance)
+				{
+					for (int lineNo = 1; lineNo <= linesPerDocument; lineNo++)
+					{
+						final X_Fact_Acct factAcct = new X_Fact_Acct(Env.getCtx(), 0, trxName);
+						PO.copyValues(template, factAcct);
+						factAcct.setAD_Org_ID(template.getAD_Org_ID());
+						factAcct.setRecord_ID(documentNo);
+						factAcct.setLine_ID(lineNo);
+						factAcct.saveEx();
+					}
+				}
+			}
+			// NOTE: the pending statements of each document were executed when its batch scope was closed
+			return stopwatch.elapsed(TimeUnit.MILLISECONDS);
+		}
+		finally
+		{
+			trx.rollback();
+			trx.close();
+		}
+	}
+}
@@ -31,7 +31,12 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.IQueryFilter;
@@ -41,6 +46,8 @@ import org.adempiere.ad.dao.IQueryUpdater;
 import org.adempiere.ad.dao.ISqlQueryUpdater;
 import org.adempiere.ad.persistence.TableModelLoader;
 import org.adempiere.ad.security.IUserRolePermissions;
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.adempiere.exceptions.DBMoreThenOneRecordsFoundException;
@@ -301,6 +308,7 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 		}
 
 		final String sql = buildSQL(null, true);
+		final QueryShapeProfiler.Sample profilerSample = QueryShapeProfiler.instance.startSampleOrNull();
 
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
@@ -333,6 +341,11 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 			DB.close(rs, pstmt);
 			rs = null;
 			pstmt = null;
+
+			if (profilerSample != null)
+			{
+				QueryShapeProfiler.instance.stop(profilerSample, sql, list.size());
+			}
 		}
 		return list;
 	}
@@ -348,10 +361,15 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 	 * @throws SQLException
 	 */
 	private final <ET extends T> ET retrieveNextModel(final ResultSet rs, final Class<ET> clazz) throws SQLException
+	{
+		return retrieveNextModel(rs, clazz, trxName);
+	}
+
+	private final <ET extends T> ET retrieveNextModel(final ResultSet rs, final Class<ET> clazz, final String modelTrxName) throws SQLException
 	{
 		while (rs.next())
 		{
-			final ET model = retrieveModel(rs, clazz);
+			final ET model = retrieveModel(rs, clazz, modelTrxName);
 			if (postQueryFilter == null)
 			{
 				return model;
@@ -377,15 +395,204 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 	 * @param clazz
 	 * @return next model
 	 */
-	private final <ET extends T> ET retrieveModel(final ResultSet rs, final Class<ET> clazz)
+	private final <ET extends T> ET retrieveModel(final ResultSet rs, final Class<ET> clazz, final String modelTrxName)
 	{
 		final String tableName = getTableName();
 
 		final Class<?> modelClassToUse = clazz != null ? clazz : this.modelClass;
-		final ET model = TableModelLoader.instance.retrieveModel(ctx, tableName, modelClassToUse, rs, trxName);
+		final ET model = TableModelLoader.instance.retrieveModel(ctx, tableName, modelClassToUse, rs, modelTrxName);
 		return model;
 	}
 
+	@Override
+	public <ET extends T> Stream<ET> streamUsingCursor(final Class<ET> clazz) throws DBException
+	{
+		final ITrxManager trxManager = Services.get(ITrxManager.class);
+
+		// PostgreSQL is using a cursor (i.e. is not loading all rows at once) only if we are not in autocommit mode.
+		// So, if we are not running in a transaction, we need to create our own one.
+		final boolean useCursorTrx = !trxManager.isActive(trxName);
+		final String cursorTrxName = useCursorTrx ? trxManager.createTrxName("TypedSqlQuery_Cursor", true) : trxName;
+		final String modelTrxName = useCursorTrx ? ITrx.TRXNAME_None : trxName;
+
+		final String sql = buildSQL(null, true);
+
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		boolean success = false;
+		try
+		{
+			if (useCursorTrx)
+			{
+				DB.executeUpdateEx("SET TRANSACTION READ ONLY", cursorTrxName);
+			}
+
+			pstmt = DB.prepareStatement(sql, cursorTrxName);
+			pstmt.setFetchSize(getCursorFetchSize());
+			rs = createResultSet(pstmt);
+
+			final CursorIterator<ET> iterator = new CursorIterator<>(clazz, modelTrxName, pstmt, rs, useCursorTrx ? cursorTrxName : null);
+			success = true;
+
+			final boolean parallel = false;
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), parallel)
+					.onClose(iterator::close);
+		}
+		catch (final SQLException e)
+		{
+			throw new DBException(e, sql, getParametersEffective());
+		}
+		finally
+		{
+			if (!success)
+			{
+				DB.close(rs, pstmt);
+				if (useCursorTrx)
+				{
+					closeCursorTrx(cursorTrxName);
+				}
+			}
+		}
+	}
+
+	private int getCursorFetchSize()
+	{
+		final Integer fetchSize = getOption(OPTION_CursorFetchSize);
+		if (fetchSize != null && fetchSize > 0)
+		{
+			return fetchSize;
+		}
+		else if (limit > 0 && limit < DEFAULT_OPTION_CursorFetchSize)
+		{
+			return limit;
+		}
+		else
+		{
+			return DEFAULT_OPTION_CursorFetchSize;
+		}
+	}
+
+	private static void closeCursorTrx(final String cursorTrxName)
+	{
+		final ITrx trx = Services.get(ITrxManager.class).getTrxOrNull(cursorTrxName);
+		if (trx != null)
+		{
+			// nothing was changed, so there is nothing to commit
+			trx.rollback();
+			trx.close();
+		}
+	}
+
+	/**
+	 * Iterates a {@link ResultSet} which was opened with a fetch size (i.e. a database cursor) and loads the models on the fly.
+	 * The database resources are released when the last model was fetched or when {@link #close()} is called.
+	 */
+	private final class CursorIterator<ET extends T> implements Iterator<ET>
+	{
+		private final Class<ET> clazz;
+		private final String modelTrxName;
+		private final boolean readOnly;
+		private final String cursorTrxNameToClose;
+
+		private PreparedStatement pstmt;
+		private ResultSet rs;
+
+		private ET nextModel = null;
+		private int countFetched = 0;
+		private boolean closed = false;
+
+		private CursorIterator(
+				final Class<ET> clazz,
+				final String modelTrxName,
+				final PreparedStatement pstmt,
+				final ResultSet rs,
+				final String cursorTrxNameToClose)
+		{
+			this.clazz = clazz;
+			this.modelTrxName = modelTrxName;
+			this.readOnly = isReadOnlyRecords();
+			this.pstmt = pstmt;
+			this.rs = rs;
+			this.cursorTrxNameToClose = cursorTrxNameToClose;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			if (nextModel != null)
+			{
+				return true;
+			}
+			if (closed)
+			{
+				return false;
+			}
+
+			if (limit > 0 && countFetched >= limit)
+			{
+				close();
+				return false;
+			}
+
+			try
+			{
+				nextModel = retrieveNextModel(rs, clazz, modelTrxName);
+			}
+			catch (final SQLException e)
+			{
+				close();
+				throw new DBException(e, buildSQL(null, true), getParametersEffective());
+			}
+			catch (final RuntimeException e)
+			{
+				// e.g. the model could not be loaded or the post-query filter failed
+				close();
+				throw e;
+			}
+
+			if (nextModel == null)
+			{
+				close();
+				return false;
+			}
+
+			InterfaceWrapperHelper.setSaveDeleteDisabled(nextModel, readOnly);
+			countFetched++;
+			return true;
+		}
+
+		@Override
+		public ET next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+
+			final ET model = nextModel;
+			nextModel = null;
+			return model;
+		}
+
+		public void close()
+		{
+			if (closed)
+			{
+				return;
+			}
+			closed = true;
+
+			DB.close(rs, pstmt);
+			rs = null;
+			pstmt = null;
+
+			if (cursorTrxNameToClose != null)
+			{
+				closeCursorTrx(cursorTrxNameToClose);
+			}
+		}
+	}
+
 	/**
 	 * Return first PO that match query criteria
 	 *
@@ -415,6 +622,7 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 		// metas: end
 
 		final String sql = buildSQL(null/*selectClause*/, true/*useOrderByClause*/);
+		final QueryShapeProfiler.Sample profilerSample = QueryShapeProfiler.instance.startSampleOrNull();
 
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
@@ -441,6 +649,11 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 			DB.close(rs, pstmt);
 			rs = null;
 			pstmt = null;
+
+			if (profilerSample != null)
+			{
+				QueryShapeProfiler.instance.stop(profilerSample, sql, model != null ? 1 : 0);
+			}
 		}
 
 		return model;
@@ -475,6 +688,7 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 				null,    // selectClause: use default (i.e. all columns)
 				false // useOrderByClause=false because we expect only one record
 		);
+		final QueryShapeProfiler.Sample profilerSample = QueryShapeProfiler.instance.startSampleOrNull();
 
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
@@ -509,6 +723,11 @@ public class TypedSqlQuery<T> extends AbstractTypedQuery<T>
 			DB.close(rs, pstmt);
 			rs = null;
 			pstmt = null;
+
+			if (profilerSample != null)
+			{
+				QueryShapeProfiler.instance.stop(profilerSample, sql, model != null ? 1 : 0);
+			}
 		}
 
 		return model;
@@ -170,6 +170,14 @@ public interface AdempiereDatabase
 	 */
 	public int getNextID(String Name);
 
+	/**
+	 * Return the next <code>count</code> values of given sequence
+	 *
+	 * @param sequenceName sequence name
+	 * @param count how many values to fetch
+	 */
+	public int[] getNextIDs(String sequenceName, int count);
+
 	/**
 	 * Creates SQL for retrieving next sequence value.
 	 *
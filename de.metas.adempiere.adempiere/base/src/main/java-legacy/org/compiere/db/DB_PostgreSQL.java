@@ -41,8 +41,12 @@ import org.compiere.util.DisplayType;
 import org.compiere.util.Ini;
 import org.slf4j.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.mchange.v2.c3p0.ComboPooledDataSource;
 
 import de.metas.connection.impl.DB_PostgreSQL_ConnectionCustomizer;
@@ -66,6 +70,13 @@ public class DB_PostgreSQL implements AdempiereDatabase
 	private static final String CONFIG_UseNativeConverter = "org.compiere.db.DB_PostgreSQL.UseNativeConverter";
 	private static final String CONFIG_UseNativeConverter_DefaultValue = "true";
 	private static final String CONFIG_CheckoutTimeout = "org.compiere.db.DB_PostgreSQL.CheckoutTimeout";
+	/** Max number of converted statements to be cached; 0 disables the cache */
+	private static final String CONFIG_ConvertedStatementsCacheSize = "org.compiere.db.DB_PostgreSQL.ConvertedStatementsCacheSize";
+	private static final int CONFIG_ConvertedStatementsCacheSize_DefaultValue = 5000;
+	/** Statements longer than this are not cached (e.g. statements with many embedded values, like <code>IN (...)</code> lists) */
+	private static final int CONVERTED_STATEMENTS_CACHE_MaxStatementLength = 4000;
+	/** Statements with a numeric literal having at least this number of digits are not cached because they most probably contain embedded IDs or dates */
+	private static final int CONVERTED_STATEMENTS_CACHE_MaxNumericLiteralDigits = 4;
 
 	/**
 	 * Statement Converter for external use (i.e. returned by {@link #getConvert()}.
@@ -79,6 +90,9 @@ public class DB_PostgreSQL implements AdempiereDatabase
 	 */
 	private final Convert m_convertInternal;
 
+	/** Converted statements, indexed by original statement; <code>null</code> if disabled */
+	private final Cache<String, String> convertedStatementsCache;
+
 	/** Database driver */
 	private static final Supplier<org.postgresql.Driver> driverSupplier = Suppliers.memoize(new Supplier<org.postgresql.Driver>()
 	{
@@ -151,6 +165,13 @@ public class DB_PostgreSQL implements AdempiereDatabase
 			this.m_convertInternal = converter;
 		}
 
+		//
+		// Cache the converted statements, but only if the internal converter is actually converting something.
+		// The native converter is a pass-through, so a cache lookup would cost more than the conversion.
+		final int convertedStatementsCacheSize = Integer.getInteger(CONFIG_ConvertedStatementsCacheSize, CONFIG_ConvertedStatementsCacheSize_DefaultValue);
+		this.convertedStatementsCache = !useNativeConverter && convertedStatementsCacheSize > 0
+				? CacheBuilder.newBuilder().maximumSize(convertedStatementsCacheSize).recordStats().build()
+				: null;
 	}   // DB_PostgreSQL
 
 	@Override
@@ -336,6 +357,10 @@ public class DB_PostgreSQL implements AdempiereDatabase
 			sb.append(" , # Busy Connections: ").append(m_ds.getNumBusyConnections()).append("/").append(m_maxbusyconnectionsThreshold);
 			sb.append(" , # Idle Connections: ").append(m_ds.getNumIdleConnections());
 			sb.append(" , # Orphaned Connections: ").append(m_ds.getNumUnclosedOrphanedConnections());
+			if (convertedStatementsCache != null)
+			{
+				sb.append(" , Converted statements cache: ").append(getConvertedStatementsCacheStats());
+			}
 		}
 		catch (Exception e)
 		{
@@ -352,6 +377,76 @@ public class DB_PostgreSQL implements AdempiereDatabase
 	 */
 	@Override
 	public String convertStatement(final String oraStatement)
+	{
+		if (convertedStatementsCache == null || !isConvertedStatementCacheable(oraStatement))
+		{
+			return convertStatement0(oraStatement);
+		}
+
+		String pgStatement = convertedStatementsCache.getIfPresent(oraStatement);
+		if (pgStatement == null)
+		{
+			// NOTE: the conversion is deterministic, so it's no problem if two threads are converting the same statement in the same time
+			pgStatement = convertStatement0(oraStatement);
+			convertedStatementsCache.put(oraStatement, pgStatement);
+		}
+		return pgStatement;
+	}
+
+	/**
+	 * @return false if the statement is not worth caching, because it looks like it has embedded values (i.e. it's unlikely to be executed again)
+	 */
+	@VisibleForTesting
+	static boolean isConvertedStatementCacheable(final String sql)
+	{
+		if (sql == null)
+		{
+			return false;
+		}
+
+		final int length = sql.length();
+		if (length > CONVERTED_STATEMENTS_CACHE_MaxStatementLength)
+		{
+			return false;
+		}
+
+		int numericLiteralDigits = 0;
+		boolean inIdentifier = false;
+		for (int i = 0; i < length; i++)
+		{
+			final char ch = sql.charAt(i);
+			if (Character.isDigit(ch))
+			{
+				if (inIdentifier)
+				{
+					continue; // digits inside identifiers, e.g. Address1, Phone2
+				}
+
+				numericLiteralDigits++;
+				if (numericLiteralDigits >= CONVERTED_STATEMENTS_CACHE_MaxNumericLiteralDigits)
+				{
+					return false;
+				}
+			}
+			else
+			{
+				numericLiteralDigits = 0;
+				inIdentifier = Character.isLetter(ch) || ch == '_';
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return statistics of the converted statements cache (e.g. hit rate) or <code>null</code> if the cache is disabled
+	 */
+	public CacheStats getConvertedStatementsCacheStats()
+	{
+		return convertedStatementsCache != null ? convertedStatementsCache.stats() : null;
+	}
+
+	private String convertStatement0(final String oraStatement)
 	{
 		final Convert converter = getInternalConverter();
 		final List<String> retValue = converter.convert(oraStatement);
@@ -755,6 +850,27 @@ public class DB_PostgreSQL implements AdempiereDatabase
 		return m_sequence_id;
 	}
 
+	@Override
+	public int[] getNextIDs(final String sequenceName, final int count)
+	{
+		Check.assumeGreaterThanZero(count, "count");
+
+		final Long[] ids = DB.getSQLValueArrayEx(ITrx.TRXNAME_None,
+				"SELECT array_agg(nextval('" + sequenceName.toLowerCase() + "')) FROM generate_series(1, ?)",
+				count);
+		if (ids == null)
+		{
+			return null;
+		}
+
+		final int[] result = new int[ids.length];
+		for (int i = 0; i < ids.length; i++)
+		{
+			result[i] = ids[i].intValue();
+		}
+		return result;
+	}
+
 	@Override
 	public String TO_SEQUENCE_NEXTVAL(final String sequenceName)
 	{
@@ -46,6 +46,9 @@ public abstract class Convert
 	/** RegEx: insensitive and dot to include line end characters   */
 	public static final int         REGEX_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
 
+	private static final Pattern PATTERN_Whitespaces = Pattern.compile("\\s+");
+	private static final Pattern PATTERN_QuotedString = Pattern.compile("'[[^']*]*'");
+
 	/** Last Conversion Error           */
 	protected String                  m_conversionError = null;
 
@@ -115,7 +118,7 @@ public abstract class Convert
 		String clean = statement.trim();
 
 		// Convert cr/lf/tab to single space
-		Matcher m = Pattern.compile("\\s+").matcher(clean);
+		Matcher m = PATTERN_Whitespaces.matcher(clean);
 		clean = m.replaceAll(" ");
 
 		clean = clean.trim();
@@ -138,8 +141,7 @@ public abstract class Convert
 		final String quoteMarker = "<--QUOTE"+System.currentTimeMillis()+"-->";
 		inputValue = inputValue.replace("''", quoteMarker);
 		
-		Pattern p = Pattern.compile("'[[^']*]*'");
-		Matcher m = p.matcher(inputValue);
+		Matcher m = PATTERN_QuotedString.matcher(inputValue);
 		int i = 0;
 		StringBuffer retValue = new StringBuffer(inputValue.length());
 		while (m.find()) {
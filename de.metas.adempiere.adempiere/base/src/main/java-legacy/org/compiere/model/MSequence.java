@@ -97,6 +97,19 @@ public class MSequence extends X_AD_Sequence
 		//
 		if (s_log.isTraceEnabled())
 			s_log.trace(TableName + " - AdempiereSys=" + adempiereSys + " [" + trxName + "]");
+
+		// Take the ID from a block which was reserved upfront, if configured.
+		// Not applicable when the IDs are provided by an ID server.
+		if (!adempiereSys && !isQueryProjectIDServer(TableName, AD_Client_ID))
+		{
+			final TableIdBlockAllocator tableIdBlockAllocator = TableIdBlockAllocator.instance;
+			final int blockSize = tableIdBlockAllocator.getBlockSize(TableName);
+			if (blockSize > 1)
+			{
+				return tableIdBlockAllocator.nextId(TableName, blockSize, count -> reserveNextIDs(TableName, count));
+			}
+		}
+
 		// begin vpj-cd e-evolution 09/02/2005 PostgreSQL
 		final String selectSQL = "SELECT CurrentNext, CurrentNextSys, IncrementNo, AD_Sequence_ID "
 				+ "FROM AD_Sequence "
@@ -265,6 +278,93 @@ public class MSequence extends X_AD_Sequence
 		return retValue;
 	}	// getNextID
 
+	/**
+	 * Reserves the next <code>count</code> IDs of given table's sequence, using one <code>AD_Sequence</code> update.
+	 * Like {@link #getNextID(int, String, String)}, this is done out of transaction.
+	 *
+	 * @return reserved IDs or <code>null</code> on error
+	 */
+	private static int[] reserveNextIDs(final String TableName, final int count)
+	{
+		final String selectSQL = "SELECT CurrentNext, IncrementNo, AD_Sequence_ID "
+				+ "FROM AD_Sequence "
+				+ "WHERE Name=?"
+				+ " AND IsActive='Y' AND IsTableID='Y' AND IsAutoSequence='Y' "
+				+ " FOR UPDATE OF AD_Sequence ";
+
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			conn = DB.getConnectionID();
+			if (conn == null)
+				return null;
+
+			pstmt = conn.prepareStatement(selectSQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			pstmt.setString(1, TableName);
+			if (DB.getDatabase().isQueryTimeoutSupported())
+				pstmt.setQueryTimeout(QUERY_TIME_OUT);
+			rs = pstmt.executeQuery();
+			if (!rs.next())
+			{
+				s_log.error("No record found - " + TableName);
+				return null;
+			}
+
+			final int currentNext = rs.getInt(1);
+			final int incrementNo = rs.getInt(2);
+			final int AD_Sequence_ID = rs.getInt(3);
+
+			final PreparedStatement updateSQL = conn.prepareStatement("UPDATE AD_Sequence SET CurrentNext = CurrentNext + ? WHERE AD_Sequence_ID = ?");
+			try
+			{
+				updateSQL.setInt(1, incrementNo * count);
+				updateSQL.setInt(2, AD_Sequence_ID);
+				updateSQL.executeUpdate();
+			}
+			finally
+			{
+				updateSQL.close();
+			}
+			conn.commit();
+
+			final int[] ids = new int[count];
+			for (int i = 0; i < count; i++)
+			{
+				ids[i] = currentNext + i * incrementNo;
+			}
+			return ids;
+		}
+		catch (Exception e)
+		{
+			s_log.error(TableName + " - " + e.getMessage(), e);
+			try
+			{
+				if (conn != null)
+					conn.rollback();
+			}
+			catch (SQLException e1)
+			{
+			}
+			return null;
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+			if (conn != null)
+			{
+				try
+				{
+					conn.close();
+				}
+				catch (SQLException e)
+				{
+				}
+			}
+		}
+	}
+
 	/**
 	 * Get Next ID
 	 *
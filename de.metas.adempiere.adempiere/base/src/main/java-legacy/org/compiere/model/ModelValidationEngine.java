@@ -26,13 +26,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
 import org.adempiere.ad.dao.ICompositeQueryFilter;
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.IQueryBuilder;
+import org.adempiere.ad.dao.impl.QueryShapeProfiler;
 import org.adempiere.ad.modelvalidator.AnnotatedModelInterceptorFactory;
 import org.adempiere.ad.modelvalidator.DocTimingType;
 import org.adempiere.ad.modelvalidator.IModelInterceptor;
@@ -40,6 +43,7 @@ import org.adempiere.ad.modelvalidator.IModelValidationEngine;
 import org.adempiere.ad.modelvalidator.ModelChangeType;
 import org.adempiere.ad.modelvalidator.ModelInterceptor2ModelValidatorWrapper;
 import org.adempiere.ad.modelvalidator.ModelInterceptorInitException;
+import org.adempiere.ad.modelvalidator.ModelInterceptorsProfiler;
 import org.adempiere.ad.persistence.EntityTypesCache;
 import org.adempiere.ad.security.IUserLoginListener;
 import org.adempiere.ad.service.IADTableScriptValidatorDAO;
@@ -453,14 +457,18 @@ public class ModelValidationEngine implements IModelValidationEngine
 
 	/** Validators */
 	private ArrayList<ModelValidator> m_validators = new ArrayList<>();
-	/** Model Change Listeners */
-	private Hashtable<String, ArrayList<ModelValidator>> m_modelChangeListeners = new Hashtable<>();
-	/** Document Validation Listeners */
-	private Hashtable<String, ArrayList<ModelValidator>> m_docValidateListeners = new Hashtable<>();
+	/**
+	 * Model Change Listeners.
+	 * The lists are immutable and replaced on each change, so firing events requires no locking and no copying.
+	 */
+	private final Map<String, ImmutableList<ModelValidator>> m_modelChangeListeners = new ConcurrentHashMap<>();
+	/** Document Validation Listeners (same as {@link #m_modelChangeListeners}) */
+	private final Map<String, ImmutableList<ModelValidator>> m_docValidateListeners = new ConcurrentHashMap<>();
 	/** Data Import Validation Listeners */
 	private Hashtable<String, ArrayList<IImportInterceptor>> m_impValidateListeners = new Hashtable<>();
 
-	private ArrayList<ModelValidator> m_globalValidators = new ArrayList<>();
+	/** Global validators; it's a set because we check it for each validator when firing events */
+	private final Set<ModelValidator> m_globalValidators = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Contains model validators for subsequent processing. The boolean value tells if the subsequent processing takes place directly when fireModelChange() is invoked with this type (
@@ -637,24 +645,10 @@ public class ModelValidationEngine implements IModelValidationEngine
 			registerGlobal(listener);
 		}
 		String propertyName = getPropertyName(tableName, listener);
-		ArrayList<ModelValidator> list = m_modelChangeListeners.get(propertyName);
-		if (list == null)
+		// metas: add listener only if is not already added
+		if (!addListener(m_modelChangeListeners, propertyName, listener))
 		{
-			list = new ArrayList<>();
-			list.add(listener);
-			m_modelChangeListeners.put(propertyName, list);
-		}
-		else
-		{
-			// metas: add listener only if is not already added
-			if (!list.contains(listener))
-			{
-				list.add(listener);
-			}
-			else
-			{
-				log.debug("Listener " + listener + " already added for " + propertyName);
-			}
+			log.debug("Listener " + listener + " already added for " + propertyName);
 		}
 	}	// addModelValidator
 
@@ -683,18 +677,52 @@ public class ModelValidationEngine implements IModelValidationEngine
 			return;
 		}
 		String propertyName = getPropertyName(tableName, listener);
-		ArrayList<ModelValidator> list = m_modelChangeListeners.get(propertyName);
-		if (list == null)
-		{
-			return;
-		}
-		list.remove(listener);
-		if (list.size() == 0)
-		{
-			m_modelChangeListeners.remove(propertyName);
-		}
+		removeListener(m_modelChangeListeners, propertyName, listener);
 	}	// removeModelValidator
 
+	/**
+	 * Adds the listener to the list of given property name, by replacing that list with a new one.
+	 *
+	 * @return false if the listener was already added
+	 */
+	private static boolean addListener(
+			final Map<String, ImmutableList<ModelValidator>> listeners,
+			final String propertyName,
+			final ModelValidator listener)
+	{
+		final boolean[] added = new boolean[] { false };
+		listeners.compute(propertyName, (key, list) -> {
+			if (list == null)
+			{
+				added[0] = true;
+				return ImmutableList.of(listener);
+			}
+			else if (list.contains(listener))
+			{
+				return list;
+			}
+			else
+			{
+				added[0] = true;
+				return ImmutableList.<ModelValidator> builder().addAll(list).add(listener).build();
+			}
+		});
+		return added[0];
+	}
+
+	private static void removeListener(
+			final Map<String, ImmutableList<ModelValidator>> listeners,
+			final String propertyName,
+			final ModelValidator listener)
+	{
+		listeners.computeIfPresent(propertyName, (key, list) -> {
+			final ImmutableList<ModelValidator> listNew = list.stream()
+					.filter(item -> !item.equals(listener))
+					.collect(ImmutableList.toImmutableList());
+			return listNew.isEmpty() ? null : listNew;
+		});
+	}
+
 	@Override
 	public void removeModelChange(String tableName, IModelInterceptor interceptor)
 	{
@@ -963,10 +991,21 @@ public class ModelValidationEngine implements IModelValidationEngine
 			}
 
 			// the default cause
-			final String error = validator.modelChange(po, changeType);
-			if (!Check.isEmpty(error))
+			final ModelInterceptorsProfiler.Sample sample = ModelInterceptorsProfiler.instance.startSampleOrNull();
+			try (final IAutoCloseable profilerCaller = QueryShapeProfiler.instance.temporarySetCaller(validator))
 			{
-				throw new AdempiereException(error);
+				final String error = validator.modelChange(po, changeType);
+				if (!Check.isEmpty(error))
+				{
+					throw new AdempiereException(error);
+				}
+			}
+			finally
+			{
+				if (sample != null)
+				{
+					ModelInterceptorsProfiler.instance.stopModelChange(sample, validator, po.get_TableName(), changeType);
+				}
 			}
 		}
 		catch (Exception e)
@@ -1010,17 +1049,7 @@ public class ModelValidationEngine implements IModelValidationEngine
 			registerGlobal(listener);
 		}
 		String propertyName = getPropertyName(tableName, listener);
-		ArrayList<ModelValidator> list = m_docValidateListeners.get(propertyName);
-		if (list == null)
-		{
-			list = new ArrayList<>();
-			list.add(listener);
-			m_docValidateListeners.put(propertyName, list);
-		}
-		else if (!list.contains(listener))
-		{
-			list.add(listener);
-		}
+		addListener(m_docValidateListeners, propertyName, listener);
 	}	// addDocValidate
 
 	@Override
@@ -1048,16 +1077,7 @@ public class ModelValidationEngine implements IModelValidationEngine
 			return;
 		}
 		String propertyName = getPropertyName(tableName, listener);
-		ArrayList<ModelValidator> list = m_docValidateListeners.get(propertyName);
-		if (list == null)
-		{
-			return;
-		}
-		list.remove(listener);
-		if (list.size() == 0)
-		{
-			m_docValidateListeners.remove(propertyName);
-		}
+		removeListener(m_docValidateListeners, propertyName, listener);
 	}	// removeDocValidate
 
 	/**
@@ -1177,10 +1197,21 @@ public class ModelValidationEngine implements IModelValidationEngine
 				validator = list.get(i);
 				if (appliesFor(validator, po.getAD_Client_ID()))
 				{
-					final String error = validator.docValidate(po, docTiming);
-					if (error != null && error.length() > 0)
+					final ModelInterceptorsProfiler.Sample sample = ModelInterceptorsProfiler.instance.startSampleOrNull();
+					try (final IAutoCloseable profilerCaller = QueryShapeProfiler.instance.temporarySetCaller(validator))
 					{
-						throw new AdempiereException(error);
+						final String error = validator.docValidate(po, docTiming);
+						if (error != null && error.length() > 0)
+						{
+							throw new AdempiereException(error);
+						}
+					}
+					finally
+					{
+						if (sample != null)
+						{
+							ModelInterceptorsProfiler.instance.stopDocValidate(sample, validator, po.get_TableName(), docTiming);
+						}
 					}
 				}
 			}
@@ -1278,7 +1309,7 @@ public class ModelValidationEngine implements IModelValidationEngine
 		while (it.hasNext())
 		{
 			String key = it.next();
-			ArrayList<ModelValidator> list = m_modelChangeListeners.get(key);
+			List<ModelValidator> list = m_modelChangeListeners.get(key);
 			for (ModelValidator mv : list)
 			{
 				sb.append(key).append(": ").append(mv.toString()).append(Env.NL);
@@ -1291,7 +1322,7 @@ public class ModelValidationEngine implements IModelValidationEngine
 		while (it.hasNext())
 		{
 			String key = it.next();
-			ArrayList<ModelValidator> list = m_docValidateListeners.get(key);
+			List<ModelValidator> list = m_docValidateListeners.get(key);
 			for (ModelValidator mv : list)
 			{
 				sb.append(key).append(": ").append(mv.toString()).append(Env.NL);
@@ -1380,10 +1411,7 @@ public class ModelValidationEngine implements IModelValidationEngine
 
 	private final void registerGlobal(ModelValidator validator)
 	{
-		if (!m_globalValidators.contains(validator))
-		{
-			m_globalValidators.add(validator);
-		}
+		m_globalValidators.add(validator);
 	}
 
 	private final boolean appliesFor(ModelValidator validator, int AD_Client_ID)
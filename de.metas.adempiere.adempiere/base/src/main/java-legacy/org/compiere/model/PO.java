@@ -54,6 +54,7 @@ import javax.xml.transform.stream.StreamResult;
 
 import org.adempiere.ad.migration.logger.IMigrationLogger;
 import org.adempiere.ad.migration.model.X_AD_MigrationStep;
+import org.adempiere.ad.persistence.POSaveBatch;
 import org.adempiere.ad.persistence.po.INoDataFoundHandler;
 import org.adempiere.ad.persistence.po.NoDataFoundHandlers;
 import org.adempiere.ad.security.TableAccessLevel;
@@ -3257,8 +3258,14 @@ public abstract class PO
 			//
 			// Execute UPDATE SQL
 			log.trace("Save update: SQL={}", sql);
+			final POSaveBatch saveBatch = POSaveBatch.getOrNull(m_trxName);
 			final int no;
-			if (isUseTimeoutForUpdate())
+			if (saveBatch != null)
+			{
+				saveBatch.add(sql.toString());
+				no = 1;
+			}
+			else if (isUseTimeoutForUpdate())
 				no = DB.executeUpdateEx(sql.toString(), m_trxName, QUERY_TIME_OUT);
 			else
 				no = DB.executeUpdateEx(sql.toString(), m_trxName);
@@ -3340,7 +3347,8 @@ public abstract class PO
 		Integer idNew = saveNew_getID();
 
 		if (idNew <= 0
-				&& DB.isUseNativeSequences(getAD_Client_ID(), get_TableName()))
+				&& DB.isUseNativeSequences(getAD_Client_ID(), get_TableName())
+				&& POSaveBatch.isInsertReturningIdAllowed(m_trxName)) // batched INSERTs can't use "RETURNING", so we have to fetch the ID upfront
 		{
 			idNew = I_ZERO_NATIVESEQUENCE;
 		}
@@ -3394,6 +3402,7 @@ public abstract class PO
 
 		final String tableName = p_info.getTableName();
 		POReturningAfterInsertLoader loadAfterInsertProcessor = new POReturningAfterInsertLoader();
+		final POSaveBatch saveBatch = POSaveBatch.getOrNull(m_trxName);
 
 		if (log.isDebugEnabled())
 		{
@@ -3516,7 +3525,8 @@ public abstract class PO
 				//
 				// Case: We deal with a staleable column which has no value specified on inserting
 				// => Do nothing, but retrieve it from database after insert
-				else if (p_info.isColumnStaleable(i))
+				// NOTE: if the INSERT is batched we don't retrieve it, because the object is stale after insert anyways and the column will be loaded on demand
+				else if (p_info.isColumnStaleable(i) && saveBatch == null)
 				{
 					loadAfterInsertProcessor.addColumnName(columnName);
 				}
@@ -3649,12 +3659,21 @@ public abstract class PO
 
 		//
 		// Execute actual database INSERT
-		final int no = DB.executeUpdate(sqlInsert.toString(),
-				(Object[])null,  // params,
-				OnFail.ThrowException,  // onFail
-				m_trxName,
-				0,  // timeOut,
-				loadAfterInsertProcessor);
+		final int no;
+		if (saveBatch != null && loadAfterInsertProcessor == null)
+		{
+			saveBatch.add(sqlInsert.toString());
+			no = 1;
+		}
+		else
+		{
+			no = DB.executeUpdate(sqlInsert.toString(),
+					(Object[])null,  // params,
+					OnFail.ThrowException,  // onFail
+					m_trxName,
+					0,  // timeOut,
+					loadAfterInsertProcessor);
+		}
 		boolean ok = no == 1;
 
 		//
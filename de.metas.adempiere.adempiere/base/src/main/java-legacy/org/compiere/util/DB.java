@@ -43,6 +43,7 @@ import javax.annotation.Nullable;
 import javax.sql.RowSet;
 
 import org.adempiere.ad.dao.impl.InArrayQueryFilter;
+import org.adempiere.ad.dao.impl.QueryShapeProfiler;
 import org.adempiere.ad.migration.logger.IMigrationLogger;
 import org.adempiere.ad.security.IUserRolePermissionsDAO;
 import org.adempiere.ad.service.ISystemBL;
@@ -67,10 +68,12 @@ import org.compiere.model.I_AD_System;
 import org.compiere.model.MSequence;
 import org.compiere.model.POInfo;
 import org.compiere.model.POResultSet;
+import org.compiere.model.TableIdBlockAllocator;
 import org.compiere.process.SequenceCheck;
 import org.slf4j.Logger;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import de.metas.cache.CacheMgt;
 import de.metas.i18n.ILanguageDAO;
@@ -802,6 +805,9 @@ public final class DB
 		else if (param instanceof ReferenceListAwareEnum)
 			pstmt.setString(index, ((ReferenceListAwareEnum)param).getCode());
 		//
+		else if (param instanceof Integer[]) // e.g. IDs, used as "ColumnName = ANY(?)"
+			pstmt.setArray(index, pstmt.getConnection().createArrayOf("numeric", (Integer[])param));
+		//
 		else
 			throw new DBException("Unknown parameter type " + index + " - " + param + " (" + param.getClass() + ")");
 	}
@@ -904,6 +910,8 @@ public final class DB
 
 		Check.assumeNotNull(onFail, "onFail not null");
 
+		final QueryShapeProfiler.Sample profilerSample = QueryShapeProfiler.instance.startSampleOrNull();
+
 		//
 		int no = -1;
 		CPreparedStatement cs = statementsFactory.newCPreparedStatement(
@@ -1026,6 +1034,11 @@ public final class DB
 			// Always close cursor
 			DB.close(cs);
 			cs = null;
+
+			if (profilerSample != null)
+			{
+				QueryShapeProfiler.instance.stop(profilerSample, sql, no);
+			}
 		}
 
 		return no;
@@ -1820,7 +1833,16 @@ public final class DB
 		if (useNativeSequences)
 		{
 			final String sequenceName = getTableSequenceName(TableName);
-			final int nextId = CConnection.get().getDatabase().getNextID(sequenceName);
+			final AdempiereDatabase database = CConnection.get().getDatabase();
+
+			final TableIdBlockAllocator tableIdBlockAllocator = TableIdBlockAllocator.instance;
+			final int blockSize = tableIdBlockAllocator.getBlockSize(TableName);
+			if (blockSize > 1)
+			{
+				return tableIdBlockAllocator.nextId(sequenceName, blockSize, count -> database.getNextIDs(sequenceName, count));
+			}
+
+			final int nextId = database.getNextID(sequenceName);
 			return nextId;
 		}
 
@@ -2201,34 +2223,15 @@ public final class DB
 	 */
 	public static void createT_Selection(@NonNull final PInstanceId pinstanceId, Iterable<Integer> selection, String trxName)
 	{
-		final int pinstanceRepoId = pinstanceId.getRepoId();
-
-		StringBuilder insert = new StringBuilder();
-		insert.append("INSERT INTO T_SELECTION(AD_PINSTANCE_ID, T_SELECTION_ID) ");
-		int counter = 0;
-		for (Integer selectedId : selection)
-		{
-			counter++;
-			if (counter > 1)
-				insert.append(" UNION ");
-			insert.append("SELECT ");
-			insert.append(pinstanceRepoId);
-			insert.append(", ");
-			insert.append(selectedId);
-			// insert.append(" FROM DUAL "); -- oracle
-
-			if (counter >= 1000)
-			{
-				DB.executeUpdateEx(insert.toString(), trxName);
-				insert = new StringBuilder();
-				insert.append("INSERT INTO T_SELECTION(AD_PINSTANCE_ID, T_SELECTION_ID) ");
-				counter = 0;
-			}
-		}
-		if (counter > 0)
+		// NOTE: we are sending all IDs as one array parameter, so the statement is the same no matter how many IDs we have
+		final Integer[] selectionIds = ImmutableSet.copyOf(selection).toArray(new Integer[0]);
+		if (selectionIds.length == 0)
 		{
-			DB.executeUpdateEx(insert.toString(), trxName);
+			return;
 		}
+
+		final String sql = "INSERT INTO T_SELECTION(AD_PINSTANCE_ID, T_SELECTION_ID) SELECT ?, UNNEST(?::numeric[])";
+		DB.executeUpdateEx(sql, new Object[] { pinstanceId, selectionIds }, trxName);
 	}
 
 	/**
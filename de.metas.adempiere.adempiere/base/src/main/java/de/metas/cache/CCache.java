@@ -41,6 +41,9 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
 import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.ExecutionError;
@@ -123,6 +126,14 @@ public class CCache<K, V> implements CacheInterface
 	/** Internal map that is used as cache */
 	private final Cache<K, V> cache;
 
+	/** Cache keys indexed by the records their values were built from; null if the cache does not support invalidation by record */
+	private final CacheKeysByRecordIndex<K, V> keysByRecordIndex;
+	/**
+	 * Incremented each time the cache is (partially) invalidated.
+	 * Used to detect if an invalidation happened while a value was loaded/indexed/added, in which case that value might be stale.
+	 */
+	private final AtomicLong invalidationsCount = new AtomicLong();
+
 	static final AtomicLong NEXT_CACHE_ID = new AtomicLong(1);
 	/** unique cache ID, mainly used for tracking, logging and debugging */
 	private final long cacheId;
@@ -174,6 +185,34 @@ public class CCache<K, V> implements CacheInterface
 				CacheMapType.HashMap);
 	}
 
+	protected CCache(
+			final String cacheName,
+			final String tableName,
+			final Set<String> additionalTableNamesToResetFor,
+			final Integer initialCapacity,
+			final Integer expireMinutes,
+			final CacheMapType cacheMapType)
+	{
+		this(cacheName,
+				tableName,
+				additionalTableNamesToResetFor,
+				initialCapacity,
+				expireMinutes,
+				cacheMapType,
+				null, // maximumWeight
+				null, // weigher
+				null); // invalidationRecordsExtractor
+	}
+
+	/**
+	 * @param maximumWeight if positive, the cache is bounded by the total weight of its entries instead of their count.
+	 *            Use it together with a <code>weigher</code> which is returning the approximate size (e.g. in bytes) of an entry,
+	 *            in order to bound caches by memory. Not supported for {@link CacheMapType#LRU}.
+	 * @param weigher mandatory if <code>maximumWeight</code> is set
+	 * @param invalidationRecordsExtractor optional function which returns the records a cached value was built from.
+	 *            If set, {@link #resetForRecordId(TableRecordReference)} is invalidating only the keys whose values were built from the given record,
+	 *            instead of resetting the whole cache. So it shall return all the records (of all the tables this cache is reset for) the value depends on.
+	 */
 	@Builder
 	protected CCache(
 			final String cacheName,
@@ -181,7 +220,10 @@ public class CCache<K, V> implements CacheInterface
 			@Singular("additionalTableNameToResetFor") final Set<String> additionalTableNamesToResetFor,
 			final Integer initialCapacity,
 			final Integer expireMinutes,
-			final CacheMapType cacheMapType)
+			final CacheMapType cacheMapType,
+			final Long maximumWeight,
+			final Weigher<? super K, ? super V> weigher,
+			final Function<V, Collection<TableRecordReference>> invalidationRecordsExtractor)
 	{
 		this.cacheId = NEXT_CACHE_ID.getAndIncrement();
 
@@ -224,10 +266,15 @@ public class CCache<K, V> implements CacheInterface
 		this.labels = buildCacheLabels(tableNameEffective, additionalTableNamesToResetFor);
 
 		this.expireMinutes = expireMinutes != null ? expireMinutes : EXPIREMINUTES_Never;
+		this.keysByRecordIndex = invalidationRecordsExtractor != null ? new CacheKeysByRecordIndex<>(invalidationRecordsExtractor) : null;
+		final RemovalListener<K, V> removalListener = keysByRecordIndex != null ? this::onEntryRemoved : null;
 		this.cache = buildGuavaCache(
 				cacheMapType != null ? cacheMapType : CacheMapType.HashMap,
 				initialCapacity != null ? initialCapacity : 0,
-				this.expireMinutes);
+				maximumWeight != null ? maximumWeight : 0,
+				weigher,
+				this.expireMinutes,
+				removalListener);
 
 		if (DEBUG)
 		{
@@ -294,9 +341,13 @@ public class CCache<K, V> implements CacheInterface
 	private static final <K, V> Cache<K, V> buildGuavaCache(
 			@NonNull final CacheMapType cacheMapType,
 			final int initialCapacity,
-			final int expireMinutes)
+			final long maximumWeight,
+			final Weigher<? super K, ? super V> weigher,
+			final int expireMinutes,
+			final RemovalListener<K, V> removalListener)
 	{
-		CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+		CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+				.recordStats();
 		if (cacheMapType == CacheMapType.HashMap)
 		{
 			cacheBuilder = cacheBuilder
@@ -317,7 +368,33 @@ public class CCache<K, V> implements CacheInterface
 			cacheBuilder = cacheBuilder.expireAfterWrite(expireMinutes, TimeUnit.MINUTES);
 		}
 
-		return cacheBuilder.build();
+		if (maximumWeight > 0)
+		{
+			if (cacheMapType == CacheMapType.LRU)
+			{
+				throw new AdempiereException("maximumWeight is not supported for " + cacheMapType + " caches");
+			}
+			if (weigher == null)
+			{
+				throw new AdempiereException("weigher shall be set when maximumWeight is set");
+			}
+
+			cacheBuilder = cacheBuilder.maximumWeight(maximumWeight);
+		}
+
+		// NOTE: weigher and removalListener are fixing the key/value types of the builder
+		@SuppressWarnings("unchecked")
+		CacheBuilder<K, V> typedCacheBuilder = (CacheBuilder<K, V>)(CacheBuilder<?, ?>)cacheBuilder;
+		if (maximumWeight > 0)
+		{
+			typedCacheBuilder = typedCacheBuilder.weigher(weigher);
+		}
+		if (removalListener != null)
+		{
+			typedCacheBuilder = typedCacheBuilder.removalListener(removalListener);
+		}
+
+		return typedCacheBuilder.build();
 	}
 
 	/**
@@ -389,8 +466,13 @@ public class CCache<K, V> implements CacheInterface
 	private void clear()
 	{
 		// Clear
+		invalidationsCount.incrementAndGet();
 		cache.invalidateAll();
 		cache.cleanUp();
+		if (keysByRecordIndex != null)
+		{
+			keysByRecordIndex.clear();
+		}
 
 		m_justReset = true;
 	}	// clear
@@ -398,8 +480,58 @@ public class CCache<K, V> implements CacheInterface
 	@Override
 	public long resetForRecordId(final TableRecordReference recordRef)
 	{
-		// NOTE: reseting only by "key" is not supported at this level, so we are reseting everything
-		return reset();
+		if (keysByRecordIndex == null)
+		{
+			// NOTE: we don't know which keys were built from given record, so we are reseting everything
+			return reset();
+		}
+
+		invalidationsCount.incrementAndGet();
+		final Set<K> keys = keysByRecordIndex.removeRecord(recordRef);
+		if (keys.isEmpty())
+		{
+			return 0;
+		}
+
+		cache.invalidateAll(keys);
+		logger.trace("Reset {} entries for {} from {}", keys.size(), recordRef, this);
+		return keys.size();
+	}
+
+	private void onEntryRemoved(final RemovalNotification<K, V> notification)
+	{
+		final K key = notification.getKey();
+		final V value = notification.getValue();
+		if (key == null || value == null)
+		{
+			return;
+		}
+
+		// NOTE: the index is dropping only the entries which still map to the removed value,
+		// so a value which was put meanwhile for the same key (including the one which replaced this value) stays indexed.
+		keysByRecordIndex.remove(key, value);
+	}
+
+	private void indexValue(final K key, final V value)
+	{
+		if (keysByRecordIndex != null && value != null)
+		{
+			keysByRecordIndex.add(key, value);
+		}
+	}
+
+	/**
+	 * Evicts given key if the cache was invalidated after <code>invalidationsCountBeforeLoad</code> was taken,
+	 * because the value might have been loaded before the invalidation and/or its index entries might have been removed by the invalidation.
+	 * <p>
+	 * NOTE: this could also evict a value which is not stale, but that's only a cache miss.
+	 */
+	private void evictIfInvalidatedMeanwhile(final K key, final long invalidationsCountBeforeLoad)
+	{
+		if (keysByRecordIndex != null && invalidationsCount.get() != invalidationsCountBeforeLoad)
+		{
+			cache.invalidate(key);
+		}
 	}
 
 	@Override
@@ -501,7 +633,25 @@ public class CCache<K, V> implements CacheInterface
 
 		try
 		{
-			return cache.get(key, valueInitializer);
+			if (keysByRecordIndex == null)
+			{
+				return cache.get(key, valueInitializer);
+			}
+
+			// index the value before it gets into the cache
+			final long invalidationsCountBeforeLoad = invalidationsCount.get();
+			final boolean[] loaded = new boolean[] { false };
+			final V value = cache.get(key, () -> {
+				final V valueLoaded = valueInitializer.call();
+				indexValue(key, valueLoaded);
+				loaded[0] = true;
+				return valueLoaded;
+			});
+			if (loaded[0])
+			{
+				evictIfInvalidatedMeanwhile(key, invalidationsCountBeforeLoad);
+			}
+			return value;
 		}
 		catch (final InvalidCacheLoadException e)
 		{
@@ -584,8 +734,9 @@ public class CCache<K, V> implements CacheInterface
 		// Load the missing keys if any
 		if (!keysToLoad.isEmpty())
 		{
+			final long invalidationsCountBeforeLoad = invalidationsCount.get();
 			final Map<K, V> valuesLoaded = valuesLoader.apply(keysToLoad);
-			valuesLoaded.forEach(cache::put); // add loaded values to cache
+			valuesLoaded.forEach((key, value) -> putToCache(key, value, invalidationsCountBeforeLoad)); // add loaded values to cache
 			values.addAll(valuesLoaded.values()); // add loaded values to the list we will return
 		}
 
@@ -627,10 +778,17 @@ public class CCache<K, V> implements CacheInterface
 		}
 		else
 		{
-			cache.put(key, value);
+			putToCache(key, value, invalidationsCount.get());
 		}
 	}	// put
 
+	private void putToCache(final K key, final V value, final long invalidationsCountBeforeLoad)
+	{
+		indexValue(key, value); // index it first, so it's never in the cache without being indexed
+		cache.put(key, value);
+		evictIfInvalidatedMeanwhile(key, invalidationsCountBeforeLoad);
+	}
+
 	/**
 	 * Add all key/value pairs to this cache.
 	 *
@@ -638,7 +796,8 @@ public class CCache<K, V> implements CacheInterface
 	 */
 	public void putAll(final Map<? extends K, ? extends V> map)
 	{
-		cache.putAll(map);
+		final long invalidationsCountBeforePut = invalidationsCount.get();
+		map.forEach((key, value) -> putToCache(key, value, invalidationsCountBeforePut));
 	}
 
 	/**
@@ -718,7 +877,7 @@ public class CCache<K, V> implements CacheInterface
 	// }
 
 	/**
-	 * @return cache statistics
+	 * @return cache statistics (hits, misses, load times, evictions etc)
 	 */
 	public CCacheStats stats()
 	{
@@ -0,0 +1,125 @@
+package de.metas.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import de.metas.cache.model.CacheInvalidateMultiRequest;
+import de.metas.cache.model.CacheInvalidateRequest;
+import de.metas.util.Check;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Collects {@link CacheInvalidateRequest}s and coalesces them:
+ * <ul>
+ * <li>requests for the same record(s) are deduplicated
+ * <li>record level requests are dropped if all records of their table are invalidated anyways
+ * <li>if one request is about invalidating everything, only that one is kept
+ * </ul>
+ * NOTE: this class is not thread safe.
+ */
+final class CacheInvalidateRequestsCollector
+{
+	private boolean resetAll = false;
+	private final Map<String, CacheInvalidateRequest> allRecordsRequestsByTableName = new LinkedHashMap<>();
+	private final Map<List<Object>, CacheInvalidateRequest> recordRequestsByKey = new LinkedHashMap<>();
+
+	public void addAll(@NonNull final CacheInvalidateMultiRequest multiRequest)
+	{
+		multiRequest.getRequests().forEach(this::add);
+	}
+
+	public void add(@NonNull final CacheInvalidateRequest request)
+	{
+		if (resetAll)
+		{
+			return;
+		}
+
+		if (request.isAll())
+		{
+			resetAll = true;
+			allRecordsRequestsByTableName.clear();
+			recordRequestsByKey.clear();
+		}
+		else if (request.isAllRecords())
+		{
+			allRecordsRequestsByTableName.putIfAbsent(request.getTableNameEffective(), request);
+		}
+		else
+		{
+			recordRequestsByKey.putIfAbsent(extractKey(request), request);
+		}
+	}
+
+	private static List<Object> extractKey(final CacheInvalidateRequest request)
+	{
+		// NOTE: we are not considering the request's ID because that one is unique for each request
+		return Arrays.asList(request.getRootTableName(), request.getRootRecordId(), request.getChildTableName(), request.getChildRecordId());
+	}
+
+	public boolean isEmpty()
+	{
+		return !resetAll
+				&& allRecordsRequestsByTableName.isEmpty()
+				&& recordRequestsByKey.isEmpty();
+	}
+
+	public void clear()
+	{
+		resetAll = false;
+		allRecordsRequestsByTableName.clear();
+		recordRequestsByKey.clear();
+	}
+
+	/**
+	 * @return the coalesced requests, split in multi-requests of at most <code>maxRequestsPerMultiRequest</code> requests
+	 */
+	public List<CacheInvalidateMultiRequest> toMultiRequests(final int maxRequestsPerMultiRequest)
+	{
+		Check.assume(maxRequestsPerMultiRequest > 0, "maxRequestsPerMultiRequest > 0");
+
+		if (resetAll)
+		{
+			return ImmutableList.of(CacheInvalidateMultiRequest.all());
+		}
+
+		final List<CacheInvalidateRequest> requests = new ArrayList<>(allRecordsRequestsByTableName.values());
+		recordRequestsByKey.values()
+				.stream()
+				.filter(request -> !allRecordsRequestsByTableName.containsKey(request.getTableNameEffective()))
+				.forEach(requests::add);
+
+		return Lists.partition(requests, maxRequestsPerMultiRequest)
+				.stream()
+				.map(CacheInvalidateMultiRequest::of)
+				.collect(ImmutableList.toImmutableList());
+	}
+}
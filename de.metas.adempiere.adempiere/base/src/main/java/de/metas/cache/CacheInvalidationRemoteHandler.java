@@ -1,10 +1,16 @@
 package de.metas.cache;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.adempiere.ad.dao.cache.CacheInvalidateMultiRequestSerializer;
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
+import org.compiere.Adempiere;
 import org.slf4j.Logger;
 
 import com.google.common.collect.ImmutableSet;
@@ -63,6 +69,17 @@ final class CacheInvalidationRemoteHandler implements IEventListener
 
 	private final CacheInvalidateMultiRequestSerializer jsonSerializer = new CacheInvalidateMultiRequestSerializer();
 
+	/** How long we collect the cache invalidation requests before broadcasting them in one event. Zero or negative means broadcast right away. */
+	private static final String SYSTEM_PROPERTY_BroadcastBatchWindowMillis = "de.metas.cache.CacheInvalidationRemoteHandler.BroadcastBatchWindowMillis";
+	private static final int DEFAULT_BroadcastBatchWindowMillis = 200;
+	private final int broadcastBatchWindowMillis = Integer.getInteger(SYSTEM_PROPERTY_BroadcastBatchWindowMillis, DEFAULT_BroadcastBatchWindowMillis);
+
+	private static final int MAX_REQUESTS_PER_EVENT = 1000;
+
+	private final Object pendingRequestsLock = new Object();
+	private final CacheInvalidateRequestsCollector pendingRequests = new CacheInvalidateRequestsCollector();
+	private volatile ScheduledExecutorService broadcastExecutor;
+
 	private CacheInvalidationRemoteHandler()
 	{
 	}
@@ -128,6 +145,18 @@ final class CacheInvalidationRemoteHandler implements IEventListener
 		}
 
 		// Broadcast the event.
+		if (Adempiere.isUnitTestMode() || broadcastBatchWindowMillis <= 0)
+		{
+			broadcastNow(request);
+		}
+		else
+		{
+			enqueueForBroadcast(request);
+		}
+	}
+
+	private void broadcastNow(final CacheInvalidateMultiRequest request)
+	{
 		final Event event = createEventFromRequest(request);
 		Services.get(IEventBusFactory.class)
 				.getEventBus(TOPIC_CacheInvalidation)
@@ -136,6 +165,67 @@ final class CacheInvalidationRemoteHandler implements IEventListener
 		logger.debug("Broadcasting cache invalidation of {}, event={}", request, event);
 	}
 
+	/**
+	 * Collects the given request and schedules a broadcast after {@link #broadcastBatchWindowMillis}, if not already scheduled.
+	 * This way, all the requests which are posted meanwhile (e.g. while a mass update is committing its many transactions) are deduplicated and sent in one event.
+	 */
+	private void enqueueForBroadcast(final CacheInvalidateMultiRequest request)
+	{
+		final boolean scheduleBroadcast;
+		synchronized (pendingRequestsLock)
+		{
+			scheduleBroadcast = pendingRequests.isEmpty();
+			pendingRequests.addAll(request);
+		}
+
+		if (scheduleBroadcast)
+		{
+			getBroadcastExecutor().schedule(this::broadcastPendingRequestsNoFail, broadcastBatchWindowMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private ScheduledExecutorService getBroadcastExecutor()
+	{
+		ScheduledExecutorService broadcastExecutor = this.broadcastExecutor;
+		if (broadcastExecutor == null)
+		{
+			synchronized (pendingRequestsLock)
+			{
+				broadcastExecutor = this.broadcastExecutor;
+				if (broadcastExecutor == null)
+				{
+					broadcastExecutor = this.broadcastExecutor = Executors.newSingleThreadScheduledExecutor(CustomizableThreadFactory.builder()
+							.setThreadNamePrefix(CacheInvalidationRemoteHandler.class.getSimpleName())
+							.setDaemon(true)
+							.build());
+				}
+			}
+		}
+		return broadcastExecutor;
+	}
+
+	private void broadcastPendingRequestsNoFail()
+	{
+		final List<CacheInvalidateMultiRequest> requests;
+		synchronized (pendingRequestsLock)
+		{
+			requests = pendingRequests.toMultiRequests(MAX_REQUESTS_PER_EVENT);
+			pendingRequests.clear();
+		}
+
+		for (final CacheInvalidateMultiRequest request : requests)
+		{
+			try
+			{
+				broadcastNow(request);
+			}
+			catch (final Exception ex)
+			{
+				logger.warn("Failed broadcasting {}. Ignored.", request, ex);
+			}
+		}
+	}
+
 	private boolean isAllowBroadcast(final CacheInvalidateMultiRequest multiRequest)
 	{
 		return multiRequest.getRequests().stream().anyMatch(this::isAllowBroadcast);
@@ -0,0 +1,103 @@
+package de.metas.cache;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.adempiere.util.lang.impl.TableRecordReference;
+
+import com.google.common.collect.ImmutableSet;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Index of cache keys by the records their cached values were built from.
+ * Used by {@link CCache} to invalidate only the affected keys when a record is changed.
+ *
+ * @param <K> cache key type
+ * @param <V> cache value type
+ */
+final class CacheKeysByRecordIndex<K, V>
+{
+	private final Function<V, Collection<TableRecordReference>> recordsExtractor;
+	/** For each record, the cache keys and the values they were indexed with */
+	private final ConcurrentHashMap<TableRecordReference, ConcurrentHashMap<K, V>> valuesByRecord = new ConcurrentHashMap<>();
+
+	public CacheKeysByRecordIndex(@NonNull final Function<V, Collection<TableRecordReference>> recordsExtractor)
+	{
+		this.recordsExtractor = recordsExtractor;
+	}
+
+	public void add(@NonNull final K key, @NonNull final V value)
+	{
+		for (final TableRecordReference record : extractRecords(value))
+		{
+			// NOTE: adding inside compute() because a concurrent remove() could drop the record's map between getting and adding to it
+			valuesByRecord.compute(record, (r, values) -> {
+				final ConcurrentHashMap<K, V> valuesEffective = values != null ? values : new ConcurrentHashMap<>();
+				valuesEffective.put(key, value);
+				return valuesEffective;
+			});
+		}
+	}
+
+	/**
+	 * Removes the given key from the records of given value, but only where the key is still indexed with given value (same instance).
+	 * So if the key was meanwhile re-added with a new value, the entries of the new value are kept.
+	 */
+	public void remove(@NonNull final K key, @NonNull final V value)
+	{
+		for (final TableRecordReference record : extractRecords(value))
+		{
+			valuesByRecord.computeIfPresent(record, (r, values) -> {
+				values.computeIfPresent(key, (k, indexedValue) -> indexedValue == value ? null : indexedValue);
+				return values.isEmpty() ? null : values;
+			});
+		}
+	}
+
+	/**
+	 * Removes given record from index.
+	 *
+	 * @return the keys which were indexed for given record; never null
+	 */
+	public Set<K> removeRecord(@NonNull final TableRecordReference record)
+	{
+		final ConcurrentHashMap<K, V> values = valuesByRecord.remove(record);
+		return values != null ? ImmutableSet.copyOf(values.keySet()) : ImmutableSet.of();
+	}
+
+	public void clear()
+	{
+		valuesByRecord.clear();
+	}
+
+	private Collection<TableRecordReference> extractRecords(final V value)
+	{
+		final Collection<TableRecordReference> records = recordsExtractor.apply(value);
+		return records != null ? records : ImmutableSet.of();
+	}
+}
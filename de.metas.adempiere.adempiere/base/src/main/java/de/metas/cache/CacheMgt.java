@@ -37,6 +37,7 @@ import org.slf4j.Logger;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicates;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MapMaker;
@@ -131,6 +132,24 @@ public final class CacheMgt
 		return ImmutableSet.copyOf(cachesByLabel.keySet());
 	}
 
+	/**
+	 * @return statistics (hits, misses, load times, evictions etc) summed up for all caches with the given label
+	 */
+	public CacheStats getStatistics(@NonNull final CacheLabel label)
+	{
+		final CachesGroup cachesGroup = getCachesGroupIfPresent(label);
+		return cachesGroup != null ? cachesGroup.computeStats() : CachesGroup.EMPTY_STATS;
+	}
+
+	/**
+	 * @return total number of cached entries for the given label
+	 */
+	public long getSize(@NonNull final CacheLabel label)
+	{
+		final CachesGroup cachesGroup = getCachesGroupIfPresent(label);
+		return cachesGroup != null ? cachesGroup.computeTotalSize() : 0;
+	}
+
 	public Set<String> getTableNamesToBroadcast()
 	{
 		return CacheInvalidationRemoteHandler.instance.getTableNamesToBroadcast();
@@ -535,6 +554,8 @@ public final class CacheMgt
 
 	private static class CachesGroup
 	{
+		private static final CacheStats EMPTY_STATS = new CacheStats(0, 0, 0, 0, 0, 0);
+
 		private final CacheLabel label;
 		private final ConcurrentMap<Long, CacheInterface> caches = new MapMaker()
 				.weakValues()
@@ -578,6 +599,14 @@ public final class CacheMgt
 					.sum();
 		}
 
+		public CacheStats computeStats()
+		{
+			return streamCaches()
+					.filter(cache -> cache instanceof CCache)
+					.map(cache -> ((CCache<?, ?>)cache).stats().getGuavaStats())
+					.reduce(EMPTY_STATS, CacheStats::plus);
+		}
+
 		public long invalidateAllNoFail()
 		{
 			return streamCaches()
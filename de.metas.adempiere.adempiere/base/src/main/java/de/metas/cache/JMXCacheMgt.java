@@ -1,11 +1,17 @@
 package de.metas.cache;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.adempiere.util.jmx.IJMXNameAware;
 import org.slf4j.Logger;
 
+import com.google.common.cache.CacheStats;
+
 import de.metas.logging.LogManager;
 
 /**
@@ -68,6 +74,31 @@ public class JMXCacheMgt implements JMXCacheMgtMBean, IJMXNameAware
 				.toArray(size -> new String[size]);
 	}
 
+	@Override
+	public String[] getCacheStatistics()
+	{
+		final CacheMgt cacheMgt = getCacheMgt();
+		return cacheMgt
+				.getCacheLabels()
+				.stream()
+				.sorted(Comparator.comparing(CacheLabel::getName))
+				.map(label -> toStatisticsString(label, cacheMgt.getSize(label), cacheMgt.getStatistics(label)))
+				.toArray(size -> new String[size]);
+	}
+
+	private static String toStatisticsString(final CacheLabel label, final long size, final CacheStats stats)
+	{
+		return label.getName()
+				+ ": size=" + size
+				+ ", hitRate=" + BigDecimal.valueOf(stats.hitRate()).setScale(4, RoundingMode.HALF_UP)
+				+ ", hits=" + stats.hitCount()
+				+ ", misses=" + stats.missCount()
+				+ ", loads=" + stats.loadCount()
+				+ ", loadExceptions=" + stats.loadExceptionCount()
+				+ ", totalLoadTimeMillis=" + TimeUnit.NANOSECONDS.toMillis(stats.totalLoadTime())
+				+ ", evictions=" + stats.evictionCount();
+	}
+
 	@Override
 	public String[] getTableNamesToBroadcast()
 	{
@@ -16,6 +16,11 @@ public interface JMXCacheMgtMBean
 
 	String[] getCacheLabels();
 
+	/**
+	 * @return one line per cache label, containing the size, hit/miss counts, load times and eviction counts
+	 */
+	String[] getCacheStatistics();
+
 	String[] getTableNamesToBroadcast();
 
 	void enableRemoteCacheInvalidationForTableName(String tableName);
@@ -28,7 +28,10 @@ import java.util.UUID;
 import org.compiere.Adempiere;
 import org.slf4j.Logger;
 
+import de.metas.event.remote.EventSerializationFormat;
 import de.metas.logging.LogManager;
+import de.metas.util.Check;
+import lombok.NonNull;
 
 /**
  * Misc {@link IEventBus} related constants.
@@ -113,4 +116,107 @@ public final class EventBusConstants
 		return true;
 	}
 
+	private static final String SYSCONFIG_QueueCapacity = "de.metas.event.EventBus.QueueCapacity";
+	private static final int DEFAULT_QueueCapacity = 10000;
+
+	private static final String SYSCONFIG_OverflowPolicy = "de.metas.event.EventBus.OverflowPolicy";
+	private static final EventBusOverflowPolicy DEFAULT_OverflowPolicy = EventBusOverflowPolicy.BLOCK;
+
+	private static final String SYSCONFIG_RemoteBatchWindowMillis = "de.metas.event.remote.BatchWindowMillis";
+	/** Batching is opt-in because nodes which don't know batched events (e.g. during a rolling upgrade) would drop them */
+	private static final int DEFAULT_RemoteBatchWindowMillis = 0;
+
+	private static final String SYSCONFIG_RemoteMaxBatchSize = "de.metas.event.remote.MaxBatchSize";
+	private static final int DEFAULT_RemoteMaxBatchSize = 100;
+
+	private static final String SYSCONFIG_RemoteSerializationFormat = "de.metas.event.remote.SerializationFormat";
+	private static final EventSerializationFormat DEFAULT_RemoteSerializationFormat = EventSerializationFormat.JSON;
+
+	/**
+	 * @return how many events can be queued by an asynchronous event bus of the given topic.
+	 *         Can be configured by system property <code>de.metas.event.EventBus.QueueCapacity</code> and overridden per topic by <code>de.metas.event.EventBus.QueueCapacity.&lt;topicName&gt;</code>.
+	 */
+	public static int getEventBusQueueCapacity(@NonNull final Topic topic)
+	{
+		final int queueCapacity = getIntProperty(
+				SYSCONFIG_QueueCapacity + "." + topic.getName(),
+				getIntProperty(SYSCONFIG_QueueCapacity, DEFAULT_QueueCapacity));
+		return queueCapacity > 0 ? queueCapacity : DEFAULT_QueueCapacity;
+	}
+
+	/**
+	 * @return what an asynchronous event bus of the given topic shall do if its queue is full.
+	 *         Can be configured by system property <code>de.metas.event.EventBus.OverflowPolicy</code> and overridden per topic by <code>de.metas.event.EventBus.OverflowPolicy.&lt;topicName&gt;</code>.
+	 *         For {@link Type#REMOTE} topics, {@link EventBusOverflowPolicy#BLOCK} is always returned.
+	 */
+	public static EventBusOverflowPolicy getEventBusOverflowPolicy(@NonNull final Topic topic)
+	{
+		if (topic.getType() == Type.REMOTE)
+		{
+			return EventBusOverflowPolicy.BLOCK;
+		}
+
+		final String policyName = System.getProperty(
+				SYSCONFIG_OverflowPolicy + "." + topic.getName(),
+				System.getProperty(SYSCONFIG_OverflowPolicy));
+		if (Check.isEmpty(policyName, true))
+		{
+			return DEFAULT_OverflowPolicy;
+		}
+
+		try
+		{
+			return EventBusOverflowPolicy.valueOf(policyName.trim());
+		}
+		catch (final IllegalArgumentException ex)
+		{
+			getLogger(EventBusConstants.class).warn("Invalid overflow policy `{}` for topic {}. Using {}", policyName, topic, DEFAULT_OverflowPolicy);
+			return DEFAULT_OverflowPolicy;
+		}
+	}
+
+	/**
+	 * @return for how many milliseconds the remote endpoint shall collect outgoing events in order to send them in one message; zero means the events are sent one by one, right away
+	 */
+	public static int getRemoteBatchWindowMillis()
+	{
+		return Math.max(getIntProperty(SYSCONFIG_RemoteBatchWindowMillis, DEFAULT_RemoteBatchWindowMillis), 0);
+	}
+
+	/** @return the maximum number of events which are sent to the remote endpoint in one message */
+	public static int getRemoteMaxBatchSize()
+	{
+		return Math.max(getIntProperty(SYSCONFIG_RemoteMaxBatchSize, DEFAULT_RemoteMaxBatchSize), 1);
+	}
+
+	/**
+	 * @return how the events of the given topic shall be encoded when sending them to other nodes.
+	 *         Can be configured by system property <code>de.metas.event.remote.SerializationFormat</code> and overridden per topic by <code>de.metas.event.remote.SerializationFormat.&lt;topicName&gt;</code>.
+	 *         Default is {@link EventSerializationFormat#JSON}, which is understood by all nodes; switch to {@link EventSerializationFormat#SMILE} after all nodes were upgraded.
+	 */
+	public static EventSerializationFormat getRemoteSerializationFormat(@NonNull final String topicName)
+	{
+		final String formatName = System.getProperty(
+				SYSCONFIG_RemoteSerializationFormat + "." + topicName,
+				System.getProperty(SYSCONFIG_RemoteSerializationFormat));
+		if (Check.isEmpty(formatName, true))
+		{
+			return DEFAULT_RemoteSerializationFormat;
+		}
+
+		try
+		{
+			return EventSerializationFormat.valueOf(formatName.trim());
+		}
+		catch (final IllegalArgumentException ex)
+		{
+			getLogger(EventBusConstants.class).warn("Invalid serialization format `{}` for topic {}. Using {}", formatName, topicName, DEFAULT_RemoteSerializationFormat);
+			return DEFAULT_RemoteSerializationFormat;
+		}
+	}
+
+	private static int getIntProperty(final String name, final int defaultValue)
+	{
+		return Integer.getInteger(name, defaultValue);
+	}
 }
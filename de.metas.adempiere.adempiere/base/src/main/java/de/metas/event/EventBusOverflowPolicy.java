@@ -0,0 +1,40 @@
+package de.metas.event;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * What an asynchronous {@link IEventBus} shall do when its event queue is full.
+ * <p>
+ * NOTE: for {@link Type#REMOTE} event busses, only {@link #BLOCK} is allowed because we don't want to lose events which are (or will be) shared with other nodes.
+ */
+public enum EventBusOverflowPolicy
+{
+	/** The thread which is posting the event waits until there is room in the queue. */
+	BLOCK,
+
+	/** If an equivalent event (same content, ignoring UUID and timestamp) is already queued, the new event is dropped; else, same as {@link #BLOCK}. */
+	COALESCE,
+
+	/** The oldest queued event is dropped in order to make room for the new one. */
+	DROP_OLDEST,
+}
@@ -0,0 +1,67 @@
+package de.metas.event;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Queue statistics of one {@link IEventBus}.
+ */
+@Value
+@Builder
+public class EventBusStats
+{
+	@NonNull
+	String topicName;
+
+	boolean async;
+	EventBusOverflowPolicy overflowPolicy;
+
+	int queueSize;
+	int queueCapacity;
+	int queueSizeMax;
+
+	long countPosted;
+	long countDispatched;
+	long countDropped;
+	long countCoalesced;
+
+	public String toSummaryString()
+	{
+		if (!async)
+		{
+			return topicName + ": sync";
+		}
+
+		return topicName
+				+ ": queueSize=" + queueSize + "/" + queueCapacity
+				+ ", queueSizeMax=" + queueSizeMax
+				+ ", overflowPolicy=" + overflowPolicy
+				+ ", posted=" + countPosted
+				+ ", dispatched=" + countDispatched
+				+ ", dropped=" + countDropped
+				+ ", coalesced=" + countCoalesced;
+	}
+}
@@ -0,0 +1,228 @@
+package de.metas.event.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
+import org.slf4j.Logger;
+
+import de.metas.event.Event;
+import de.metas.event.EventBusConstants;
+import de.metas.event.EventBusOverflowPolicy;
+import de.metas.event.EventBusStats;
+import de.metas.util.Check;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Dispatches the events of one event bus asynchronously, in the order they were enqueued, using one thread and a bounded queue.
+ * <p>
+ * What happens when the queue is full is decided by the {@link EventBusOverflowPolicy}.
+ */
+final class AsyncEventDispatcher
+{
+	private static final Logger logger = EventBusConstants.getLogger(AsyncEventDispatcher.class);
+
+	private final String name;
+	private final Consumer<Event> eventConsumer;
+	private final int queueCapacity;
+	private final EventBusOverflowPolicy overflowPolicy;
+
+	private final LinkedBlockingDeque<Event> queue;
+	private final ExecutorService executor;
+	private volatile Thread dispatcherThread;
+
+	private final AtomicInteger queueSizeMax = new AtomicInteger(0);
+	private final AtomicLong countPosted = new AtomicLong(0);
+	private final AtomicLong countDispatched = new AtomicLong(0);
+	private final AtomicLong countDropped = new AtomicLong(0);
+	private final AtomicLong countCoalesced = new AtomicLong(0);
+
+	public AsyncEventDispatcher(
+			@NonNull final String name,
+			final int queueCapacity,
+			@NonNull final EventBusOverflowPolicy overflowPolicy,
+			@NonNull final Consumer<Event> eventConsumer)
+	{
+		Check.assume(queueCapacity > 0, "queueCapacity > 0");
+
+		this.name = name;
+		this.eventConsumer = eventConsumer;
+		this.queueCapacity = queueCapacity;
+		this.overflowPolicy = overflowPolicy;
+		this.queue = new LinkedBlockingDeque<>(queueCapacity);
+
+		this.executor = Executors.newSingleThreadExecutor(CustomizableThreadFactory.builder()
+				.setThreadNamePrefix(EventBusFactory.class.getName() + "-" + name + "-AsyncExecutor")
+				.setDaemon(true)
+				.build());
+		this.executor.execute(this::dispatchLoop);
+	}
+
+	public void shutdown()
+	{
+		executor.shutdownNow();
+	}
+
+	public void enqueue(@NonNull final Event event)
+	{
+		if (!queue.offer(event))
+		{
+			enqueueOnOverflow(event);
+		}
+
+		countPosted.incrementAndGet();
+		queueSizeMax.accumulateAndGet(queue.size(), Math::max);
+	}
+
+	private void enqueueOnOverflow(final Event event)
+	{
+		// If the event is posted by one of our listeners (i.e. from the dispatcher thread), we cannot wait for room in the queue,
+		// because we would wait for ourselves. So we dispatch the event right away.
+		if (Thread.currentThread() == dispatcherThread)
+		{
+			logger.debug("{} - Queue is full. Dispatching the event directly because we are on the dispatcher thread: {}", name, event);
+			dispatch(event);
+			return;
+		}
+
+		if (overflowPolicy == EventBusOverflowPolicy.DROP_OLDEST)
+		{
+			while (!queue.offer(event))
+			{
+				final Event droppedEvent = queue.pollFirst();
+				if (droppedEvent != null)
+				{
+					countDropped.incrementAndGet();
+					logger.debug("{} - Queue is full. Dropped oldest event: {}", name, droppedEvent);
+				}
+			}
+			return;
+		}
+
+		if (overflowPolicy == EventBusOverflowPolicy.COALESCE && containsEquivalentEvent(event))
+		{
+			countCoalesced.incrementAndGet();
+			logger.debug("{} - Queue is full. Dropped event because an equivalent one is already queued: {}", name, event);
+			return;
+		}
+
+		try
+		{
+			queue.put(event);
+		}
+		catch (final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			countDropped.incrementAndGet();
+			logger.warn("{} - Interrupted while waiting for room in the queue. Dropped event: {}", name, event);
+		}
+	}
+
+	private boolean containsEquivalentEvent(final Event event)
+	{
+		final List<Object> eventKey = extractCoalesceKey(event);
+		return queue.stream().anyMatch(queuedEvent -> eventKey.equals(extractCoalesceKey(queuedEvent)));
+	}
+
+	private static List<Object> extractCoalesceKey(final Event event)
+	{
+		return Arrays.asList(
+				event.getSummary(),
+				event.getDetailPlain(),
+				event.getDetailADMessage(),
+				event.getSenderId(),
+				event.getRecipientUserIds(),
+				event.getProperties());
+	}
+
+	private void dispatchLoop()
+	{
+		dispatcherThread = Thread.currentThread();
+		while (!Thread.currentThread().isInterrupted())
+		{
+			final Event event;
+			try
+			{
+				event = queue.take();
+			}
+			catch (final InterruptedException e)
+			{
+				break;
+			}
+
+			dispatch(event);
+		}
+
+		final int countNotDispatched = queue.size();
+		if (countNotDispatched > 0)
+		{
+			logger.warn("{} - Shut down with {} events not dispatched", name, countNotDispatched);
+		}
+	}
+
+	private void dispatch(final Event event)
+	{
+		try
+		{
+			eventConsumer.accept(event);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("{} - Failed dispatching event. Ignored: {}", name, event, ex);
+		}
+		finally
+		{
+			countDispatched.incrementAndGet();
+		}
+	}
+
+	public EventBusStats getStats()
+	{
+		return EventBusStats.builder()
+				.topicName(name)
+				.async(true)
+				.overflowPolicy(overflowPolicy)
+				.queueSize(queue.size())
+				.queueCapacity(queueCapacity)
+				.queueSizeMax(queueSizeMax.get())
+				.countPosted(countPosted.get())
+				.countDispatched(countDispatched.get())
+				.countDropped(countDropped.get())
+				.countCoalesced(countCoalesced.get())
+				.build();
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + name + ", " + overflowPolicy + ", capacity=" + queueCapacity + "]";
+	}
+}
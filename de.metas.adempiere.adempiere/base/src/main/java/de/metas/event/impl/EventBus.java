@@ -1,6 +1,8 @@
 package de.metas.event.impl;
 
+import lombok.Builder;
 import lombok.NonNull;
+import lombok.Value;
 
 import javax.annotation.Nullable;
 
@@ -27,20 +29,20 @@ import javax.annotation.Nullable;
  */
 
 import java.lang.ref.WeakReference;
-import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 import org.compiere.Adempiere;
 import org.slf4j.Logger;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.eventbus.AsyncEventBus;
 import com.google.common.eventbus.Subscribe;
 import com.google.common.eventbus.SubscriberExceptionContext;
 import com.google.common.eventbus.SubscriberExceptionHandler;
 
 import de.metas.event.Event;
 import de.metas.event.EventBusConstants;
+import de.metas.event.EventBusOverflowPolicy;
+import de.metas.event.EventBusStats;
 import de.metas.event.IEventBus;
 import de.metas.event.IEventListener;
 import de.metas.event.Type;
@@ -68,6 +70,7 @@ final class EventBus implements IEventBus
 
 	private final String name;
 	private com.google.common.eventbus.EventBus eventBus;
+	private final AsyncEventDispatcher asyncDispatcherOrNull;
 
 	private boolean destroyed = false;
 
@@ -76,25 +79,36 @@ final class EventBus implements IEventBus
 	 */
 	private Type type = Type.LOCAL;
 
-	private final ExecutorService executorOrNull;
+	@Value
+	@Builder
+	static class AsyncDispatchConfig
+	{
+		int queueCapacity;
+		@NonNull
+		EventBusOverflowPolicy overflowPolicy;
+	}
 
 	/**
-	 * @param executor if not null, the system creates an {@link AsyncEventBus}; also, it shuts down this executor on {@link #destroy()}
+	 * @param asyncDispatchConfig if not null, the events are dispatched asynchronously, using a bounded queue; the dispatcher thread is shut down on {@link #destroy()}
 	 */
 	public EventBus(
 			final String topicName,
-			@Nullable final ExecutorService executor)
+			@Nullable final AsyncDispatchConfig asyncDispatchConfig)
 	{
-		this.executorOrNull = executor;
 		this.name = Check.assumeNotEmpty(topicName, "name not empty");
+		this.eventBus = new com.google.common.eventbus.EventBus(exceptionHandler);
 
-		if (executor == null)
+		if (asyncDispatchConfig == null)
 		{
-			this.eventBus = new com.google.common.eventbus.EventBus(exceptionHandler);
+			this.asyncDispatcherOrNull = null;
 		}
 		else
 		{
-			this.eventBus = new com.google.common.eventbus.AsyncEventBus(executor, exceptionHandler);
+			this.asyncDispatcherOrNull = new AsyncEventDispatcher(
+					topicName,
+					asyncDispatchConfig.getQueueCapacity(),
+					asyncDispatchConfig.getOverflowPolicy(),
+					this::dispatchEvent);
 		}
 	}
 
@@ -136,9 +150,9 @@ final class EventBus implements IEventBus
 		this.destroyed = true;
 		this.eventBus = null;
 
-		if (executorOrNull != null)
+		if (asyncDispatcherOrNull != null)
 		{
-			executorOrNull.shutdown(); // not 100% sure it's needed, but better safe than sorry
+			asyncDispatcherOrNull.shutdown();
 		}
 		logger.trace("{0} - Destroyed", this);
 	}
@@ -197,9 +211,42 @@ final class EventBus implements IEventBus
 		}
 
 		logger.debug("{} - Posting event: {}", this, event);
+		if (asyncDispatcherOrNull != null)
+		{
+			asyncDispatcherOrNull.enqueue(event);
+		}
+		else
+		{
+			eventBus.post(event);
+		}
+	}
+
+	private void dispatchEvent(final Event event)
+	{
+		final com.google.common.eventbus.EventBus eventBus = this.eventBus;
+		if (eventBus == null)
+		{
+			logger.debug("{} - Skip dispatching event because bus was destroyed meanwhile: {}", this, event);
+			return;
+		}
+
 		eventBus.post(event);
 	}
 
+	/** @return queue statistics */
+	EventBusStats getStats()
+	{
+		if (asyncDispatcherOrNull != null)
+		{
+			return asyncDispatcherOrNull.getStats();
+		}
+
+		return EventBusStats.builder()
+				.topicName(name)
+				.async(false)
+				.build();
+	}
+
 	@Override
 	public boolean isDestroyed()
 	{
@@ -1,13 +1,11 @@
 package de.metas.event.impl;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.adempiere.exceptions.AdempiereException;
-import org.adempiere.util.concurrent.CustomizableThreadFactory;
 import org.adempiere.util.jmx.JMXRegistry;
 import org.adempiere.util.jmx.JMXRegistry.OnJMXAlreadyExistsPolicy;
 import org.slf4j.Logger;
@@ -19,10 +17,12 @@ import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.SetMultimap;
 
 import de.metas.event.EventBusConstants;
+import de.metas.event.EventBusStats;
 import de.metas.event.IEventBus;
 import de.metas.event.IEventBusFactory;
 import de.metas.event.IEventListener;
@@ -73,7 +73,7 @@ public class EventBusFactory implements IEventBusFactory
 		this.remoteEndpoint = remoteEndpoint;
 		logger.info("Using remote endpoint: {}", remoteEndpoint);
 
-		JMXRegistry.get().registerJMX(new JMXEventBusManager(remoteEndpoint), OnJMXAlreadyExistsPolicy.Replace);
+		JMXRegistry.get().registerJMX(new JMXEventBusManager(remoteEndpoint, this::getEventBusStats), OnJMXAlreadyExistsPolicy.Replace);
 
 		// Setup default user notification topics
 		addAvailableUserNotificationsTopic(EventBusConstants.TOPIC_GeneralUserNotifications);
@@ -101,6 +101,15 @@ public class EventBusFactory implements IEventBusFactory
 		}
 	}
 
+	private List<EventBusStats> getEventBusStats()
+	{
+		return topic2eventBus.asMap()
+				.values()
+				.stream()
+				.map(EventBus::getStats)
+				.collect(ImmutableList.toImmutableList());
+	}
+
 	@Override
 	public IEventBus getEventBusIfExists(@NonNull final Topic topic)
 	{
@@ -136,7 +145,7 @@ public class EventBusFactory implements IEventBusFactory
 	private final EventBus createEventBus(final Topic topic)
 	{
 		// Create the event bus
-		final EventBus eventBus = new EventBus(topic.getName(), createExecutorOrNull(topic.getName()));
+		final EventBus eventBus = new EventBus(topic.getName(), createAsyncDispatchConfigOrNull(topic));
 
 		// whether the event is really stored is determined for each individual event
 		eventBus.subscribe(EventBus2EventLogHandler.INSTANCE);
@@ -166,17 +175,17 @@ public class EventBusFactory implements IEventBusFactory
 		return eventBus;
 	}
 
-	private ExecutorService createExecutorOrNull(@NonNull final String eventBusName)
+	private static EventBus.AsyncDispatchConfig createAsyncDispatchConfigOrNull(@NonNull final Topic topic)
 	{
-		// Setup EventBus executor
-		if (EventBusConstants.isEventBusPostEventsAsync())
+		if (!EventBusConstants.isEventBusPostEventsAsync())
 		{
-			return Executors.newSingleThreadExecutor(CustomizableThreadFactory.builder()
-					.setThreadNamePrefix(getClass().getName() + "-" + eventBusName + "-AsyncExecutor")
-					.setDaemon(true)
-					.build());
+			return null;
 		}
-		return null;
+
+		return EventBus.AsyncDispatchConfig.builder()
+				.queueCapacity(EventBusConstants.getEventBusQueueCapacity(topic))
+				.overflowPolicy(EventBusConstants.getEventBusOverflowPolicy(topic))
+				.build();
 	}
 
 	private void destroyEventBus(@NonNull final EventBus eventBus)
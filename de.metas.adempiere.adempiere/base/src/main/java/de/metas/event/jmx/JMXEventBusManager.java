@@ -1,20 +1,29 @@
 package de.metas.event.jmx;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Supplier;
+
 import org.adempiere.util.jmx.IJMXNameAware;
 
 import de.metas.event.EventBusConstants;
+import de.metas.event.EventBusStats;
 import de.metas.event.remote.IEventBusRemoteEndpoint;
 
 public class JMXEventBusManager implements JMXEventBusManagerMBean, IJMXNameAware
 {
 	private final String jmxName;
 	private final IEventBusRemoteEndpoint remoteEndpoint;
+	private final Supplier<? extends Collection<EventBusStats>> eventBusStatsSupplier;
 
-	public JMXEventBusManager(final IEventBusRemoteEndpoint remoteEndpoint)
+	public JMXEventBusManager(
+			final IEventBusRemoteEndpoint remoteEndpoint,
+			final Supplier<? extends Collection<EventBusStats>> eventBusStatsSupplier)
 	{
 		super();
 		this.jmxName = EventBusConstants.JMX_BASE_NAME + ":type=EventBusManager";
 		this.remoteEndpoint = remoteEndpoint;
+		this.eventBusStatsSupplier = eventBusStatsSupplier;
 	}
 
 	@Override
@@ -46,4 +55,14 @@ public class JMXEventBusManager implements JMXEventBusManagerMBean, IJMXNameAwar
 	{
 		return EventBusConstants.getSenderId();
 	}
+
+	@Override
+	public String[] getEventBusStatistics()
+	{
+		return eventBusStatsSupplier.get()
+				.stream()
+				.sorted(Comparator.comparing(EventBusStats::getTopicName))
+				.map(EventBusStats::toSummaryString)
+				.toArray(String[]::new);
+	}
 }
@@ -40,4 +40,7 @@ public interface JMXEventBusManagerMBean
 	boolean isRemoteEndpointConnected();
 
 	String getSenderId();
+
+	/** @return queue statistics of each event bus */
+	String[] getEventBusStatistics();
 }
@@ -0,0 +1,70 @@
+package de.metas.event.remote;
+
+import org.springframework.amqp.core.MessageProperties;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * How {@link de.metas.event.Event}s are encoded when they are sent to other nodes.
+ */
+public enum EventSerializationFormat
+{
+	/** One JSON event per message; this is the format which is understood by all versions. */
+	JSON(MessageProperties.CONTENT_TYPE_JSON),
+
+	/** A list of events, in the binary <i>Smile</i> format; see {@link JacksonSmileEventSerializer}. */
+	SMILE("application/x-jackson-smile");
+
+	@Getter
+	private final String contentType;
+
+	private EventSerializationFormat(@NonNull final String contentType)
+	{
+		this.contentType = contentType;
+	}
+
+	/**
+	 * @return the format for the given content type; if the content type is not set, {@link #JSON} is assumed.
+	 * @throws IllegalArgumentException if the content type is not supported
+	 */
+	public static EventSerializationFormat ofContentType(final String contentType)
+	{
+		if (contentType == null || contentType.isEmpty())
+		{
+			return JSON;
+		}
+
+		for (final EventSerializationFormat format : values())
+		{
+			if (contentType.startsWith(format.getContentType()))
+			{
+				return format;
+			}
+		}
+
+		throw new IllegalArgumentException("Unsupported content type: " + contentType);
+	}
+}
@@ -1,10 +1,13 @@
 package de.metas.event.remote;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.adempiere.exceptions.AdempiereException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import de.metas.event.Event;
@@ -72,4 +75,54 @@ public class JacksonJsonEventSerializer implements IEventSerializer
 		}
 	}
 
+	public byte[] toBytes(final Event event)
+	{
+		try
+		{
+			return jsonObjectMapper.writeValueAsBytes(event);
+		}
+		catch (final JsonProcessingException ex)
+		{
+			throw new AdempiereException("Failed converting event to json: " + event, ex);
+		}
+	}
+
+	public Event fromBytes(final byte[] eventBytes)
+	{
+		try
+		{
+			return jsonObjectMapper.readValue(eventBytes, Event.class);
+		}
+		catch (IOException ex)
+		{
+			throw new AdempiereException("Failed converting json to Event: " + new String(eventBytes, StandardCharsets.UTF_8), ex);
+		}
+	}
+
+	public String toString(final List<Event> events)
+	{
+		try
+		{
+			return jsonObjectMapper.writeValueAsString(events);
+		}
+		catch (final JsonProcessingException ex)
+		{
+			throw new AdempiereException("Failed converting events to json: " + events, ex);
+		}
+	}
+
+	public List<Event> listFromString(final String eventsStr)
+	{
+		try
+		{
+			return jsonObjectMapper.readValue(eventsStr, new TypeReference<List<Event>>()
+			{
+			});
+		}
+		catch (IOException ex)
+		{
+			throw new AdempiereException("Failed converting json to Events: " + eventsStr, ex);
+		}
+	}
+
 }
@@ -0,0 +1,89 @@
+package de.metas.event.remote;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.adempiere.exceptions.AdempiereException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import de.metas.event.Event;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Serializes {@link Event}s using <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>, the binary JSON format.
+ * <p>
+ * Compared to {@link JacksonJsonEventSerializer}, the property names which are repeated in every event (or in every element of a list of events) are written only once.
+ * The event's JSON model (i.e. the jackson annotations of {@link Event}) is the same.
+ */
+public final class JacksonSmileEventSerializer
+{
+	public static final transient JacksonSmileEventSerializer instance = new JacksonSmileEventSerializer();
+
+	private static final TypeReference<List<Event>> TYPE_EventsList = new TypeReference<List<Event>>()
+	{
+	};
+
+	private final ObjectMapper smileObjectMapper;
+
+	private JacksonSmileEventSerializer()
+	{
+		final SmileFactory smileFactory = new SmileFactory();
+		smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES);
+		smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+
+		smileObjectMapper = new ObjectMapper(smileFactory);
+
+		// needed to serialize/deserialize java.time.Instant (see JacksonJsonEventSerializer)
+		smileObjectMapper.findAndRegisterModules();
+	}
+
+	public byte[] toBytes(final List<Event> events)
+	{
+		try
+		{
+			return smileObjectMapper.writeValueAsBytes(events);
+		}
+		catch (final JsonProcessingException ex)
+		{
+			throw new AdempiereException("Failed converting events to smile: " + events, ex);
+		}
+	}
+
+	public List<Event> listFromBytes(final byte[] eventsBytes)
+	{
+		try
+		{
+			return smileObjectMapper.readValue(eventsBytes, TYPE_EventsList);
+		}
+		catch (IOException ex)
+		{
+			throw new AdempiereException("Failed converting smile to Events", ex);
+		}
+	}
+}
@@ -1,13 +1,21 @@
 package de.metas.event.remote;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
 import org.slf4j.Logger;
 import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+
+import com.google.common.collect.ImmutableList;
 
 import de.metas.event.Event;
 import de.metas.event.EventBusConstants;
@@ -55,18 +63,38 @@ public class RabbitMQEventBusRemoteEndpoint implements IEventBusRemoteEndpoint
 
 	private final IEventListener eventBus2amqpListener = EventBus2RemoteEndpointHandler.newInstance(this);
 
+	private final int batchWindowMillis;
+	private final int maxBatchSize;
+	private final ScheduledExecutorService batchFlushExecutor;
+	private final Object pendingEventsLock = new Object();
+	private final Map<String, List<Event>> pendingEventsByTopicName = new HashMap<>();
+
 	public RabbitMQEventBusRemoteEndpoint(@NonNull final AmqpTemplate amqpTemplate)
 	{
 		senderId = EventBusConstants.getSenderId();
 		this.amqpTemplate = amqpTemplate;
+
+		batchWindowMillis = EventBusConstants.getRemoteBatchWindowMillis();
+		maxBatchSize = EventBusConstants.getRemoteMaxBatchSize();
+		if (batchWindowMillis > 0 && maxBatchSize > 1)
+		{
+			batchFlushExecutor = Executors.newSingleThreadScheduledExecutor(CustomizableThreadFactory.builder()
+					.setThreadNamePrefix(getClass().getName() + "-BatchFlush")
+					.setDaemon(true)
+					.build());
+		}
+		else
+		{
+			batchFlushExecutor = null;
+		}
 	}
 
 	@RabbitListener(queues = AMQPEventBusConfiguration.EVENTS_QUEUE_NAME_SPEL)
-	public void onRemoteEvent(
-			@Payload final Event event,
-			@Header(HEADER_SenderId) final String senderId,
-			@Header(HEADER_TopicName) final String topicName)
+	public void onRemoteEvent(final Message message)
 	{
+		final Map<String, Object> headers = message.getMessageProperties().getHeaders();
+		final String senderId = Objects.toString(headers.get(HEADER_SenderId), null);
+		final String topicName = Objects.toString(headers.get(HEADER_TopicName), null);
 		try
 		{
 			if (Objects.equals(getSenderId(), senderId))
@@ -81,19 +109,25 @@ public class RabbitMQEventBusRemoteEndpoint implements IEventBusRemoteEndpoint
 				return;
 			}
 
-			event.markReceivedByEventBusId(createEventBusId(topicName));
-
-			eventBus.postEvent(event);
-
-			final long durationMillis = System.currentTimeMillis() - event.getWhen().toEpochMilli();
-			logger.debug("Received event in {}ms, topic={}: {}", durationMillis, topicName, event);
+			final List<Event> events = RemoteEventsMessageConverter.instance.fromMessage(message);
+			events.forEach(event -> postRemoteEvent(eventBus, topicName, event));
 		}
 		catch (final Exception ex)
 		{
-			logger.warn("Failed forwarding event to topic {}: {}", topicName, event, ex);
+			logger.warn("Failed forwarding events to topic {}: {}", topicName, message, ex);
 		}
 	}
 
+	private void postRemoteEvent(final IEventBus eventBus, final String topicName, final Event event)
+	{
+		event.markReceivedByEventBusId(createEventBusId(topicName));
+
+		eventBus.postEvent(event);
+
+		final long durationMillis = System.currentTimeMillis() - event.getWhen().toEpochMilli();
+		logger.debug("Received event in {}ms, topic={}: {}", durationMillis, topicName, event);
+	}
+
 	@Override
 	public void sendEvent(final String topicName, final Event event)
 	{
@@ -106,14 +140,14 @@ public class RabbitMQEventBusRemoteEndpoint implements IEventBusRemoteEndpoint
 				return;
 			}
 
-			amqpTemplate.convertAndSend(AMQPEventBusConfiguration.EVENTS_EXCHANGE_NAME, "", event, message -> {
-				final Map<String, Object> headers = message.getMessageProperties().getHeaders();
-				headers.put(HEADER_SenderId, getSenderId());
-				headers.put(HEADER_TopicName, topicName);
-				return message;
-			});
-
-			logger.debug("Send event; topicName={}; event={}",topicName, event);
+			if (batchFlushExecutor == null)
+			{
+				sendEventsNow(topicName, ImmutableList.of(event));
+			}
+			else
+			{
+				enqueueEvent(topicName, event);
+			}
 		}
 		catch (final Exception e)
 		{
@@ -121,6 +155,69 @@ public class RabbitMQEventBusRemoteEndpoint implements IEventBusRemoteEndpoint
 		}
 	}
 
+	/**
+	 * Collects the given event and sends it, together with the other events of the same topic, after {@link #batchWindowMillis} or when {@link #maxBatchSize} is reached.
+	 */
+	private void enqueueEvent(final String topicName, final Event event)
+	{
+		final List<Event> eventsToSendNow;
+		final boolean scheduleFlush;
+		synchronized (pendingEventsLock)
+		{
+			final List<Event> pendingEvents = pendingEventsByTopicName.computeIfAbsent(topicName, k -> new ArrayList<>());
+			scheduleFlush = pendingEvents.isEmpty();
+			pendingEvents.add(event);
+
+			eventsToSendNow = pendingEvents.size() >= maxBatchSize ? pendingEventsByTopicName.remove(topicName) : null;
+		}
+
+		if (eventsToSendNow != null)
+		{
+			sendEventsNow(topicName, eventsToSendNow);
+		}
+		else if (scheduleFlush)
+		{
+			batchFlushExecutor.schedule(() -> flushPendingEvents(topicName), batchWindowMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void flushPendingEvents(final String topicName)
+	{
+		final List<Event> events;
+		synchronized (pendingEventsLock)
+		{
+			events = pendingEventsByTopicName.remove(topicName);
+		}
+
+		if (events == null || events.isEmpty())
+		{
+			return;
+		}
+
+		try
+		{
+			sendEventsNow(topicName, events);
+		}
+		catch (final Exception e)
+		{
+			logger.warn(StringUtils.formatMessage("Failed to send events to topic name. Ignored; topicName={}; events={}", topicName, events), e);
+		}
+	}
+
+	private void sendEventsNow(final String topicName, final List<Event> events)
+	{
+		final EventSerializationFormat format = EventBusConstants.getRemoteSerializationFormat(topicName);
+		final Message message = RemoteEventsMessageConverter.instance.toMessage(events, format);
+
+		final Map<String, Object> headers = message.getMessageProperties().getHeaders();
+		headers.put(HEADER_SenderId, getSenderId());
+		headers.put(HEADER_TopicName, topicName);
+
+		amqpTemplate.send(AMQPEventBusConfiguration.EVENTS_EXCHANGE_NAME, "", message);
+
+		logger.debug("Sent {} event(s) as {} ({} bytes); topicName={}; events={}", events.size(), format, message.getBody().length, topicName, events);
+	}
+
 	private final String createEventBusId(final String topicName)
 	{
 		return getSenderId() + "_" + topicName;
@@ -0,0 +1,151 @@
+package de.metas.event.remote;
+
+import java.util.List;
+import java.util.Map;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.event.Event;
+import de.metas.event.EventBusConstants;
+import de.metas.util.Check;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Converts the events which are sent to/received from other nodes to/from AMQP messages.
+ * <p>
+ * The encoding is given by the message's content type (see {@link EventSerializationFormat}).
+ * Each message also carries a format version header. Messages with a version we don't know are rejected,
+ * so that the encoding can be changed in future while nodes of different versions are running in the same cluster.
+ */
+final class RemoteEventsMessageConverter
+{
+	public static final transient RemoteEventsMessageConverter instance = new RemoteEventsMessageConverter();
+
+	private static final String HEADER_FormatVersion = "metasfresh-events.FormatVersion";
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * If a JSON event has this property, then it's only the carrier of other events (JSON array) which were sent together in one message.
+	 */
+	private static final String PROPERTY_BatchedEvents = "de.metas.event.remote.BatchedEvents";
+
+	private RemoteEventsMessageConverter()
+	{
+	}
+
+	public Message toMessage(
+			@NonNull final List<Event> events,
+			@NonNull final EventSerializationFormat format)
+	{
+		Check.assumeNotEmpty(events, "events is not empty");
+
+		final MessageProperties messageProperties = new MessageProperties();
+		messageProperties.setContentType(format.getContentType());
+		messageProperties.getHeaders().put(HEADER_FormatVersion, FORMAT_VERSION);
+
+		final byte[] body;
+		if (format == EventSerializationFormat.SMILE)
+		{
+			body = JacksonSmileEventSerializer.instance.toBytes(events);
+		}
+		else if (format == EventSerializationFormat.JSON)
+		{
+			messageProperties.setContentEncoding("UTF-8");
+			body = JacksonJsonEventSerializer.instance.toBytes(toSingleJsonEvent(events));
+		}
+		else
+		{
+			throw new AdempiereException("Unsupported format: " + format);
+		}
+
+		return new Message(body, messageProperties);
+	}
+
+	/**
+	 * Nodes which are not aware of batching are expecting exactly one event per JSON message, so we wrap the batched events into a carrier event.
+	 */
+	private static Event toSingleJsonEvent(final List<Event> events)
+	{
+		if (events.size() == 1)
+		{
+			return events.get(0);
+		}
+
+		return Event.builder()
+				.setSenderId(EventBusConstants.getSenderId())
+				.putProperty(PROPERTY_BatchedEvents, JacksonJsonEventSerializer.instance.toString(events))
+				.build();
+	}
+
+	public List<Event> fromMessage(@NonNull final Message message)
+	{
+		final MessageProperties messageProperties = message.getMessageProperties();
+
+		final int formatVersion = extractFormatVersion(messageProperties.getHeaders());
+		if (formatVersion > FORMAT_VERSION)
+		{
+			throw new AdempiereException("Unsupported format version " + formatVersion + ". Maximum supported version is " + FORMAT_VERSION);
+		}
+
+		final EventSerializationFormat format = EventSerializationFormat.ofContentType(messageProperties.getContentType());
+		if (format == EventSerializationFormat.SMILE)
+		{
+			return JacksonSmileEventSerializer.instance.listFromBytes(message.getBody());
+		}
+		else if (format == EventSerializationFormat.JSON)
+		{
+			final Event event = JacksonJsonEventSerializer.instance.fromBytes(message.getBody());
+			final String batchedEventsStr = event.getPropertyAsString(PROPERTY_BatchedEvents);
+			return batchedEventsStr != null
+					? JacksonJsonEventSerializer.instance.listFromString(batchedEventsStr)
+					: ImmutableList.of(event);
+		}
+		else
+		{
+			throw new AdempiereException("Unsupported format: " + format);
+		}
+	}
+
+	private static int extractFormatVersion(final Map<String, Object> headers)
+	{
+		final Object formatVersionObj = headers.get(HEADER_FormatVersion);
+		if (formatVersionObj == null)
+		{
+			return 1; // messages of nodes which don't know about versioning
+		}
+		else if (formatVersionObj instanceof Number)
+		{
+			return ((Number)formatVersionObj).intValue();
+		}
+		else
+		{
+			return Integer.parseInt(formatVersionObj.toString());
+		}
+	}
+}
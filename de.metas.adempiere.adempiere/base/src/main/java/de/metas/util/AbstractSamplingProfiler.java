@@ -0,0 +1,225 @@
+package de.metas.util;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.logging.LogManager;
+import de.metas.util.SampledStatistics.OrderBy;
+import lombok.NonNull;
+
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Base class for sampling profilers: a configurable percentage of the invocations is sampled and their durations are aggregated per key.
+ * <p>
+ * Disabled by default, unless the system property given to the constructor is set.
+ *
+ * @param <K> key by which the samples are aggregated
+ * @param <S> mutable statistics which are collected for one key; shall be thread safe
+ * @param <T> immutable snapshot of one key's statistics
+ */
+public abstract class AbstractSamplingProfiler<K, S, T extends SampledStatistics>
+{
+	private final Logger logger = LogManager.getLogger(getClass());
+
+	/** Max number of keys we are keeping statistics for, to make sure we are not eating up the memory */
+	private final int maxEntries;
+
+	private volatile int samplePercent;
+	private final ConcurrentHashMap<K, S> statisticsByKey = new ConcurrentHashMap<>();
+	private final AtomicLong countNotCollected = new AtomicLong(0);
+
+	protected AbstractSamplingProfiler(@NonNull final String samplePercentSystemProperty, final int maxEntries)
+	{
+		Check.assume(maxEntries > 0, "maxEntries > 0 but it was {}", maxEntries);
+		this.maxEntries = maxEntries;
+		this.samplePercent = Math.max(0, Math.min(100, Integer.getInteger(samplePercentSystemProperty, 0)));
+	}
+
+	/**
+	 * @param samplePercent how many percent of the invocations shall be profiled; zero disables the profiler
+	 */
+	public final void setSamplePercent(final int samplePercent)
+	{
+		Check.assume(samplePercent >= 0 && samplePercent <= 100, "samplePercent shall be between 0 and 100 but it was {}", samplePercent);
+		this.samplePercent = samplePercent;
+		logger.info("Set samplePercent={}", samplePercent);
+	}
+
+	public final int getSamplePercent()
+	{
+		return samplePercent;
+	}
+
+	public final boolean isEnabled()
+	{
+		return samplePercent > 0;
+	}
+
+	public final void reset()
+	{
+		statisticsByKey.clear();
+		countNotCollected.set(0);
+	}
+
+	/**
+	 * @return started sample or {@code null} if the profiler is disabled or the current invocation shall not be sampled
+	 */
+	@Nullable
+	public final Sample startSampleOrNull()
+	{
+		final int samplePercent = this.samplePercent;
+		if (samplePercent <= 0)
+		{
+			return null;
+		}
+		if (samplePercent < 100 && ThreadLocalRandom.current().nextInt(100) >= samplePercent)
+		{
+			return null;
+		}
+
+		return new Sample(System.nanoTime());
+	}
+
+	public static final class Sample
+	{
+		private final long startNanos;
+
+		private Sample(final long startNanos)
+		{
+			this.startNanos = startNanos;
+		}
+
+		public long getElapsedNanos()
+		{
+			return System.nanoTime() - startNanos;
+		}
+	}
+
+	/**
+	 * Passes the statistics of given key to the given collector. If there are no statistics for that key yet and we already reached the max number of keys, nothing is collected.
+	 */
+	protected final void collect(@NonNull final K key, @NonNull final Consumer<S> collector)
+	{
+		S statistics = statisticsByKey.get(key);
+		if (statistics == null)
+		{
+			if (statisticsByKey.size() >= maxEntries)
+			{
+				countNotCollected.incrementAndGet();
+				return;
+			}
+			statistics = statisticsByKey.computeIfAbsent(key, this::newStatistics);
+		}
+
+		collector.accept(statistics);
+	}
+
+	protected abstract S newStatistics(K key);
+
+	protected abstract T toSampledStatistics(K key, S statistics);
+
+	public final List<T> getTop(@NonNull final OrderBy orderBy, final int topN)
+	{
+		return statisticsByKey.entrySet()
+				.stream()
+				.map(entry -> toSampledStatistics(entry.getKey(), entry.getValue()))
+				.sorted(orderBy.getComparator())
+				.limit(topN > 0 ? topN : Long.MAX_VALUE)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	/**
+	 * @return how many samples were dropped because there were already too many keys
+	 */
+	public final long getCountNotCollected()
+	{
+		return countNotCollected.get();
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[samplePercent=" + samplePercent + ", entries=" + statisticsByKey.size() + "]";
+	}
+
+	/**
+	 * Thread safe durations statistics of one key.
+	 */
+	public static final class DurationStatistics
+	{
+		private final AtomicLong count = new AtomicLong(0);
+		private final AtomicLong totalDurationNanos = new AtomicLong(0);
+		private final AtomicLong maxDurationNanos = new AtomicLong(0);
+		private final DurationHistogram histogram = new DurationHistogram();
+
+		public void add(final long durationNanos)
+		{
+			count.incrementAndGet();
+			totalDurationNanos.addAndGet(durationNanos);
+			maxDurationNanos.accumulateAndGet(durationNanos, Math::max);
+			histogram.add(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+		}
+
+		public long getCount()
+		{
+			return count.get();
+		}
+
+		public double getTotalDurationMillis()
+		{
+			return toMillis(totalDurationNanos.get());
+		}
+
+		public double getMaxDurationMillis()
+		{
+			return toMillis(maxDurationNanos.get());
+		}
+
+		public double getP50DurationMillis()
+		{
+			return histogram.getPercentileMicros(50) / 1000d;
+		}
+
+		public double getP99DurationMillis()
+		{
+			return histogram.getPercentileMicros(99) / 1000d;
+		}
+
+		private static double toMillis(final long nanos)
+		{
+			return nanos / 1_000_000d;
+		}
+	}
+}
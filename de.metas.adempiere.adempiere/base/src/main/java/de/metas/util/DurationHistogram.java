@@ -0,0 +1,94 @@
+package de.metas.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Lock free histogram with logarithmic buckets, 4 buckets per power of two.
+ * So the percentiles are approximated with an error of at most 25%, which is good enough to rank slow operations.
+ */
+public final class DurationHistogram
+{
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+	private final AtomicLong count = new AtomicLong(0);
+
+	public void add(final long micros)
+	{
+		buckets.incrementAndGet(bucketIndex(Math.max(micros, 0)));
+		count.incrementAndGet();
+	}
+
+	/**
+	 * @return the upper bound of the bucket in which the given percentile falls; zero if there are no values
+	 */
+	public long getPercentileMicros(final int percentile)
+	{
+		final long count = this.count.get();
+		if (count <= 0)
+		{
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long)Math.ceil(count * percentile / 100d));
+		long seen = 0;
+		for (int index = 0; index < buckets.length(); index++)
+		{
+			seen += buckets.get(index);
+			if (seen >= rank)
+			{
+				return bucketUpperBound(index);
+			}
+		}
+
+		return bucketUpperBound(buckets.length() - 1);
+	}
+
+	private static int bucketIndex(final long value)
+	{
+		if (value < SUB_BUCKETS)
+		{
+			return (int)value;
+		}
+
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int subBucket = (int)((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+		return exponent * SUB_BUCKETS + subBucket;
+	}
+
+	private static long bucketUpperBound(final int index)
+	{
+		if (index < SUB_BUCKETS)
+		{
+			return index;
+		}
+
+		final int exponent = index / SUB_BUCKETS;
+		final int subBucket = index % SUB_BUCKETS;
+		return ((SUB_BUCKETS + subBucket + 1L) << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+}
@@ -0,0 +1,80 @@
+package de.metas.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.adempiere.exceptions.AdempiereException;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Snapshot of the statistics which were collected by an {@link AbstractSamplingProfiler} for one key.
+ */
+public interface SampledStatistics
+{
+	/** Number of sampled invocations */
+	long getCount();
+
+	double getTotalDurationMillis();
+
+	double getP99DurationMillis();
+
+	String toSummaryString();
+
+	/** How to rank the statistics; always descending */
+	enum OrderBy
+	{
+		TotalDuration("totalDuration", Comparator.comparing(SampledStatistics::getTotalDurationMillis)),
+
+		Count("count", Comparator.comparing(SampledStatistics::getCount)),
+
+		P99Duration("p99", Comparator.comparing(SampledStatistics::getP99DurationMillis));
+
+		@Getter
+		private final String code;
+		private final Comparator<SampledStatistics> comparator;
+
+		OrderBy(@NonNull final String code, @NonNull final Comparator<SampledStatistics> ascendingComparator)
+		{
+			this.code = code;
+			this.comparator = ascendingComparator.reversed();
+		}
+
+		public static OrderBy ofCode(@NonNull final String code)
+		{
+			return Arrays.stream(values())
+					.filter(orderBy -> orderBy.code.equals(code))
+					.findFirst()
+					.orElseThrow(() -> new AdempiereException("Invalid orderBy '" + code + "'. Use one of: totalDuration, count, p99"));
+		}
+
+		Comparator<SampledStatistics> getComparator()
+		{
+			return comparator;
+		}
+	}
+}
@@ -143,6 +143,15 @@ public interface ICompositeQueryFilter<T> extends IQueryFilter<T>
 	 */
 	<V> ICompositeQueryFilter<T> addInArrayFilter(ModelColumn<T, ?> column, Collection<V> values);
 
+	/**
+	 * Filters those rows for whom the columnName's value is one of the given IDs.
+	 * The IDs are passed as one SQL array parameter (i.e. <code>ColumnName = ANY(?)</code>), so prefer it over {@link #addInArrayFilter(String, Collection)} for big ID sets.
+	 * If no IDs were provided the record is rejected.
+	 *
+	 * @param ids integer or {@link de.metas.util.lang.RepoIdAware} values
+	 */
+	ICompositeQueryFilter<T> addInIdsArrayFilter(String columnName, Collection<?> ids);
+
 	/**
 	 * NOTE: in case <code>values</code> collection is empty this filter will return <code>true</code> (as intuitively expected).
 	 *
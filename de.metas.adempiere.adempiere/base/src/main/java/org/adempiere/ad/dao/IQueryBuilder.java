@@ -232,6 +232,15 @@ public interface IQueryBuilder<T>
 	 */
 	<V> IQueryBuilder<T> addInArrayFilter(ModelColumn<T, ?> column, Collection<V> values);
 
+	/**
+	 * Filters those rows for whom the columnName's value is one of the given IDs.
+	 * The IDs are passed as one SQL array parameter (i.e. <code>ColumnName = ANY(?)</code>), so prefer it over {@link #addInArrayFilter(String, Collection)} for big ID sets.
+	 * If no IDs were provided the record is rejected.
+	 *
+	 * @param ids integer or {@link RepoIdAware} values
+	 */
+	IQueryBuilder<T> addInIdsArrayFilter(String columnName, Collection<?> ids);
+
 	/**
 	 * Notes:
 	 * <li>This filter <b>will not</b> match {@code null} column values.</li>
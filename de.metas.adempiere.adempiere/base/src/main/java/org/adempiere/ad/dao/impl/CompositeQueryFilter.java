@@ -684,6 +684,12 @@ import lombok.NonNull;
 		return addFilter(filter);
 	}
 
+	@Override
+	public ICompositeQueryFilter<T> addInIdsArrayFilter(final String columnName, final Collection<?> ids)
+	{
+		return addFilter(new InIdsArrayQueryFilter<>(columnName, ids));
+	}
+
 	@Override
 	public <V> ICompositeQueryFilter<T> addNotInArrayFilter(final ModelColumn<T, ?> column, final Collection<V> values)
 	{
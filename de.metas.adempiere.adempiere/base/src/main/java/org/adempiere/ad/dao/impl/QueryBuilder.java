@@ -402,6 +402,13 @@ import lombok.NonNull;
 		return this;
 	}
 
+	@Override
+	public IQueryBuilder<T> addInIdsArrayFilter(final String columnName, final Collection<?> ids)
+	{
+		filters.addInIdsArrayFilter(columnName, ids);
+		return this;
+	}
+
 	@Override
 	public <V> IQueryBuilder<T> addNotInArrayFilter(ModelColumn<T, ?> column, Collection<V> values)
 	{
@@ -0,0 +1,181 @@
+package org.adempiere.ad.dao.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.util.lang.IAutoCloseable;
+import org.adempiere.util.lang.NullAutoCloseable;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import de.metas.util.AbstractSamplingProfiler;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Sampling profiler for SQL queries.
+ * <p>
+ * A configurable percentage of the queries executed by {@link TypedSqlQuery} and {@link org.compiere.util.DB#executeUpdateEx(String, Object[], String)} is sampled.
+ * The SQLs are normalized to their "shape" (i.e. literals and parameter lists stripped) and the durations and row counts are aggregated per shape and caller
+ * (i.e. the model interceptor or process which was running when the query was executed, see {@link #temporarySetCaller(Object)}).
+ * <p>
+ * Disabled by default. Set the system property {@value #SYSTEM_PROPERTY_SamplePercent} or use the JMX operations of {@link QueryStatisticsLogger} to enable it.
+ */
+public final class QueryShapeProfiler extends AbstractSamplingProfiler<QueryShapeProfiler.ShapeKey, QueryShapeProfiler.ShapeStatistics, QueryShapeStatistics>
+{
+	public static final transient QueryShapeProfiler instance = new QueryShapeProfiler();
+
+	public static final String SYSTEM_PROPERTY_SamplePercent = "org.adempiere.ad.dao.impl.QueryShapeProfiler.SamplePercent";
+
+	/** Max number of shapes we are keeping statistics for, to make sure we are not eating up the memory in case the SQLs are not parametrized */
+	private static final int MAX_SHAPES = 5000;
+
+	private static final Pattern PATTERN_StringLiteral = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern PATTERN_NumberLiteral = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+	private static final Pattern PATTERN_ParametersList = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+	private static final Pattern PATTERN_Whitespaces = Pattern.compile("\\s+");
+
+	private final ThreadLocal<Object> currentCaller = new ThreadLocal<>();
+
+	@VisibleForTesting
+	QueryShapeProfiler()
+	{
+		super(SYSTEM_PROPERTY_SamplePercent, MAX_SHAPES);
+	}
+
+	/**
+	 * Sets the caller (e.g. model interceptor, process) to which the queries which are executed by the current thread will be attributed, until the returned closeable is closed.
+	 * The caller's {@link Object#toString()} is called only when a query is sampled.
+	 */
+	public IAutoCloseable temporarySetCaller(@NonNull final Object caller)
+	{
+		if (!isEnabled())
+		{
+			return NullAutoCloseable.instance;
+		}
+
+		final Object previousCaller = currentCaller.get();
+		currentCaller.set(caller);
+		return () -> {
+			if (previousCaller != null)
+			{
+				currentCaller.set(previousCaller);
+			}
+			else
+			{
+				currentCaller.remove();
+			}
+		};
+	}
+
+	/**
+	 * @param sample sample started by {@link #startSampleOrNull()}; if {@code null}, nothing happens
+	 * @param rows how many rows were fetched or updated; negative if not known
+	 */
+	public void stop(@Nullable final Sample sample, final String sql, final int rows)
+	{
+		if (sample == null)
+		{
+			return;
+		}
+		collect(sql, sample.getElapsedNanos(), rows);
+	}
+
+	@VisibleForTesting
+	void collect(final String sql, final long durationNanos, final int rows)
+	{
+		if (sql == null)
+		{
+			return;
+		}
+
+		final Object caller = currentCaller.get();
+		final ShapeKey key = new ShapeKey(toSqlShape(sql), caller != null ? caller.toString() : "-");
+		collect(key, statistics -> statistics.add(durationNanos, rows));
+	}
+
+	@VisibleForTesting
+	static String toSqlShape(@NonNull final String sql)
+	{
+		String shape = sql;
+		shape = PATTERN_StringLiteral.matcher(shape).replaceAll("?");
+		shape = PATTERN_NumberLiteral.matcher(shape).replaceAll("?");
+		shape = PATTERN_ParametersList.matcher(shape).replaceAll("?");
+		shape = PATTERN_Whitespaces.matcher(shape).replaceAll(" ");
+		return shape.trim();
+	}
+
+	@Override
+	protected ShapeStatistics newStatistics(final ShapeKey key)
+	{
+		return new ShapeStatistics();
+	}
+
+	@Override
+	protected QueryShapeStatistics toSampledStatistics(final ShapeKey key, final ShapeStatistics statistics)
+	{
+		final DurationStatistics durations = statistics.durations;
+		final long countWithRows = statistics.countWithRows.get();
+		final long totalRows = statistics.totalRows.get();
+
+		return QueryShapeStatistics.builder()
+				.sqlShape(key.getSqlShape())
+				.caller(key.getCaller())
+				.count(durations.getCount())
+				.totalDurationMillis(durations.getTotalDurationMillis())
+				.p50DurationMillis(durations.getP50DurationMillis())
+				.p99DurationMillis(durations.getP99DurationMillis())
+				.totalRows(totalRows)
+				.averageRows(countWithRows > 0 ? (double)totalRows / countWithRows : 0)
+				.build();
+	}
+
+	@Value
+	static class ShapeKey
+	{
+		String sqlShape;
+		String caller;
+	}
+
+	static final class ShapeStatistics
+	{
+		private final DurationStatistics durations = new DurationStatistics();
+		private final AtomicLong countWithRows = new AtomicLong(0);
+		private final AtomicLong totalRows = new AtomicLong(0);
+
+		public void add(final long durationNanos, final int rows)
+		{
+			durations.add(durationNanos);
+
+			if (rows >= 0)
+			{
+				countWithRows.incrementAndGet();
+				totalRows.addAndGet(rows);
+			}
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package org.adempiere.ad.dao.impl;
+
+import de.metas.util.SampledStatistics;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Snapshot of the statistics which were collected by {@link QueryShapeProfiler} for one SQL shape and caller.
+ */
+@Value
+@Builder
+public class QueryShapeStatistics implements SampledStatistics
+{
+	@NonNull
+	String sqlShape;
+	@NonNull
+	String caller;
+
+	long count;
+	double totalDurationMillis;
+	double p50DurationMillis;
+	double p99DurationMillis;
+
+	long totalRows;
+	double averageRows;
+
+	@Override
+	public String toSummaryString()
+	{
+		return String.format("%d executions, total %.1fms, p50 %.2fms, p99 %.2fms, avg. %.1f rows, caller %s: %s",
+				count, totalDurationMillis, p50DurationMillis, p99DurationMillis, averageRows, caller, sqlShape);
+	}
+}
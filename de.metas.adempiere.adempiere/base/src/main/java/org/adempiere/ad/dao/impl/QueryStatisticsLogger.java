@@ -2,6 +2,7 @@ package org.adempiere.ad.dao.impl;
 
 import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,6 +27,7 @@ import com.google.common.base.Stopwatch;
 
 import de.metas.logging.LogManager;
 import de.metas.util.Check;
+import de.metas.util.SampledStatistics.OrderBy;
 import de.metas.util.Services;
 import de.metas.util.time.SystemTime;
 
@@ -364,6 +366,49 @@ public class QueryStatisticsLogger implements IQueryStatisticsLogger, IQueryStat
 		return getTopQueriesAsString(Comparator.comparing(QueryStatistics::getAverageDuration));
 	}
 
+	@ManagedOperation(description = "Enables the SQL shape profiler, which samples the given percentage of queries and aggregates them by SQL shape and caller")
+	public void enableQueryShapeProfiler(final int samplePercent)
+	{
+		QueryShapeProfiler.instance.setSamplePercent(samplePercent);
+	}
+
+	@ManagedOperation(description = "Disables the SQL shape profiler")
+	public void disableQueryShapeProfiler()
+	{
+		QueryShapeProfiler.instance.setSamplePercent(0);
+	}
+
+	@ManagedOperation(description = "Resets the statistics collected by the SQL shape profiler")
+	public void resetQueryShapeProfiler()
+	{
+		QueryShapeProfiler.instance.reset();
+	}
+
+	@ManagedOperation(description = "Gets top SQL shapes ordered by their total execution time (descending)")
+	public String[] getTopTotalDurationQueryShapes(final int topN)
+	{
+		return toSummaryStrings(QueryShapeProfiler.instance.getTop(OrderBy.TotalDuration, topN));
+	}
+
+	@ManagedOperation(description = "Gets top SQL shapes ordered by their execution count (descending)")
+	public String[] getTopCountQueryShapes(final int topN)
+	{
+		return toSummaryStrings(QueryShapeProfiler.instance.getTop(OrderBy.Count, topN));
+	}
+
+	@ManagedOperation(description = "Gets top SQL shapes ordered by their 99th percentile execution time (descending)")
+	public String[] getTopP99DurationQueryShapes(final int topN)
+	{
+		return toSummaryStrings(QueryShapeProfiler.instance.getTop(OrderBy.P99Duration, topN));
+	}
+
+	private static String[] toSummaryStrings(final List<QueryShapeStatistics> statistics)
+	{
+		return statistics.stream()
+				.map(QueryShapeStatistics::toSummaryString)
+				.toArray(size -> new String[size]);
+	}
+
 	private String[] getTopQueriesAsString(final Comparator<QueryStatistics> comparing)
 	{
 		return sql2statistics.values()
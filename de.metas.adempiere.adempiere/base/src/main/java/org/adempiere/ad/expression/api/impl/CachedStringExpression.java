@@ -5,7 +5,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -17,13 +16,16 @@ import org.compiere.util.CtxName;
 import org.compiere.util.Env;
 import org.compiere.util.Evaluatee;
 import org.compiere.util.Evaluatee2;
-import org.compiere.util.Util;
-import org.compiere.util.Util.ArrayKey;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableMap;
 
+import de.metas.cache.CCache;
+import de.metas.cache.CCache.CCacheStats;
 import de.metas.util.Check;
+import lombok.NonNull;
+import lombok.Value;
 
 /*
  * #%L
@@ -49,6 +51,10 @@ import de.metas.util.Check;
 
 /**
  * Wraps a given {@link IStringExpression} and caches it's evaluation results.
+ * <p>
+ * The evaluation results and partially resolved expressions of all cached expressions are kept in one global cache,
+ * which is bounded by the approximate memory size of its entries (see {@link #SYSPROP_CacheMaxWeight}).
+ * The least recently used entries are evicted first.
  *
  * @author metas-dev <dev@metasfresh.com>
  *
@@ -67,10 +73,18 @@ public final class CachedStringExpression implements ICachedStringExpression
 		}
 	}
 
-	private final IStringExpression expression;
+	/** System property: max. approximate memory size (bytes) of all cached evaluation results and partial expressions */
+	public static final String SYSPROP_CacheMaxWeight = "org.adempiere.ad.expression.api.impl.CachedStringExpression.CacheMaxWeight";
+	private static final long DEFAULT_CacheMaxWeight = 32 * 1024 * 1024;
+
+	private static final CCache<CacheKey, Object> cache = CCache.<CacheKey, Object> builder()
+			.cacheName("CachedStringExpression")
+			.initialCapacity(1000)
+			.maximumWeight(Long.getLong(SYSPROP_CacheMaxWeight, DEFAULT_CacheMaxWeight))
+			.weigher(CachedStringExpression::weigh)
+			.build();
 
-	private final transient ConcurrentHashMap<ArrayKey, String> _cachedValues = new ConcurrentHashMap<>();
-	private final transient ConcurrentHashMap<ArrayKey, IStringExpression> _cachedPartialExpressions = new ConcurrentHashMap<>();
+	private final IStringExpression expression;
 
 	private CachedStringExpression(final IStringExpression expression)
 	{
@@ -152,12 +166,12 @@ public final class CachedStringExpression implements ICachedStringExpression
 			final boolean failIfNotFound = onVariableNotFound == OnVariableNotFound.Fail;
 			final EffectiveValuesEvaluatee ctxEffective = EffectiveValuesEvaluatee.extractFrom(expression.getParameterNames(), ctx, failIfNotFound);
 
-			// Caching key: the effective context and the OnVariableNotFound
-			final ArrayKey key = mkCachingKey(ctxEffective, onVariableNotFound);
+			// Caching key: the expression, the effective context and the OnVariableNotFound
+			final CacheKey key = CacheKey.value(expression, ctxEffective, onVariableNotFound);
 
 			//
 			// Get from cache / compute
-			return _cachedValues.computeIfAbsent(key, akey -> expression.evaluate(ctxEffective, onVariableNotFound));
+			return (String)cache.getOrLoad(key, () -> expression.evaluate(ctxEffective, onVariableNotFound));
 		}
 		catch (final Exception e)
 		{
@@ -175,13 +189,12 @@ public final class CachedStringExpression implements ICachedStringExpression
 			final boolean failIfNotFound = false;
 			final EffectiveValuesEvaluatee ctxEffective = EffectiveValuesEvaluatee.extractFrom(expression.getParameterNames(), ctx, failIfNotFound);
 
-			// Caching key: the effective context and the OnVariableNotFound
-			final OnVariableNotFound onVariableNotFound = null; // not relevant
-			final ArrayKey key = mkCachingKey(ctxEffective, onVariableNotFound);
+			// Caching key: the expression and the effective context
+			final CacheKey key = CacheKey.partialExpression(expression, ctxEffective);
 
 			//
 			// Get from cache / compute
-			return _cachedPartialExpressions.computeIfAbsent(key, akey -> expression.resolvePartial(ctxEffective));
+			return (IStringExpression)cache.getOrLoad(key, () -> expression.resolvePartial(ctxEffective));
 		}
 		catch (final Exception e)
 		{
@@ -190,12 +203,65 @@ public final class CachedStringExpression implements ICachedStringExpression
 		}
 	}
 
-	private static final ArrayKey mkCachingKey(final EffectiveValuesEvaluatee ctx, final OnVariableNotFound onVariableNotFound)
+	@VisibleForTesting
+	static CCacheStats getCacheStats()
+	{
+		return cache.stats();
+	}
+
+	@VisibleForTesting
+	static void resetCache()
+	{
+		cache.reset();
+	}
+
+	/**
+	 * @return approximate memory size (bytes) of given cache entry
+	 */
+	private static int weigh(final CacheKey key, final Object value)
+	{
+		final String valueStr;
+		if (value instanceof IStringExpression)
+		{
+			valueStr = ((IStringExpression)value).getExpressionString();
+		}
+		else
+		{
+			valueStr = (String)value;
+		}
+
+		// NOTE: the expression itself is not counted because it's shared and kept in memory anyways
+		return 64 // entry and key overhead
+				+ key.getCtx().getWeight()
+				+ weighString(valueStr);
+	}
+
+	private static int weighString(final String str)
 	{
-		// NOTE: OnVariableNotFound is absolutely mandatory to be part of the caching key because:
-		// * this method might be called also for resolvePartial
-		// * me might have different results for different OnVariableNotFound
-		return Util.mkKey(ctx, onVariableNotFound);
+		return str == null ? 0 : 40 + 2 * str.length();
+	}
+
+	@Value
+	private static final class CacheKey
+	{
+		public static CacheKey value(final IStringExpression expression, final EffectiveValuesEvaluatee ctx, final OnVariableNotFound onVariableNotFound)
+		{
+			return new CacheKey(expression, ctx, onVariableNotFound, false);
+		}
+
+		public static CacheKey partialExpression(final IStringExpression expression, final EffectiveValuesEvaluatee ctx)
+		{
+			final OnVariableNotFound onVariableNotFound = null; // not relevant
+			return new CacheKey(expression, ctx, onVariableNotFound, true);
+		}
+
+		@NonNull
+		IStringExpression expression;
+		@NonNull
+		EffectiveValuesEvaluatee ctx;
+		// NOTE: OnVariableNotFound is absolutely mandatory to be part of the caching key because we might have different results for different OnVariableNotFound
+		OnVariableNotFound onVariableNotFound;
+		boolean partialExpression;
 	}
 
 	private static final class EffectiveValuesEvaluatee implements Evaluatee2
@@ -277,10 +343,27 @@ public final class CachedStringExpression implements ICachedStringExpression
 		public static final EffectiveValuesEvaluatee EMPTY = new EffectiveValuesEvaluatee(ImmutableMap.of());
 
 		private final ImmutableMap<String, String> values;
+		private final int weight;
 
 		private EffectiveValuesEvaluatee(final ImmutableMap<String, String> values)
 		{
 			this.values = values;
+
+			int weight = 0;
+			for (final Map.Entry<String, String> entry : values.entrySet())
+			{
+				// NOTE: parameter names are shared with the expression, so only the entry and the value are counted
+				weight += 32 + weighString(entry.getValue());
+			}
+			this.weight = weight;
+		}
+
+		/**
+		 * @return approximate memory size (bytes) of the values
+		 */
+		public int getWeight()
+		{
+			return weight;
 		}
 
 		@Override
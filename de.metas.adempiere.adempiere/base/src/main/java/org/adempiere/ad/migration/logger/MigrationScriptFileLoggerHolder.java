@@ -45,8 +45,7 @@ public class MigrationScriptFileLoggerHolder
 
 		// Check AdempiereSys
 		// check property Log migration script
-		final boolean logMigrationScript = Ini.isPropertyBool(Ini.P_LOGMIGRATIONSCRIPT);
-		if (!logMigrationScript)
+		if (!isEnabled())
 		{
 			return;
 		}
@@ -59,6 +58,14 @@ public class MigrationScriptFileLoggerHolder
 		pgMigrationScriptWriter.appendSqlStatement(sql);
 	}
 
+	/**
+	 * @return true if the executed SQL statements are logged to migration scripts
+	 */
+	public static boolean isEnabled()
+	{
+		return Ini.isPropertyBool(Ini.P_LOGMIGRATIONSCRIPT);
+	}
+
 	public static Path getCurrentScriptPathOrNull()
 	{
 		return pgMigrationScriptWriter.getFilePathOrNull();
@@ -1,6 +1,5 @@
 package org.adempiere.ad.modelvalidator;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Set;
@@ -18,7 +17,8 @@ import org.slf4j.Logger;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Throwables;
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 
 import de.metas.logging.LogManager;
 import de.metas.util.Services;
@@ -39,6 +39,8 @@ import lombok.NonNull;
 
 	private final AnnotatedModelInterceptorDescriptor descriptor;
 	private final transient Object annotatedObject;
+	/** Pointcuts indexed by {@link PointcutKey} and timing, so we don't have to scan all pointcuts on each model change */
+	private final transient ImmutableMap<PointcutKey, ImmutableListMultimap<Integer, Pointcut>> pointcutsByKeyAndTiming;
 	private ClientId clientId;
 
 	/**
@@ -49,6 +51,25 @@ import lombok.NonNull;
 		this.annotatedObject = annotatedObject;
 		this.descriptor = new AnnotatedModelInterceptorDescriptorBuilder(annotatedObject.getClass())
 				.build();
+		this.pointcutsByKeyAndTiming = indexPointcutsByKeyAndTiming(descriptor);
+	}
+
+	private static ImmutableMap<PointcutKey, ImmutableListMultimap<Integer, Pointcut>> indexPointcutsByKeyAndTiming(final AnnotatedModelInterceptorDescriptor descriptor)
+	{
+		final ImmutableMap.Builder<PointcutKey, ImmutableListMultimap<Integer, Pointcut>> result = ImmutableMap.builder();
+		for (final PointcutKey key : descriptor.getPointcutKeys())
+		{
+			final ImmutableListMultimap.Builder<Integer, Pointcut> pointcutsByTiming = ImmutableListMultimap.builder();
+			for (final Pointcut pointcut : descriptor.getPointcuts(key))
+			{
+				for (final Integer timing : pointcut.getTimings())
+				{
+					pointcutsByTiming.put(timing, pointcut);
+				}
+			}
+			result.put(key, pointcutsByTiming.build());
+		}
+		return result.build();
 	}
 
 	@Override
@@ -167,13 +188,13 @@ import lombok.NonNull;
 	{
 		final String tableName = InterfaceWrapperHelper.getModelTableName(po);
 		final PointcutKey key = PointcutKey.of(tableName, type);
-		final ImmutableSet<Pointcut> pointcuts = descriptor.getPointcuts(key);
-		if (pointcuts.isEmpty())
+		final ImmutableListMultimap<Integer, Pointcut> pointcutsByTiming = pointcutsByKeyAndTiming.get(key);
+		if (pointcutsByTiming == null)
 		{
 			return;
 		}
 
-		for (final Pointcut pointcut : pointcuts)
+		for (final Pointcut pointcut : pointcutsByTiming.get(timing))
 		{
 			execute(pointcut, po, timing);
 		}
@@ -181,14 +202,6 @@ import lombok.NonNull;
 
 	private void execute(final Pointcut pointcut, final Object po, final int timing)
 	{
-		//
-		// Check timings
-		final Set<Integer> timings = pointcut.getTimings();
-		if (!timings.contains(timing))
-		{
-			return;
-		}
-
 		//
 		// Check if UserAction required (i.e. user manually changed this record from a window)
 		if (pointcut.isOnlyIfUIAction())
@@ -303,27 +316,12 @@ import lombok.NonNull;
 	private void executeNow0(
 			@NonNull final Object model,
 			@NonNull final Pointcut pointcut,
-			final int timing) throws IllegalAccessException, InvocationTargetException
+			final int timing)
 	{
-		final Method method = pointcut.getMethod();
-
-		// Make sure the method is accessible
-		if (!method.isAccessible())
-		{
-			method.setAccessible(true);
-		}
-
 		logger.debug("Executing: {}", pointcut);
 
-		if (pointcut.isMethodRequiresTiming())
-		{
-			final Object timingParam = pointcut.convertToMethodTimingParameterType(timing);
-			method.invoke(annotatedObject, model, timingParam);
-		}
-		else
-		{
-			method.invoke(annotatedObject, model);
-		}
+		final Object timingParam = pointcut.isMethodRequiresTiming() ? pointcut.convertToMethodTimingParameterType(timing) : null;
+		pointcut.getInvoker().invoke(annotatedObject, model, timingParam);
 	}
 
 	/**
@@ -0,0 +1,57 @@
+package org.adempiere.ad.modelvalidator;
+
+import de.metas.util.SampledStatistics;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Snapshot of the statistics which were collected by {@link ModelInterceptorsProfiler} for one interceptor, table and timing.
+ */
+@Value
+@Builder
+public class ModelInterceptorStatistics implements SampledStatistics
+{
+	@NonNull
+	String interceptor;
+	@NonNull
+	String tableName;
+	@NonNull
+	String timing;
+
+	/** Number of sampled invocations */
+	long count;
+	double totalDurationMillis;
+	double maxDurationMillis;
+	double p50DurationMillis;
+	double p99DurationMillis;
+
+	@Override
+	public String toSummaryString()
+	{
+		return String.format("%d invocations, total %.1fms, p50 %.2fms, p99 %.2fms, max %.2fms: %s on %s/%s",
+				count, totalDurationMillis, p50DurationMillis, p99DurationMillis, maxDurationMillis, interceptor, tableName, timing);
+	}
+}
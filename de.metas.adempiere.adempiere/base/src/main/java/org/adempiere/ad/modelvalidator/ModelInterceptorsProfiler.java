@@ -0,0 +1,139 @@
+package org.adempiere.ad.modelvalidator;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import de.metas.util.AbstractSamplingProfiler;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Sampling profiler for model interceptors.
+ * <p>
+ * A configurable percentage of the model change and document validation invocations fired by {@link org.compiere.model.ModelValidationEngine} is sampled.
+ * The invocation counts and durations are aggregated per interceptor, table and timing.
+ * Note that the durations are inclusive, i.e. they also contain the time spent in interceptors which were fired for records saved by the sampled interceptor.
+ * <p>
+ * Disabled by default. Set the system property {@value #SYSTEM_PROPERTY_SamplePercent} or use the JMX operations of {@link ModelInterceptorsProfilerJMX} to enable it.
+ * A small sample percent (e.g. 1) is cheap enough to be left on in production.
+ */
+public final class ModelInterceptorsProfiler extends AbstractSamplingProfiler<ModelInterceptorsProfiler.InterceptorKey, AbstractSamplingProfiler.DurationStatistics, ModelInterceptorStatistics>
+{
+	public static final transient ModelInterceptorsProfiler instance = new ModelInterceptorsProfiler();
+
+	public static final String SYSTEM_PROPERTY_SamplePercent = "org.adempiere.ad.modelvalidator.ModelInterceptorsProfiler.SamplePercent";
+
+	/** Max number of (interceptor, table, timing) entries we are keeping statistics for */
+	private static final int MAX_ENTRIES = 10000;
+
+	@VisibleForTesting
+	ModelInterceptorsProfiler()
+	{
+		super(SYSTEM_PROPERTY_SamplePercent, MAX_ENTRIES);
+	}
+
+	/**
+	 * @param sample sample started by {@link #startSampleOrNull()}; if {@code null}, nothing happens
+	 * @param changeType see ModelValidator.TYPE_* constants
+	 */
+	public void stopModelChange(@Nullable final Sample sample, @NonNull final Object interceptor, @NonNull final String tableName, final int changeType)
+	{
+		if (sample == null)
+		{
+			return;
+		}
+		collect(interceptor.toString(), tableName, PointcutType.ModelChange, changeType, sample.getElapsedNanos());
+	}
+
+	/**
+	 * @param sample sample started by {@link #startSampleOrNull()}; if {@code null}, nothing happens
+	 * @param docTiming see ModelValidator.TIMING_* constants
+	 */
+	public void stopDocValidate(@Nullable final Sample sample, @NonNull final Object interceptor, @NonNull final String tableName, final int docTiming)
+	{
+		if (sample == null)
+		{
+			return;
+		}
+		collect(interceptor.toString(), tableName, PointcutType.DocValidate, docTiming, sample.getElapsedNanos());
+	}
+
+	@VisibleForTesting
+	void collect(
+			@NonNull final String interceptor,
+			@NonNull final String tableName,
+			@NonNull final PointcutType type,
+			final int timing,
+			final long durationNanos)
+	{
+		final InterceptorKey key = new InterceptorKey(interceptor, tableName, type, timing);
+		collect(key, statistics -> statistics.add(durationNanos));
+	}
+
+	@Override
+	protected DurationStatistics newStatistics(final InterceptorKey key)
+	{
+		return new DurationStatistics();
+	}
+
+	@Override
+	protected ModelInterceptorStatistics toSampledStatistics(final InterceptorKey key, final DurationStatistics statistics)
+	{
+		return ModelInterceptorStatistics.builder()
+				.interceptor(key.getInterceptor())
+				.tableName(key.getTableName())
+				.timing(key.getTimingName())
+				.count(statistics.getCount())
+				.totalDurationMillis(statistics.getTotalDurationMillis())
+				.maxDurationMillis(statistics.getMaxDurationMillis())
+				.p50DurationMillis(statistics.getP50DurationMillis())
+				.p99DurationMillis(statistics.getP99DurationMillis())
+				.build();
+	}
+
+	@Value
+	static class InterceptorKey
+	{
+		String interceptor;
+		String tableName;
+		PointcutType type;
+		int timing;
+
+		public String getTimingName()
+		{
+			try
+			{
+				return type == PointcutType.ModelChange
+						? ModelChangeType.valueOf(timing).name()
+						: DocTimingType.valueOf(timing).name();
+			}
+			catch (final IllegalArgumentException e)
+			{
+				return type + "-" + timing;
+			}
+		}
+	}
+}
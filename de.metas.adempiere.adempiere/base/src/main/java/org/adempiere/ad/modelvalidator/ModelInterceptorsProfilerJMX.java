@@ -0,0 +1,90 @@
+package org.adempiere.ad.modelvalidator;
+
+import java.util.List;
+
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Service;
+
+import de.metas.util.SampledStatistics.OrderBy;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * JMX operations for {@link ModelInterceptorsProfiler}.
+ */
+@Service
+@ManagedResource(objectName = "org.adempiere.ad.modelvalidator.ModelInterceptorsProfiler:type=Statistics", description = "Model interceptors invocation statistics")
+public class ModelInterceptorsProfilerJMX
+{
+	private final ModelInterceptorsProfiler profiler = ModelInterceptorsProfiler.instance;
+
+	@ManagedOperation(description = "Enables the model interceptors profiler, which samples the given percentage of interceptor invocations")
+	public void enable(final int samplePercent)
+	{
+		profiler.setSamplePercent(samplePercent);
+	}
+
+	@ManagedOperation(description = "Disables the model interceptors profiler")
+	public void disable()
+	{
+		profiler.setSamplePercent(0);
+	}
+
+	@ManagedOperation(description = "Resets the collected statistics")
+	public void reset()
+	{
+		profiler.reset();
+	}
+
+	@ManagedOperation(description = "Gets the current sample percent; zero means disabled")
+	public int getSamplePercent()
+	{
+		return profiler.getSamplePercent();
+	}
+
+	@ManagedOperation(description = "Gets top interceptors ordered by their total execution time (descending)")
+	public String[] getTopTotalDuration(final int topN)
+	{
+		return toSummaryStrings(profiler.getTop(OrderBy.TotalDuration, topN));
+	}
+
+	@ManagedOperation(description = "Gets top interceptors ordered by their invocation count (descending)")
+	public String[] getTopCount(final int topN)
+	{
+		return toSummaryStrings(profiler.getTop(OrderBy.Count, topN));
+	}
+
+	@ManagedOperation(description = "Gets top interceptors ordered by their 99th percentile execution time (descending)")
+	public String[] getTopP99Duration(final int topN)
+	{
+		return toSummaryStrings(profiler.getTop(OrderBy.P99Duration, topN));
+	}
+
+	private static String[] toSummaryStrings(final List<ModelInterceptorStatistics> statistics)
+	{
+		return statistics.stream()
+				.map(ModelInterceptorStatistics::toSummaryString)
+				.toArray(size -> new String[size]);
+	}
+}
@@ -35,6 +35,7 @@ import com.google.common.primitives.Ints;
 
 import de.metas.util.Check;
 import de.metas.util.Services;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -55,6 +56,9 @@ import lombok.NonNull;
 	private final boolean onlyIfUIAction;
 	private final boolean skipIfCopying;
 
+	@Getter(AccessLevel.PACKAGE)
+	private final PointcutInvoker invoker;
+
 	@Builder
 	private Pointcut(
 			@NonNull final PointcutType type,
@@ -102,6 +106,7 @@ import lombok.NonNull;
 				ignoreColumnNames);
 
 		this.methodTimingParameterType = extractMethodTimingParameterType(method);
+		this.invoker = PointcutInvoker.of(method);
 	}
 
 	private static Class<?> extractModelClass(final Method method, final Class<?> providedModelClass)
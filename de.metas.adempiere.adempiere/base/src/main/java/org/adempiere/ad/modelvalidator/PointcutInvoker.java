@@ -0,0 +1,119 @@
+package org.adempiere.ad.modelvalidator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.adempiere.exceptions.AdempiereException;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Invokes a {@link Pointcut}'s method using a {@link MethodHandle} which is created once, instead of going through {@link Method#invoke(Object, Object...)} on each call.
+ * <p>
+ * To identify slow model interceptor methods, see {@link ModelInterceptorsProfiler}.
+ */
+final class PointcutInvoker
+{
+	public static PointcutInvoker of(@NonNull final Method method)
+	{
+		return new PointcutInvoker(method);
+	}
+
+	private static final MethodType METHODTYPE_ModelOnly = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType METHODTYPE_ModelAndTiming = MethodType.methodType(void.class, Object.class, Object.class, Object.class);
+
+	private final String methodName;
+	private final boolean methodRequiresTiming;
+	private final MethodHandle methodHandle;
+
+	private PointcutInvoker(@NonNull final Method method)
+	{
+		this.methodName = method.getDeclaringClass().getName() + "#" + method.getName();
+
+		final int parameterCount = method.getParameterCount();
+		if (parameterCount != 1 && parameterCount != 2)
+		{
+			throw new AdempiereException("Invalid method " + method + ": definition not supported");
+		}
+		this.methodRequiresTiming = parameterCount == 2;
+
+		try
+		{
+			// Make sure the method is accessible
+			if (!method.isAccessible())
+			{
+				method.setAccessible(true);
+			}
+
+			// Adapt the handle to a generic signature so we can use invokeExact
+			this.methodHandle = MethodHandles.lookup()
+					.unreflect(method)
+					.asType(methodRequiresTiming ? METHODTYPE_ModelAndTiming : METHODTYPE_ModelOnly);
+		}
+		catch (final IllegalAccessException e)
+		{
+			throw new AdempiereException("Cannot create method handle for " + method, e);
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return methodName;
+	}
+
+	/**
+	 * @param timingParam the timing parameter, already converted to the type required by the method; ignored if the method does not have a timing parameter
+	 */
+	public void invoke(@NonNull final Object target, @NonNull final Object model, final Object timingParam)
+	{
+		try
+		{
+			if (methodRequiresTiming)
+			{
+				methodHandle.invokeExact(target, model, timingParam);
+			}
+			else
+			{
+				methodHandle.invokeExact(target, model);
+			}
+		}
+		catch (final RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (final Throwable e)
+		{
+			throw AdempiereException.wrapIfNeeded(e);
+		}
+	}
+
+	public String getMethodName()
+	{
+		return methodName;
+	}
+}
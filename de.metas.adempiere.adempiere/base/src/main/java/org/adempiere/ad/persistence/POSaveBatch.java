@@ -0,0 +1,279 @@
+package org.adempiere.ad.persistence;
+
+import java.sql.BatchUpdateException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.ad.migration.logger.MigrationScriptFileLoggerHolder;
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.trx.api.OnTrxMissingPolicy;
+import org.adempiere.exceptions.DBException;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.adempiere.util.lang.NullAutoCloseable;
+import org.compiere.util.DB;
+import org.slf4j.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+
+import de.metas.logging.LogManager;
+import de.metas.util.Services;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Collects the INSERT/UPDATE statements of {@link org.compiere.model.PO} saves and executes them as one JDBC batch, instead of one database round trip per record.
+ * <p>
+ * The batch is bound to a transaction and it's enabled only within the scope returned by {@link #temporaryEnable(String)}. The pending statements are executed, in the order they were added:
+ * <ul>
+ * <li>before any other statement is created for the same transaction (so all reads, including the ones from model interceptors, see the saved records)
+ * <li>before a savepoint is created and before the transaction is committed
+ * <li>when the batch reached its maximum size (see {@link #SYSCONFIG_MaxSize})
+ * <li>when the scope is closed
+ * </ul>
+ * On rollback, the pending statements are discarded.
+ * <p>
+ * While migration scripts are logged (see {@link MigrationScriptFileLoggerHolder#isEnabled()}), the saves are not batched, so they are logged in the same way and order as without batching.
+ * <p>
+ * NOTE: because the statements are executed later, an error (e.g. a constraint violation) is reported when the batch is executed and not when the record is saved.
+ */
+public final class POSaveBatch
+{
+	public static final String SYSCONFIG_MaxSize = "org.adempiere.ad.persistence.POSaveBatch.MaxSize";
+	private static final int DEFAULT_MaxSize = 500;
+
+	private static final String TRX_PROPERTY_Batch = POSaveBatch.class.getName();
+
+	private static final Logger logger = LogManager.getLogger(POSaveBatch.class);
+
+	/** Executes the given statements as one JDBC batch and returns the update counts */
+	@FunctionalInterface
+	@VisibleForTesting
+	interface StatementsBatchExecutor
+	{
+		int[] executeBatch(String trxName, List<String> sqls) throws SQLException;
+	}
+
+	private static StatementsBatchExecutor statementsBatchExecutor = POSaveBatch::executeBatchInDB;
+
+	/**
+	 * Enables batched saves for given transaction until the returned closeable is closed. When closed, the pending statements are executed.
+	 * <p>
+	 * If batched saves are already enabled for that transaction or if migration scripts are logged, nothing happens.
+	 */
+	public static IAutoCloseable temporaryEnable(@NonNull final String trxName)
+	{
+		final ITrx trx = Services.get(ITrxManager.class).getTrx(trxName);
+		if (getOrNull(trx) != null || MigrationScriptFileLoggerHolder.isEnabled())
+		{
+			return NullAutoCloseable.instance;
+		}
+
+		final int maxSize = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_MaxSize, DEFAULT_MaxSize);
+		final POSaveBatch batch = new POSaveBatch(trx.getTrxName(), maxSize);
+		trx.setProperty(TRX_PROPERTY_Batch, batch);
+
+		return () -> {
+			try
+			{
+				batch.flush();
+			}
+			finally
+			{
+				trx.setProperty(TRX_PROPERTY_Batch, null);
+			}
+		};
+	}
+
+	/**
+	 * @return the batch which is enabled for given transaction or {@code null} if the saves shall be executed right away
+	 */
+	@Nullable
+	public static POSaveBatch getOrNull(@Nullable final String trxName)
+	{
+		final ITrxManager trxManager = Services.get(ITrxManager.class);
+		if (trxManager.isNull(trxName))
+		{
+			return null;
+		}
+
+		// the batched statements would be logged only when the batch is executed, i.e. too late and possibly not at all
+		if (MigrationScriptFileLoggerHolder.isEnabled())
+		{
+			return null;
+		}
+
+		return getOrNull(trxManager.get(trxName, OnTrxMissingPolicy.ReturnTrxNone));
+	}
+
+	/**
+	 * @return {@code true} if an INSERT into given transaction can let the database assign the ID and return it, i.e. if the INSERT is executed right away.
+	 *         If it returns {@code false}, the ID has to be assigned before the record is saved.
+	 */
+	public static boolean isInsertReturningIdAllowed(@Nullable final String trxName)
+	{
+		return getOrNull(trxName) == null;
+	}
+
+	@Nullable
+	private static POSaveBatch getOrNull(@Nullable final ITrx trx)
+	{
+		return trx != null ? trx.getProperty(TRX_PROPERTY_Batch) : null;
+	}
+
+	/**
+	 * Executes the pending statements of given transaction, if any.
+	 */
+	public static void flushIfAny(@Nullable final ITrx trx)
+	{
+		final POSaveBatch batch = getOrNull(trx);
+		if (batch != null)
+		{
+			batch.flush();
+		}
+	}
+
+	/**
+	 * Discards the pending statements of given transaction, if any. To be called when the transaction is rolled back.
+	 */
+	public static void discardIfAny(@Nullable final ITrx trx)
+	{
+		final POSaveBatch batch = getOrNull(trx);
+		if (batch != null)
+		{
+			batch.discard();
+		}
+	}
+
+	private final String trxName;
+	private final int maxSize;
+	private final List<String> sqls = new ArrayList<>();
+
+	private POSaveBatch(@NonNull final String trxName, final int maxSize)
+	{
+		this.trxName = trxName;
+		this.maxSize = maxSize > 0 ? maxSize : DEFAULT_MaxSize;
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + trxName + ", pending=" + sqls.size() + "]";
+	}
+
+	/**
+	 * Adds an INSERT or UPDATE statement which is expected to change exactly one row.
+	 */
+	public synchronized void add(@NonNull final String sql)
+	{
+		sqls.add(sql);
+		if (sqls.size() >= maxSize)
+		{
+			flush();
+		}
+	}
+
+	public synchronized void flush()
+	{
+		if (sqls.isEmpty())
+		{
+			return;
+		}
+
+		// NOTE: clear the pending statements before creating our statement, because creating a statement flushes the batch
+		final List<String> sqlsToExecute = ImmutableList.copyOf(sqls);
+		sqls.clear();
+
+		try
+		{
+			final int[] counts = statementsBatchExecutor.executeBatch(trxName, sqlsToExecute);
+			for (int i = 0; i < counts.length; i++)
+			{
+				if (counts[i] != 1 && counts[i] != Statement.SUCCESS_NO_INFO)
+				{
+					throw new DBException("Expected one row to be saved but got " + counts[i])
+							.setSqlIfAbsent(sqlsToExecute.get(i), (Object[])null);
+				}
+			}
+
+			logger.debug("{}: executed {} statements", this, sqlsToExecute.size());
+		}
+		catch (final BatchUpdateException e)
+		{
+			final SQLException cause = e.getNextException() != null ? e.getNextException() : e;
+			throw new DBException(cause);
+		}
+		catch (final SQLException e)
+		{
+			throw new DBException(e);
+		}
+	}
+
+	private static int[] executeBatchInDB(final String trxName, final List<String> sqls) throws SQLException
+	{
+		Statement stmt = null;
+		try
+		{
+			stmt = DB.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE, trxName);
+			for (final String sql : sqls)
+			{
+				stmt.addBatch(sql);
+			}
+
+			return stmt.executeBatch();
+		}
+		finally
+		{
+			DB.close(stmt);
+		}
+	}
+
+	@VisibleForTesting
+	static void setStatementsBatchExecutor(@Nullable final StatementsBatchExecutor executor)
+	{
+		statementsBatchExecutor = executor != null ? executor : POSaveBatch::executeBatchInDB;
+	}
+
+	@VisibleForTesting
+	synchronized int getPendingCount()
+	{
+		return sqls.size();
+	}
+
+	private synchronized void discard()
+	{
+		if (!sqls.isEmpty())
+		{
+			logger.debug("{}: discarding {} pending statements", this, sqls.size());
+			sqls.clear();
+		}
+	}
+}
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
+import org.adempiere.ad.dao.impl.InIdsArrayQueryFilter;
 import org.adempiere.ad.table.api.IADTableDAO;
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.exceptions.AdempiereException;
@@ -173,9 +174,11 @@ public final class TableModelLoader
 		{
 			final POInfo poInfo = POInfo.getPOInfo(tableName);
 
-			final List<Object> sqlParams = new ArrayList<>();
+			// NOTE: passing the IDs as one array parameter, so we have the same SQL no matter how many records we load
+			final InIdsArrayQueryFilter<Object> idsFilter = new InIdsArrayQueryFilter<>(poInfo.getSingleKeyColumnName(), recordIdsToLoad);
+			final List<Object> sqlParams = idsFilter.getSqlParams(ctx);
 			final String sql = poInfo.buildSelect()
-					.append(" WHERE ").append(DB.buildSqlList(poInfo.getSingleKeyColumnName(), recordIdsToLoad, sqlParams))
+					.append(" WHERE ").append(idsFilter.getSql())
 					.toString();
 			PreparedStatement pstmt = null;
 			ResultSet rs = null;
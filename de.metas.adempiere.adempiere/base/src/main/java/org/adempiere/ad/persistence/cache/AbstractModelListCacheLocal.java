@@ -424,6 +424,38 @@ public abstract class AbstractModelListCacheLocal<PT, T>
 		debugCheckItemsValid();
 	}
 
+	/**
+	 * Sets the given, already loaded items, unless the items are already loaded and not staled.
+	 *
+	 * To be used when the items of many parent models were retrieved in one go.
+	 */
+	public final void setItemsIfStaled(final List<T> items)
+	{
+		Check.assumeNotNull(items, "items not null");
+		if (cacheDisabled)
+		{
+			return;
+		}
+		if (!checkStaled())
+		{
+			return;
+		}
+
+		final PT parentModel = getParentModel();
+		final List<T> itemsSorted = new ArrayList<T>(items);
+		if (itemsComparator != null)
+		{
+			Collections.sort(itemsSorted, itemsComparator);
+		}
+
+		this.ctx = createPlainContextAware(parentModel);
+		this.items = itemsSorted;
+		this.parentModelLoadCount = InterfaceWrapperHelper.getLoadCount(parentModel);
+		this.debugEmptyNotStaledSet = false;
+
+		debugCheckItemsValid();
+	}
+
 	private final void debugCheckItemsValid()
 	{
 		if (!DEBUG)
@@ -30,6 +30,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.adempiere.ad.persistence.POSaveBatch;
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxListenerManager;
 import org.adempiere.ad.trx.api.ITrxManager;
@@ -173,6 +174,7 @@ public abstract class AbstractTrx implements ITrx
 		boolean success = false;
 		try
 		{
+			POSaveBatch.discardIfAny(this);
 			success = rollbackNative(throwException);
 			return success;
 		}
@@ -220,6 +222,8 @@ public abstract class AbstractTrx implements ITrx
 		validateTrxSavepoint(savepoint);
 		try
 		{
+			// the pending batched saves were all done after the last savepoint was created
+			POSaveBatch.discardIfAny(this);
 			return rollbackNative(savepoint);
 		}
 		catch (Exception e)
@@ -253,6 +257,9 @@ public abstract class AbstractTrx implements ITrx
 			// Fire before-commit listeners
 			trxListenerManager.fireBeforeCommit(this);
 
+			// Execute the pending batched saves, including the ones from before-commit listeners
+			POSaveBatch.flushIfAny(this);
+
 			// Actual native commit
 			success = commitNative(throwException);
 			return success;
@@ -283,6 +290,8 @@ public abstract class AbstractTrx implements ITrx
 	@Override
 	public ITrxSavepoint createTrxSavepoint(String name)
 	{
+		POSaveBatch.flushIfAny(this);
+
 		final ITrxSavepoint savepoint;
 		try
 		{
@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.adempiere.ad.trx.api.ITrxSavepoint;
 import org.adempiere.ad.trx.processor.spi.ITrxItemProcessor;
@@ -170,4 +171,29 @@ public interface ITrxItemExecutorBuilder<IT, RT>
 	 * @see ITrxItemProcessorExecutor#setUseTrxSavepoints(boolean)
 	 */
 	ITrxItemExecutorBuilder<IT, RT> setUseTrxSavepoints(boolean useTrxSavepoints);
+
+	/**
+	 * Enables processing the items in parallel.
+	 * <p>
+	 * The items are split in batches of {@link #setItemsPerBatch(int)} items and the batches are processed on a pool of <code>threadsCount</code> threads.
+	 * Each batch is processed by a new processor instance, created by the given factory, and each chunk is processed in its own transaction.
+	 * The exception handler is called for each failing item or chunk, just like when processing sequentially.
+	 * It's called from the worker threads, but never concurrently.
+	 * <p>
+	 * Use it only if the chunks are independent from each other. Also the items per batch shall be set and the context's transaction shall be null
+	 * (see {@link #setContext(Properties, String)} and {@link org.adempiere.ad.trx.api.ITrx#TRXNAME_None}).
+	 * <p>
+	 * When processing in parallel, {@link #process(Iterator)} returns <code>null</code>. Use {@link #setChunkResultCallback(Consumer)} to collect the processors' results.
+	 *
+	 * @param threadsCount how many threads shall process the batches; if it's less than 2, the items are processed sequentially, by the processor set with {@link #setProcessor(ITrxItemProcessor)}.
+	 * @param processorFactory creates a new processor instance for each batch
+	 */
+	ITrxItemExecutorBuilder<IT, RT> setParallel(int threadsCount, Supplier<? extends ITrxItemProcessor<IT, RT>> processorFactory);
+
+	/**
+	 * Sets the callback which is called with the processor's result after each batch was processed in parallel (see {@link #setParallel(int, Supplier)}).
+	 * <p>
+	 * The callback is called on the thread which is calling {@link #process(Iterator)}, in batches order.
+	 */
+	ITrxItemExecutorBuilder<IT, RT> setChunkResultCallback(Consumer<RT> chunkResultCallback);
 }
@@ -24,6 +24,8 @@ package org.adempiere.ad.trx.processor.api.impl;
 
 import java.util.Iterator;
 import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxManager;
@@ -58,6 +60,10 @@ import de.metas.util.Services;
 
 	private OnItemErrorPolicy _onItemErrorPolicy = ITrxItemProcessorExecutor.DEFAULT_OnItemErrorPolicy; // #302
 
+	private int _parallelThreadsCount = 1;
+	private Supplier<? extends ITrxItemProcessor<IT, RT>> _processorFactory;
+	private Consumer<RT> _chunkResultCallback;
+
 	public TrxItemExecutorBuilder(final TrxItemProcessorExecutorService executorService)
 	{
 		super();
@@ -83,6 +89,18 @@ import de.metas.util.Services;
 		// Create processing context
 		final ITrxItemProcessorContext processorCtx = createProcessorContext();
 
+		if (_parallelThreadsCount > 1)
+		{
+			return new TrxItemParallelChunkProcessorExecutor<IT, RT>(processorCtx,
+					this::createParallelProcessor,
+					_parallelThreadsCount,
+					itemsPerBatch != null ? itemsPerBatch : 0,
+					_chunkResultCallback,
+					getExceptionHandler(),
+					_onItemErrorPolicy,
+					_useTrxSavepoints);
+		}
+
 		// Get the processor and wrap it
 		final ITrxItemChunkProcessor<IT, RT> processor = createProcessor();
 
@@ -108,6 +126,15 @@ import de.metas.util.Services;
 		return TrxItemProcessor2TrxItemChunkProcessorWrapper.wrapIfNeeded(processor);
 	}
 
+	private final ITrxItemChunkProcessor<IT, RT> createParallelProcessor()
+	{
+		final ITrxItemProcessor<IT, RT> processor = _processorFactory.get();
+		Check.assumeNotNull(processor, "processorFactory shall not return null");
+
+		// NOTE: the items are already split in batches of itemsPerBatch
+		return TrxItemProcessor2TrxItemChunkProcessorWrapper.wrapIfNeeded(processor);
+	}
+
 	private final ITrxItemProcessorContext createProcessorContext()
 	{
 		if (_processorCtx != null)
@@ -199,4 +226,23 @@ import de.metas.util.Services;
 		this._useTrxSavepoints = useTrxSavepoints;
 		return this;
 	}
+
+	@Override
+	public ITrxItemExecutorBuilder<IT, RT> setParallel(final int threadsCount, final Supplier<? extends ITrxItemProcessor<IT, RT>> processorFactory)
+	{
+		if (threadsCount > 1)
+		{
+			Check.assumeNotNull(processorFactory, "processorFactory not null");
+		}
+		this._parallelThreadsCount = threadsCount;
+		this._processorFactory = processorFactory;
+		return this;
+	}
+
+	@Override
+	public ITrxItemExecutorBuilder<IT, RT> setChunkResultCallback(final Consumer<RT> chunkResultCallback)
+	{
+		this._chunkResultCallback = chunkResultCallback;
+		return this;
+	}
 }
@@ -0,0 +1,274 @@
+package org.adempiere.ad.trx.processor.api.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.trx.processor.api.ITrxItemExceptionHandler;
+import org.adempiere.ad.trx.processor.api.ITrxItemExecutorBuilder.OnItemErrorPolicy;
+import org.adempiere.ad.trx.processor.api.ITrxItemProcessorContext;
+import org.adempiere.ad.trx.processor.api.ITrxItemProcessorExecutor;
+import org.adempiere.ad.trx.processor.api.TrxItemProcessorConfigException;
+import org.adempiere.ad.trx.processor.spi.ITrxItemChunkProcessor;
+import org.adempiere.ad.trx.processor.spi.ITrxItemProcessor;
+import org.adempiere.util.concurrent.OrderedParallelExecutor;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.compiere.util.Env;
+
+import de.metas.util.Check;
+import de.metas.util.ILoggable;
+import de.metas.util.Loggables;
+import de.metas.util.Services;
+import de.metas.util.collections.IteratorUtils;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Splits the items in batches of {@link #itemsPerBatch} and processes the batches in parallel.
+ * <p>
+ * Each batch is processed by a {@link TrxItemChunkProcessorExecutor} using a new processor instance (see {@link #processorFactory}),
+ * so each chunk is processed in its own transaction, exactly like when processing the items sequentially.
+ * <p>
+ * The batches are read and submitted by the calling thread, using an {@link OrderedParallelExecutor}:
+ * when all worker threads are busy and enough batches are waiting, the calling thread is processing the next batch itself,
+ * and the processors' results are passed to {@link #chunkResultCallback} on the calling thread, in batches order.
+ * <p>
+ * If a batch fails, no more batches are submitted. The batches which are already being processed are awaited, then the batch's exception is thrown.
+ *
+ * @param <IT> item type
+ * @param <RT> result type
+ */
+class TrxItemParallelChunkProcessorExecutor<IT, RT> implements ITrxItemProcessorExecutor<IT, RT>
+{
+	//
+	// Services
+	private final ITrxManager trxManager = Services.get(ITrxManager.class);
+
+	private static final String THREAD_NAME_PREFIX = "TrxItemParallelChunkProcessorExecutor";
+
+	//
+	// Configuration parameters
+	private final ITrxItemProcessorContext processorCtx;
+	private final Supplier<ITrxItemChunkProcessor<IT, RT>> processorFactory;
+	private final int threadsCount;
+	private final int itemsPerBatch;
+	private final Consumer<RT> chunkResultCallback;
+
+	private final OnItemErrorPolicy onItemErrorPolicy;
+
+	private ITrxItemExceptionHandler exceptionHandler; // non-final for historical reasons
+
+	private boolean useTrxSavepoints; // non-final for historical reasons
+
+	TrxItemParallelChunkProcessorExecutor(
+			@NonNull final ITrxItemProcessorContext processorCtx,
+			@NonNull final Supplier<ITrxItemChunkProcessor<IT, RT>> processorFactory,
+			final int threadsCount,
+			final int itemsPerBatch,
+			final Consumer<RT> chunkResultCallback,
+			@NonNull final ITrxItemExceptionHandler exceptionHandler,
+			final OnItemErrorPolicy onItemErrorPolicy,
+			final boolean useTrxSavepoints)
+	{
+		Check.assume(threadsCount > 1, "threadsCount > 1 but it was {}", threadsCount);
+		if (itemsPerBatch <= 0)
+		{
+			throw new TrxItemProcessorConfigException("Items per batch shall be set when processing in parallel");
+		}
+		if (!trxManager.isNull(processorCtx.getTrx()))
+		{
+			throw new TrxItemProcessorConfigException("Processing in parallel is not allowed when running in an external transaction: " + processorCtx.getTrx());
+		}
+
+		this.processorCtx = processorCtx;
+		this.processorFactory = processorFactory;
+		this.threadsCount = threadsCount;
+		this.itemsPerBatch = itemsPerBatch;
+		this.chunkResultCallback = chunkResultCallback;
+		this.exceptionHandler = exceptionHandler;
+		this.onItemErrorPolicy = onItemErrorPolicy;
+		this.useTrxSavepoints = useTrxSavepoints;
+	}
+
+	@Override
+	public ITrxItemProcessorExecutor<IT, RT> setExceptionHandler(final ITrxItemExceptionHandler exceptionHandler)
+	{
+		Check.assumeNotNull(exceptionHandler, "exceptionHandler not null");
+		this.exceptionHandler = exceptionHandler;
+
+		return this;
+	}
+
+	@Override
+	public ITrxItemProcessorExecutor<IT, RT> setUseTrxSavepoints(final boolean useTrxSavepoints)
+	{
+		this.useTrxSavepoints = useTrxSavepoints;
+		return this;
+	}
+
+	/**
+	 * @return <code>null</code> because each batch is processed by its own processor instance
+	 */
+	@Override
+	public ITrxItemProcessor<IT, RT> getProcessor()
+	{
+		return null;
+	}
+
+	/**
+	 * @return <code>null</code>; the result of each batch is passed to the chunk result callback
+	 */
+	@Override
+	public RT execute(final Iterator<? extends IT> items)
+	{
+		Check.assumeNotNull(items, "items not null");
+
+		// NOTE: the exception handler and the loggable are shared by all worker threads, so we make sure they are not called concurrently
+		final ITrxItemExceptionHandler exceptionHandler = new SynchronizedTrxItemExceptionHandler(this.exceptionHandler);
+		final ILoggable loggable = new SynchronizedLoggable(Loggables.get());
+
+		try (final OrderedParallelExecutor<RT> executor = OrderedParallelExecutor.<RT> builder()
+				.threadNamePrefix(THREAD_NAME_PREFIX)
+				.threadsCount(threadsCount)
+				.resultCallback(chunkResultCallback)
+				.build())
+		{
+			List<IT> batch = new ArrayList<>(itemsPerBatch);
+			while (items.hasNext())
+			{
+				batch.add(items.next());
+				if (batch.size() >= itemsPerBatch)
+				{
+					executor.submit(createBatchTask(batch, exceptionHandler, loggable));
+					batch = new ArrayList<>(itemsPerBatch);
+				}
+			}
+
+			if (!batch.isEmpty())
+			{
+				executor.submit(createBatchTask(batch, exceptionHandler, loggable));
+			}
+
+			executor.awaitAll();
+
+			return null;
+		}
+		finally
+		{
+			IteratorUtils.closeQuietly(items);
+		}
+	}
+
+	private Callable<RT> createBatchTask(
+			final List<IT> batch,
+			final ITrxItemExceptionHandler exceptionHandler,
+			final ILoggable loggable)
+	{
+		return () -> {
+			// NOTE: each batch gets its own copy of the context, because the context might be changed while processing
+			final TrxItemProcessorContext batchProcessorCtx = new TrxItemProcessorContext(Env.copyCtx(processorCtx.getCtx()));
+			batchProcessorCtx.setParams(processorCtx.getParams());
+
+			try (final IAutoCloseable ctxRestorer = Env.switchContext(batchProcessorCtx.getCtx());
+					final IAutoCloseable loggableRestorer = Loggables.temporarySetLoggable(loggable))
+			{
+				final TrxItemChunkProcessorExecutor<IT, RT> batchExecutor = new TrxItemChunkProcessorExecutor<>(
+						batchProcessorCtx,
+						processorFactory.get(),
+						exceptionHandler,
+						onItemErrorPolicy,
+						useTrxSavepoints);
+				return batchExecutor.execute(batch.iterator());
+			}
+		};
+	}
+
+	@Override
+	public String toString()
+	{
+		return "TrxItemParallelChunkProcessorExecutor [threadsCount=" + threadsCount + ", itemsPerBatch=" + itemsPerBatch + ", processorFactory=" + processorFactory + ", exceptionHandler=" + exceptionHandler + ", onItemErrorPolicy=" + onItemErrorPolicy + ", useTrxSavepoints=" + useTrxSavepoints
+				+ ", processorCtx=" + processorCtx + "]";
+	}
+
+	private static final class SynchronizedTrxItemExceptionHandler implements ITrxItemExceptionHandler
+	{
+		private final ITrxItemExceptionHandler delegate;
+
+		private SynchronizedTrxItemExceptionHandler(@NonNull final ITrxItemExceptionHandler delegate)
+		{
+			this.delegate = delegate;
+		}
+
+		@Override
+		public synchronized void onNewChunkError(final Throwable e, final Object item)
+		{
+			delegate.onNewChunkError(e, item);
+		}
+
+		@Override
+		public synchronized void onItemError(final Throwable e, final Object item)
+		{
+			delegate.onItemError(e, item);
+		}
+
+		@Override
+		public synchronized void onCompleteChunkError(final Throwable e)
+		{
+			delegate.onCompleteChunkError(e);
+		}
+
+		@Override
+		public synchronized void onCommitChunkError(final Throwable e)
+		{
+			delegate.onCommitChunkError(e);
+		}
+
+		@Override
+		public synchronized void onCancelChunkError(final Throwable e)
+		{
+			delegate.onCancelChunkError(e);
+		}
+	}
+
+	private static final class SynchronizedLoggable implements ILoggable
+	{
+		private final ILoggable delegate;
+
+		private SynchronizedLoggable(@NonNull final ILoggable delegate)
+		{
+			this.delegate = delegate;
+		}
+
+		@Override
+		public synchronized ILoggable addLog(final String msg, final Object... msgParameters)
+		{
+			delegate.addLog(msg, msgParameters);
+			return this;
+		}
+	}
+}
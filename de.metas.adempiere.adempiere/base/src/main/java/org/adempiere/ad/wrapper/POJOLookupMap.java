@@ -215,6 +215,12 @@ public final class POJOLookupMap implements IPOJOLookupMap, IModelValidationEngi
 	 */
 	private final POJOLookupMapInstancesTracker instancesTracker = new POJOLookupMapInstancesTracker();
 
+	/**
+	 * Counts how many times each table was queried or looked up by ID (TableName -> count).
+	 * Useful in tests which are asserting that some records were served from a cache and not from database.
+	 */
+	private final Map<String, Integer> queriesCountByTableName = new HashMap<>();
+
 	private POJOLookupMap(final String name)
 	{
 		super();
@@ -272,6 +278,8 @@ public final class POJOLookupMap implements IPOJOLookupMap, IModelValidationEngi
 			return null;
 		}
 
+		countQuery(tableName);
+
 		final Map<Integer, Object> tableRecords = cachedObjects.get(tableName);
 		if (tableRecords == null || tableRecords.isEmpty())
 		{
@@ -305,6 +313,8 @@ public final class POJOLookupMap implements IPOJOLookupMap, IModelValidationEngi
 
 	public <T> T lookup(final String tableName, final int recordId)
 	{
+		countQuery(tableName);
+
 		final Map<Integer, Object> tableRecords = cachedObjects.get(tableName);
 		if (tableRecords == null)
 		{
@@ -517,6 +527,7 @@ public final class POJOLookupMap implements IPOJOLookupMap, IModelValidationEngi
 	public <T> List<T> getRecords(final String tableName, final Class<T> clazz, final IQueryFilter<T> filter, final Comparator<T> orderByComparator, final String trxName)
 	{
 		assertSameTableName(tableName, clazz);
+		countQuery(tableName);
 
 		final Map<Integer, Object> recordsMap = cachedObjects.get(tableName);
 		if (recordsMap == null || recordsMap.isEmpty())
@@ -706,6 +717,25 @@ public final class POJOLookupMap implements IPOJOLookupMap, IModelValidationEngi
 	{
 		nextId = DEFAULT_FirstId;
 		cachedObjects.clear();
+		resetQueriesCount();
+	}
+
+	private void countQuery(final String tableName)
+	{
+		queriesCountByTableName.merge(tableName, 1, Integer::sum);
+	}
+
+	/**
+	 * @return how many times the given table was queried or looked up by ID since the last {@link #resetQueriesCount()}
+	 */
+	public int getQueriesCount(@NonNull final String tableName)
+	{
+		return queriesCountByTableName.getOrDefault(tableName, 0);
+	}
+
+	public void resetQueriesCount()
+	{
+		queriesCountByTableName.clear();
 	}
 
 	@Override
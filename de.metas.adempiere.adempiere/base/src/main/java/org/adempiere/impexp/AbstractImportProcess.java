@@ -28,14 +28,25 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
 
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.trx.api.ITrxRunConfig;
+import org.adempiere.ad.trx.api.ITrxRunConfig.OnRunnableFail;
+import org.adempiere.ad.trx.api.ITrxRunConfig.OnRunnableSuccess;
+import org.adempiere.ad.trx.api.ITrxRunConfig.TrxPropagation;
 import org.adempiere.exceptions.DBException;
 import org.adempiere.model.InterfaceWrapperHelper;
+import org.adempiere.service.ISysConfigBL;
 import org.adempiere.util.LoggerLoggable;
 import org.adempiere.util.api.IParams;
+import org.adempiere.util.concurrent.OrderedParallelExecutor;
+import org.adempiere.util.lang.IAutoCloseable;
 import org.adempiere.util.lang.IMutable;
 import org.adempiere.util.lang.Mutable;
 import org.compiere.model.ModelValidationEngine;
@@ -46,6 +57,7 @@ import org.compiere.util.ISqlUpdateReturnProcessor;
 import org.compiere.util.TrxRunnableAdapter;
 import org.slf4j.Logger;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableMap;
 
 import ch.qos.logback.classic.Level;
@@ -53,6 +65,7 @@ import de.metas.logging.LogManager;
 import de.metas.util.Check;
 import de.metas.util.ILoggable;
 import de.metas.util.Services;
+import lombok.NonNull;
 
 /**
  * Base implementation of {@link IImportProcess}.
@@ -75,6 +88,11 @@ public abstract class AbstractImportProcess<ImportRecordType> implements IImport
 	public static final String COLUMNNAME_Processed = "Processed";
 	public static final String COLUMNNAME_Processing = "Processing";
 
+	/** If greater than 1, the import records are imported in chunks of (approximately) this size, each chunk in one transaction */
+	public static final String SYSCONFIG_ChunkSize = "org.adempiere.impexp.AbstractImportProcess.ChunkSize";
+	/** Max number of chunks imported in parallel; only considered if the import process defines an import group key column */
+	public static final String SYSCONFIG_ThreadsCount = "org.adempiere.impexp.AbstractImportProcess.ThreadsCount";
+
 	// services
 	protected final transient Logger log = LogManager.getLogger(getClass());
 	protected final ITrxManager trxManager = Services.get(ITrxManager.class);
@@ -82,6 +100,8 @@ public abstract class AbstractImportProcess<ImportRecordType> implements IImport
 	//
 	// Parameters
 	private Properties _ctx;
+	/** Context copy of the thread which is importing a chunk in parallel */
+	private final ThreadLocal<Properties> _chunkCtx = new ThreadLocal<>();
 	private IParams _parameters = IParams.NULL;
 	private ILoggable loggable = LoggerLoggable.of(log, Level.INFO);
 
@@ -95,6 +115,12 @@ public abstract class AbstractImportProcess<ImportRecordType> implements IImport
 	@Override
 	public final Properties getCtx()
 	{
+		final Properties chunkCtx = _chunkCtx.get();
+		if (chunkCtx != null)
+		{
+			return chunkCtx;
+		}
+
 		Check.assumeNotNull(_ctx, "_ctx not null");
 		return _ctx;
 	}
@@ -145,6 +171,21 @@ public abstract class AbstractImportProcess<ImportRecordType> implements IImport
 		return getImportTableName() + "_ID";
 	}
 
+	/**
+	 * Column which groups the import records which depend on each other (e.g. the import lines of the same business partner).
+	 * <p>
+	 * When importing in chunks, the records of the same group are always in the same chunk and each chunk gets its own <code>state</code> (see {@link #importRecord(IMutable, Object)}).
+	 * Chunks may be imported in parallel only if this column is defined.
+	 * <p>
+	 * NOTE: {@link #getImportOrderBySql()} shall order the records by this column first, so that the records of the same group are consecutive.
+	 *
+	 * @return group key column name or <code>null</code> if the records shall be imported in their order, sharing the same <code>state</code> (default)
+	 */
+	protected String getImportGroupKeyColumnName()
+	{
+		return null;
+	}
+
 	protected abstract String getTargetTableName();
 
 	@Override
@@ -300,48 +341,21 @@ public abstract class AbstractImportProcess<ImportRecordType> implements IImport
 			pstmt = DB.prepareStatement(sql.toString(), ITrx.TRXNAME_None); // i.e. out of transaction
 			rs = pstmt.executeQuery();
 
-			final IMutable<Object> state = new Mutable<>();
-			while (rs.next())
+			final int chunkSize = getImportChunkSize();
+			if (chunkSize > 1)
+			{
+				importDataInChunks(rs, chunkSize, importResult);
+			}
+			else
 			{
-				final ImportRecordType importRecord = retrieveImportRecord(ctx, rs);
-				trxManager.run(new TrxRunnableAdapter()
+				final IMutable<Object> state = new Mutable<>();
+				while (rs.next())
 				{
-					private ImportRecordResult recordImportResult;
-					private Throwable error;
-
-					@Override
-					public void run(final String localTrxName) throws Exception
-					{
-						this.recordImportResult = importRecord(state, importRecord);
-
-						markImported(importRecord);
-					}
-
-					@Override
-					public boolean doCatch(final Throwable e) throws Throwable
-					{
-						this.error = e;
-						return true; // rollback
-					}
-
-					@Override
-					public void doFinally()
-					{
-						if (error != null)
-						{
-							reportError(importRecord, error.getLocalizedMessage());
-							InterfaceWrapperHelper.markStaled(importRecord); // just in case some BL wants to get values from it
-						}
-						else if (recordImportResult == ImportRecordResult.Inserted)
-						{
-							importResult.incrementInsertCounter();
-						}
-						else if (recordImportResult == ImportRecordResult.Updated)
-						{
-							importResult.incrementUpdateCounter();
-						}
-					}
-				});
+					final ImportRecordType importRecord = retrieveImportRecord(ctx, rs);
+					final ImportRecordRunnable runnable = new ImportRecordRunnable(state, importRecord);
+					trxManager.run(runnable);
+					runnable.collectResult(importResult);
+				}
 			}
 
 			afterImport();
@@ -361,6 +375,345 @@ public abstract class AbstractImportProcess<ImportRecordType> implements IImport
 		}
 	}
 
+	private int getImportChunkSize()
+	{
+		return Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_ChunkSize, 0, getAD_Client_ID());
+	}
+
+	private int getImportThreadsCount()
+	{
+		return Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_ThreadsCount, 1, getAD_Client_ID());
+	}
+
+	/**
+	 * Imports the records of given result set in chunks. Each chunk is imported in one transaction and each record of the chunk in a nested transaction (i.e. savepoint),
+	 * so a failing record does not affect the other records of the chunk.
+	 * If the chunk's transaction cannot be committed, the chunk is imported again, one transaction per record.
+	 */
+	private void importDataInChunks(final ResultSet rs, final int chunkSize, final ImportProcessResult importResult) throws SQLException
+	{
+		final Properties ctx = getCtx();
+		final String groupKeyColumnName = getImportGroupKeyColumnName();
+		final boolean isolatedChunks = !Check.isEmpty(groupKeyColumnName, true);
+		final int threadsCount = isolatedChunks ? getImportThreadsCount() : 1;
+		log.debug("Importing in chunks of {} records, using {} threads (group key column: {})", chunkSize, threadsCount, groupKeyColumnName);
+
+		// NOTE: if there is only one thread, we are importing the chunks directly, one after the other
+		try (final OrderedParallelExecutor<ImportChunkResult> executor = threadsCount > 1 ? createChunksExecutor(threadsCount) : null)
+		{
+			final IMutable<Object> sharedState = new Mutable<>();
+			List<ImportRecordType> chunkRecords = new ArrayList<>(chunkSize);
+			Object previousGroupKey = null;
+			int chunkNo = 0;
+			while (rs.next())
+			{
+				final Object groupKey = isolatedChunks ? rs.getObject(groupKeyColumnName) : null;
+				if (chunkRecords.size() >= chunkSize && (!isolatedChunks || !Objects.equals(groupKey, previousGroupKey)))
+				{
+					chunkNo++;
+					final IMutable<Object> state = isolatedChunks ? new Mutable<>() : sharedState;
+					submitChunk(executor, new ImportChunk(chunkNo, chunkRecords, state), importResult);
+
+					chunkRecords = new ArrayList<>(chunkSize);
+				}
+
+				chunkRecords.add(retrieveImportRecord(ctx, rs));
+				previousGroupKey = groupKey;
+			}
+
+			if (!chunkRecords.isEmpty())
+			{
+				chunkNo++;
+				final IMutable<Object> state = isolatedChunks ? new Mutable<>() : sharedState;
+				submitChunk(executor, new ImportChunk(chunkNo, chunkRecords, state), importResult);
+			}
+
+			if (executor != null)
+			{
+				executor.awaitAll();
+			}
+		}
+	}
+
+	/**
+	 * NOTE: the chunk results are logged from the reading thread, in chunks order, because the loggable is not meant to be used by multiple threads.
+	 */
+	private OrderedParallelExecutor<ImportChunkResult> createChunksExecutor(final int threadsCount)
+	{
+		return OrderedParallelExecutor.<ImportChunkResult> builder()
+				.threadNamePrefix(getClass().getSimpleName())
+				.threadsCount(threadsCount)
+				.resultCallback(this::logChunkResult)
+				.build();
+	}
+
+	private void submitChunk(
+			@Nullable final OrderedParallelExecutor<ImportChunkResult> executor,
+			@NonNull final ImportChunk chunk,
+			@NonNull final ImportProcessResult importResult)
+	{
+		if (executor == null)
+		{
+			logChunkResult(importChunk(chunk, importResult));
+			return;
+		}
+
+		final Properties ctx = getCtx();
+		executor.submit(() -> {
+			// NOTE: each thread gets its own copy, because the context might be changed while importing
+			final Properties chunkCtx = Env.copyCtx(ctx);
+			_chunkCtx.set(chunkCtx);
+			try (final IAutoCloseable ctxRestorer = Env.switchContext(chunkCtx))
+			{
+				return importChunk(chunk, importResult);
+			}
+			finally
+			{
+				_chunkCtx.remove();
+			}
+		});
+	}
+
+	private void logChunkResult(final ImportChunkResult chunkResult)
+	{
+		loggable.addLog(chunkResult.toString());
+	}
+
+	private ImportChunkResult importChunk(final ImportChunk chunk, final ImportProcessResult importResult)
+	{
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+
+		// NOTE: the state might be shared with the previous chunks, so we remember how it was before this chunk
+		final Object stateValueBeforeChunk = chunk.getState().getValue();
+
+		ImportChunkResult chunkResult;
+		try
+		{
+			chunkResult = trxManager.call(() -> importChunkInTrx(chunk));
+		}
+		catch (final Exception ex)
+		{
+			log.warn("Failed importing {} in one transaction. Retrying record by record.", chunk, ex);
+
+			// the rolled back records might still be flagged as imported,
+			// and the state might refer to what the rolled back records imported
+			chunk.getImportRecords().forEach(InterfaceWrapperHelper::markStaled);
+			chunk.getState().setValue(stateValueBeforeChunk);
+			chunkResult = importChunkRecordByRecord(chunk);
+		}
+
+		chunkResult.setDuration(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		importResult.addInsertCount(chunkResult.getInsertCount());
+		importResult.addUpdateCount(chunkResult.getUpdateCount());
+
+		return chunkResult;
+	}
+
+	private ImportChunkResult importChunkInTrx(final ImportChunk chunk)
+	{
+		final ImportChunkResult chunkResult = new ImportChunkResult(chunk.getChunkNo(), chunk.getImportRecords().size(), false);
+		final ITrxRunConfig savepointTrxRunConfig = trxManager.newTrxRunConfigBuilder()
+				.setTrxPropagation(TrxPropagation.NESTED)
+				.setOnRunnableSuccess(OnRunnableSuccess.DONT_COMMIT)
+				.setOnRunnableFail(OnRunnableFail.ASK_RUNNABLE)
+				.build();
+
+		for (final ImportRecordType importRecord : chunk.getImportRecords())
+		{
+			final ImportRecordRunnable runnable = new ImportRecordRunnable(chunk.getState(), importRecord);
+			trxManager.run(ITrx.TRXNAME_ThreadInherited, savepointTrxRunConfig, runnable);
+			runnable.collectResult(chunkResult);
+		}
+
+		return chunkResult;
+	}
+
+	private ImportChunkResult importChunkRecordByRecord(final ImportChunk chunk)
+	{
+		final ImportChunkResult chunkResult = new ImportChunkResult(chunk.getChunkNo(), chunk.getImportRecords().size(), true);
+		for (final ImportRecordType importRecord : chunk.getImportRecords())
+		{
+			final ImportRecordRunnable runnable = new ImportRecordRunnable(chunk.getState(), importRecord);
+			trxManager.run(runnable);
+			runnable.collectResult(chunkResult);
+		}
+
+		return chunkResult;
+	}
+
+	/** Imports one record in the current transaction; in case of failure the record is flagged with the error, after rolling back. */
+	private final class ImportRecordRunnable extends TrxRunnableAdapter
+	{
+		private final IMutable<Object> state;
+		private final ImportRecordType importRecord;
+		private ImportRecordResult recordImportResult;
+		private Throwable error;
+
+		private ImportRecordRunnable(final IMutable<Object> state, final ImportRecordType importRecord)
+		{
+			this.state = state;
+			this.importRecord = importRecord;
+		}
+
+		@Override
+		public void run(final String localTrxName) throws Exception
+		{
+			this.recordImportResult = importRecord(state, importRecord);
+
+			markImported(importRecord);
+		}
+
+		@Override
+		public boolean doCatch(final Throwable e) throws Throwable
+		{
+			this.error = e;
+			return true; // rollback
+		}
+
+		private void collectResult(final ImportChunkResult chunkResult)
+		{
+			if (reportErrorIfAny())
+			{
+				chunkResult.incrementErrorCount();
+			}
+			else if (recordImportResult == ImportRecordResult.Inserted)
+			{
+				chunkResult.incrementInsertCount();
+			}
+			else if (recordImportResult == ImportRecordResult.Updated)
+			{
+				chunkResult.incrementUpdateCount();
+			}
+		}
+
+		private void collectResult(final ImportProcessResult importResult)
+		{
+			if (reportErrorIfAny())
+			{
+				return; // the records with errors are counted at the end
+			}
+
+			if (recordImportResult == ImportRecordResult.Inserted)
+			{
+				importResult.incrementInsertCounter();
+			}
+			else if (recordImportResult == ImportRecordResult.Updated)
+			{
+				importResult.incrementUpdateCounter();
+			}
+		}
+
+		/** @return true if the record failed to import */
+		private boolean reportErrorIfAny()
+		{
+			if (error == null)
+			{
+				return false;
+			}
+
+			reportError(importRecord, error.getLocalizedMessage());
+			InterfaceWrapperHelper.markStaled(importRecord); // just in case some BL wants to get values from it
+			return true;
+		}
+	}
+
+	private final class ImportChunk
+	{
+		private final int chunkNo;
+		private final List<ImportRecordType> importRecords;
+		/** shared with the other chunks if there is no import group key column */
+		private final IMutable<Object> state;
+
+		private ImportChunk(
+				final int chunkNo,
+				@NonNull final List<ImportRecordType> importRecords,
+				@NonNull final IMutable<Object> state)
+		{
+			this.chunkNo = chunkNo;
+			this.importRecords = importRecords;
+			this.state = state;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "chunk #" + chunkNo + " (" + importRecords.size() + " records)";
+		}
+
+		private int getChunkNo()
+		{
+			return chunkNo;
+		}
+
+		private List<ImportRecordType> getImportRecords()
+		{
+			return importRecords;
+		}
+
+		private IMutable<Object> getState()
+		{
+			return state;
+		}
+	}
+
+	private static final class ImportChunkResult
+	{
+		private final int chunkNo;
+		private final int recordsCount;
+		private final boolean importedRecordByRecord;
+		private int insertCount = 0;
+		private int updateCount = 0;
+		private int errorCount = 0;
+		private long durationMillis;
+
+		private ImportChunkResult(final int chunkNo, final int recordsCount, final boolean importedRecordByRecord)
+		{
+			this.chunkNo = chunkNo;
+			this.recordsCount = recordsCount;
+			this.importedRecordByRecord = importedRecordByRecord;
+		}
+
+		@Override
+		public String toString()
+		{
+			final long recordsPerSecond = recordsCount * 1000L / Math.max(durationMillis, 1);
+			return "Chunk #" + chunkNo + ": " + recordsCount + " records"
+					+ " (inserted=" + insertCount + ", updated=" + updateCount + ", errors=" + errorCount + ")"
+					+ " in " + durationMillis + "ms, " + recordsPerSecond + " records/sec"
+					+ (importedRecordByRecord ? ", imported record by record after the chunk failed" : "");
+		}
+
+		private void incrementInsertCount()
+		{
+			insertCount++;
+		}
+
+		private void incrementUpdateCount()
+		{
+			updateCount++;
+		}
+
+		private void incrementErrorCount()
+		{
+			errorCount++;
+		}
+
+		private int getInsertCount()
+		{
+			return insertCount;
+		}
+
+		private int getUpdateCount()
+		{
+			return updateCount;
+		}
+
+		private void setDuration(final long durationMillis)
+		{
+			this.durationMillis = durationMillis;
+		}
+	}
+
 	protected abstract String getImportOrderBySql();
 
 	protected abstract ImportRecordType retrieveImportRecord(final Properties ctx, final ResultSet rs) throws SQLException;
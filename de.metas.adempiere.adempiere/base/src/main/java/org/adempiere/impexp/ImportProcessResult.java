@@ -67,9 +67,19 @@ public class ImportProcessResult
 		return insertCount.get();
 	}
 
+	void addInsertCount(final int count)
+	{
+		insertCount.addAndGet(count);
+	}
+
 	void incrementUpdateCounter()
 	{
-		insertCount.incrementAndGet();
+		updateCount.incrementAndGet();
+	}
+
+	void addUpdateCount(final int count)
+	{
+		updateCount.addAndGet(count);
 	}
 
 	/**
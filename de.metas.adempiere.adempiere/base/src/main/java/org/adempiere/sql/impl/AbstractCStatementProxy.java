@@ -31,6 +31,7 @@ import java.sql.Statement;
 import javax.sql.RowSet;
 
 import org.adempiere.ad.migration.logger.MigrationScriptFileLoggerHolder;
+import org.adempiere.ad.persistence.POSaveBatch;
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.exceptions.DBException;
@@ -68,6 +69,8 @@ import de.metas.util.Services;
 			final Trx trx = getTrx(p_vo);
 			if (trx != null)
 			{
+				// make sure the batched saves are executed before we are running anything else in this transaction
+				POSaveBatch.flushIfAny(trx);
 				conn = trx.getConnection();
 			}
 			else
@@ -0,0 +1,266 @@
+package org.adempiere.util.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.lang.IAutoCloseable;
+
+import de.metas.util.Check;
+import lombok.Builder;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Runs the submitted tasks using up to {@link #threadsCount} threads and passes their results to {@link #resultCallback}, on the submitting thread and in the order in which the tasks were submitted.
+ * <p>
+ * The number of tasks waiting for a free thread is bounded. When it's reached, the submitting thread is running the task itself,
+ * so the caller is not piling up tasks in memory while all threads are busy.
+ * <p>
+ * When a task fails, the tasks which were not started yet are dropped and the running ones are awaited (but not interrupted).
+ * Then the first failure is thrown, having the failures of the other tasks as suppressed exceptions.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * try (final OrderedParallelExecutor&lt;Result&gt; executor = OrderedParallelExecutor.&lt;Result&gt; builder()...build())
+ * {
+ * 	executor.submit(task1);
+ * 	executor.submit(task2);
+ * 	executor.awaitAll();
+ * }
+ * </pre>
+ *
+ * @param <T> task result type
+ */
+public final class OrderedParallelExecutor<T> implements IAutoCloseable
+{
+	private final int threadsCount;
+	private final Consumer<T> resultCallback;
+
+	private final ThreadPoolExecutor executor;
+	private final Deque<Future<T>> pendingTasks = new ArrayDeque<>();
+	private boolean stopped = false;
+
+	/**
+	 * @param threadNamePrefix prefix of the worker threads' names
+	 * @param resultCallback called on the submitting thread with the result of each task, in submitting order; optional
+	 */
+	@Builder
+	private OrderedParallelExecutor(
+			@NonNull final String threadNamePrefix,
+			final int threadsCount,
+			@Nullable final Consumer<T> resultCallback)
+	{
+		Check.assume(threadsCount > 0, "threadsCount > 0 but it was {}", threadsCount);
+
+		this.threadsCount = threadsCount;
+		this.resultCallback = resultCallback;
+
+		this.executor = new ThreadPoolExecutor(
+				threadsCount,
+				threadsCount,
+				0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(threadsCount),
+				CustomizableThreadFactory.builder()
+						.setThreadNamePrefix(threadNamePrefix)
+						.setDaemon(true)
+						.build(),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	@Override
+	public String toString()
+	{
+		return "OrderedParallelExecutor [threadsCount=" + threadsCount + ", pendingTasks=" + pendingTasks.size() + ", stopped=" + stopped + "]";
+	}
+
+	/**
+	 * Submits the given task and passes the results of the tasks which are already completed to the result callback.
+	 *
+	 * @throws AdempiereException if a task failed
+	 */
+	public void submit(@NonNull final Callable<T> task)
+	{
+		Check.assume(!stopped, "Not accepting new tasks after a task failed or after closing: {}", this);
+
+		pendingTasks.add(executor.submit(task));
+		collectCompletedTasks(false);
+	}
+
+	/**
+	 * Same as {@link #submit(Callable)}, for tasks without a result.
+	 */
+	public void submit(@NonNull final Runnable task)
+	{
+		submit(Executors.<T> callable(task, null));
+	}
+
+	/**
+	 * Waits until all submitted tasks are completed and passes their results to the result callback.
+	 *
+	 * @throws AdempiereException if a task failed
+	 */
+	public void awaitAll()
+	{
+		collectCompletedTasks(true);
+	}
+
+	/**
+	 * Drops the tasks which were not started yet and waits for the running ones.
+	 */
+	@Override
+	public void close()
+	{
+		stop();
+	}
+
+	/**
+	 * Passes the results of the already completed tasks to the result callback, in submitting order.
+	 *
+	 * @param waitForAll if true, wait until all tasks are completed; if false, stop at the first task which was not completed yet
+	 */
+	private void collectCompletedTasks(final boolean waitForAll)
+	{
+		// fail fast: if a task failed, we are not waiting for the tasks submitted before it
+		if (!waitForAll && pendingTasks.stream().anyMatch(OrderedParallelExecutor::isFailed))
+		{
+			stop();
+		}
+
+		AdempiereException firstException = null;
+		while (!pendingTasks.isEmpty())
+		{
+			if (!waitForAll && !pendingTasks.peekFirst().isDone())
+			{
+				break;
+			}
+
+			final Future<T> task = pendingTasks.removeFirst();
+			if (task.isCancelled())
+			{
+				continue; // dropped when stopping
+			}
+
+			try
+			{
+				final T result = task.get();
+				if (resultCallback != null && firstException == null)
+				{
+					resultCallback.accept(result);
+				}
+			}
+			catch (final InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				throw AdempiereException.wrapIfNeeded(ex);
+			}
+			catch (final ExecutionException ex)
+			{
+				final AdempiereException taskException = AdempiereException.wrapIfNeeded(ex.getCause());
+				if (firstException == null)
+				{
+					firstException = taskException;
+
+					// after stopping, all tasks are completed, so we are collecting the failures of all of them
+					stop();
+				}
+				else
+				{
+					firstException.addSuppressed(taskException);
+				}
+			}
+		}
+
+		if (firstException != null)
+		{
+			throw firstException;
+		}
+	}
+
+	private static boolean isFailed(final Future<?> task)
+	{
+		if (!task.isDone() || task.isCancelled())
+		{
+			return false;
+		}
+
+		try
+		{
+			task.get();
+			return false;
+		}
+		catch (final InterruptedException ex)
+		{
+			// shall not happen because the task is done
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		catch (final ExecutionException ex)
+		{
+			return true;
+		}
+	}
+
+	private void stop()
+	{
+		if (stopped)
+		{
+			return;
+		}
+		stopped = true;
+
+		// NOTE: the running tasks are not interrupted, so they can complete or roll back their transactions
+		final List<Runnable> notStartedTasks = new ArrayList<>();
+		executor.getQueue().drainTo(notStartedTasks);
+		for (final Runnable notStartedTask : notStartedTasks)
+		{
+			((Future<?>)notStartedTask).cancel(false);
+		}
+
+		executor.shutdown();
+		try
+		{
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		}
+		catch (final InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+			throw AdempiereException.wrapIfNeeded(ex);
+		}
+	}
+}
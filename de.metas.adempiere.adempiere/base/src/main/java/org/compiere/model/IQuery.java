@@ -84,6 +84,18 @@ public interface IQuery<T>
 	 */
 	boolean DEFAULT_OPTION_GuaranteedIteratorRequired = true;
 
+	/**
+	 * If this instance is used to get a cursor based stream, then this option tells how many rows shall be fetched from database at a time.
+	 *
+	 * @see #streamUsingCursor(Class)
+	 */
+	String OPTION_CursorFetchSize = "CursorFetchSize";
+
+	/**
+	 * Default value for {@link #OPTION_CursorFetchSize}.
+	 */
+	int DEFAULT_OPTION_CursorFetchSize = 500;
+
 	int NO_LIMIT = -1;
 
 	Properties getCtx();
@@ -589,4 +601,34 @@ public interface IQuery<T>
 	{
 		return list(clazz).stream();
 	}
+
+	/**
+	 * Return a stream of all records that match the query criteria.
+	 * The records are fetched using a database cursor (see {@link #OPTION_CursorFetchSize}) and they are loaded while the stream is consumed,
+	 * so the memory usage does not depend on how many records are matched.
+	 * <p>
+	 * If the query has no transaction, the cursor is opened in a dedicated read-only transaction and the returned models have no transaction.
+	 * <p>
+	 * IMPORTANT: the database resources are released when the stream is fully consumed or when it's closed,
+	 * so please use it in a try-with-resources block if you might not consume it all.
+	 *
+	 * @return Stream
+	 * @throws DBException
+	 */
+	default Stream<T> streamUsingCursor() throws DBException
+	{
+		return streamUsingCursor(getModelClass());
+	}
+
+	/**
+	 * Same as {@link #streamUsingCursor()}, but all resulting models will be converted to given interface.
+	 *
+	 * @param clazz all resulting models will be converted to this interface
+	 * @return Stream
+	 * @throws DBException
+	 */
+	default <ET extends T> Stream<ET> streamUsingCursor(final Class<ET> clazz) throws DBException
+	{
+		return stream(clazz);
+	}
 }
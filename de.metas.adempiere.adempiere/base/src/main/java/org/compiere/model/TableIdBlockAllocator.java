@@ -0,0 +1,151 @@
+package org.compiere.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.adempiere.service.ISysConfigBL;
+import org.slf4j.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import de.metas.logging.LogManager;
+import de.metas.util.Services;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Hands out table IDs from blocks which were reserved upfront, so that we don't have to go to the database (and lock the <code>AD_Sequence</code> record) for each new record.
+ * <p>
+ * The block size is configured by AD_SysConfig {@value #SYSCONFIG_BlockSize} and can be overridden per table by <code>{@value #SYSCONFIG_BlockSize}.TableName</code>.
+ * A block size of 1 (the default) means that no IDs are reserved upfront.
+ * <p>
+ * NOTE: the reserved but not used IDs are lost when the JVM is shut down or when {@link #reset()} is called.
+ * That's safe, because an ID is never handed out twice, but there will be gaps and the IDs are not strictly ascending anymore across cluster nodes.
+ */
+public final class TableIdBlockAllocator
+{
+	public static final transient TableIdBlockAllocator instance = new TableIdBlockAllocator();
+
+	public static final String SYSCONFIG_BlockSize = "org.compiere.model.TableIdBlockAllocator.BlockSize";
+	private static final int DEFAULT_BlockSize = 1;
+
+	private static final Logger logger = LogManager.getLogger(TableIdBlockAllocator.class);
+
+	@FunctionalInterface
+	public interface IdsReserver
+	{
+		/**
+		 * Reserves the given number of IDs in database.
+		 *
+		 * @return the reserved IDs or {@code null} if the IDs could not be reserved
+		 */
+		int[] reserveIds(int count);
+	}
+
+	private final ConcurrentHashMap<String, IdsBlock> blocks = new ConcurrentHashMap<>();
+
+	@VisibleForTesting
+	TableIdBlockAllocator()
+	{
+	}
+
+	/**
+	 * @return how many IDs shall be reserved at once for given table; always at least 1
+	 */
+	public int getBlockSize(@NonNull final String tableName)
+	{
+		final ISysConfigBL sysConfigBL = Services.get(ISysConfigBL.class);
+		final int defaultBlockSize = sysConfigBL.getIntValue(SYSCONFIG_BlockSize, DEFAULT_BlockSize);
+		final int blockSize = sysConfigBL.getIntValue(SYSCONFIG_BlockSize + "." + tableName, defaultBlockSize);
+		return Math.max(blockSize, 1);
+	}
+
+	/**
+	 * Gets the next ID from the block of given sequence. If the block is exhausted, a new one is reserved using given <code>reserver</code>.
+	 *
+	 * @param sequenceKey identifies the sequence, e.g. the table name or the database sequence name
+	 * @return next ID or -1 if the IDs could not be reserved
+	 */
+	public int nextId(@NonNull final String sequenceKey, final int blockSize, @NonNull final IdsReserver reserver)
+	{
+		final IdsBlock block = blocks.computeIfAbsent(sequenceKey, IdsBlock::new);
+		synchronized (block)
+		{
+			if (!block.hasNext())
+			{
+				final int[] ids = reserver.reserveIds(blockSize);
+				if (ids == null || ids.length == 0)
+				{
+					return -1;
+				}
+
+				block.setIds(ids);
+				logger.debug("Reserved {} IDs for {}", ids.length, sequenceKey);
+			}
+
+			return block.next();
+		}
+	}
+
+	/**
+	 * Forgets all reserved IDs, e.g. after the sequences were changed in database.
+	 */
+	public void reset()
+	{
+		blocks.clear();
+	}
+
+	private static final class IdsBlock
+	{
+		private final String sequenceKey;
+		private int[] ids = new int[0];
+		private int nextIndex = 0;
+
+		private IdsBlock(final String sequenceKey)
+		{
+			this.sequenceKey = sequenceKey;
+		}
+
+		public boolean hasNext()
+		{
+			return nextIndex < ids.length;
+		}
+
+		public int next()
+		{
+			return ids[nextIndex++];
+		}
+
+		public void setIds(final int[] ids)
+		{
+			this.ids = ids;
+			this.nextIndex = 0;
+		}
+
+		@Override
+		public String toString()
+		{
+			return sequenceKey + ": " + (ids.length - nextIndex) + " IDs left";
+		}
+	}
+}
@@ -24,12 +24,17 @@ package de.metas.cache;
 
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.lang.impl.TableRecordReference;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import de.metas.cache.CCache;
@@ -228,4 +233,104 @@ public class CCacheTest
 		cache.putAll(Collections.singletonMap("key1", "value1_newValue"));
 		Assert.assertEquals("Value shall exist", "value1_newValue", cache.get("key1"));
 	}
+
+	@Test
+	public void test_stats()
+	{
+		final CCache<String, String> cache = new CCache<String, String>("Test", 10);
+		cache.get("key1"); // miss
+		cache.getOrLoad("key1", () -> "value1"); // miss + load
+		cache.get("key1"); // hit
+
+		final CacheStats stats = cache.stats().getGuavaStats();
+		Assert.assertEquals("hitCount", 1, stats.hitCount());
+		Assert.assertEquals("missCount", 2, stats.missCount());
+		Assert.assertEquals("loadSuccessCount", 1, stats.loadSuccessCount());
+	}
+
+	@Test
+	public void test_maximumWeight()
+	{
+		final CCache<Integer, String> cache = CCache.<Integer, String> builder()
+				.cacheName("Test")
+				.maximumWeight(100L)
+				.weigher((key, value) -> value.length())
+				.build();
+
+		final String value = "0123456789"; // weight=10
+		for (int i = 1; i <= 20; i++)
+		{
+			cache.put(i, value);
+		}
+
+		Assert.assertTrue("total weight shall be bounded", cache.size() * value.length() <= 100);
+		Assert.assertTrue("entries shall be evicted", cache.stats().getGuavaStats().evictionCount() >= 10);
+	}
+
+	@Test(expected = AdempiereException.class)
+	public void test_maximumWeight_withoutWeigher()
+	{
+		CCache.<Integer, String> builder()
+				.cacheName("Test")
+				.maximumWeight(100L)
+				.build();
+	}
+
+	@Test
+	public void test_resetForRecordId_withInvalidationRecordsExtractor()
+	{
+		final CCache<String, TableRecordReference> cache = CCache.<String, TableRecordReference> builder()
+				.cacheName("Test")
+				.invalidationRecordsExtractor(ImmutableList::of)
+				.build();
+		cache.put("key1", TableRecordReference.of(1, 1));
+		cache.put("key2", TableRecordReference.of(1, 2));
+		cache.getOrLoad("key3", () -> TableRecordReference.of(1, 2));
+
+		Assert.assertEquals("reset count", 2, cache.resetForRecordId(TableRecordReference.of(1, 2)));
+		assertSize(cache, 1);
+		Assert.assertNotNull("key1 shall not be invalidated", cache.get("key1"));
+
+		Assert.assertEquals("reset count for a not indexed record", 0, cache.resetForRecordId(TableRecordReference.of(1, 3)));
+		assertSize(cache, 1);
+	}
+
+	@Test
+	public void test_resetForRecordId_whileLoading()
+	{
+		final CCache<String, TableRecordReference> cache = CCache.<String, TableRecordReference> builder()
+				.cacheName("Test")
+				.invalidationRecordsExtractor(ImmutableList::of)
+				.build();
+
+		final TableRecordReference record = TableRecordReference.of(1, 1);
+		final TableRecordReference value = cache.getOrLoad("key1", () -> {
+			// the record is changed after we loaded it but before the value got into the cache
+			cache.resetForRecordId(record);
+			return record;
+		});
+
+		Assert.assertSame(record, value);
+		assertSize(cache, 0);
+	}
+
+	@Test
+	public void test_resetForRecordId_afterReplacingTheValue()
+	{
+		final CCache<String, List<TableRecordReference>> cache = CCache.<String, List<TableRecordReference>> builder()
+				.cacheName("Test")
+				.invalidationRecordsExtractor(records -> records)
+				.build();
+
+		final TableRecordReference record1 = TableRecordReference.of(1, 1);
+		final TableRecordReference record2 = TableRecordReference.of(1, 2);
+		cache.put("key1", ImmutableList.of(record1, record2));
+		cache.put("key1", ImmutableList.of(record2));
+
+		Assert.assertEquals("reset count for the record which is no longer in the value", 0, cache.resetForRecordId(record1));
+		assertSize(cache, 1);
+
+		Assert.assertEquals("reset count for the record which is in the new value", 1, cache.resetForRecordId(record2));
+		assertSize(cache, 0);
+	}
 }
@@ -0,0 +1,102 @@
+package de.metas.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.metas.cache.model.CacheInvalidateMultiRequest;
+import de.metas.cache.model.CacheInvalidateRequest;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class CacheInvalidateRequestsCollectorTest
+{
+	private final CacheInvalidateRequestsCollector collector = new CacheInvalidateRequestsCollector();
+
+	@Test
+	public void deduplicatesRecordRequests()
+	{
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table1", 1));
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table1", 1));
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table1", 2));
+
+		final List<CacheInvalidateMultiRequest> multiRequests = collector.toMultiRequests(100);
+		assertThat(multiRequests).hasSize(1);
+		assertThat(multiRequests.get(0).getRequests())
+				.extracting(CacheInvalidateRequest::getRootRecordId)
+				.containsExactlyInAnyOrder(1, 2);
+	}
+
+	@Test
+	public void allRecordsRequestSubsumesRecordRequests()
+	{
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table1", 1));
+		collector.addAll(CacheInvalidateMultiRequest.allRecordsForTable("Table1"));
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table2", 1));
+
+		final List<CacheInvalidateMultiRequest> multiRequests = collector.toMultiRequests(100);
+		assertThat(multiRequests).hasSize(1);
+		assertThat(multiRequests.get(0).getRequests())
+				.extracting(CacheInvalidateRequest::getTableNameEffective, CacheInvalidateRequest::isAllRecords)
+				.containsExactlyInAnyOrder(
+						tuple("Table1", true),
+						tuple("Table2", false));
+	}
+
+	@Test
+	public void resetAll()
+	{
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table1", 1));
+		collector.addAll(CacheInvalidateMultiRequest.all());
+		collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table2", 1));
+
+		assertThat(collector.toMultiRequests(100)).containsExactly(CacheInvalidateMultiRequest.all());
+	}
+
+	@Test
+	public void splitInChunks()
+	{
+		for (int recordId = 1; recordId <= 5; recordId++)
+		{
+			collector.addAll(CacheInvalidateMultiRequest.rootRecord("Table1", recordId));
+		}
+
+		assertThat(collector.toMultiRequests(2))
+				.extracting(multiRequest -> multiRequest.getRequests().size())
+				.containsExactly(2, 2, 1);
+	}
+
+	@Test
+	public void clear()
+	{
+		collector.addAll(CacheInvalidateMultiRequest.all());
+		assertThat(collector.isEmpty()).isFalse();
+
+		collector.clear();
+		assertThat(collector.isEmpty()).isTrue();
+		assertThat(collector.toMultiRequests(100)).isEmpty();
+	}
+}
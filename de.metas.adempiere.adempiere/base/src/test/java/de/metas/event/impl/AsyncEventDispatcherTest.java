@@ -0,0 +1,144 @@
+package de.metas.event.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.metas.event.Event;
+import de.metas.event.EventBusOverflowPolicy;
+import de.metas.event.EventBusStats;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class AsyncEventDispatcherTest
+{
+	private final List<String> dispatchedSummaries = new CopyOnWriteArrayList<>();
+	private final CountDownLatch firstEventStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseFirstEvent = new CountDownLatch(1);
+
+	private AsyncEventDispatcher dispatcher;
+
+	@After
+	public void shutdown()
+	{
+		releaseFirstEvent.countDown();
+		if (dispatcher != null)
+		{
+			dispatcher.shutdown();
+		}
+	}
+
+	private void onEvent(final Event event)
+	{
+		if (dispatchedSummaries.isEmpty())
+		{
+			firstEventStarted.countDown();
+			try
+			{
+				releaseFirstEvent.await(10, TimeUnit.SECONDS);
+			}
+			catch (final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		dispatchedSummaries.add(event.getSummary());
+	}
+
+	private static Event event(final String summary)
+	{
+		return Event.builder().setSummary(summary).build();
+	}
+
+	/** Posts one event and waits until the dispatcher is stuck with it, so that the following events are piling up in the queue. */
+	private void blockDispatcher() throws InterruptedException
+	{
+		dispatcher.enqueue(event("first"));
+		assertThat(firstEventStarted.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	private void releaseDispatcherAndWait(final int expectedDispatchedEvents) throws InterruptedException
+	{
+		releaseFirstEvent.countDown();
+
+		final long timeoutMillis = System.currentTimeMillis() + 10_000;
+		while (dispatcher.getStats().getCountDispatched() < expectedDispatchedEvents && System.currentTimeMillis() < timeoutMillis)
+		{
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void dispatchesInOrder() throws InterruptedException
+	{
+		dispatcher = new AsyncEventDispatcher("test", 10, EventBusOverflowPolicy.BLOCK, this::onEvent);
+		blockDispatcher();
+		dispatcher.enqueue(event("e1"));
+		dispatcher.enqueue(event("e2"));
+		dispatcher.enqueue(event("e3"));
+
+		releaseDispatcherAndWait(4);
+
+		assertThat(dispatchedSummaries).containsExactly("first", "e1", "e2", "e3");
+		final EventBusStats stats = dispatcher.getStats();
+		assertThat(stats.getCountPosted()).isEqualTo(4);
+		assertThat(stats.getCountDispatched()).isEqualTo(4);
+		assertThat(stats.getQueueSizeMax()).isEqualTo(3);
+	}
+
+	@Test
+	public void dropOldest() throws InterruptedException
+	{
+		dispatcher = new AsyncEventDispatcher("test", 2, EventBusOverflowPolicy.DROP_OLDEST, this::onEvent);
+		blockDispatcher();
+		dispatcher.enqueue(event("e1"));
+		dispatcher.enqueue(event("e2"));
+		dispatcher.enqueue(event("e3"));
+
+		releaseDispatcherAndWait(3);
+
+		assertThat(dispatchedSummaries).containsExactly("first", "e2", "e3");
+		assertThat(dispatcher.getStats().getCountDropped()).isEqualTo(1);
+	}
+
+	@Test
+	public void coalesce() throws InterruptedException
+	{
+		dispatcher = new AsyncEventDispatcher("test", 2, EventBusOverflowPolicy.COALESCE, this::onEvent);
+		blockDispatcher();
+		dispatcher.enqueue(event("e1"));
+		dispatcher.enqueue(event("e2"));
+		dispatcher.enqueue(event("e1"));
+
+		releaseDispatcherAndWait(3);
+
+		assertThat(dispatchedSummaries).containsExactly("first", "e1", "e2");
+		assertThat(dispatcher.getStats().getCountCoalesced()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,109 @@
+package de.metas.event.remote;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.test.AdempiereTestHelper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.amqp.core.Message;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.event.Event;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class RemoteEventsMessageConverterTest
+{
+	private final RemoteEventsMessageConverter converter = RemoteEventsMessageConverter.instance;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	private static Event event(final String summary)
+	{
+		return Event.builder()
+				.setSummary(summary)
+				.setDetailPlain("detail of " + summary)
+				.addRecipient_User_ID(10)
+				.putProperty("Prop_BD", new BigDecimal("3.1415"))
+				.putProperty("Prop_Int", 13)
+				.putProperty("Prop_Str", "string1")
+				.build();
+	}
+
+	@Test
+	public void json_singleEvent()
+	{
+		final List<Event> events = ImmutableList.of(event("e1"));
+
+		final Message message = converter.toMessage(events, EventSerializationFormat.JSON);
+		assertThat(message.getMessageProperties().getContentType()).isEqualTo(EventSerializationFormat.JSON.getContentType());
+
+		// shall be readable by nodes which are not aware of batching
+		assertThat(JacksonJsonEventSerializer.instance.fromBytes(message.getBody())).isEqualTo(events.get(0));
+
+		assertThat(converter.fromMessage(message)).isEqualTo(events);
+	}
+
+	@Test
+	public void json_batch()
+	{
+		final List<Event> events = ImmutableList.of(event("e1"), event("e2"), event("e3"));
+
+		final Message message = converter.toMessage(events, EventSerializationFormat.JSON);
+		assertThat(converter.fromMessage(message)).isEqualTo(events);
+	}
+
+	@Test
+	public void smile_batch()
+	{
+		final List<Event> events = ImmutableList.of(event("e1"), event("e2"), event("e3"));
+
+		final Message message = converter.toMessage(events, EventSerializationFormat.SMILE);
+		assertThat(message.getMessageProperties().getContentType()).isEqualTo(EventSerializationFormat.SMILE.getContentType());
+		assertThat(converter.fromMessage(message)).isEqualTo(events);
+
+		final Message jsonMessage = converter.toMessage(events, EventSerializationFormat.JSON);
+		assertThat(message.getBody().length).isLessThan(jsonMessage.getBody().length);
+	}
+
+	@Test
+	public void unknownFormatVersion()
+	{
+		final Message message = converter.toMessage(ImmutableList.of(event("e1")), EventSerializationFormat.SMILE);
+		message.getMessageProperties().getHeaders().put("metasfresh-events.FormatVersion", 999);
+
+		assertThatThrownBy(() -> converter.fromMessage(message))
+				.isInstanceOf(AdempiereException.class)
+				.hasMessageContaining("999");
+	}
+}
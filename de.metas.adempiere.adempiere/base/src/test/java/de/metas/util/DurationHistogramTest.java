@@ -0,0 +1,50 @@
+package de.metas.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DurationHistogramTest
+{
+	@Test
+	public void percentiles()
+	{
+		final DurationHistogram histogram = new DurationHistogram();
+		for (int i = 1; i <= 100; i++)
+		{
+			histogram.add(i * 1000);
+		}
+
+		// buckets have an error of at most 25%
+		assertThat(histogram.getPercentileMicros(50)).isBetween(50_000L, 62_500L);
+		assertThat(histogram.getPercentileMicros(99)).isBetween(99_000L, 123_750L);
+	}
+
+	@Test
+	public void empty()
+	{
+		assertThat(new DurationHistogram().getPercentileMicros(99)).isEqualTo(0);
+	}
+}
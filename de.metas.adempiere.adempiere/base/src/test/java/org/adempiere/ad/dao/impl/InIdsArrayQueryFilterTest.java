@@ -0,0 +1,112 @@
+package org.adempiere.ad.dao.impl;
+
+import static org.adempiere.model.InterfaceWrapperHelper.newInstance;
+import static org.adempiere.model.InterfaceWrapperHelper.save;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.test.AdempiereTestHelper;
+import org.assertj.core.api.Assertions;
+import org.compiere.model.I_AD_Column;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.util.lang.RepoIdAware;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class InIdsArrayQueryFilterTest
+{
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+	}
+
+	@Value
+	private static final class RepoId implements RepoIdAware
+	{
+		int repoId;
+	}
+
+	@Test
+	public void toSql()
+	{
+		final InIdsArrayQueryFilter<Object> filter = new InIdsArrayQueryFilter<>("MyColumn_ID", ImmutableList.of(3, new RepoId(1), 2, 3));
+
+		assertThat(filter.getSql()).isEqualTo("MyColumn_ID = ANY(?)");
+
+		final List<Object> sqlParams = filter.getSqlParams(null);
+		assertThat(sqlParams).hasSize(1);
+		assertThat((Integer[])sqlParams.get(0)).containsExactly(3, 1, 2);
+	}
+
+	@Test
+	public void toSql_sameSqlForDifferentIdsCount()
+	{
+		final String sql1 = new InIdsArrayQueryFilter<>("MyColumn_ID", ImmutableList.of(1)).getSql();
+		final String sql2 = new InIdsArrayQueryFilter<>("MyColumn_ID", ImmutableList.of(1, 2, 3, 4)).getSql();
+
+		assertThat(sql1).isEqualTo(sql2);
+	}
+
+	@Test
+	public void toSql_noIds()
+	{
+		final InIdsArrayQueryFilter<Object> filter = new InIdsArrayQueryFilter<>("MyColumn_ID", ImmutableList.of());
+
+		assertThat(filter.getSql()).isEqualTo("1=0");
+		assertThat(filter.getSqlParams(null)).isEmpty();
+	}
+
+	@Test
+	public void invalidId()
+	{
+		Assertions.assertThatThrownBy(() -> new InIdsArrayQueryFilter<>("MyColumn_ID", ImmutableList.of("1")))
+				.isInstanceOf(AdempiereException.class);
+	}
+
+	@Test
+	public void accept()
+	{
+		final I_AD_Column column1 = createColumn();
+		final I_AD_Column column2 = createColumn();
+
+		final InIdsArrayQueryFilter<I_AD_Column> filter = new InIdsArrayQueryFilter<>(I_AD_Column.COLUMNNAME_AD_Column_ID, ImmutableList.of(column1.getAD_Column_ID()));
+
+		assertThat(filter.accept(column1)).isTrue();
+		assertThat(filter.accept(column2)).isFalse();
+	}
+
+	private I_AD_Column createColumn()
+	{
+		final I_AD_Column column = newInstance(I_AD_Column.class);
+		save(column);
+		return column;
+	}
+}
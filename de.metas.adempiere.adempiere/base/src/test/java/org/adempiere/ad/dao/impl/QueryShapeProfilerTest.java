@@ -0,0 +1,82 @@
+package org.adempiere.ad.dao.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.util.lang.IAutoCloseable;
+import org.junit.Test;
+
+import de.metas.util.SampledStatistics.OrderBy;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class QueryShapeProfilerTest
+{
+	@Test
+	public void toSqlShape()
+	{
+		assertThat(QueryShapeProfiler.toSqlShape("SELECT * FROM C_Order WHERE C_Order_ID IN (1, 2,3) AND DocStatus='CO' AND\n  AD_Client_ID=?"))
+				.isEqualTo("SELECT * FROM C_Order WHERE C_Order_ID IN (?) AND DocStatus=? AND AD_Client_ID=?");
+
+		assertThat(QueryShapeProfiler.toSqlShape("SELECT 1 FROM T1 WHERE Name='it''s' AND ID IN (?,?,?)"))
+				.isEqualTo("SELECT ? FROM T1 WHERE Name=? AND ID IN (?)");
+	}
+
+	@Test
+	public void aggregatesByShapeAndCaller()
+	{
+		final QueryShapeProfiler profiler = new QueryShapeProfiler();
+		profiler.setSamplePercent(100);
+
+		profiler.collect("SELECT * FROM T WHERE ID=1", TimeUnit.MILLISECONDS.toNanos(1), 1);
+		profiler.collect("SELECT * FROM T WHERE ID=2", TimeUnit.MILLISECONDS.toNanos(3), 1);
+		try (final IAutoCloseable caller = profiler.temporarySetCaller("MyInterceptor"))
+		{
+			profiler.collect("SELECT * FROM T WHERE ID=3", TimeUnit.MILLISECONDS.toNanos(100), 0);
+		}
+
+		final List<QueryShapeStatistics> top = profiler.getTop(OrderBy.Count, 10);
+		assertThat(top).hasSize(2);
+
+		final QueryShapeStatistics first = top.get(0);
+		assertThat(first.getSqlShape()).isEqualTo("SELECT * FROM T WHERE ID=?");
+		assertThat(first.getCaller()).isEqualTo("-");
+		assertThat(first.getCount()).isEqualTo(2);
+		assertThat(first.getTotalDurationMillis()).isEqualTo(4d);
+		assertThat(first.getTotalRows()).isEqualTo(2);
+
+		assertThat(top.get(1).getCaller()).isEqualTo("MyInterceptor");
+		assertThat(profiler.getTop(OrderBy.TotalDuration, 1).get(0).getCaller()).isEqualTo("MyInterceptor");
+	}
+
+	@Test
+	public void disabledProfilerDoesNotSample()
+	{
+		final QueryShapeProfiler profiler = new QueryShapeProfiler();
+		profiler.setSamplePercent(0);
+
+		assertThat(profiler.startSampleOrNull()).isNull();
+	}
+}
@@ -0,0 +1,272 @@
+package org.adempiere.ad.dao.impl;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.adempiere.ad.dao.IQueryBL;
+import org.adempiere.ad.dao.IQueryBuilder;
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.model.InterfaceWrapperHelper;
+import org.compiere.Adempiere.RunMode;
+import org.compiere.model.IQuery;
+import org.compiere.model.I_AD_Table;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import de.metas.util.Check;
+import de.metas.util.Services;
+
+/**
+ * Database coupled test which makes sure {@link TypedSqlQuery#streamUsingCursor(Class)} returns the same records as {@link TypedSqlQuery#list()}
+ * and releases the database resources in all cases.
+ */
+@Ignore
+// requires database connection
+public class TypedSqlQuery_streamUsingCursor_DBTest
+{
+	private static final String CURSOR_TRXNAME_PREFIX = "TypedSqlQuery_Cursor";
+
+	private ITrxManager trxManager;
+
+	public static void main(final String[] args)
+	{
+		final TypedSqlQuery_streamUsingCursor_DBTest test = new TypedSqlQuery_streamUsingCursor_DBTest();
+		test.setupAdempiere();
+
+		test.init();
+		test.fullyConsumed();
+		test.init();
+		test.closedEarly();
+		test.init();
+		test.limitAndOffset();
+		test.outOfTrx_usesReadOnlyCursorTrx();
+		test.init();
+		test.inTrx_usesThatTrx();
+		test.init();
+		test.failingWhileFetching_releasesCursor();
+		test.init();
+		test.failingWhileConsuming_releasesCursorOnClose();
+	}
+
+	private void setupAdempiere()
+	{
+		//
+		// Use hardcoded default PropertyFile if none found
+		if (Check.isEmpty(System.getProperty("PropertyFile"), true))
+		{
+			final String propertyFile = new File(".").getAbsolutePath() // e.g. C:\workspaces\\de.metas.adempiere.adempiere\base\
+					+ File.separator + ".." + File.separator + ".." // e.g. C:\workspaces\
+					+ File.separator + "de.metas.endcustomer."
+					+ File.separator + "Adempiere.properties_" + System.getProperty("user.name");
+			System.out.println("Set default PropertyFile=" + propertyFile);
+			System.setProperty("PropertyFile", propertyFile);
+		}
+
+		Env.getSingleAdempiereInstance(null).startup(RunMode.SWING_CLIENT);
+	}
+
+	@Before
+	public void init()
+	{
+		trxManager = Services.get(ITrxManager.class);
+	}
+
+	private IQueryBuilder<I_AD_Table> createQueryBuilder(final String trxName)
+	{
+		return Services.get(IQueryBL.class)
+				.createQueryBuilder(I_AD_Table.class, Env.getCtx(), trxName)
+				.addOnlyActiveRecordsFilter()
+				.orderBy()
+				.addColumn(I_AD_Table.COLUMN_AD_Table_ID)
+				.endOrderBy();
+	}
+
+	private static List<Integer> toIds(final Stream<I_AD_Table> tables)
+	{
+		return tables.map(I_AD_Table::getAD_Table_ID).collect(Collectors.toList());
+	}
+
+	private long countCursorTrxs()
+	{
+		return trxManager.getActiveTransactionsList()
+				.stream()
+				.filter(trx -> trx.getTrxName().startsWith(CURSOR_TRXNAME_PREFIX))
+				.count();
+	}
+
+	private void assertCursorReleased()
+	{
+		Assert.assertEquals("cursor transactions", 0, countCursorTrxs());
+	}
+
+	@Test
+	public void fullyConsumed()
+	{
+		final List<Integer> expectedIds = toIds(createQueryBuilder(ITrx.TRXNAME_None).create().list().stream());
+
+		// a small fetch size, so we are going through more than one fetch
+		final Stream<I_AD_Table> stream = createQueryBuilder(ITrx.TRXNAME_None)
+				.create()
+				.setOption(IQuery.OPTION_CursorFetchSize, 10)
+				.streamUsingCursor(I_AD_Table.class);
+		final List<Integer> actualIds = toIds(stream); // NOTE: not closing the stream, it shall be released when exhausted
+
+		Assert.assertEquals(expectedIds, actualIds);
+		assertCursorReleased();
+	}
+
+	@Test
+	public void closedEarly()
+	{
+		final List<Integer> expectedIds = toIds(createQueryBuilder(ITrx.TRXNAME_None).create().list().stream().limit(5));
+
+		final List<Integer> actualIds;
+		try (final Stream<I_AD_Table> stream = createQueryBuilder(ITrx.TRXNAME_None)
+				.create()
+				.setOption(IQuery.OPTION_CursorFetchSize, 10)
+				.streamUsingCursor(I_AD_Table.class))
+		{
+			actualIds = toIds(stream.limit(5));
+			Assert.assertEquals("cursor transactions while streaming", 1, countCursorTrxs());
+		}
+
+		Assert.assertEquals(expectedIds, actualIds);
+		assertCursorReleased();
+	}
+
+	@Test
+	public void limitAndOffset()
+	{
+		final List<Integer> allIds = toIds(createQueryBuilder(ITrx.TRXNAME_None).create().list().stream());
+		Assert.assertTrue("at least 20 tables expected", allIds.size() >= 20);
+
+		final List<Integer> actualIds = toIds(createQueryBuilder(ITrx.TRXNAME_None)
+				.create()
+				.setLimit(10, 5)
+				.streamUsingCursor(I_AD_Table.class));
+
+		Assert.assertEquals(allIds.subList(5, 15), actualIds);
+		assertCursorReleased();
+	}
+
+	@Test
+	public void outOfTrx_usesReadOnlyCursorTrx()
+	{
+		try (final Stream<I_AD_Table> stream = createQueryBuilder(ITrx.TRXNAME_None)
+				.create()
+				.streamUsingCursor(I_AD_Table.class))
+		{
+			final I_AD_Table table = stream.findFirst().get();
+			Assert.assertTrue("model shall have no trx", trxManager.isNull(InterfaceWrapperHelper.getTrxName(table)));
+
+			final ITrx cursorTrx = trxManager.getActiveTransactionsList()
+					.stream()
+					.filter(trx -> trx.getTrxName().startsWith(CURSOR_TRXNAME_PREFIX))
+					.findFirst()
+					.get();
+			Assert.assertEquals("cursor trx read only", "on", DB.getSQLValueStringEx(cursorTrx.getTrxName(), "SHOW transaction_read_only"));
+		}
+
+		assertCursorReleased();
+	}
+
+	@Test
+	public void inTrx_usesThatTrx()
+	{
+		final String trxName = trxManager.createTrxName("TypedSqlQuery_streamUsingCursor_DBTest", true);
+		try
+		{
+			try (final Stream<I_AD_Table> stream = createQueryBuilder(trxName)
+					.create()
+					.streamUsingCursor(I_AD_Table.class))
+			{
+				final I_AD_Table table = stream.findFirst().get();
+				Assert.assertEquals("model trx", trxName, InterfaceWrapperHelper.getTrxName(table));
+				Assert.assertEquals("cursor transactions while streaming", 0, countCursorTrxs());
+			}
+
+			// the caller's trx shall still be usable
+			Assert.assertTrue("trx active", trxManager.isActive(trxName));
+			Assert.assertEquals("trx not read only", "off", DB.getSQLValueStringEx(trxName, "SHOW transaction_read_only"));
+		}
+		finally
+		{
+			final ITrx trx = trxManager.getTrx(trxName);
+			trx.rollback();
+			trx.close();
+		}
+	}
+
+	@Test
+	public void failingWhileFetching_releasesCursor()
+	{
+		final Stream<I_AD_Table> stream = createQueryBuilder(ITrx.TRXNAME_None)
+				.filter(table -> {
+					throw new IllegalStateException("expected failure");
+				})
+				.create()
+				.streamUsingCursor(I_AD_Table.class);
+
+		try
+		{
+			stream.forEach(table -> Assert.fail("no table expected"));
+			Assert.fail("exception expected");
+		}
+		catch (final IllegalStateException ex)
+		{
+			Assert.assertEquals("expected failure", ex.getMessage());
+		}
+
+		// NOTE: not closing the stream, the cursor shall be released by the failure
+		assertCursorReleased();
+	}
+
+	@Test
+	public void failingWhileConsuming_releasesCursorOnClose()
+	{
+		try (final Stream<I_AD_Table> stream = createQueryBuilder(ITrx.TRXNAME_None)
+				.create()
+				.streamUsingCursor(I_AD_Table.class))
+		{
+			stream.forEach(table -> {
+				throw new IllegalStateException("expected failure");
+			});
+			Assert.fail("exception expected");
+		}
+		catch (final IllegalStateException ex)
+		{
+			Assert.assertEquals("expected failure", ex.getMessage());
+		}
+
+		assertCursorReleased();
+	}
+}
@@ -0,0 +1,89 @@
+package org.adempiere.ad.expression.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.adempiere.ad.expression.api.ICachedStringExpression;
+import org.adempiere.ad.expression.api.IExpressionEvaluator.OnVariableNotFound;
+import org.adempiere.ad.expression.api.IExpressionFactory;
+import org.adempiere.ad.expression.api.IStringExpression;
+import org.compiere.util.MockedEvaluatee;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class CachedStringExpressionTest
+{
+	private ICachedStringExpression expression;
+
+	@Before
+	public void init()
+	{
+		CachedStringExpression.resetCache();
+
+		final IStringExpression compiledExpression = Services.get(IExpressionFactory.class)
+				.compile("SELECT * FROM C_BPartner WHERE C_BPartner_ID=@C_BPartner_ID@ AND Name=@Name@", IStringExpression.class);
+		expression = CachedStringExpression.wrapIfPossible(compiledExpression);
+	}
+
+	@Test
+	public void evaluate_cachedForSameEffectiveContext()
+	{
+		final CacheStats statsBefore = CachedStringExpression.getCacheStats().getGuavaStats();
+
+		assertThat(expression.evaluate(ctx("1", "partner1"), OnVariableNotFound.Fail))
+				.isEqualTo("SELECT * FROM C_BPartner WHERE C_BPartner_ID=1 AND Name=partner1");
+		assertThat(expression.evaluate(ctx("1", "partner1"), OnVariableNotFound.Fail))
+				.isEqualTo("SELECT * FROM C_BPartner WHERE C_BPartner_ID=1 AND Name=partner1");
+		assertThat(expression.evaluate(ctx("2", "partner2"), OnVariableNotFound.Fail))
+				.isEqualTo("SELECT * FROM C_BPartner WHERE C_BPartner_ID=2 AND Name=partner2");
+
+		final CacheStats stats = CachedStringExpression.getCacheStats().getGuavaStats().minus(statsBefore);
+		assertThat(stats.hitCount()).isEqualTo(1);
+		assertThat(stats.missCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void evaluateAndResolvePartial_notSharingCacheEntries()
+	{
+		final MockedEvaluatee ctx = ctx("1", "partner1");
+
+		final String value = expression.evaluate(ctx, OnVariableNotFound.Fail);
+		final IStringExpression partialExpression = expression.resolvePartial(ctx);
+
+		assertThat(value).isEqualTo("SELECT * FROM C_BPartner WHERE C_BPartner_ID=1 AND Name=partner1");
+		assertThat(partialExpression.getExpressionString()).isEqualTo(value);
+	}
+
+	private static MockedEvaluatee ctx(final String bpartnerId, final String name)
+	{
+		final MockedEvaluatee ctx = new MockedEvaluatee();
+		ctx.put("C_BPartner_ID", bpartnerId);
+		ctx.put("Name", name);
+		return ctx;
+	}
+}
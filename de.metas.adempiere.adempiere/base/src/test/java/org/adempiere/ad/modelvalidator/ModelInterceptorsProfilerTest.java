@@ -0,0 +1,70 @@
+package org.adempiere.ad.modelvalidator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.compiere.model.ModelValidator;
+import org.junit.Test;
+
+import de.metas.util.SampledStatistics.OrderBy;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ModelInterceptorsProfilerTest
+{
+	@Test
+	public void aggregatesByInterceptorTableAndTiming()
+	{
+		final ModelInterceptorsProfiler profiler = new ModelInterceptorsProfiler();
+		profiler.setSamplePercent(100);
+
+		profiler.collect("OrderInterceptor", "C_Order", PointcutType.ModelChange, ModelValidator.TYPE_BEFORE_NEW, TimeUnit.MILLISECONDS.toNanos(1));
+		profiler.collect("OrderInterceptor", "C_Order", PointcutType.ModelChange, ModelValidator.TYPE_BEFORE_NEW, TimeUnit.MILLISECONDS.toNanos(3));
+		profiler.collect("OrderInterceptor", "C_Order", PointcutType.DocValidate, ModelValidator.TIMING_BEFORE_COMPLETE, TimeUnit.MILLISECONDS.toNanos(50));
+
+		final List<ModelInterceptorStatistics> top = profiler.getTop(OrderBy.Count, 10);
+		assertThat(top).hasSize(2);
+
+		final ModelInterceptorStatistics first = top.get(0);
+		assertThat(first.getInterceptor()).isEqualTo("OrderInterceptor");
+		assertThat(first.getTableName()).isEqualTo("C_Order");
+		assertThat(first.getTiming()).isEqualTo(ModelChangeType.BEFORE_NEW.name());
+		assertThat(first.getCount()).isEqualTo(2);
+		assertThat(first.getTotalDurationMillis()).isEqualTo(4d);
+		assertThat(first.getMaxDurationMillis()).isEqualTo(3d);
+
+		final ModelInterceptorStatistics slowest = profiler.getTop(OrderBy.TotalDuration, 1).get(0);
+		assertThat(slowest.getTiming()).isEqualTo(DocTimingType.BEFORE_COMPLETE.name());
+	}
+
+	@Test
+	public void disabledProfilerDoesNotSample()
+	{
+		final ModelInterceptorsProfiler profiler = new ModelInterceptorsProfiler();
+		profiler.setSamplePercent(0);
+
+		assertThat(profiler.startSampleOrNull()).isNull();
+	}
+}
@@ -0,0 +1,92 @@
+package org.adempiere.ad.modelvalidator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.junit.Test;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class PointcutInvokerTest
+{
+	private static class TestInterceptor
+	{
+		private final List<String> calls = new ArrayList<>();
+
+		@SuppressWarnings("unused")
+		private void onModelOnly(final String model)
+		{
+			calls.add(model);
+		}
+
+		@SuppressWarnings("unused")
+		private void onModelAndTiming(final String model, final ModelChangeType timing)
+		{
+			calls.add(model + "/" + timing);
+		}
+
+		@SuppressWarnings("unused")
+		private void fail(final String model) throws Exception
+		{
+			throw new Exception("checked exception for " + model);
+		}
+	}
+
+	@Test
+	public void invokeWithoutTiming() throws Exception
+	{
+		final TestInterceptor interceptor = new TestInterceptor();
+		final PointcutInvoker invoker = PointcutInvoker.of(TestInterceptor.class.getDeclaredMethod("onModelOnly", String.class));
+
+		invoker.invoke(interceptor, "model1", null);
+		invoker.invoke(interceptor, "model2", null);
+
+		assertThat(interceptor.calls).containsExactly("model1", "model2");
+	}
+
+	@Test
+	public void invokeWithTiming() throws Exception
+	{
+		final TestInterceptor interceptor = new TestInterceptor();
+		final PointcutInvoker invoker = PointcutInvoker.of(TestInterceptor.class.getDeclaredMethod("onModelAndTiming", String.class, ModelChangeType.class));
+
+		invoker.invoke(interceptor, "model1", ModelChangeType.BEFORE_NEW);
+
+		assertThat(interceptor.calls).containsExactly("model1/" + ModelChangeType.BEFORE_NEW);
+	}
+
+	@Test
+	public void checkedExceptionIsWrapped() throws Exception
+	{
+		final TestInterceptor interceptor = new TestInterceptor();
+		final PointcutInvoker invoker = PointcutInvoker.of(TestInterceptor.class.getDeclaredMethod("fail", String.class));
+
+		assertThatThrownBy(() -> invoker.invoke(interceptor, "model1", null))
+				.isInstanceOf(AdempiereException.class)
+				.hasCauseExactlyInstanceOf(Exception.class);
+	}
+}
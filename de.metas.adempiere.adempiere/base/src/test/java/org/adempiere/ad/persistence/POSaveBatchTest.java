@@ -0,0 +1,250 @@
+package org.adempiere.ad.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.exceptions.DBException;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.test.AdempiereTestHelper;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.compiere.util.Ini;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class POSaveBatchTest
+{
+	private ITrxManager trxManager;
+	private String trxName;
+
+	/** the batches which were sent to the database */
+	private List<List<String>> executedBatches;
+	private int[] nextUpdateCounts;
+	private SQLException nextException;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+		trxManager = Services.get(ITrxManager.class);
+		trxName = trxManager.createTrxName("POSaveBatchTest", true);
+
+		executedBatches = new ArrayList<>();
+		nextUpdateCounts = null;
+		nextException = null;
+		POSaveBatch.setStatementsBatchExecutor((batchTrxName, sqls) -> {
+			executedBatches.add(ImmutableList.copyOf(sqls));
+			if (nextException != null)
+			{
+				throw nextException;
+			}
+			if (nextUpdateCounts != null)
+			{
+				return nextUpdateCounts;
+			}
+
+			final int[] counts = new int[sqls.size()];
+			Arrays.fill(counts, 1);
+			return counts;
+		});
+	}
+
+	@After
+	public void restore()
+	{
+		POSaveBatch.setStatementsBatchExecutor(null);
+		Ini.setProperty(Ini.P_LOGMIGRATIONSCRIPT, false);
+	}
+
+	private ITrx getTrx()
+	{
+		return trxManager.getTrx(trxName);
+	}
+
+	@Test
+	public void notEnabled()
+	{
+		assertThat(POSaveBatch.getOrNull(trxName)).isNull();
+		assertThat(POSaveBatch.isInsertReturningIdAllowed(trxName)).isTrue();
+	}
+
+	@Test
+	public void flushOnClose()
+	{
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			final POSaveBatch batch = POSaveBatch.getOrNull(trxName);
+			batch.add("INSERT 1");
+			batch.add("UPDATE 2");
+
+			assertThat(batch.getPendingCount()).isEqualTo(2);
+			assertThat(executedBatches).isEmpty();
+		}
+
+		assertThat(executedBatches).containsExactly(ImmutableList.of("INSERT 1", "UPDATE 2"));
+		assertThat(POSaveBatch.getOrNull(trxName)).isNull();
+	}
+
+	@Test
+	public void flushAtMaxSize()
+	{
+		Services.get(ISysConfigBL.class).setValue(POSaveBatch.SYSCONFIG_MaxSize, 2, 0);
+
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			final POSaveBatch batch = POSaveBatch.getOrNull(trxName);
+			batch.add("INSERT 1");
+			assertThat(executedBatches).isEmpty();
+
+			batch.add("INSERT 2");
+			assertThat(executedBatches).containsExactly(ImmutableList.of("INSERT 1", "INSERT 2"));
+			assertThat(batch.getPendingCount()).isZero();
+
+			batch.add("INSERT 3");
+		}
+
+		assertThat(executedBatches).containsExactly(
+				ImmutableList.of("INSERT 1", "INSERT 2"),
+				ImmutableList.of("INSERT 3"));
+	}
+
+	@Test
+	public void flushOnCommit() throws SQLException
+	{
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			POSaveBatch.getOrNull(trxName).add("INSERT 1");
+
+			getTrx().commit(true);
+			assertThat(executedBatches).containsExactly(ImmutableList.of("INSERT 1"));
+		}
+
+		assertThat(executedBatches).hasSize(1);
+	}
+
+	@Test
+	public void discardOnRollback()
+	{
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			POSaveBatch.getOrNull(trxName).add("INSERT 1");
+
+			getTrx().rollback();
+			assertThat(POSaveBatch.getOrNull(trxName).getPendingCount()).isZero();
+		}
+
+		assertThat(executedBatches).isEmpty();
+	}
+
+	/**
+	 * Within a batch scope, the ID of a new record shall be assigned before the INSERT is added to the batch, because the INSERT is not returning it.
+	 */
+	@Test
+	public void idAssignedBeforeFlush()
+	{
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			assertThat(POSaveBatch.isInsertReturningIdAllowed(trxName)).isFalse();
+		}
+
+		assertThat(POSaveBatch.isInsertReturningIdAllowed(trxName)).isTrue();
+	}
+
+	@Test
+	public void notBatchedWhileLoggingMigrationScripts()
+	{
+		Ini.setProperty(Ini.P_LOGMIGRATIONSCRIPT, true);
+
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			assertThat(POSaveBatch.getOrNull(trxName)).isNull();
+			assertThat(POSaveBatch.isInsertReturningIdAllowed(trxName)).isTrue();
+		}
+	}
+
+	@Test
+	public void errorIsPropagated()
+	{
+		final SQLException rootCause = new SQLException("duplicate key");
+		final BatchUpdateException batchException = new BatchUpdateException("batch failed", new int[] {});
+		batchException.setNextException(rootCause);
+		nextException = batchException;
+
+		final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName);
+		final POSaveBatch batch = POSaveBatch.getOrNull(trxName);
+		batch.add("INSERT 1");
+
+		assertThatThrownBy(batchScope::close)
+				.isInstanceOf(DBException.class)
+				.hasCause(rootCause);
+		assertThat(batch.getPendingCount()).isZero();
+		assertThat(POSaveBatch.getOrNull(trxName)).isNull();
+	}
+
+	@Test
+	public void unexpectedUpdateCountIsPropagated()
+	{
+		nextUpdateCounts = new int[] { 1, 0 };
+
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			final POSaveBatch batch = POSaveBatch.getOrNull(trxName);
+			batch.add("UPDATE 1");
+			batch.add("UPDATE 2");
+
+			assertThatThrownBy(batch::flush)
+					.isInstanceOf(DBException.class)
+					.hasMessageContaining("UPDATE 2");
+		}
+
+		assertThat(executedBatches).hasSize(1);
+	}
+
+	@Test
+	public void successNoInfoIsAccepted()
+	{
+		nextUpdateCounts = new int[] { Statement.SUCCESS_NO_INFO };
+
+		try (final IAutoCloseable batchScope = POSaveBatch.temporaryEnable(trxName))
+		{
+			POSaveBatch.getOrNull(trxName).add("INSERT 1");
+		}
+
+		assertThat(executedBatches).hasSize(1);
+	}
+}
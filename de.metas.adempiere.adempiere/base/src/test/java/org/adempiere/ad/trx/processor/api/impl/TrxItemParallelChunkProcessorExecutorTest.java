@@ -0,0 +1,313 @@
+package org.adempiere.ad.trx.processor.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxListenerManager;
+import org.adempiere.ad.trx.api.ITrxListenerManager.TrxEventTiming;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.trx.processor.api.FailTrxItemExceptionHandler;
+import org.adempiere.ad.trx.processor.api.ITrxItemExecutorBuilder.OnItemErrorPolicy;
+import org.adempiere.ad.trx.processor.api.ITrxItemProcessorExecutorService;
+import org.adempiere.ad.trx.processor.api.TrxItemProcessorConfigException;
+import org.adempiere.ad.trx.processor.spi.TrxItemChunkProcessorAdapter;
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.util.Env;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class TrxItemParallelChunkProcessorExecutorTest
+{
+	private static final String COMMITTED = "committed";
+	private static final String ROLLED_BACK = "rolled back";
+
+	private ITrxItemProcessorExecutorService executorService;
+
+	/** the chunks' transaction names */
+	private Set<String> trxNames;
+	/** the chunks which were started, identified by their first item */
+	private Set<Integer> startedChunks;
+	/** the chunks which were canceled, identified by their first item */
+	private Set<Integer> canceledChunks;
+	/** the outcome of the chunks' transactions, indexed by the chunks' first item */
+	private Map<Integer, String> chunkTrxOutcomes;
+	private List<List<Integer>> chunkResults;
+
+	private int failingItem;
+	/** the first item of the chunk whose completion fails */
+	private int failingChunk;
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+		executorService = Services.get(ITrxItemProcessorExecutorService.class);
+
+		trxNames = ConcurrentHashMap.newKeySet();
+		startedChunks = ConcurrentHashMap.newKeySet();
+		canceledChunks = ConcurrentHashMap.newKeySet();
+		chunkTrxOutcomes = new ConcurrentHashMap<>();
+		chunkResults = new ArrayList<>();
+
+		failingItem = -1;
+		failingChunk = -1;
+	}
+
+	/**
+	 * Processes each batch as one chunk. Collects the items it processed and records what happened to the chunk.
+	 */
+	private final class CollectingProcessor extends TrxItemChunkProcessorAdapter<Integer, List<Integer>>
+	{
+		private final List<Integer> processedItems = new ArrayList<>();
+		private int chunkFirstItem;
+
+		@Override
+		public boolean isSameChunk(final Integer item)
+		{
+			return true;
+		}
+
+		@Override
+		public void newChunk(final Integer item)
+		{
+			chunkFirstItem = item;
+			startedChunks.add(item);
+			trxNames.add(getTrxName());
+
+			final ITrxListenerManager trxListenerManager = Services.get(ITrxManager.class).getTrxListenerManager(getTrxName());
+			trxListenerManager
+					.newEventListener(TrxEventTiming.AFTER_COMMIT)
+					.registerHandlingMethod(trx -> chunkTrxOutcomes.put(item, COMMITTED));
+			trxListenerManager
+					.newEventListener(TrxEventTiming.AFTER_ROLLBACK)
+					.registerHandlingMethod(trx -> chunkTrxOutcomes.put(item, ROLLED_BACK));
+		}
+
+		@Override
+		public void process(final Integer item)
+		{
+			if (item == failingItem)
+			{
+				throw new AdempiereException("Test exception on process for item: " + item);
+			}
+			processedItems.add(item);
+		}
+
+		@Override
+		public void completeChunk()
+		{
+			if (chunkFirstItem == failingChunk)
+			{
+				throw new AdempiereException("Test exception on completeChunk for chunk: " + chunkFirstItem);
+			}
+		}
+
+		@Override
+		public void cancelChunk()
+		{
+			canceledChunks.add(chunkFirstItem);
+		}
+
+		@Override
+		public List<Integer> getResult()
+		{
+			return processedItems;
+		}
+	}
+
+	/**
+	 * Processes the items 1..40 in batches of 10, using 4 threads.
+	 */
+	private void process(final OnItemErrorPolicy onItemErrorPolicy)
+	{
+		final List<Integer> items = IntStream.rangeClosed(1, 40).boxed().collect(Collectors.toList());
+
+		final List<Integer> result = executorService.<Integer, List<Integer>> createExecutor()
+				.setContext(Env.getCtx(), ITrx.TRXNAME_None)
+				.setItemsPerBatch(10)
+				.setParallel(4, CollectingProcessor::new)
+				.setOnItemErrorPolicy(onItemErrorPolicy)
+				.setChunkResultCallback(chunkResults::add)
+				.process(items);
+
+		assertThat(result).isNull();
+	}
+
+	private void assertOtherChunksCommitted()
+	{
+		assertThat(chunkTrxOutcomes).containsEntry(1, COMMITTED);
+		assertThat(chunkTrxOutcomes).containsEntry(21, COMMITTED);
+		assertThat(chunkTrxOutcomes).containsEntry(31, COMMITTED);
+		assertThat(chunkResults.get(0)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		assertThat(chunkResults.get(2)).containsExactly(21, 22, 23, 24, 25, 26, 27, 28, 29, 30);
+		assertThat(chunkResults.get(3)).containsExactly(31, 32, 33, 34, 35, 36, 37, 38, 39, 40);
+	}
+
+	@Test
+	public void process_resultsInBatchesOrder()
+	{
+		final List<Integer> items = IntStream.rangeClosed(1, 95).boxed().collect(Collectors.toList());
+
+		final List<Integer> result = executorService.<Integer, List<Integer>> createExecutor()
+				.setContext(Env.getCtx(), ITrx.TRXNAME_None)
+				.setItemsPerBatch(10)
+				.setParallel(4, CollectingProcessor::new)
+				.setChunkResultCallback(chunkResults::add)
+				.process(items);
+
+		assertThat(result).isNull();
+		assertThat(chunkResults).hasSize(10);
+		assertThat(chunkResults.get(0)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+		assertThat(chunkResults.get(9)).containsExactly(91, 92, 93, 94, 95);
+		assertThat(chunkResults.stream().flatMap(List::stream).collect(Collectors.toList())).isEqualTo(items);
+
+		// each batch was processed in its own transaction
+		assertThat(trxNames).hasSize(10);
+		assertThat(chunkTrxOutcomes.values()).hasSize(10).containsOnly(COMMITTED);
+	}
+
+	@Test
+	public void process_itemsPerBatchNotSet()
+	{
+		assertThatThrownBy(() -> executorService.<Integer, List<Integer>> createExecutor()
+				.setContext(Env.getCtx(), ITrx.TRXNAME_None)
+				.setParallel(4, CollectingProcessor::new)
+				.process(ImmutableList.of(1, 2, 3)))
+						.isInstanceOf(TrxItemProcessorConfigException.class);
+	}
+
+	@Test
+	public void process_failingItem_CancelChunkAndCommit()
+	{
+		failingItem = 15;
+
+		process(OnItemErrorPolicy.CancelChunkAndCommit);
+
+		assertThat(canceledChunks).containsExactly(11);
+		assertThat(chunkTrxOutcomes).containsEntry(11, COMMITTED);
+		assertThat(chunkResults.get(1)).containsExactly(11, 12, 13, 14); // the other items of the chunk are skipped
+		assertOtherChunksCommitted();
+	}
+
+	@Test
+	public void process_failingItem_CancelChunkAndRollBack()
+	{
+		failingItem = 15;
+
+		process(OnItemErrorPolicy.CancelChunkAndRollBack);
+
+		assertThat(canceledChunks).containsExactly(11);
+		assertThat(chunkTrxOutcomes).containsEntry(11, ROLLED_BACK);
+		assertThat(chunkResults.get(1)).containsExactly(11, 12, 13, 14); // the other items of the chunk are skipped
+		assertOtherChunksCommitted();
+	}
+
+	@Test
+	public void process_failingItem_ContinueChunkAndCommit()
+	{
+		failingItem = 15;
+
+		process(OnItemErrorPolicy.ContinueChunkAndCommit);
+
+		assertThat(canceledChunks).isEmpty();
+		assertThat(chunkTrxOutcomes).containsEntry(11, COMMITTED);
+		assertThat(chunkResults.get(1)).containsExactly(11, 12, 13, 14, 16, 17, 18, 19, 20);
+		assertOtherChunksCommitted();
+	}
+
+	/**
+	 * If completing a chunk fails, the chunk is canceled and rolled back, no matter the policy.
+	 */
+	private void assertFailingChunkRolledBack(final OnItemErrorPolicy onItemErrorPolicy)
+	{
+		failingChunk = 11;
+
+		process(onItemErrorPolicy);
+
+		assertThat(canceledChunks).containsExactly(11);
+		assertThat(chunkTrxOutcomes).containsEntry(11, ROLLED_BACK);
+		assertThat(chunkResults.get(1)).containsExactly(11, 12, 13, 14, 15, 16, 17, 18, 19, 20);
+		assertOtherChunksCommitted();
+	}
+
+	@Test
+	public void process_failingChunk_CancelChunkAndCommit()
+	{
+		assertFailingChunkRolledBack(OnItemErrorPolicy.CancelChunkAndCommit);
+	}
+
+	@Test
+	public void process_failingChunk_CancelChunkAndRollBack()
+	{
+		assertFailingChunkRolledBack(OnItemErrorPolicy.CancelChunkAndRollBack);
+	}
+
+	@Test
+	public void process_failingChunk_ContinueChunkAndCommit()
+	{
+		assertFailingChunkRolledBack(OnItemErrorPolicy.ContinueChunkAndCommit);
+	}
+
+	/**
+	 * If a batch fails, the remaining batches are not processed anymore, but the batches which were already started are awaited.
+	 */
+	@Test
+	public void process_failingBatch_stopsSubmitting()
+	{
+		failingItem = 5;
+		final List<Integer> items = IntStream.rangeClosed(1, 10000).boxed().collect(Collectors.toList());
+
+		assertThatThrownBy(() -> executorService.<Integer, List<Integer>> createExecutor()
+				.setContext(Env.getCtx(), ITrx.TRXNAME_None)
+				.setItemsPerBatch(10)
+				.setParallel(2, CollectingProcessor::new)
+				.setExceptionHandler(FailTrxItemExceptionHandler.instance)
+				.setChunkResultCallback(chunkResults::add)
+				.process(items))
+						.isInstanceOf(AdempiereException.class)
+						.hasMessageContaining("item: 5");
+
+		assertThat(chunkResults).isEmpty();
+		assertThat(startedChunks.size()).isLessThan(1000);
+
+		// no batch was still running when the exception was thrown
+		assertThat(chunkTrxOutcomes.keySet()).isEqualTo(startedChunks);
+		assertThat(chunkTrxOutcomes).containsEntry(1, ROLLED_BACK);
+	}
+}
@@ -0,0 +1,93 @@
+package org.compiere.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class DB_PostgreSQL_ConvertStatementTest
+{
+	private static final String SYSPROP_UseNativeConverter = "org.compiere.db.DB_PostgreSQL.UseNativeConverter";
+	private String useNativeConverterOld;
+
+	@Before
+	public void init()
+	{
+		useNativeConverterOld = System.getProperty(SYSPROP_UseNativeConverter);
+	}
+
+	@After
+	public void restore()
+	{
+		if (useNativeConverterOld == null)
+		{
+			System.clearProperty(SYSPROP_UseNativeConverter);
+		}
+		else
+		{
+			System.setProperty(SYSPROP_UseNativeConverter, useNativeConverterOld);
+		}
+	}
+
+	@Test
+	public void isConvertedStatementCacheable()
+	{
+		assertThat(DB_PostgreSQL.isConvertedStatementCacheable("SELECT * FROM C_BPartner WHERE C_BPartner_ID=?")).isTrue();
+		assertThat(DB_PostgreSQL.isConvertedStatementCacheable("SELECT Address1, Address2 FROM C_Location WHERE IsActive='Y' AND Qty > 100")).isTrue();
+
+		assertThat(DB_PostgreSQL.isConvertedStatementCacheable("SELECT * FROM C_BPartner WHERE C_BPartner_ID=2156423")).isFalse();
+		assertThat(DB_PostgreSQL.isConvertedStatementCacheable("SELECT * FROM C_Order WHERE DateOrdered >= '2018-01-01'")).isFalse();
+		assertThat(DB_PostgreSQL.isConvertedStatementCacheable(null)).isFalse();
+	}
+
+	@Test
+	public void cachedWhenUsingTheStandardConverter()
+	{
+		System.setProperty(SYSPROP_UseNativeConverter, "false");
+		final DB_PostgreSQL database = new DB_PostgreSQL();
+
+		final String sql = "SELECT * FROM C_BPartner WHERE C_BPartner_ID=?";
+		final String sqlConverted = database.convertStatement(sql);
+		assertThat(database.convertStatement(new String(sql))).isEqualTo(sqlConverted);
+
+		final CacheStats stats = database.getConvertedStatementsCacheStats();
+		assertThat(stats.missCount()).isEqualTo(1);
+		assertThat(stats.hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void notCachedWhenUsingTheNativeConverter()
+	{
+		System.setProperty(SYSPROP_UseNativeConverter, "true");
+		final DB_PostgreSQL database = new DB_PostgreSQL();
+
+		final String sql = "SELECT * FROM C_BPartner WHERE C_BPartner_ID=?";
+		assertThat(database.convertStatement(sql)).isEqualTo(sql);
+		assertThat(database.getConvertedStatementsCacheStats()).isNull();
+	}
+}
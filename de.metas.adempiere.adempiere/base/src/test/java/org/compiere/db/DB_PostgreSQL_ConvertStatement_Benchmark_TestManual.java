@@ -0,0 +1,87 @@
+package org.compiere.db;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Ignore;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Measures the per statement cost of {@link DB_PostgreSQL#convertStatement(String)} (using the standard, non-native converter) with and without the converted statements cache.
+ * <p>
+ * No database connection is needed.
+ * <p>
+ * Arguments: [iterations (default 200000)]
+ */
+@Ignore
+public class DB_PostgreSQL_ConvertStatement_Benchmark_TestManual
+{
+	private static final List<String> SQLS = ImmutableList.of(
+			"SELECT * FROM C_BPartner WHERE C_BPartner_ID=? AND IsActive='Y'",
+			"SELECT M_Product_ID, Value, Name FROM M_Product WHERE AD_Client_ID IN (0,?) AND IsActive='Y' ORDER BY Value",
+			"UPDATE C_OrderLine SET QtyReserved=QtyReserved+?, Updated=now() WHERE C_OrderLine_ID=?",
+			"SELECT COALESCE(SUM(Qty), 0) FROM M_Storage s INNER JOIN M_Locator l ON (l.M_Locator_ID=s.M_Locator_ID) WHERE s.M_Product_ID=? AND l.M_Warehouse_ID=?",
+			"SELECT t.TableName, c.ColumnName FROM AD_Table t INNER JOIN AD_Column c ON (c.AD_Table_ID=t.AD_Table_ID) WHERE t.AD_Table_ID=? AND c.IsKey='Y'");
+
+	public static void main(final String[] args)
+	{
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+
+		// warm up
+		run("50", iterations / 10);
+		run("0", iterations / 10);
+
+		final long notCachedNanos = run("0", iterations);
+		final long cachedNanos = run("5000", iterations);
+
+		System.out.println("Statements converted: " + iterations);
+		System.out.println("Not cached: " + notCachedNanos / iterations + "ns/statement");
+		System.out.println("Cached: " + cachedNanos / iterations + "ns/statement");
+	}
+
+	private static long run(final String cacheSize, final int iterations)
+	{
+		System.setProperty("org.compiere.db.DB_PostgreSQL.UseNativeConverter", "false");
+		System.setProperty("org.compiere.db.DB_PostgreSQL.ConvertedStatementsCacheSize", cacheSize);
+		final DB_PostgreSQL database = new DB_PostgreSQL();
+
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		int length = 0;
+		for (int i = 0; i < iterations; i++)
+		{
+			// NOTE: using a new string instance each time, like the statements built at runtime
+			final String sql = new String(SQLS.get(i % SQLS.size()));
+			length += database.convertStatement(sql).length();
+		}
+		final long nanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+
+		System.out.println("Cache size " + cacheSize + ": " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms"
+				+ ", cache stats: " + database.getConvertedStatementsCacheStats()
+				+ " (checksum " + length + ")");
+		return nanos;
+	}
+}
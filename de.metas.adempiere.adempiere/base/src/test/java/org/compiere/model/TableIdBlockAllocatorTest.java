@@ -0,0 +1,100 @@
+package org.compiere.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class TableIdBlockAllocatorTest
+{
+	private TableIdBlockAllocator allocator;
+
+	/** Simulates AD_Sequence.CurrentNext */
+	private int currentNext;
+	private List<Integer> reservedCounts;
+
+	@Before
+	public void init()
+	{
+		allocator = new TableIdBlockAllocator();
+		currentNext = 1000000;
+		reservedCounts = new ArrayList<>();
+	}
+
+	private int[] reserveIds(final int count)
+	{
+		reservedCounts.add(count);
+
+		final int[] ids = new int[count];
+		for (int i = 0; i < count; i++)
+		{
+			ids[i] = currentNext++;
+		}
+		return ids;
+	}
+
+	@Test
+	public void reservesNewBlockOnlyWhenExhausted()
+	{
+		for (int i = 0; i < 7; i++)
+		{
+			assertThat(allocator.nextId("C_Order", 3, this::reserveIds)).isEqualTo(1000000 + i);
+		}
+
+		assertThat(reservedCounts).containsExactly(3, 3, 3);
+	}
+
+	@Test
+	public void separatePoolPerSequence()
+	{
+		assertThat(allocator.nextId("C_Order", 2, this::reserveIds)).isEqualTo(1000000);
+		assertThat(allocator.nextId("C_OrderLine", 2, this::reserveIds)).isEqualTo(1000002);
+		assertThat(allocator.nextId("C_Order", 2, this::reserveIds)).isEqualTo(1000001);
+		assertThat(allocator.nextId("C_OrderLine", 2, this::reserveIds)).isEqualTo(1000003);
+
+		assertThat(reservedCounts).containsExactly(2, 2);
+	}
+
+	@Test
+	public void resetDropsReservedIds()
+	{
+		assertThat(allocator.nextId("C_Order", 5, this::reserveIds)).isEqualTo(1000000);
+
+		allocator.reset();
+
+		// the remaining IDs of the first block are never handed out
+		assertThat(allocator.nextId("C_Order", 5, this::reserveIds)).isEqualTo(1000005);
+	}
+
+	@Test
+	public void failedReservation()
+	{
+		assertThat(allocator.nextId("C_Order", 5, count -> null)).isEqualTo(-1);
+		assertThat(allocator.nextId("C_Order", 5, this::reserveIds)).isEqualTo(1000000);
+	}
+}
@@ -0,0 +1,41 @@
+package org.adempiere.serverRoot.servlet;
+
+import org.adempiere.ad.modelvalidator.ModelInterceptorStatistics;
+import org.adempiere.ad.modelvalidator.ModelInterceptorsProfiler;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.serverRoot.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Exposes the statistics collected by {@link ModelInterceptorsProfiler}.
+ */
+@RestController
+@RequestMapping("/modelInterceptorsStatistics")
+public class ModelInterceptorsStatisticsRestController extends SamplingProfilerRestControllerTemplate<ModelInterceptorStatistics>
+{
+	public ModelInterceptorsStatisticsRestController()
+	{
+		super(ModelInterceptorsProfiler.instance);
+	}
+}
@@ -0,0 +1,78 @@
+package org.adempiere.serverRoot.servlet;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import de.metas.util.AbstractSamplingProfiler;
+import de.metas.util.SampledStatistics;
+import de.metas.util.SampledStatistics.OrderBy;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.adempiere.adempiere.serverRoot.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Base class for REST controllers which expose the statistics collected by an {@link AbstractSamplingProfiler}.
+ * The subclasses only have to provide the profiler and the request mapping.
+ *
+ * @param <T> sampled statistics type
+ */
+public abstract class SamplingProfilerRestControllerTemplate<T extends SampledStatistics>
+{
+	private final AbstractSamplingProfiler<?, ?, T> profiler;
+
+	protected SamplingProfilerRestControllerTemplate(@NonNull final AbstractSamplingProfiler<?, ?, T> profiler)
+	{
+		this.profiler = profiler;
+	}
+
+	@GetMapping("/enable")
+	public String enable(@RequestParam(value = "samplePercent", defaultValue = "10") final int samplePercent)
+	{
+		profiler.setSamplePercent(samplePercent);
+		return "enabled: " + profiler;
+	}
+
+	@GetMapping("/disable")
+	public String disable()
+	{
+		profiler.setSamplePercent(0);
+		return "disabled: " + profiler;
+	}
+
+	@GetMapping("/reset")
+	public String reset()
+	{
+		profiler.reset();
+		return "reset: " + profiler;
+	}
+
+	@GetMapping("/top")
+	public List<T> getTop(
+			@RequestParam(value = "orderBy", defaultValue = "totalDuration") final String orderBy,
+			@RequestParam(value = "limit", defaultValue = "20") final int limit)
+	{
+		return profiler.getTop(OrderBy.ofCode(orderBy), limit);
+	}
+}
@@ -34,6 +34,7 @@ import de.metas.async.model.I_C_Queue_Block;
 import de.metas.async.model.I_C_Queue_Element;
 import de.metas.async.model.I_C_Queue_PackageProcessor;
 import de.metas.async.model.I_C_Queue_WorkPackage;
+import de.metas.async.processor.IMutableQueueProcessorStatistics;
 import de.metas.async.processor.IQueueProcessorListener;
 import de.metas.async.processor.IWorkPackageQueueFactory;
 import de.metas.async.processor.IWorkpackageProcessorExecutionResult;
@@ -87,6 +88,19 @@ public interface IWorkPackageQueue
 	 */
 	I_C_Queue_WorkPackage pollAndLock(long timeoutMillis);
 
+	/**
+	 * Same as {@link #pollAndLock(long)}, but claims up to <code>maxWorkPackages</code> work packages in one go.
+	 * <p>
+	 * If <code>maxWorkPackages</code> is greater than one, the work packages are selected and locked using one single database statement,
+	 * skipping the packages which are concurrently claimed by other queue processors.
+	 *
+	 * @param maxWorkPackages maximum number of work packages to claim; values less than one are considered to be one
+	 * @param statistics optional; if not null, the number of claimed work packages and the time spent in the database for claiming them will be recorded there.
+	 *            Note that the queue is synchronizing on given statistics object while recording.
+	 * @return claimed work packages, in the order in which they shall be processed; empty if there is nothing to claim; never returns null
+	 */
+	List<I_C_Queue_WorkPackage> pollAndLock(long timeoutMillis, int maxWorkPackages, IMutableQueueProcessorStatistics statistics);
+
 	/**
 	 * Unlocks given package
 	 * 
@@ -45,6 +45,8 @@ import org.compiere.model.I_AD_User;
 import org.compiere.util.Env;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
+
 import de.metas.async.Async_Constants;
 import de.metas.async.api.IAsyncBatchBL;
 import de.metas.async.api.IQueueDAO;
@@ -84,6 +86,7 @@ public class WorkPackageQueue implements IWorkPackageQueue
 	private final transient IWorkpackageProcessorContextFactory contextFactory = Services.get(IWorkpackageProcessorContextFactory.class);
 	private final transient IAsyncBatchBL asyncBatchBL = Services.get(IAsyncBatchBL.class);
 	private final transient IWorkPackageBL workPackageBL = Services.get(IWorkPackageBL.class);
+	private final transient WorkPackageReadyNotifier workPackageReadyNotifier = WorkPackageReadyNotifier.instance;
 
 	private final Properties ctx;
 	private final List<Integer> packageProcessorIds;
@@ -192,11 +195,19 @@ public class WorkPackageQueue implements IWorkPackageQueue
 
 	@Override
 	public I_C_Queue_WorkPackage pollAndLock(final long timeoutMillis)
+	{
+		final IMutableQueueProcessorStatistics statistics = null;
+		final List<I_C_Queue_WorkPackage> workPackages = pollAndLock(timeoutMillis, 1, statistics);
+		return workPackages.isEmpty() ? null : workPackages.get(0);
+	}
+
+	@Override
+	public List<I_C_Queue_WorkPackage> pollAndLock(final long timeoutMillis, final int maxWorkPackages, final IMutableQueueProcessorStatistics statistics)
 	{
 		mainLock.lock();
 		try
 		{
-			return pollAndLock0(timeoutMillis);
+			return pollAndLock0(timeoutMillis, Math.max(maxWorkPackages, 1), statistics);
 		}
 		finally
 		{
@@ -204,23 +215,27 @@ public class WorkPackageQueue implements IWorkPackageQueue
 		}
 	}
 
-	private I_C_Queue_WorkPackage pollAndLock0(final long timeoutMillis)
+	private List<I_C_Queue_WorkPackage> pollAndLock0(final long timeoutMillis, final int maxWorkPackages, final IMutableQueueProcessorStatistics statistics)
 	{
 		final Properties workPackageCtx = Env.newTemporaryCtx();
 
 		final IQuery<I_C_Queue_WorkPackage> query = createQuery(workPackageCtx);
 
 		final long startTS = SystemTime.millis();
-		I_C_Queue_WorkPackage workPackage = retrieveAndLock(query);
-		if (timeoutMillis == TIMEOUT_OneTimeOnly && workPackage == null)
+		long notifierVersion = workPackageReadyNotifier.getVersion(packageProcessorIds);
+		List<I_C_Queue_WorkPackage> workPackages = retrieveAndLock(query, maxWorkPackages, statistics);
+		if (timeoutMillis == TIMEOUT_OneTimeOnly && workPackages.isEmpty())
 		{
 			// We are running in one time only mode (synchronous mode) and we did not get the package from the first time
 			// No point to go further
-			return null;
+			return ImmutableList.of();
 		}
 
-		while (workPackage == null)
+		while (workPackages.isEmpty())
 		{
+			// note: we always get the new service, because things might have changed since this method started
+			long waitMillis = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_POLLINTERVAL, 1000);
+
 			// If we have a timeout specified, make sure we are not waiting more then that timeout
 			if (timeoutMillis != TIMEOUT_Infinite)
 			{
@@ -229,32 +244,32 @@ public class WorkPackageQueue implements IWorkPackageQueue
 				final long elapsedMillis = SystemTime.millis() - startTS;
 				if (elapsedMillis >= timeoutMillis)
 				{
-					logger.debug("Poll waiting time exceeded. Returning null");
-					return null;
+					logger.debug("Poll waiting time exceeded. Returning nothing");
+					return ImmutableList.of();
 				}
+				waitMillis = Math.min(waitMillis, timeoutMillis - elapsedMillis);
 			}
 
-			// No workpackages were found. Sleep 1sec and then try again
+			// No workpackages were found. Wait until a workpackage is enqueued on this JVM or the poll interval expired and then try again.
+			// The poll interval is only a safety net for workpackages which were enqueued on other JVMs.
 			try
 			{
-				// note: we always get the new service, because things might have changed since this method started
-				final int pollIntervalMs = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_POLLINTERVAL, 1000);
-				Thread.sleep(pollIntervalMs);
+				workPackageReadyNotifier.awaitChange(packageProcessorIds, notifierVersion, waitMillis);
 			}
 			catch (final InterruptedException e)
 			{
-				logger.debug("Got interrupted signal. Returning null", e);
-				return null;
+				logger.debug("Got interrupted signal. Returning nothing", e);
+				Thread.currentThread().interrupt(); // preserve the interrupted status, so that our queue processor knows it shall quit
+				return ImmutableList.of();
 			}
 
 			// Try fetching the workpackage again
 			logger.trace("Retry retrieving next workpackage");
-			workPackage = retrieveAndLock(query);
+			notifierVersion = workPackageReadyNotifier.getVersion(packageProcessorIds);
+			workPackages = retrieveAndLock(query, maxWorkPackages, statistics);
 		}
 
-		Check.assumeNotNull(workPackage, "workPackage not null");
-
-		// Successfully acquired our lock :-)
+		// Successfully acquired our lock(s) :-)
 
 		// now we have all the time in the world to add our AD_PInstance_ID
 		// to 'workPackage'. Note that this is not for locking, but to document which AD_PInstance actually did
@@ -265,8 +280,16 @@ public class WorkPackageQueue implements IWorkPackageQueue
 		//
 		// Update context from work package
 		// NOTE: this will be the context that work package processors will use on processing
-		setupWorkpackageContext(workPackageCtx, workPackage);
-		return workPackage;
+		if (maxWorkPackages <= 1)
+		{
+			setupWorkpackageContext(workPackageCtx, workPackages.get(0));
+		}
+		else
+		{
+			// each of the workpackages was loaded with its own context; see retrieveAndLockMultiple
+			workPackages.forEach(workPackage -> setupWorkpackageContext(InterfaceWrapperHelper.getCtx(workPackage), workPackage));
+		}
+		return workPackages;
 	}
 
 	/**
@@ -323,6 +346,69 @@ public class WorkPackageQueue implements IWorkPackageQueue
 		Env.setContext(workPackageCtx, Env.CTXNAME_AD_Session_ID, Env.CTXVALUE_AD_SESSION_ID_NONE);
 	}
 
+	private List<I_C_Queue_WorkPackage> retrieveAndLock(
+			final IQuery<I_C_Queue_WorkPackage> query,
+			final int maxWorkPackages,
+			final IMutableQueueProcessorStatistics statistics)
+	{
+		final long startTS = SystemTime.millis();
+
+		final List<I_C_Queue_WorkPackage> workPackages;
+		if (maxWorkPackages <= 1)
+		{
+			final I_C_Queue_WorkPackage workPackage = retrieveAndLock(query);
+			workPackages = workPackage != null ? ImmutableList.of(workPackage) : ImmutableList.of();
+		}
+		else
+		{
+			workPackages = retrieveAndLockMultiple(query, maxWorkPackages);
+		}
+
+		if (statistics != null)
+		{
+			final long claimDurationMillis = SystemTime.millis() - startTS;
+			synchronized (statistics)
+			{
+				statistics.recordClaim(workPackages.size(), claimDurationMillis);
+			}
+		}
+
+		return workPackages;
+	}
+
+	/**
+	 * Claims up to <code>maxWorkPackages</code> work packages using one single select-and-lock statement (see {@link ILockManager#retrieveAndLockMultipleRecords(IQuery, Class)}).
+	 * <p>
+	 * The claimed work packages are then reloaded by ID, because each of them needs its own context (see {@link #setupWorkpackageContext(Properties, I_C_Queue_WorkPackage)}).
+	 */
+	private List<I_C_Queue_WorkPackage> retrieveAndLockMultiple(final IQuery<I_C_Queue_WorkPackage> query, final int maxWorkPackages)
+	{
+		query.setLimit(maxWorkPackages);
+		final List<I_C_Queue_WorkPackage> lockedWorkPackages = Services.get(ILockManager.class).retrieveAndLockMultipleRecords(query, I_C_Queue_WorkPackage.class);
+
+		final List<I_C_Queue_WorkPackage> workPackages = new ArrayList<>(lockedWorkPackages.size());
+		for (final I_C_Queue_WorkPackage lockedWorkPackage : lockedWorkPackages)
+		{
+			final I_C_Queue_WorkPackage workPackage = InterfaceWrapperHelper.create(
+					Env.newTemporaryCtx(),
+					lockedWorkPackage.getC_Queue_WorkPackage_ID(),
+					I_C_Queue_WorkPackage.class,
+					ITrx.TRXNAME_None);
+			if (!isValid(workPackage))
+			{
+				unlockNoFail(lockedWorkPackage);
+
+				final String threadName = Thread.currentThread().getName();
+				logger.warn("Aquired {} on thread {} but is not valid. Unlocking and skipping it.", lockedWorkPackage, threadName);
+				continue;
+			}
+
+			workPackages.add(workPackage);
+		}
+
+		return workPackages;
+	}
+
 	private I_C_Queue_WorkPackage retrieveAndLock(final IQuery<I_C_Queue_WorkPackage> query)
 	{
 		I_C_Queue_WorkPackage workPackage = Services.get(ILockManager.class).retrieveAndLock(query, I_C_Queue_WorkPackage.class);
@@ -747,6 +833,8 @@ public class WorkPackageQueue implements IWorkPackageQueue
 			workPackage.setIsReadyForProcessing(true);
 			dao.save(workPackage);
 
+			notifyWorkPackageReadyAfterCommit(workPackage);
+
 			success = true;
 		}
 		finally
@@ -767,6 +855,25 @@ public class WorkPackageQueue implements IWorkPackageQueue
 
 	}
 
+	/**
+	 * Wakes up the queue processors of this JVM which are waiting for workpackages of our package processor,
+	 * as soon as the given workpackage is visible to them, i.e. after its transaction was committed.
+	 */
+	private void notifyWorkPackageReadyAfterCommit(final I_C_Queue_WorkPackage workPackage)
+	{
+		if (workPackage.getC_Queue_Block_ID() <= 0)
+		{
+			return; // shall not happen, but nobody could wait for it anyways
+		}
+		final int packageProcessorId = workPackage.getC_Queue_Block().getC_Queue_PackageProcessor_ID();
+		final String trxName = InterfaceWrapperHelper.getTrxName(workPackage);
+
+		Services.get(ITrxManager.class)
+				.getTrxListenerManagerOrAutoCommit(trxName)
+				.newEventListener(TrxEventTiming.AFTER_COMMIT)
+				.registerHandlingMethod(trx -> workPackageReadyNotifier.notifyWorkPackageReady(packageProcessorId));
+	}
+
 	private IQuery<I_C_Queue_WorkPackage> createQuery(final Properties workPackageCtx)
 	{
 		//
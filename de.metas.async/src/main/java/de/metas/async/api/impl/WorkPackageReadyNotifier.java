@@ -0,0 +1,129 @@
+package de.metas.async.api.impl;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.async
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * In-JVM signal which wakes up the queue processors that are waiting for new workpackages of a given {@code C_Queue_PackageProcessor_ID}.
+ * <p>
+ * Usage pattern on the polling side:
+ *
+ * <pre>
+ * final long version = notifier.getVersion(packageProcessorIds);
+ * // ... query the database; if nothing was found:
+ * notifier.awaitChange(packageProcessorIds, version, pollIntervalMillis);
+ * </pre>
+ *
+ * Taking the version <b>before</b> querying makes sure that we don't miss a notification which was fired between the query and the wait.
+ * <p>
+ * Workpackages which are enqueued on other JVMs are not notified; those are still picked up by the (now only safety net) polling.
+ */
+final class WorkPackageReadyNotifier
+{
+	public static final WorkPackageReadyNotifier instance = new WorkPackageReadyNotifier();
+
+	private final ConcurrentHashMap<Integer, AtomicLong> versionsByPackageProcessorId = new ConcurrentHashMap<>();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition versionChanged = lock.newCondition();
+
+	private WorkPackageReadyNotifier()
+	{
+	}
+
+	/**
+	 * Notifies all waiting queues which are handling the given package processor that a new workpackage is ready for processing.
+	 */
+	public void notifyWorkPackageReady(final int packageProcessorId)
+	{
+		getVersionHolder(packageProcessorId).incrementAndGet();
+
+		lock.lock();
+		try
+		{
+			versionChanged.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return a value which is changing each time a workpackage for one of the given package processors is notified as ready
+	 */
+	public long getVersion(@NonNull final Collection<Integer> packageProcessorIds)
+	{
+		long version = 0;
+		for (final Integer packageProcessorId : packageProcessorIds)
+		{
+			version += getVersionHolder(packageProcessorId).get();
+		}
+		return version;
+	}
+
+	/**
+	 * Waits until one of the given package processors was notified (i.e. the version is no longer the given one) or the timeout expired.
+	 *
+	 * @return true if we were notified, false if the timeout expired
+	 * @throws InterruptedException if the current thread was interrupted while waiting
+	 */
+	public boolean awaitChange(
+			@NonNull final Collection<Integer> packageProcessorIds,
+			final long version,
+			final long timeoutMillis) throws InterruptedException
+	{
+		long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+		lock.lockInterruptibly();
+		try
+		{
+			while (getVersion(packageProcessorIds) == version)
+			{
+				if (remainingNanos <= 0)
+				{
+					return false;
+				}
+				remainingNanos = versionChanged.awaitNanos(remainingNanos);
+			}
+			return true;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private AtomicLong getVersionHolder(final int packageProcessorId)
+	{
+		return versionsByPackageProcessorId.computeIfAbsent(packageProcessorId, k -> new AtomicLong(0));
+	}
+}
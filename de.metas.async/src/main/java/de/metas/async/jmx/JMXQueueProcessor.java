@@ -24,6 +24,7 @@ package de.metas.async.jmx;
 
 
 import de.metas.async.processor.IQueueProcessor;
+import de.metas.async.processor.IQueueProcessorStatistics;
 
 public class JMXQueueProcessor implements JMXQueueProcessorMBean
 {
@@ -72,6 +73,32 @@ public class JMXQueueProcessor implements JMXQueueProcessorMBean
 		return processor.getStatisticsSnapshot().getCountSkipped();
 	}
 
+	@Override
+	public long getCountClaims()
+	{
+		return processor.getStatisticsSnapshot().getCountClaims();
+	}
+
+	@Override
+	public long getCountClaimedWorkpackages()
+	{
+		return processor.getStatisticsSnapshot().getCountClaimedWorkpackages();
+	}
+
+	@Override
+	public long getClaimDurationMillisAvg()
+	{
+		final IQueueProcessorStatistics statistics = processor.getStatisticsSnapshot();
+		final long countClaims = statistics.getCountClaims();
+		return countClaims > 0 ? statistics.getClaimDurationMillisTotal() / countClaims : 0;
+	}
+
+	@Override
+	public long getClaimDurationMillisMax()
+	{
+		return processor.getStatisticsSnapshot().getClaimDurationMillisMax();
+	}
+
 	@Override
 	public String getQueueInfo()
 	{
@@ -37,5 +37,13 @@ public interface JMXQueueProcessorMBean
 
 	long getCountSkipped();
 
+	long getCountClaims();
+
+	long getCountClaimedWorkpackages();
+
+	long getClaimDurationMillisAvg();
+
+	long getClaimDurationMillisMax();
+
 	String getQueueInfo();
 }
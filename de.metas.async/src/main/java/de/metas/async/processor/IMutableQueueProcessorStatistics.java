@@ -60,4 +60,12 @@ public interface IMutableQueueProcessorStatistics extends IQueueProcessorStatist
 
 	void decrementQueueSize();
 
+	/**
+	 * Records one claim (i.e. select and lock) of work packages.
+	 *
+	 * @param countClaimed how many work packages were claimed (could be zero)
+	 * @param claimDurationMillis how long the claim took
+	 */
+	void recordClaim(int countClaimed, long claimDurationMillis);
+
 }
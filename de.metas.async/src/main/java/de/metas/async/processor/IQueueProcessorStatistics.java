@@ -40,4 +40,16 @@ public interface IQueueProcessorStatistics
 	long getQueueSize();
 
 	long getCountSkipped();
+
+	/** @return how many times the queue was asked to claim (i.e. select and lock) work packages */
+	long getCountClaims();
+
+	/** @return how many work packages were claimed in total */
+	long getCountClaimedWorkpackages();
+
+	/** @return total time (millis) spent in claiming work packages */
+	long getClaimDurationMillisTotal();
+
+	/** @return maximum time (millis) spent in one claim */
+	long getClaimDurationMillisMax();
 }
@@ -23,6 +23,7 @@ package de.metas.async.processor.impl;
  */
 
 
+import java.util.List;
 import java.util.Properties;
 
 import org.adempiere.exceptions.AdempiereException;
@@ -152,13 +153,16 @@ public abstract class AbstractQueueProcessor implements IQueueProcessor
 						break;
 					}
 				}
+				else if (error == null)
+				{
+					// The queue itself is waiting for new workpackages (it is notified when a new one is enqueued on this JVM),
+					// so there is no point in additionally sleeping here. Just try again.
+					logger.debug("Previous pollAndSubmit was not successfull. Polling again");
+				}
 				else
 				{
-					if (error != null)
-					{
-						logger.warn(error.getLocalizedMessage(), error);
-					}
-					logger.info("Previous pollAndSubmit was not successfull. Sleeping 1000ms");
+					logger.warn(error.getLocalizedMessage(), error);
+					logger.info("Previous pollAndSubmit failed. Sleeping 1000ms");
 					try
 					{
 						Thread.sleep(1000);
@@ -178,23 +182,27 @@ public abstract class AbstractQueueProcessor implements IQueueProcessor
 	{
 		final IWorkPackageQueue queue = getQueue();
 
-		final I_C_Queue_WorkPackage workPackage = queue.pollAndLock(queuePollingTimeout);
-		if (workPackage == null)
+		final List<I_C_Queue_WorkPackage> workPackages = queue.pollAndLock(queuePollingTimeout, getPollBatchSize(), statistics);
+		if (workPackages.isEmpty())
 		{
 			return false;
 		}
 
-		boolean success = false;
+		int countSubmitted = 0;
 		try
 		{
-			final IWorkpackageProcessor workPackageProcessor = getWorkpackageProcessor(workPackage);
-			final WorkpackageProcessorTask task = new WorkpackageProcessorTask(this, workPackageProcessor, workPackage);
-			executeTask(task);
-			success = true;
+			for (final I_C_Queue_WorkPackage workPackage : workPackages)
+			{
+				final IWorkpackageProcessor workPackageProcessor = getWorkpackageProcessor(workPackage);
+				final WorkpackageProcessorTask task = new WorkpackageProcessorTask(this, workPackageProcessor, workPackage);
+				executeTask(task);
+				countSubmitted++;
+			}
 		}
 		finally
 		{
-			if (!success)
+			// unlock the workpackages which we could not submit
+			for (final I_C_Queue_WorkPackage workPackage : workPackages.subList(countSubmitted, workPackages.size()))
 			{
 				logger.info("Submiting for processing next workpackage failed. Trying to unlock {}.", workPackage);
 				queue.unlockNoFail(workPackage);
@@ -202,7 +210,15 @@ public abstract class AbstractQueueProcessor implements IQueueProcessor
 				getEventDispatcher().unregisterListeners(workPackage.getC_Queue_WorkPackage_ID());
 			}
 		}
-		return success;
+		return true;
+	}
+
+	/**
+	 * @return how many workpackages shall be claimed from queue in one go. By default, just one.
+	 */
+	protected int getPollBatchSize()
+	{
+		return 1;
 	}
 
 	@Override
@@ -113,4 +113,37 @@ public class MonitorableQueueProcessorStatistics implements IMutableQueueProcess
 	{
 		getMeter(METERNAME_Skipped).plusOne();
 	}
+
+	/**
+	 * NOTE: work packages are claimed by the queue processors, so there are no claim statistics on workpackage processor level.
+	 */
+	@Override
+	public long getCountClaims()
+	{
+		return 0;
+	}
+
+	@Override
+	public long getCountClaimedWorkpackages()
+	{
+		return 0;
+	}
+
+	@Override
+	public long getClaimDurationMillisTotal()
+	{
+		return 0;
+	}
+
+	@Override
+	public long getClaimDurationMillisMax()
+	{
+		return 0;
+	}
+
+	@Override
+	public void recordClaim(final int countClaimed, final long claimDurationMillis)
+	{
+		// N/A at workpackage processor level
+	}
 }
@@ -32,6 +32,10 @@ public class QueueProcessorStatistics implements IMutableQueueProcessorStatistic
 	private long countErrors = 0;
 	private long countSkipped = 0;
 	private long queueSize = 0;
+	private long countClaims = 0;
+	private long countClaimedWorkpackages = 0;
+	private long claimDurationMillisTotal = 0;
+	private long claimDurationMillisMax = 0;
 
 	@Override
 	public QueueProcessorStatistics clone()
@@ -42,6 +46,10 @@ public class QueueProcessorStatistics implements IMutableQueueProcessorStatistic
 		statisticsNew.countProcessed = countProcessed;
 		statisticsNew.countSkipped = countSkipped;
 		statisticsNew.queueSize = queueSize;
+		statisticsNew.countClaims = countClaims;
+		statisticsNew.countClaimedWorkpackages = countClaimedWorkpackages;
+		statisticsNew.claimDurationMillisTotal = claimDurationMillisTotal;
+		statisticsNew.claimDurationMillisMax = claimDurationMillisMax;
 		return statisticsNew;
 	}
 
@@ -54,6 +62,10 @@ public class QueueProcessorStatistics implements IMutableQueueProcessorStatistic
 				+ ", countErrors=" + countErrors
 				+ ", countSkipped=" + countSkipped
 				+ ", queueSize=" + queueSize
+				+ ", countClaims=" + countClaims
+				+ ", countClaimedWorkpackages=" + countClaimedWorkpackages
+				+ ", claimDurationMillisTotal=" + claimDurationMillisTotal
+				+ ", claimDurationMillisMax=" + claimDurationMillisMax
 				+ "]";
 	}
 
@@ -123,4 +135,36 @@ public class QueueProcessorStatistics implements IMutableQueueProcessorStatistic
 		countSkipped++;
 	}
 
+	@Override
+	public long getCountClaims()
+	{
+		return countClaims;
+	}
+
+	@Override
+	public long getCountClaimedWorkpackages()
+	{
+		return countClaimedWorkpackages;
+	}
+
+	@Override
+	public long getClaimDurationMillisTotal()
+	{
+		return claimDurationMillisTotal;
+	}
+
+	@Override
+	public long getClaimDurationMillisMax()
+	{
+		return claimDurationMillisMax;
+	}
+
+	@Override
+	public void recordClaim(final int countClaimed, final long claimDurationMillis)
+	{
+		countClaims++;
+		countClaimedWorkpackages += countClaimed;
+		claimDurationMillisTotal += claimDurationMillis;
+		claimDurationMillisMax = Math.max(claimDurationMillisMax, claimDurationMillis);
+	}
 }
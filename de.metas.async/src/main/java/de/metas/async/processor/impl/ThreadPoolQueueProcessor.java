@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.adempiere.service.ISysConfigBL;
 import org.adempiere.util.concurrent.BlockingThreadPoolExecutor;
 import org.adempiere.util.concurrent.CustomizableThreadFactory;
 
@@ -35,10 +36,20 @@ import com.google.common.base.MoreObjects;
 
 import de.metas.async.api.IWorkPackageQueue;
 import de.metas.async.model.I_C_Queue_Processor;
+import de.metas.util.Services;
 
 class ThreadPoolQueueProcessor extends AbstractQueueProcessor
 {
+	/**
+	 * How many workpackages shall be claimed in one go. Can be overridden per queue processor by using the sysconfig name {@value #SYSCONFIG_PollBatchSize}.{@code <C_Queue_Processor.Name>}.
+	 * <p>
+	 * Note that the actual batch size is never greater than the processor's pool size, because we don't want to keep locked workpackages which no thread can work on.
+	 */
+	private static final String SYSCONFIG_PollBatchSize = "de.metas.async.processor.impl.ThreadPoolQueueProcessor.PollBatchSize";
+	private static final int DEFAULT_PollBatchSize = 1;
+
 	private String name;
+	private final int poolSize;
 	private final ThreadPoolExecutor executor;
 	private final AtomicBoolean running;
 
@@ -47,6 +58,7 @@ class ThreadPoolQueueProcessor extends AbstractQueueProcessor
 		super(queue);
 
 		this.name = config.getName();
+		this.poolSize = config.getPoolSize();
 
 		//
 		// Create the tasks executor
@@ -105,6 +117,16 @@ class ThreadPoolQueueProcessor extends AbstractQueueProcessor
 		return true;
 	}
 
+	@Override
+	protected int getPollBatchSize()
+	{
+		final ISysConfigBL sysConfigBL = Services.get(ISysConfigBL.class);
+		final int defaultPollBatchSize = sysConfigBL.getIntValue(SYSCONFIG_PollBatchSize, DEFAULT_PollBatchSize);
+		final int pollBatchSize = sysConfigBL.getIntValue(SYSCONFIG_PollBatchSize + "." + name, defaultPollBatchSize);
+
+		return Math.max(1, Math.min(pollBatchSize, poolSize));
+	}
+
 	@Override
 	protected void executeTask(WorkpackageProcessorTask task)
 	{
@@ -22,6 +22,7 @@ package de.metas.lock.api;
  * #L%
  */
 
+import java.util.List;
 
 import org.adempiere.ad.dao.IQueryBuilder;
 import org.adempiere.ad.dao.IQueryFilter;
@@ -94,6 +95,15 @@ public interface ILockManager extends ISingletonService
 	 */
 	<T> T retrieveAndLock(IQuery<T> query, Class<T> clazz);
 
+	/**
+	 * Retrieves the next not locked models from query and locks them (using {@link LockOwner#NONE}), all in one go.
+	 * <p>
+	 * The maximum number of models is given by the query's limit. Records which are concurrently retrieved by someone else are skipped rather than waited for.
+	 *
+	 * @return retrieved records (already locked), in query's order; never returns null
+	 */
+	<T> List<T> retrieveAndLockMultipleRecords(IQuery<T> query, Class<T> clazz);
+
 	/**
 	 * Builds a SQL where clause to be used in other queries to filter the results.
 	 *
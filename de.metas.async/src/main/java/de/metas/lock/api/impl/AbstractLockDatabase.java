@@ -22,7 +22,9 @@ package de.metas.lock.api.impl;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.IQueryBuilder;
@@ -145,6 +147,19 @@ public abstract class AbstractLockDatabase implements ILockDatabase
 		final Iterator<ITableRecordReference> records = lockCommand.getRecordsToLockIterator();
 		Check.assumeNotNull(records, "records not null");
 
+		return lockRecords(lockCommand, records);
+	}
+
+	/**
+	 * Locks (or changes the lock of) given records.
+	 * <p>
+	 * This default implementation is processing the records one by one, using {@link #lockRecord(ILockCommand, ITableRecordReference)} or {@link #changeLockRecord(ILockCommand, ITableRecordReference)}.
+	 * Database specific implementations might override it in order to lock all the records in one go.
+	 *
+	 * @return how many records were locked
+	 */
+	protected int lockRecords(final ILockCommand lockCommand, final Iterator<ITableRecordReference> records)
+	{
 		final boolean failIfAlreadyLocked = lockCommand.isFailIfAlreadyLocked();
 		final boolean changeLock = lockCommand.getParentLock() != null;
 		int countLocked = 0;
@@ -250,6 +265,19 @@ public abstract class AbstractLockDatabase implements ILockDatabase
 		final Iterator<ITableRecordReference> records = unlockCommand.getRecordsToUnlockIterator();
 		Check.assumeNotNull(records, "records not null");
 
+		return unlockRecords(unlockCommand, records);
+	}
+
+	/**
+	 * Unlocks given records.
+	 * <p>
+	 * This default implementation is processing the records one by one, using {@link #unlockRecord(IUnlockCommand, ITableRecordReference)}.
+	 * Database specific implementations might override it in order to unlock all the records in one go.
+	 *
+	 * @return how many records were unlocked
+	 */
+	protected int unlockRecords(final IUnlockCommand unlockCommand, final Iterator<ITableRecordReference> records)
+	{
 		int countUnlocked = 0;
 		while (records.hasNext())
 		{
@@ -311,6 +339,35 @@ public abstract class AbstractLockDatabase implements ILockDatabase
 		return null;
 	}
 
+	/**
+	 * Generic implementation which retrieves the not locked records and then locks them one by one.
+	 * Records which were locked by someone else in the meantime are skipped.
+	 * <p>
+	 * Database specific implementations are encouraged to override this method and do it in one go.
+	 */
+	@Override
+	public <T> List<T> retrieveAndLockMultipleRecords(final IQuery<T> query, final Class<T> clazz)
+	{
+		final IQuery<T> finalQuery = retrieveNotLockedQuery(query);
+
+		final ILockCommand lockCommand = new LockCommand(this)
+				.setOwner(LockOwner.NONE)
+				.setFailIfAlreadyLocked(false);
+
+		final List<T> models = finalQuery.list(clazz);
+		final List<T> lockedModels = new ArrayList<>(models.size());
+		for (final T model : models)
+		{
+			final ITableRecordReference record = TableRecordReference.of(model);
+			if (lockRecord(lockCommand, record))
+			{
+				lockedModels.add(model);
+			}
+		}
+
+		return lockedModels;
+	}
+
 	@Override
 	public final String getLockedWhereClause(final Class<?> modelClass, final String joinColumnNameFQ, final LockOwner lockOwner)
 	{
@@ -22,6 +22,7 @@ package de.metas.lock.spi;
  * #L%
  */
 
+import java.util.List;
 
 import org.adempiere.ad.dao.IQueryBuilder;
 import org.adempiere.ad.dao.IQueryFilter;
@@ -53,6 +54,11 @@ public interface ILockDatabase
 
 	<T> T retrieveAndLock(IQuery<T> query, Class<T> clazz);
 
+	/**
+	 * See {@link ILockManager#retrieveAndLockMultipleRecords(IQuery, Class)}.
+	 */
+	<T> List<T> retrieveAndLockMultipleRecords(IQuery<T> query, Class<T> clazz);
+
 	<T> IQueryFilter<T> getLockedByFilter(Class<T> modelClass, LockOwner lockOwner);
 	
 	<T> IQueryFilter<T> getNotLockedFilter(Class<T> modelClass);
@@ -5,6 +5,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import org.adempiere.ad.dao.IQueryFilter;
@@ -18,8 +19,14 @@ import org.adempiere.model.InterfaceWrapperHelper;
 import org.adempiere.util.lang.ITableRecordReference;
 import org.compiere.model.IQuery;
 import org.compiere.util.DB;
+import org.compiere.util.DB.OnFail;
 import org.compiere.util.DisplayType;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
+
 import de.metas.lock.api.ILock;
 import de.metas.lock.api.ILockCommand;
 import de.metas.lock.api.IUnlockCommand;
@@ -47,6 +54,9 @@ public class SqlLockDatabase extends AbstractLockDatabase
 {
 	private static final String SQL_DeleteLock = "DELETE FROM " + I_T_Lock.Table_Name + " WHERE 1=1 ";
 
+	/** Max number of records which are locked/unlocked by one single SQL statement */
+	private static final int BULK_STATEMENT_MAX_RECORDS = 1000;
+
 	/**
 	 * @param lockOwner
 	 * @param sql
@@ -216,8 +226,18 @@ public class SqlLockDatabase extends AbstractLockDatabase
 		return performLockSQLInsert(lockCommand, sqlParams, sql);
 	}
 
-	protected int performLockSQLInsert(final ILockCommand lockCommand, final List<Object> sqlParams, final String sql)
+	/**
+	 * Executes the given <code>INSERT INTO T_Lock ... SELECT ...</code> statement.
+	 * <p>
+	 * If {@link ILockCommand#isFailIfAlreadyLocked()} is false, the records which are already locked are skipped (partial locking).
+	 *
+	 * @param sqlInsert insert statement, without any <code>ON CONFLICT</code> clause
+	 * @return how many records were locked
+	 */
+	protected int performLockSQLInsert(final ILockCommand lockCommand, final List<Object> sqlParams, final String sqlInsert)
 	{
+		final String sql = sqlInsert
+				+ (lockCommand.isFailIfAlreadyLocked() ? "" : " ON CONFLICT DO NOTHING");
 		try
 		{
 			final int countLocked = DB.executeUpdateEx(sql, sqlParams.toArray(), ITrx.TRXNAME_None);
@@ -230,8 +250,6 @@ public class SqlLockDatabase extends AbstractLockDatabase
 		}
 		catch (final DBUniqueConstraintException e)
 		{
-			// TODO: implement for lockCommand.isFailIfAlreadyLocked() == false to allow partial locking
-
 			throw new LockFailedException("Some of the records were already locked", e)
 					.setLockCommand(lockCommand)
 					.setSql(sql, sqlParams.toArray());
@@ -307,6 +325,107 @@ public class SqlLockDatabase extends AbstractLockDatabase
 		}
 	}
 
+	/**
+	 * Locks the given records using one <code>INSERT INTO T_Lock ... SELECT ...</code> statement per table (and chunk of {@value #BULK_STATEMENT_MAX_RECORDS} records).
+	 * <p>
+	 * Changing the locks is still done record by record.
+	 */
+	@Override
+	protected int lockRecords(final ILockCommand lockCommand, final Iterator<ITableRecordReference> records)
+	{
+		if (lockCommand.getParentLock() != null)
+		{
+			return super.lockRecords(lockCommand, records);
+		}
+
+		final LockOwner lockOwner = lockCommand.getOwner();
+		assertValidLockOwner(lockOwner);
+
+		final SetMultimap<Integer, Integer> recordIdsByTableId = groupRecordIdsByTableId(records);
+
+		int countLocked = 0;
+		for (final Integer adTableId : recordIdsByTableId.keySet())
+		{
+			final List<Integer> recordIds = ImmutableList.copyOf(recordIdsByTableId.get(adTableId));
+			for (final List<Integer> recordIdsChunk : Lists.partition(recordIds, BULK_STATEMENT_MAX_RECORDS))
+			{
+				countLocked += lockRecords(lockCommand, adTableId, recordIdsChunk);
+			}
+		}
+		return countLocked;
+	}
+
+	private int lockRecords(final ILockCommand lockCommand, final int adTableId, final List<Integer> recordIds)
+	{
+		final LockOwner lockOwner = lockCommand.getOwner();
+
+		final List<Object> sqlParams = new ArrayList<>();
+		final String sql = "INSERT INTO " + I_T_Lock.Table_Name + " ("
+				+ I_T_Lock.COLUMNNAME_AD_Table_ID
+				+ ", " + I_T_Lock.COLUMNNAME_Record_ID
+				+ ", " + I_T_Lock.COLUMNNAME_Owner
+				+ ", " + I_T_Lock.COLUMNNAME_IsAutoCleanup
+				+ ", " + I_T_Lock.COLUMNNAME_IsAllowMultipleOwners
+				+ ")"
+				//
+				+ " SELECT "
+				+ toSqlParam(adTableId, sqlParams) // AD_Table_ID
+				+ ", r.Record_ID" // Record_ID
+				+ ", " + toSqlParam(lockOwner.getOwnerName(), sqlParams) // Owner
+				+ ", " + toSqlParam(lockCommand.isAutoCleanup(), sqlParams) // IsAutoCleanup
+				+ ", " + toSqlParam(isAllowMultipleOwners(lockCommand.getAllowAdditionalLocks()), sqlParams) // IsAllowMultipleOwners
+				//
+				// NOTE: the IDs are sent as one array parameter, so the statement is the same no matter which records we lock
+				+ " FROM unnest(" + toSqlParam(recordIds.toArray(new Integer[0]), sqlParams) + "::numeric[]) AS r(Record_ID)";
+
+		final boolean failIfAlreadyLocked = lockCommand.isFailIfAlreadyLocked();
+		final String sqlToUse = sql + (failIfAlreadyLocked ? "" : " ON CONFLICT DO NOTHING");
+
+		try
+		{
+			return DB.executeUpdateEx(sqlToUse, sqlParams.toArray(), ITrx.TRXNAME_None);
+		}
+		catch (final DBUniqueConstraintException e)
+		{
+			// we are in a concurrent situation where another DB client acquired the lock for some of our records.
+			// NOTE: in case failIfAlreadyLocked=false we would not get here because we use ON CONFLICT DO NOTHING.
+			throw new LockFailedException("Some of the records were already locked", e)
+					.setLockCommand(lockCommand)
+					.setSql(sqlToUse, sqlParams.toArray());
+		}
+		catch (final Exception e)
+		{
+			throw new LockFailedException("Failed locking AD_Table_ID=" + adTableId + ", Record_IDs=" + recordIds, e)
+					.setLockCommand(lockCommand)
+					.setSql(sqlToUse, sqlParams.toArray());
+		}
+	}
+
+	/**
+	 * @return record IDs (in iteration order) indexed by AD_Table_ID; negative record IDs are skipped because they cannot be locked
+	 */
+	private static SetMultimap<Integer, Integer> groupRecordIdsByTableId(final Iterator<ITableRecordReference> records)
+	{
+		final SetMultimap<Integer, Integer> recordIdsByTableId = LinkedHashMultimap.create();
+		while (records.hasNext())
+		{
+			final ITableRecordReference record = records.next();
+			Check.assumeNotNull(record, "record not null");
+
+			final int adTableId = record.getAD_Table_ID();
+			Check.assume(adTableId > 0, "adTableId > 0");
+
+			final int recordId = record.getRecord_ID();
+			if (recordId < 0)
+			{
+				continue;
+			}
+
+			recordIdsByTableId.put(adTableId, recordId);
+		}
+		return recordIdsByTableId;
+	}
+
 	@Override
 	protected boolean changeLockRecord(final ILockCommand lockCommand, final ITableRecordReference record)
 	{
@@ -412,6 +531,46 @@ public class SqlLockDatabase extends AbstractLockDatabase
 		}
 	}
 
+	/**
+	 * Unlocks the given records using one <code>DELETE FROM T_Lock</code> statement per table (and chunk of {@value #BULK_STATEMENT_MAX_RECORDS} records).
+	 */
+	@Override
+	protected int unlockRecords(final IUnlockCommand unlockCommand, final Iterator<ITableRecordReference> records)
+	{
+		final LockOwner lockOwner = unlockCommand.getOwner();
+		final SetMultimap<Integer, Integer> recordIdsByTableId = groupRecordIdsByTableId(records);
+
+		int countUnlocked = 0;
+		for (final Integer adTableId : recordIdsByTableId.keySet())
+		{
+			final List<Integer> recordIds = ImmutableList.copyOf(recordIdsByTableId.get(adTableId));
+			for (final List<Integer> recordIdsChunk : Lists.partition(recordIds, BULK_STATEMENT_MAX_RECORDS))
+			{
+				try
+				{
+					countUnlocked += unlockRecords(adTableId, recordIdsChunk, lockOwner);
+				}
+				catch (final Exception e)
+				{
+					throw new UnlockFailedException("Failed unlocking AD_Table_ID=" + adTableId + ", Record_IDs=" + recordIdsChunk, e)
+							.setUnlockCommand(unlockCommand);
+				}
+			}
+		}
+		return countUnlocked;
+	}
+
+	private int unlockRecords(final int adTableId, final List<Integer> recordIds, final LockOwner lockOwner)
+	{
+		final List<Object> sqlParams = new ArrayList<>();
+		final StringBuilder sql = new StringBuilder(SQL_DeleteLock)
+				.append(" AND ").append(I_T_Lock.COLUMNNAME_AD_Table_ID).append("=").append(toSqlParam(adTableId, sqlParams))
+				.append(" AND ").append(I_T_Lock.COLUMNNAME_Record_ID).append(" = ANY(").append(toSqlParam(recordIds.toArray(new Integer[0]), sqlParams)).append(")");
+		appendLockOwnerWhereClause(lockOwner, sql, sqlParams);
+
+		return DB.executeUpdateEx(sql.toString(), sqlParams.toArray(), ITrx.TRXNAME_None);
+	}
+
 	@Override
 	protected int unlockByOwner(final IUnlockCommand unlockCommand)
 	{
@@ -450,6 +609,93 @@ public class SqlLockDatabase extends AbstractLockDatabase
 		return finalQuery;
 	}
 
+	/**
+	 * Retrieves and locks the records with one single statement:
+	 * <ul>
+	 * <li>the not locked candidates are selected using <code>FOR UPDATE SKIP LOCKED</code>, so concurrent callers won't pick (and then fail to lock) the same records
+	 * <li>the <code>T_Lock</code> records are inserted using <code>ON CONFLICT DO NOTHING</code> and the actually locked IDs are returned
+	 * </ul>
+	 * Afterwards the locked models are loaded in query's order. Records which no longer match the query are unlocked again.
+	 */
+	@Override
+	public <T> List<T> retrieveAndLockMultipleRecords(@NonNull final IQuery<T> query, @NonNull final Class<T> clazz)
+	{
+		final TypedSqlQuery<T> sqlQuery = TypedSqlQuery.cast(query);
+		final TypedSqlQuery<T> notLockedQuery = TypedSqlQuery.cast(retrieveNotLockedQuery(sqlQuery));
+
+		final String tableName = sqlQuery.getTableName();
+		final String keyColumnNameFQ = tableName + "." + sqlQuery.getKeyColumnName();
+		final int adTableId = Services.get(IADTableDAO.class).retrieveTableId(tableName);
+		final LockOwner lockOwner = LockOwner.NONE;
+
+		final StringBuilder sqlSelectClause = new StringBuilder("SELECT ").append(keyColumnNameFQ).append(" AS Record_ID FROM ").append(tableName);
+		final String sqlSelect = notLockedQuery.buildSQL(sqlSelectClause, true) + " FOR UPDATE SKIP LOCKED";
+		final List<Object> sqlParams = new ArrayList<>(notLockedQuery.getParametersEffective());
+
+		final String sql = "WITH candidates AS (" + sqlSelect + ")"
+				+ " INSERT INTO " + I_T_Lock.Table_Name + " ("
+				+ I_T_Lock.COLUMNNAME_AD_Table_ID
+				+ ", " + I_T_Lock.COLUMNNAME_Record_ID
+				+ ", " + I_T_Lock.COLUMNNAME_Owner
+				+ ", " + I_T_Lock.COLUMNNAME_IsAutoCleanup
+				+ ", " + I_T_Lock.COLUMNNAME_IsAllowMultipleOwners
+				+ ")"
+				//
+				+ " SELECT "
+				+ toSqlParam(adTableId, sqlParams) // AD_Table_ID
+				+ ", candidates.Record_ID" // Record_ID
+				+ ", " + toSqlParam(lockOwner.getOwnerName(), sqlParams) // Owner
+				+ ", " + toSqlParam(true, sqlParams) // IsAutoCleanup
+				+ ", " + toSqlParam(false, sqlParams) // IsAllowMultipleOwners
+				+ " FROM candidates"
+				+ " ON CONFLICT DO NOTHING"
+				+ " RETURNING " + I_T_Lock.COLUMNNAME_Record_ID;
+
+		final List<Integer> lockedRecordIds = new ArrayList<>();
+		try
+		{
+			DB.executeUpdate(sql, sqlParams.toArray(), OnFail.ThrowException, ITrx.TRXNAME_None, 0, rs -> lockedRecordIds.add(rs.getInt(1)));
+		}
+		catch (final Exception e)
+		{
+			throw LockFailedException.wrapIfNeeded(e)
+					.setSql(sql, sqlParams.toArray());
+		}
+
+		if (lockedRecordIds.isEmpty())
+		{
+			return ImmutableList.of();
+		}
+
+		//
+		// Load the locked models.
+		// NOTE: we are using the original query (which has no "not locked" filter) in order to preserve the ordering and to make sure the records are still matching.
+		final List<T> models = sqlQuery
+				.addWhereClause(true, DB.buildSqlList(keyColumnNameFQ, lockedRecordIds, null))
+				.setLimit(IQuery.NO_LIMIT)
+				.list(clazz);
+		if (models.size() != lockedRecordIds.size())
+		{
+			final List<Integer> notLoadedRecordIds = new ArrayList<>(lockedRecordIds);
+			models.forEach(model -> notLoadedRecordIds.remove(Integer.valueOf(InterfaceWrapperHelper.getId(model))));
+			unlockRecordsNoFail(adTableId, notLoadedRecordIds, lockOwner);
+		}
+
+		return models;
+	}
+
+	private void unlockRecordsNoFail(final int adTableId, final List<Integer> recordIds, final LockOwner lockOwner)
+	{
+		try
+		{
+			unlockRecords(adTableId, recordIds, lockOwner);
+		}
+		catch (final Exception e)
+		{
+			logger.warn("Failed unlocking AD_Table_ID={}, Record_IDs={}. Ignored.", adTableId, recordIds, e);
+		}
+	}
+
 	@Override
 	public final String getNotLockedWhereClause(final String tableName, final String joinColumnNameFQ)
 	{
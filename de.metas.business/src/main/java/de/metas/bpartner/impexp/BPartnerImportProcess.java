@@ -312,6 +312,13 @@ public class BPartnerImportProcess extends AbstractImportProcess<I_I_BPartner>
 				+ ", " + I_I_BPartner.COLUMNNAME_I_BPartner_ID;
 	}
 
+	@Override
+	protected String getImportGroupKeyColumnName()
+	{
+		// the import lines with the same Value are importing the same BPartner (e.g. more contacts or locations)
+		return I_I_BPartner.COLUMNNAME_Value;
+	}
+
 	@Override
 	protected String getTargetTableName()
 	{
@@ -33,8 +33,11 @@ import org.compiere.model.I_C_OrderLine;
 import org.compiere.model.I_M_InOut;
 import org.compiere.model.I_M_InOutLine;
 
+import com.google.common.collect.ImmutableListMultimap;
+
 import de.metas.bpartner.BPartnerId;
 import de.metas.lang.SOTrx;
+import de.metas.order.OrderLineId;
 import de.metas.product.ProductId;
 import de.metas.util.ISingletonService;
 
@@ -68,6 +71,13 @@ public interface IInOutDAO extends ISingletonService
 
 	<T extends I_M_InOutLine> List<T> retrieveLinesForOrderLine(I_C_OrderLine orderLine, Class<T> clazz);
 
+	/**
+	 * Same as {@link #retrieveLinesForOrderLine(I_C_OrderLine, Class)}, but retrieves the lines of several order lines with one query.
+	 *
+	 * @return active inout lines, indexed by order line; order lines without inout lines are not contained
+	 */
+	<T extends I_M_InOutLine> ImmutableListMultimap<OrderLineId, T> retrieveLinesForOrderLines(Collection<OrderLineId> orderLineIds, Class<T> clazz);
+
 	/**
 	 *
 	 * @param ctx
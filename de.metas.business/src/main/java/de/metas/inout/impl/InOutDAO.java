@@ -41,10 +41,13 @@ import org.compiere.model.I_C_OrderLine;
 import org.compiere.model.I_M_InOut;
 import org.compiere.model.I_M_InOutLine;
 
+import com.google.common.collect.ImmutableListMultimap;
+
 import de.metas.bpartner.BPartnerId;
 import de.metas.document.engine.IDocument;
 import de.metas.inout.IInOutDAO;
 import de.metas.lang.SOTrx;
+import de.metas.order.OrderLineId;
 import de.metas.product.ProductId;
 import de.metas.util.Check;
 import de.metas.util.GuavaCollectors;
@@ -145,6 +148,25 @@ public class InOutDAO implements IInOutDAO
 				.list(clazz);
 	}
 
+	@Override
+	public <T extends I_M_InOutLine> ImmutableListMultimap<OrderLineId, T> retrieveLinesForOrderLines(@NonNull final Collection<OrderLineId> orderLineIds, @NonNull final Class<T> clazz)
+	{
+		if (orderLineIds.isEmpty())
+		{
+			return ImmutableListMultimap.of();
+		}
+
+		return Services.get(IQueryBL.class).createQueryBuilder(I_M_InOutLine.class)
+				.addInArrayFilter(I_M_InOutLine.COLUMN_C_OrderLine_ID, orderLineIds)
+				.addOnlyActiveRecordsFilter()
+				.orderBy(I_M_InOutLine.COLUMNNAME_M_InOutLine_ID)
+				.create()
+				.stream(clazz)
+				.collect(ImmutableListMultimap.toImmutableListMultimap(
+						inoutLine -> OrderLineId.ofRepoId(inoutLine.getC_OrderLine_ID()),
+						inoutLine -> inoutLine));
+	}
+
 	@Override
 	public <T extends I_M_InOutLine> List<T> retrieveLinesWithoutOrderLine(final I_M_InOut inOut, final Class<T> clazz)
 	{
@@ -85,7 +85,7 @@ public class BOMPriceCalculator
 	private BOMPrices calculateBOMLinePrice(final I_PP_Product_BOMLine bomLine)
 	{
 		final ProductId bomLineProductId = ProductId.ofRepoId(bomLine.getM_Product_ID());
-		final I_M_ProductPrice productPrice = ProductPrices.retrieveMainProductPriceOrNull(priceListVersion, bomLineProductId);
+		final I_M_ProductPrice productPrice = ProductPrices.retrieveMainProductPriceForPricingOrNull(priceListVersion, bomLineProductId);
 		if (productPrice == null)
 		{
 			throw ProductNotOnPriceListException.builder()
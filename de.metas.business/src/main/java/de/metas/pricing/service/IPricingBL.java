@@ -23,6 +23,7 @@ package de.metas.pricing.service;
  */
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Set;
 
 import de.metas.pricing.IEditablePricingContext;
@@ -69,6 +70,16 @@ public interface IPricingBL extends ISingletonService
 	 */
 	IPricingResult calculatePrice(IPricingContext pricingCtx);
 
+	/**
+	 * Calculates the prices of all given contexts.
+	 * <p>
+	 * Same as calling {@link #calculatePrice(IPricingContext)} for each context, but if {@link ProductPrices#isInMemoryIndexEnabled()},
+	 * the product prices of all involved price list versions are loaded in one go.
+	 *
+	 * @return pricing results, in the same order as the given contexts
+	 */
+	List<IPricingResult> calculatePrices(List<IPricingContext> pricingCtxs);
+
 	/**
 	 * Creates an initial {@link IPricingResult}. Copies some of the given <code>pricingCtx</code>'s properties to the pricing result.
 	 *
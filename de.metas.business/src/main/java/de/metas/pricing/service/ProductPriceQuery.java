@@ -4,6 +4,8 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.dao.IQueryBuilder;
@@ -11,6 +13,7 @@ import org.adempiere.ad.dao.IQueryFilter;
 import org.adempiere.ad.dao.IQueryOrderBy.Direction;
 import org.adempiere.ad.dao.IQueryOrderBy.Nulls;
 import org.adempiere.mm.attributes.api.IAttributeDAO;
+import org.adempiere.model.InterfaceWrapperHelper;
 import org.compiere.model.IQuery;
 import org.compiere.model.I_M_AttributeInstance;
 import org.compiere.model.I_M_AttributeSetInstance;
@@ -101,9 +104,21 @@ public class ProductPriceQuery
 		return firstMatching(I_M_ProductPrice.class);
 	}
 
-	/** @return first matching product price or null */
+	/**
+	 * @return first matching product price or null.
+	 *         If {@link ProductPrices#isInMemoryIndexEnabled()}, the product price is looked up in the in-memory index
+	 *         and the returned record might be shared, so use it only for reading.
+	 */
 	public <T extends I_M_ProductPrice> T firstMatching(final Class<T> type)
 	{
+		if (ProductPrices.isInMemoryIndexEnabled())
+		{
+			return streamFromInMemoryIndex()
+					.findFirst()
+					.map(productPrice -> InterfaceWrapperHelper.create(productPrice, type))
+					.orElse(null);
+		}
+
 		final IQueryBuilder<I_M_ProductPrice> queryBuilder = toQueryBuilder();
 
 		queryBuilder.orderBy()
@@ -173,6 +188,52 @@ public class ProductPriceQuery
 		return strictDefaultSecondTry;
 	}
 
+	/** @return matching product prices from the in-memory index (see {@link ProductPricesIndex}); the records are shared, so use them only for reading */
+	/* package */ List<I_M_ProductPrice> listFromInMemoryIndex()
+	{
+		return streamFromInMemoryIndex().collect(ImmutableList.toImmutableList());
+	}
+
+	private Stream<I_M_ProductPrice> streamFromInMemoryIndex()
+	{
+		final ProductPricesIndex index = ProductPricesIndex.getByPriceListVersionId(getPriceListVersionId());
+		final Predicate<I_M_ProductPrice> matcher = toInMemoryMatcher(index);
+		return index.getByProductId(getProductId())
+				.stream()
+				.filter(matcher);
+	}
+
+	/**
+	 * @return predicate which is evaluating the same criteria as {@link #toQueryBuilder()}, but in memory.
+	 *         The product prices' attributes are taken from given index, so nothing is loaded for the matched product prices.
+	 */
+	private Predicate<I_M_ProductPrice> toInMemoryMatcher(final ProductPricesIndex index)
+	{
+		final int priceListVersionRepoId = getPriceListVersionId().getRepoId();
+		final int productRepoId = getProductId().getRepoId();
+
+		final Boolean attributePricing = getAttributePricing();
+		final I_M_AttributeSetInstance attributePricingASIToMatch = getAttributePricingASIToMatch();
+		final Predicate<I_M_ProductPrice> asiFilter = Boolean.TRUE.equals(attributePricing) && attributePricingASIToMatch != null
+				? ASIProductPriceAttributesFilter.of(attributePricingASIToMatch).toInMemoryMatcher(index)
+				: null;
+
+		final Boolean scalePrice = getScalePrice();
+
+		final ImmutableList<IQueryFilter<I_M_ProductPrice>> additionalFilters = getAdditionalMatchers()
+				.stream()
+				.map(IProductPriceQueryMatcher::getQueryFilter)
+				.collect(ImmutableList.toImmutableList());
+
+		return productPrice -> productPrice.isActive()
+				&& productPrice.getM_PriceList_Version_ID() == priceListVersionRepoId
+				&& productPrice.getM_Product_ID() == productRepoId
+				&& (attributePricing == null || attributePricing == productPrice.isAttributeDependant())
+				&& (asiFilter == null || asiFilter.test(productPrice))
+				&& (scalePrice == null || scalePrice == productPrice.isUseScalePrice())
+				&& additionalFilters.stream().allMatch(filter -> filter.accept(productPrice));
+	}
+
 	public IQuery<I_M_ProductPrice> toQuery()
 	{
 		return toQueryBuilder().create();
@@ -501,7 +562,7 @@ public class ProductPriceQuery
 			{
 				final int attributeId = expectedAttribute.getM_Attribute_ID();
 				final I_M_AttributeInstance asiAttribute = asiAttributes.get(attributeId);
-				if (!isAttributeInstanceMatching(expectedAttribute, asiAttribute))
+				if (!isAttributeInstanceMatching(Util.firstGreaterThanZero(expectedAttribute.getM_AttributeValue_ID(), 0), asiAttribute))
 				{
 					return false;
 				}
@@ -510,10 +571,35 @@ public class ProductPriceQuery
 			return true;
 		}
 
-		private static boolean isAttributeInstanceMatching(final I_M_AttributeInstance expected, final I_M_AttributeInstance actual)
+		/**
+		 * Same as {@link #accept(I_M_ProductPrice)}, but the product prices' attributes are taken from given index.
+		 * Only our ASI's attributes are loaded, once.
+		 */
+		public Predicate<I_M_ProductPrice> toInMemoryMatcher(@NonNull final ProductPricesIndex index)
+		{
+			final Map<Integer, I_M_AttributeInstance> asiAttributes = getASIAttributes();
+			return productPrice -> productPrice != null
+					&& productPrice.isAttributeDependant()
+					&& (asiAttributes.isEmpty() || isMatching(index.getAttributeValues(productPrice), asiAttributes));
+		}
+
+		private static boolean isMatching(final List<ProductPricesIndex.AttributeValue> expectedAttributes, final Map<Integer, I_M_AttributeInstance> asiAttributes)
 		{
-			final int expectedAttributeValueId = Util.firstGreaterThanZero(expected.getM_AttributeValue_ID(), 0);
+			// NOTE: if there are no expected attributes (in product price), consider it as matching
+			for (final ProductPricesIndex.AttributeValue expectedAttribute : expectedAttributes)
+			{
+				final I_M_AttributeInstance asiAttribute = asiAttributes.get(expectedAttribute.getAttributeId());
+				if (!isAttributeInstanceMatching(expectedAttribute.getAttributeValueId(), asiAttribute))
+				{
+					return false;
+				}
+			}
 
+			return true;
+		}
+
+		private static boolean isAttributeInstanceMatching(final int expectedAttributeValueId, final I_M_AttributeInstance actual)
+		{
 			final int actualAttributeValueId;
 			if (actual == null)
 			{
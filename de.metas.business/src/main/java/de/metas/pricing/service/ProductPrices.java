@@ -1,10 +1,12 @@
 package de.metas.pricing.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.service.ISysConfigBL;
 import org.adempiere.model.InterfaceWrapperHelper;
 import org.compiere.model.I_M_PriceList;
 import org.compiere.model.I_M_PriceList_Version;
@@ -15,6 +17,7 @@ import org.slf4j.Logger;
 import de.metas.adempiere.model.I_M_Product;
 import de.metas.i18n.IMsgBL;
 import de.metas.logging.LogManager;
+import de.metas.pricing.PriceListVersionId;
 import de.metas.pricing.service.ProductPriceQuery.IProductPriceQueryMatcher;
 import de.metas.product.IProductBL;
 import de.metas.product.ProductId;
@@ -51,6 +54,8 @@ public class ProductPrices
 
 	private static final Logger logger = LogManager.getLogger(ProductPrices.class);
 
+	private static final String SYSCONFIG_UseInMemoryIndex = "de.metas.pricing.service.ProductPrices.UseInMemoryIndex";
+
 	public static final ProductPriceQuery newQuery(@NonNull final I_M_PriceList_Version plv)
 	{
 		return new ProductPriceQuery()
@@ -107,6 +112,44 @@ public class ProductPrices
 		return getFirstOrThrowExceptionIfMoreThanOne(allMainPrices);
 	}
 
+	/**
+	 * Same as {@link #retrieveMainProductPriceOrNull(I_M_PriceList_Version, ProductId)}, but if {@link #isInMemoryIndexEnabled()},
+	 * the product price is looked up in the in-memory index.
+	 * <p>
+	 * IMPORTANT: use it only for reading the price (e.g. in pricing rules), because the returned record might be shared.
+	 */
+	public static I_M_ProductPrice retrieveMainProductPriceForPricingOrNull(@NonNull final I_M_PriceList_Version plv, final ProductId productId)
+	{
+		if (!isInMemoryIndexEnabled())
+		{
+			return retrieveMainProductPriceOrNull(plv, productId);
+		}
+
+		final List<I_M_ProductPrice> allMainPrices = newMainProductPriceQuery(plv, productId).listFromInMemoryIndex();
+		return getFirstOrThrowExceptionIfMoreThanOne(allMainPrices);
+	}
+
+	/**
+	 * @return true if the pricing engine shall look up the product prices in an in-memory index of all active product prices of a price list version,
+	 *         which is reset each time a product price is changed. Changes which were not yet committed are not seen by the index.
+	 */
+	public static boolean isInMemoryIndexEnabled()
+	{
+		return Services.get(ISysConfigBL.class).getBooleanValue(SYSCONFIG_UseInMemoryIndex, false);
+	}
+
+	/**
+	 * If {@link #isInMemoryIndexEnabled()}, loads the in-memory indexes of the given price list versions (if not already loaded) using one query.
+	 */
+	public static void prefetchInMemoryIndex(@NonNull final Collection<PriceListVersionId> priceListVersionIds)
+	{
+		if (priceListVersionIds.isEmpty() || !isInMemoryIndexEnabled())
+		{
+			return;
+		}
+		ProductPricesIndex.prefetch(priceListVersionIds);
+	}
+
 	private static List<I_M_ProductPrice> retrieveAllMainPrices(
 			@NonNull final I_M_PriceList_Version plv,
 			final ProductId productId)
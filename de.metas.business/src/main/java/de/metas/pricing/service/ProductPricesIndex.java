@@ -0,0 +1,252 @@
+package de.metas.pricing.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.adempiere.ad.dao.IQueryBL;
+import org.adempiere.util.lang.impl.TableRecordReference;
+import org.compiere.model.I_M_AttributeInstance;
+import org.compiere.model.I_M_AttributeSetInstance;
+import org.compiere.model.I_M_PriceList_Version;
+import org.compiere.model.I_M_ProductPrice;
+import org.compiere.util.Util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimaps;
+
+import de.metas.cache.CCache;
+import de.metas.cache.CCache.CacheMapType;
+import de.metas.cache.CacheMgt;
+import de.metas.cache.model.CacheInvalidateMultiRequest;
+import de.metas.cache.model.CacheInvalidateRequest;
+import de.metas.pricing.PriceListVersionId;
+import de.metas.product.ProductId;
+import de.metas.util.Services;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.business
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * In-memory index of all active {@link I_M_ProductPrice}s of a price list version, grouped by product.
+ * For the attribute dependent product prices, the attribute values of their ASIs are indexed too, so attribute pricing can be matched without loading anything.
+ * <p>
+ * The records are loaded out of transaction. When a M_ProductPrice is changed, only the index of its price list version is evicted.
+ * When a M_AttributeSetInstance is changed, only the indexes which contain it are evicted.
+ * The indexed records are shared, so they shall be used read-only.
+ */
+final class ProductPricesIndex
+{
+	private static final CCache<PriceListVersionId, ProductPricesIndex> cache = CCache.<PriceListVersionId, ProductPricesIndex> builder()
+			.cacheName(I_M_ProductPrice.Table_Name + "#by#" + I_M_ProductPrice.COLUMNNAME_M_PriceList_Version_ID)
+			.additionalTableNameToResetFor(I_M_AttributeSetInstance.Table_Name) // the product prices' attribute values are part of the index
+			.cacheMapType(CacheMapType.LRU)
+			.initialCapacity(50) // maxSize
+			.expireMinutes(CCache.EXPIREMINUTES_Never)
+			// NOTE: a changed M_ProductPrice is not routed to this cache by its own record, because a new product price is not part of any index yet.
+			// Instead, the index of its price list version is evicted by onProductPricesChanged.
+			.invalidationRecordsExtractor(ProductPricesIndex::extractInvalidationRecords)
+			.build();
+
+	static
+	{
+		CacheMgt.get().addCacheResetListener(I_M_ProductPrice.Table_Name, ProductPricesIndex::onProductPricesChanged);
+	}
+
+	public static ProductPricesIndex getByPriceListVersionId(@NonNull final PriceListVersionId priceListVersionId)
+	{
+		return cache.getOrLoad(priceListVersionId, () -> retrieveByPriceListVersionIds(ImmutableList.of(priceListVersionId)).get(priceListVersionId));
+	}
+
+	/** Loads the indexes of given price list versions which are not already cached, using one query. */
+	public static void prefetch(@NonNull final Collection<PriceListVersionId> priceListVersionIds)
+	{
+		cache.getAllOrLoad(priceListVersionIds, ProductPricesIndex::retrieveByPriceListVersionIds);
+	}
+
+	private static Map<PriceListVersionId, ProductPricesIndex> retrieveByPriceListVersionIds(final Collection<PriceListVersionId> priceListVersionIds)
+	{
+		final ImmutableListMultimap<PriceListVersionId, I_M_ProductPrice> productPricesByPriceListVersionId = Services.get(IQueryBL.class)
+				.createQueryBuilderOutOfTrx(I_M_ProductPrice.class)
+				.addInArrayFilter(I_M_ProductPrice.COLUMNNAME_M_PriceList_Version_ID, priceListVersionIds)
+				.addOnlyActiveRecordsFilter()
+				.orderBy(I_M_ProductPrice.COLUMNNAME_M_PriceList_Version_ID)
+				.orderBy(I_M_ProductPrice.COLUMNNAME_M_Product_ID)
+				.orderBy(I_M_ProductPrice.COLUMNNAME_MatchSeqNo)
+				.orderBy(I_M_ProductPrice.COLUMNNAME_M_ProductPrice_ID)
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(
+						productPrice -> PriceListVersionId.ofRepoId(productPrice.getM_PriceList_Version_ID()),
+						productPrice -> productPrice));
+
+		final ImmutableListMultimap<Integer, AttributeValue> attributeValuesByASIId = retrieveAttributeValuesByASIId(productPricesByPriceListVersionId.values());
+
+		// NOTE: also index the price list versions without any product price, so we are not querying them again
+		final Map<PriceListVersionId, ProductPricesIndex> result = new HashMap<>(priceListVersionIds.size());
+		for (final PriceListVersionId priceListVersionId : priceListVersionIds)
+		{
+			final ImmutableList<I_M_ProductPrice> productPrices = productPricesByPriceListVersionId.get(priceListVersionId);
+			final ImmutableListMultimap.Builder<Integer, AttributeValue> productPricesAttributeValuesByASIId = ImmutableListMultimap.builder();
+			extractASIIds(productPrices).forEach(asiId -> productPricesAttributeValuesByASIId.putAll(asiId, attributeValuesByASIId.get(asiId)));
+
+			result.put(priceListVersionId, new ProductPricesIndex(priceListVersionId, productPrices, productPricesAttributeValuesByASIId.build()));
+		}
+		return result;
+	}
+
+	/** Loads the attribute values of the attribute dependent product prices' ASIs, using one query */
+	private static ImmutableListMultimap<Integer, AttributeValue> retrieveAttributeValuesByASIId(final Collection<I_M_ProductPrice> productPrices)
+	{
+		final Set<Integer> asiIds = extractASIIds(productPrices);
+		if (asiIds.isEmpty())
+		{
+			return ImmutableListMultimap.of();
+		}
+
+		return Services.get(IQueryBL.class)
+				.createQueryBuilderOutOfTrx(I_M_AttributeInstance.class)
+				.addInArrayFilter(I_M_AttributeInstance.COLUMNNAME_M_AttributeSetInstance_ID, asiIds)
+				.orderBy(I_M_AttributeInstance.COLUMNNAME_M_AttributeSetInstance_ID)
+				.orderBy(I_M_AttributeInstance.COLUMNNAME_M_Attribute_ID)
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(
+						I_M_AttributeInstance::getM_AttributeSetInstance_ID,
+						attributeInstance -> AttributeValue.of(attributeInstance.getM_Attribute_ID(), Util.firstGreaterThanZero(attributeInstance.getM_AttributeValue_ID(), 0))));
+	}
+
+	private static Set<Integer> extractASIIds(final Collection<I_M_ProductPrice> productPrices)
+	{
+		return productPrices.stream()
+				.filter(I_M_ProductPrice::isAttributeDependant)
+				.map(I_M_ProductPrice::getM_AttributeSetInstance_ID)
+				.filter(asiId -> asiId > 0)
+				.collect(ImmutableSet.toImmutableSet());
+	}
+
+	private static Collection<TableRecordReference> extractInvalidationRecords(final ProductPricesIndex index)
+	{
+		final ImmutableList.Builder<TableRecordReference> records = ImmutableList.builder();
+		records.add(TableRecordReference.of(I_M_PriceList_Version.Table_Name, index.priceListVersionId.getRepoId()));
+		index.attributeValuesByASIId.keySet().forEach(asiId -> records.add(TableRecordReference.of(I_M_AttributeSetInstance.Table_Name, asiId)));
+		return records.build();
+	}
+
+	/**
+	 * Evicts the indexes of the changed product prices' price list versions.
+	 * <p>
+	 * Only this cache is evicted. The M_PriceList_Version record is not invalidated, so the other price list version caches are not affected.
+	 */
+	private static long onProductPricesChanged(@NonNull final CacheInvalidateMultiRequest multiRequest)
+	{
+		if (cache.isEmpty())
+		{
+			return 0; // nothing to evict, e.g. because the in-memory index is not used
+		}
+
+		final Set<Integer> productPriceIds = new HashSet<>();
+		for (final CacheInvalidateRequest request : multiRequest.getRequests())
+		{
+			// NOTE: the requests for all records were already handled by CacheMgt, by resetting this whole cache
+			if (I_M_ProductPrice.Table_Name.equals(request.getRootTableName()) && request.getRootRecordId() > 0)
+			{
+				productPriceIds.add(request.getRootRecordId());
+			}
+			if (I_M_ProductPrice.Table_Name.equals(request.getChildTableName()) && request.getChildRecordId() > 0)
+			{
+				productPriceIds.add(request.getChildRecordId());
+			}
+		}
+		if (productPriceIds.isEmpty())
+		{
+			return 0;
+		}
+
+		// NOTE: using the thread inherited transaction, because the local caches are reset before the product prices are committed
+		final Map<Integer, Integer> priceListVersionIdsByProductPriceId = Services.get(IQueryBL.class)
+				.createQueryBuilder(I_M_ProductPrice.class)
+				.addInArrayFilter(I_M_ProductPrice.COLUMNNAME_M_ProductPrice_ID, productPriceIds)
+				.create()
+				.stream()
+				.collect(ImmutableMap.toImmutableMap(I_M_ProductPrice::getM_ProductPrice_ID, I_M_ProductPrice::getM_PriceList_Version_ID));
+
+		// the deleted product prices can't be tracked back to their price list version
+		if (priceListVersionIdsByProductPriceId.size() < productPriceIds.size())
+		{
+			return cache.reset();
+		}
+
+		return ImmutableSet.copyOf(priceListVersionIdsByProductPriceId.values())
+				.stream()
+				.mapToLong(priceListVersionId -> cache.resetForRecordId(TableRecordReference.of(I_M_PriceList_Version.Table_Name, priceListVersionId)))
+				.sum();
+	}
+
+	private final PriceListVersionId priceListVersionId;
+	private final ImmutableListMultimap<ProductId, I_M_ProductPrice> productPricesByProductId;
+	private final ImmutableListMultimap<Integer, AttributeValue> attributeValuesByASIId;
+
+	private ProductPricesIndex(
+			@NonNull final PriceListVersionId priceListVersionId,
+			@NonNull final Collection<I_M_ProductPrice> productPrices,
+			@NonNull final ImmutableListMultimap<Integer, AttributeValue> attributeValuesByASIId)
+	{
+		this.priceListVersionId = priceListVersionId;
+		this.productPricesByProductId = Multimaps.index(productPrices, productPrice -> ProductId.ofRepoId(productPrice.getM_Product_ID()));
+		this.attributeValuesByASIId = attributeValuesByASIId;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ProductPricesIndex[priceListVersionId=" + priceListVersionId + ", size=" + productPricesByProductId.size() + "]";
+	}
+
+	/** @return product prices of given product, ordered by MatchSeqNo and M_ProductPrice_ID */
+	public ImmutableList<I_M_ProductPrice> getByProductId(@NonNull final ProductId productId)
+	{
+		return productPricesByProductId.get(productId);
+	}
+
+	/** @return the attribute values of given indexed product price's ASI; empty if the product price is not attribute dependent or has no ASI */
+	public ImmutableList<AttributeValue> getAttributeValues(@NonNull final I_M_ProductPrice productPrice)
+	{
+		return attributeValuesByASIId.get(productPrice.getM_AttributeSetInstance_ID());
+	}
+
+	@Value(staticConstructor = "of")
+	static class AttributeValue
+	{
+		int attributeId;
+
+		/** M_AttributeValue_ID or zero if the attribute instance has no list value */
+		int attributeValueId;
+	}
+}
@@ -28,6 +28,7 @@ import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 
@@ -45,6 +46,9 @@ import org.compiere.util.Env;
 import org.compiere.util.Util;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
 import de.metas.adempiere.model.I_C_InvoiceLine;
 import de.metas.bpartner.BPartnerId;
 import de.metas.cache.annotation.CacheCtx;
@@ -119,6 +123,30 @@ public class PricingBL implements IPricingBL
 	public IPricingResult calculatePrice(final IPricingContext pricingCtx)
 	{
 		final IPricingContext pricingCtxToUse = setupPricingContext(pricingCtx);
+		return calculatePriceForSetupContext(pricingCtxToUse);
+	}
+
+	@Override
+	public List<IPricingResult> calculatePrices(@NonNull final List<IPricingContext> pricingCtxs)
+	{
+		final List<IPricingContext> pricingCtxsToUse = pricingCtxs.stream()
+				.map(this::setupPricingContext)
+				.collect(ImmutableList.toImmutableList());
+
+		// load the product prices of all involved price list versions in one go
+		final ImmutableSet<PriceListVersionId> priceListVersionIds = pricingCtxsToUse.stream()
+				.map(IPricingContext::getPriceListVersionId)
+				.filter(Objects::nonNull)
+				.collect(ImmutableSet.toImmutableSet());
+		ProductPrices.prefetchInMemoryIndex(priceListVersionIds);
+
+		return pricingCtxsToUse.stream()
+				.map(this::calculatePriceForSetupContext)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private IPricingResult calculatePriceForSetupContext(final IPricingContext pricingCtxToUse)
+	{
 		final PricingResult result = createInitialResult(pricingCtxToUse);
 
 		//
@@ -355,7 +383,7 @@ public class PricingBL implements IPricingBL
 		final I_M_PriceList_Version plv = pricingCtx.getM_PriceList_Version();
 		if (plv != null)
 		{
-			final I_M_ProductPrice productPrice = ProductPrices.retrieveMainProductPriceOrNull(plv, productId);
+			final I_M_ProductPrice productPrice = ProductPrices.retrieveMainProductPriceForPricingOrNull(plv, productId);
 			if (productPrice == null)
 			{
 				final UomId uomId = Services.get(IProductBL.class).getStockingUOMId(productId);
@@ -0,0 +1,105 @@
+package de.metas.bpartner.impexp;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.impexp.AbstractImportProcess;
+import org.adempiere.impexp.ImportProcessResult;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.tools.AdempiereToolsHelper;
+import org.adempiere.util.api.IParams;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.junit.Ignore;
+
+import com.google.common.base.Stopwatch;
+
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * de.metas.business
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Generates an I_BPartner import file (two lines, i.e. two contacts, per business partner) and imports it using {@link BPartnerImportProcess}.
+ * <p>
+ * Run it once with chunk size 0 (i.e. one transaction per import line) and then with the chunked/parallel settings to compare the throughput.
+ * <p>
+ * <b>IMPORTANT:</b> the generated business partners are NOT deleted and the given chunk size and threads count are saved in AD_SysConfig.
+ * All not yet imported I_BPartner lines of the client are imported. So please run it only on a test database.
+ * <p>
+ * Arguments: AD_Client_ID, [import lines count (default 100000)], [chunk size (default 500)], [threads count (default 4)]
+ */
+@Ignore
+public class BPartnerImportProcess_Benchmark_TestManual
+{
+	public static void main(final String[] args)
+	{
+		final int adClientId = Integer.parseInt(args[0]);
+		final int linesCount = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+		final int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+		final int threadsCount = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+		AdempiereToolsHelper.getInstance().startupMinimal();
+
+		final Properties ctx = Env.getCtx();
+		Env.setContext(ctx, Env.CTXNAME_AD_Client_ID, adClientId);
+		Env.setContext(ctx, Env.CTXNAME_AD_Org_ID, 0);
+
+		final ISysConfigBL sysConfigBL = Services.get(ISysConfigBL.class);
+		sysConfigBL.setValue(AbstractImportProcess.SYSCONFIG_ChunkSize, chunkSize, 0);
+		sysConfigBL.setValue(AbstractImportProcess.SYSCONFIG_ThreadsCount, threadsCount, 0);
+
+		generateImportLines(adClientId, linesCount);
+
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		final ImportProcessResult result = new BPartnerImportProcess()
+				.setCtx(ctx)
+				.setParameters(IParams.NULL)
+				.run();
+		final long millis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+
+		System.out.println("Import lines: " + linesCount + ", chunk size: " + chunkSize + ", threads: " + threadsCount);
+		System.out.println("Result: " + result);
+		System.out.println("Duration: " + millis + "ms (" + linesCount * 1000L / Math.max(millis, 1) + " lines/sec)");
+	}
+
+	private static void generateImportLines(final int adClientId, final int linesCount)
+	{
+		// NOTE: make the values unique per run, so we are creating new business partners each time
+		final String valuePrefix = "BENCH-" + System.currentTimeMillis() + "-";
+
+		final String sql = "INSERT INTO I_BPartner ("
+				+ " I_BPartner_ID, AD_Client_ID, AD_Org_ID, IsActive, Created, CreatedBy, Updated, UpdatedBy, I_IsImported"
+				+ ", Value, Name, Firstname, Lastname, IsShipToContact_Default, IsBillToContact_Default"
+				+ ", Address1, Postal, City, CountryCode, IsShipToDefault, IsBillToDefault"
+				+ ")"
+				+ " SELECT nextval('i_bpartner_seq'), ?, 0, 'Y', now(), 0, now(), 0, 'N'"
+				+ ", ? || ((i + 1) / 2), 'Benchmark partner ' || ((i + 1) / 2), 'Firstname ' || i, 'Lastname ' || i, 'Y', 'Y'"
+				+ ", 'Street ' || i, '10115', 'Berlin', 'DE', 'Y', 'Y'"
+				+ " FROM generate_series(1, ?) i";
+
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		DB.executeUpdateEx(sql, new Object[] { adClientId, valuePrefix, linesCount }, ITrx.TRXNAME_None);
+		System.out.println("Generated " + linesCount + " import lines in " + stopwatch);
+	}
+}
@@ -1,7 +1,9 @@
 package de.metas.pricing.service.impl;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import org.adempiere.service.ISysConfigBL;
 import org.adempiere.test.AdempiereTestHelper;
 import org.adempiere.test.AdempiereTestWatcher;
 import org.hamcrest.Matchers;
@@ -10,8 +12,13 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 import de.metas.pricing.IEditablePricingContext;
+import de.metas.pricing.IPricingContext;
 import de.metas.pricing.IPricingResult;
+import de.metas.pricing.service.IPricingBL;
+import de.metas.util.Services;
 
 /*
  * #%L
@@ -51,6 +58,44 @@ public class PricingTest
 
 	@Test
 	public void test_PriceWithAttributes_Bio_and_NonBio()
+	{
+		createBioAndNonBioPrices();
+
+		//
+		// Test not-Bio price
+		{
+			final IEditablePricingContext pricingCtx = createNonBioPricingContext();
+
+			final IPricingResult result = helper.calculatePrice(pricingCtx);
+			Assert.assertThat("not-Bio PriceStd\n" + result, result.getPriceStd(), Matchers.comparesEqualTo(BigDecimal.valueOf(2)));
+		}
+
+		//
+		// Test Bio price
+		{
+			final IEditablePricingContext pricingCtx = createBioPricingContext();
+
+			final IPricingResult result = helper.calculatePrice(pricingCtx);
+			Assert.assertThat("Bio PriceStd\n" + result, result.getPriceStd(), Matchers.comparesEqualTo(BigDecimal.valueOf(3)));
+		}
+	}
+
+	@Test
+	public void test_PriceWithAttributes_Bio_and_NonBio_calculatePricesUsingInMemoryIndex()
+	{
+		Services.get(ISysConfigBL.class).setValue("de.metas.pricing.service.ProductPrices.UseInMemoryIndex", true, 0);
+		createBioAndNonBioPrices();
+
+		final List<IPricingResult> results = Services.get(IPricingBL.class).calculatePrices(ImmutableList.<IPricingContext> of(
+				createNonBioPricingContext(),
+				createBioPricingContext()));
+
+		Assert.assertThat(results.size(), Matchers.equalTo(2));
+		Assert.assertThat("not-Bio PriceStd\n" + results.get(0), results.get(0).getPriceStd(), Matchers.comparesEqualTo(BigDecimal.valueOf(2)));
+		Assert.assertThat("Bio PriceStd\n" + results.get(1), results.get(1).getPriceStd(), Matchers.comparesEqualTo(BigDecimal.valueOf(3)));
+	}
+
+	private void createBioAndNonBioPrices()
 	{
 		//
 		// Setup prices
@@ -68,28 +113,20 @@ public class PricingTest
 						.build())
 				.setPrice(2)
 				.build();
+	}
 
-		//
-		// Test not-Bio price
-		{
-			final IEditablePricingContext pricingCtx = helper.createPricingContextWithASI(ASIBuilder.newInstance()
-					.setAttribute(helper.attr_Country, helper.attr_Country_CH)
-					.build());
-
-			final IPricingResult result = helper.calculatePrice(pricingCtx);
-			Assert.assertThat("not-Bio PriceStd\n" + result, result.getPriceStd(), Matchers.comparesEqualTo(BigDecimal.valueOf(2)));
-		}
-
-		//
-		// Test Bio price
-		{
-			final IEditablePricingContext pricingCtx = helper.createPricingContextWithASI(ASIBuilder.newInstance()
-					.setAttribute(helper.attr_Country, helper.attr_Country_CH)
-					.setAttribute(helper.attr_Label, helper.attr_Label_Bio)
-					.build());
+	private IEditablePricingContext createNonBioPricingContext()
+	{
+		return helper.createPricingContextWithASI(ASIBuilder.newInstance()
+				.setAttribute(helper.attr_Country, helper.attr_Country_CH)
+				.build());
+	}
 
-			final IPricingResult result = helper.calculatePrice(pricingCtx);
-			Assert.assertThat("Bio PriceStd\n" + result, result.getPriceStd(), Matchers.comparesEqualTo(BigDecimal.valueOf(3)));
-		}
+	private IEditablePricingContext createBioPricingContext()
+	{
+		return helper.createPricingContextWithASI(ASIBuilder.newInstance()
+				.setAttribute(helper.attr_Country, helper.attr_Country_CH)
+				.setAttribute(helper.attr_Label, helper.attr_Label_Bio)
+				.build());
 	}
 }
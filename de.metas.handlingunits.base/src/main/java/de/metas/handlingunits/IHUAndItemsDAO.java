@@ -56,6 +56,22 @@ public interface IHUAndItemsDAO
 
 	List<I_M_HU_Item> retrieveItems(final I_M_HU hu);
 
+	/**
+	 * Sets the given, already loaded items of the given HU, so a following {@link #retrieveItems(I_M_HU)} won't hit the database.
+	 * Does nothing if the HU's items were already loaded.
+	 *
+	 * @see IHandlingUnitsDAO#retrieveAndPrefetchHUTrees(de.metas.handlingunits.IHUContext, java.util.Collection)
+	 */
+	void primeItemsCache(I_M_HU hu, List<I_M_HU_Item> items);
+
+	/**
+	 * Sets the given, already loaded included HUs of the given HU item, so a following {@link #retrieveIncludedHUs(I_M_HU_Item)} won't hit the database.
+	 * Does nothing if the item's included HUs were already loaded.
+	 *
+	 * @see IHandlingUnitsDAO#retrieveAndPrefetchHUTrees(de.metas.handlingunits.IHUContext, java.util.Collection)
+	 */
+	void primeIncludedHUsCache(I_M_HU_Item item, List<I_M_HU> includedHUs);
+
 	/**
 	 * From the {@link I_M_HU_Item}s that reference the given {@code hu}, retrieve the one that also references the given {@code piItem},<br>
 	 * <b>or</b> (gh #460) if there is no such item and the given {@code piItem} has {@code ItemType='HU'}, then retrieve the {@link I_M_HU_Item} with {@link X_M_HU_Item#ITEMTYPE_HUAggregate}.
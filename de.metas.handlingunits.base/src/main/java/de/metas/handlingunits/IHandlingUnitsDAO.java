@@ -383,4 +383,15 @@ public interface IHandlingUnitsDAO extends ISingletonService
 	List<I_M_Warehouse> retrieveWarehousesWhichContainNoneOf(List<I_M_HU> hus);
 
 	List<I_M_HU> retrieveByIds(Collection<HuId> huIds);
+
+	/**
+	 * Loads the given top level HUs together with their whole trees (items, included HUs, storages and attributes)
+	 * using a fixed number of queries per tree level, instead of a few queries for each HU.
+	 * The loaded records are set to the caches which are used when the HU trees are walked (e.g. by an {@link IHUIterator}).
+	 * <p>
+	 * Note that the caches are bound to the returned HU instances, so make sure you are working with them.
+	 *
+	 * @return top level HUs, in the same order as the given IDs
+	 */
+	List<I_M_HU> retrieveAndPrefetchHUTrees(IHUContext huContext, Collection<HuId> topLevelHuIds);
 }
@@ -37,6 +37,14 @@ public interface IHUAttributesDAO extends ISingletonService
 	 */
 	HUAndPIAttributes retrieveAttributesOrdered(I_M_HU hu);
 
+	/**
+	 * Sets the given, already loaded attributes of the given HU, unless they were already loaded.
+	 * Implementations which are not caching anything will just ignore this call.
+	 *
+	 * @param huAttributes the HU's attributes, as they would be returned by {@link #retrieveAttributesOrdered(I_M_HU)}
+	 */
+	void primeAttributes(I_M_HU hu, HUAndPIAttributes huAttributes);
+
 	/**
 	 * @return the attribute or <code>null</code>
 	 */
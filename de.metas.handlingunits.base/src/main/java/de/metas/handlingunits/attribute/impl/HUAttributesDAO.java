@@ -74,6 +74,12 @@ public final class HUAttributesDAO implements IHUAttributesDAO
 		return HUAndPIAttributes.of(huAttributesSorted, piAttributes);
 	}
 
+	@Override
+	public void primeAttributes(final I_M_HU hu, final HUAndPIAttributes huAttributes)
+	{
+		// nothing to prime, we are not caching
+	}
+
 	private PIAttributes createPIAttributes(final List<I_M_HU_Attribute> huAttributes)
 	{
 		final IHUPIAttributesDAO piAttributesRepo = Services.get(IHUPIAttributesDAO.class);
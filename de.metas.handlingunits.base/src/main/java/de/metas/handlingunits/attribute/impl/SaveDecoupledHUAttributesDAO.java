@@ -41,6 +41,7 @@ import de.metas.handlingunits.model.I_M_HU_Attribute;
 import de.metas.logging.LogManager;
 import de.metas.util.Check;
 import de.metas.util.Services;
+import lombok.NonNull;
 
 /**
  * {@link IHUAttributesDAO} implementation which acts like a save buffer:
@@ -258,6 +259,18 @@ public class SaveDecoupledHUAttributesDAO implements IHUAttributesDAO
 		return HUAndPIAttributes.of(huAttributesSorted, piAttributes);
 	}
 
+	@Override
+	public synchronized void primeAttributes(@NonNull final I_M_HU hu, @NonNull final HUAndPIAttributes huAndPIAttributes)
+	{
+		final HuId huId = HuId.ofRepoId(hu.getM_HU_ID());
+		if (_hu2huAttributes.containsKey(huId))
+		{
+			return;
+		}
+
+		_hu2huAttributes.put(huId, HUAttributesMap.of(huAndPIAttributes));
+	}
+
 	private PIAttributes createPIAttributes(final Collection<I_M_HU_Attribute> huAttributesList)
 	{
 		final IHUPIAttributesDAO piAttributesRepo = Services.get(IHUPIAttributesDAO.class);
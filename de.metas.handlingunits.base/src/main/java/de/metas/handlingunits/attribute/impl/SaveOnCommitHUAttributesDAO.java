@@ -96,6 +96,13 @@ public class SaveOnCommitHUAttributesDAO implements IHUAttributesDAO
 		return delegate.retrieveAttributesOrdered(hu);
 	}
 
+	@Override
+	public void primeAttributes(final I_M_HU hu, final HUAndPIAttributes huAttributes)
+	{
+		final SaveDecoupledHUAttributesDAO delegate = getDelegate(hu);
+		delegate.primeAttributes(hu, huAttributes);
+	}
+
 	@Override
 	public I_M_HU_Attribute retrieveAttribute(final I_M_HU hu, final AttributeId attributeId)
 	{
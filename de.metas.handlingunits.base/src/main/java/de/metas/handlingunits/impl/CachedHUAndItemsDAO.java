@@ -330,6 +330,43 @@ public class CachedHUAndItemsDAO extends AbstractHUAndItemsDAO
 		return new ArrayList<>(huItems);
 	}
 
+	@Override
+	public void primeItemsCache(@NonNull final I_M_HU hu, @NonNull final List<I_M_HU_Item> items)
+	{
+		final Object huKey = mkHUKey(hu);
+		if (huKey2huItems.containsKey(huKey))
+		{
+			return;
+		}
+
+		final List<I_M_HU_Item> huItems = new ArrayList<>(items);
+		for (final I_M_HU_Item huItem : huItems)
+		{
+			huItem.setM_HU(hu);
+		}
+		Collections.sort(huItems, IHandlingUnitsDAO.HU_ITEMS_COMPARATOR);
+
+		huKey2huItems.put(huKey, huItems);
+	}
+
+	@Override
+	public void primeIncludedHUsCache(@NonNull final I_M_HU_Item huItem, @NonNull final List<I_M_HU> includedHUs)
+	{
+		final Object huItemKey = mkHUItemKey(huItem);
+		if (huItemKey2includedHUs.containsKey(huItemKey))
+		{
+			return;
+		}
+
+		final List<I_M_HU> includedHUsCopy = new ArrayList<>(includedHUs);
+		for (final I_M_HU includedHU : includedHUsCopy)
+		{
+			includedHU.setM_HU_Item_Parent(huItem);
+		}
+
+		huItemKey2includedHUs.put(huItemKey, includedHUsCopy);
+	}
+
 	@Override
 	public I_M_HU retrieveParent(final I_M_HU hu)
 	{
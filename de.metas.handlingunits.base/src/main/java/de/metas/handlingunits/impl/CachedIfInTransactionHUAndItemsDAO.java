@@ -152,6 +152,18 @@ public class CachedIfInTransactionHUAndItemsDAO implements IHUAndItemsDAO
 		return getDelegate(hu).retrieveItems(hu);
 	}
 
+	@Override
+	public void primeItemsCache(final I_M_HU hu, final List<I_M_HU_Item> items)
+	{
+		getDelegate(hu).primeItemsCache(hu, items);
+	}
+
+	@Override
+	public void primeIncludedHUsCache(final I_M_HU_Item item, final List<I_M_HU> includedHUs)
+	{
+		getDelegate(item).primeIncludedHUsCache(item, includedHUs);
+	}
+
 	@Override
 	public I_M_HU_Item retrieveItem(final I_M_HU hu, final I_M_HU_PI_Item piItem)
 	{
@@ -167,6 +167,18 @@ public final class HUAndItemsDAO extends AbstractHUAndItemsDAO
 		return huItemsCache.getItems();
 	}
 
+	@Override
+	public void primeItemsCache(@NonNull final I_M_HU hu, @NonNull final List<I_M_HU_Item> items)
+	{
+		HUItemsLocalCache.getCreate(hu).setItemsIfStaled(items);
+	}
+
+	@Override
+	public void primeIncludedHUsCache(@NonNull final I_M_HU_Item item, @NonNull final List<I_M_HU> includedHUs)
+	{
+		IncludedHUsLocalCache.getCreate(item).setItemsIfStaled(includedHUs);
+	}
+
 	@VisibleForTesting
 	public static I_M_HU_Item createHUItemNoSave(
 			@NonNull final I_M_HU hu,
@@ -22,8 +22,10 @@ package de.metas.handlingunits.impl;
  * #L%
  */
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -42,6 +44,7 @@ import org.compiere.model.IQuery;
 import org.compiere.model.I_M_Attribute;
 import org.compiere.model.X_M_Attribute;
 
+import de.metas.handlingunits.impl.HUAttributesSearchIndexQueryFilter.SearchIndexCriteria;
 import de.metas.handlingunits.model.I_M_HU;
 import de.metas.handlingunits.model.I_M_HU_Attribute;
 import de.metas.util.Check;
@@ -272,6 +275,36 @@ import lombok.NonNull;
 		huFilters.addInSubQueryFilter(I_M_HU.COLUMN_M_HU_ID, I_M_HU_Attribute.COLUMN_M_HU_ID, attributesQuery);
 	}
 
+	/**
+	 * @return criteria to be used with {@link HUAttributesSearchIndexQueryFilter} or {@code null} if this filter can't be evaluated using the search index.
+	 */
+	public final List<SearchIndexCriteria> toSearchIndexCriteriaOrNull()
+	{
+		if (matchingType != AttributeValueMatchingType.ValuesList)
+		{
+			return null;
+		}
+
+		final Set<Object> values = getValuesAndSubstitutes();
+		if (values.isEmpty())
+		{
+			return null;
+		}
+
+		final List<SearchIndexCriteria> criteria = new ArrayList<>(values.size());
+		for (final Object value : values)
+		{
+			final Object searchIndexValue = HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(attributeValueType, value);
+			if (searchIndexValue == null)
+			{
+				return null;
+			}
+			criteria.add(HUAttributesSearchIndexQueryFilter.criteria(attributeId, searchIndexValue));
+		}
+
+		return criteria;
+	}
+
 	/**
 	 * NOTE: keep in sync with {@link #appendQueryFilterTo(Object, ICompositeQueryFilter)}
 	 */
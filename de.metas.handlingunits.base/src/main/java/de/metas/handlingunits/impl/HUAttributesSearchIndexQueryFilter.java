@@ -0,0 +1,244 @@
+package de.metas.handlingunits.impl;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.ad.dao.IQueryFilter;
+import org.adempiere.ad.dao.ISqlQueryFilter;
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.mm.attributes.AttributeId;
+import org.compiere.model.X_M_Attribute;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import de.metas.handlingunits.model.I_M_HU;
+import de.metas.util.Check;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.handlingunits.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Filters HUs by attribute values, using the <code>M_HU_Attribute_SearchIndex</code> table instead of one <code>M_HU_Attribute</code> sub query for each attribute.
+ * <p>
+ * That table contains one JSON object per HU, with the HU's active attribute values (see <code>M_HU_Attribute_SearchIndex_Update_TGFN</code>).
+ * All criteria are evaluated using JSON containment (<code>@&gt;</code>), which is supported by the table's GIN index.
+ * <p>
+ * Only the <code>ValuesList</code> matching of {@link HUAttributeQueryFilterVO} is supported.
+ * This filter can't be evaluated in memory.
+ */
+/* package */ final class HUAttributesSearchIndexQueryFilter implements IQueryFilter<I_M_HU>, ISqlQueryFilter
+{
+	public static final String SYSCONFIG_UseSearchIndex = "de.metas.handlingunits.impl.HUQueryBuilder_Attributes.UseSearchIndex";
+
+	private static final String TABLENAME_M_HU_Attribute_SearchIndex = "M_HU_Attribute_SearchIndex";
+
+	/** NOTE: keep in sync with M_HU_Attribute_SearchIndex_Update_TGFN */
+	private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+	private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+
+	/**
+	 * Converts the given attribute value to the value which is stored in the search index.
+	 *
+	 * @param attributeValueType see X_M_Attribute.ATTRIBUTEVALUETYPE_* constants
+	 * @return search index value or {@code null} if the given value can't be searched using the index
+	 */
+	@Nullable
+	public static Object toSearchIndexValueOrNull(@NonNull final String attributeValueType, @Nullable final Object value)
+	{
+		if (value == null)
+		{
+			return null;
+		}
+
+		if (X_M_Attribute.ATTRIBUTEVALUETYPE_Number.equals(attributeValueType))
+		{
+			return value instanceof BigDecimal || value instanceof Integer || value instanceof Long ? value : null;
+		}
+		else if (X_M_Attribute.ATTRIBUTEVALUETYPE_Date.equals(attributeValueType))
+		{
+			return value instanceof Date ? new SimpleDateFormat(DATE_FORMAT).format((Date)value) : null;
+		}
+		else
+		{
+			return value instanceof String ? value : null;
+		}
+	}
+
+	/**
+	 * @return criteria matching the HUs which have the given search index value for given attribute
+	 * @see #toSearchIndexValueOrNull(String, Object)
+	 */
+	public static SearchIndexCriteria criteria(@NonNull final AttributeId attributeId, @NonNull final Object searchIndexValue)
+	{
+		return new SearchIndexCriteria(String.valueOf(attributeId.getRepoId()), searchIndexValue);
+	}
+
+	private final String sql;
+	private final ImmutableList<Object> sqlParams;
+
+	private HUAttributesSearchIndexQueryFilter(@NonNull final Builder builder)
+	{
+		Check.assume(!builder.isEmpty(), "At least one criteria shall be specified");
+
+		final List<String> sqlConditions = new ArrayList<>();
+		final List<Object> sqlParams = new ArrayList<>();
+
+		//
+		// All single criteria (on different attributes) can be checked with one JSON object
+		final Map<String, Object> singleCriteriaMerged = new LinkedHashMap<>();
+		final List<ImmutableList<SearchIndexCriteria>> anyOfCriteriaToCheck = new ArrayList<>();
+		for (final ImmutableList<SearchIndexCriteria> anyOfCriteria : builder.anyOfCriteriaList)
+		{
+			if (anyOfCriteria.size() == 1 && !singleCriteriaMerged.containsKey(anyOfCriteria.get(0).getAttributeKey()))
+			{
+				final SearchIndexCriteria criteria = anyOfCriteria.get(0);
+				singleCriteriaMerged.put(criteria.getAttributeKey(), criteria.getValue());
+			}
+			else
+			{
+				anyOfCriteriaToCheck.add(anyOfCriteria);
+			}
+		}
+		if (!singleCriteriaMerged.isEmpty())
+		{
+			sqlConditions.add("si.Attributes @> ?::jsonb");
+			sqlParams.add(toJsonString(singleCriteriaMerged));
+		}
+
+		//
+		// Criteria which are matching if any of the values matches (e.g. a value and it's substitutes)
+		for (final ImmutableList<SearchIndexCriteria> anyOfCriteria : anyOfCriteriaToCheck)
+		{
+			final StringBuilder sqlCondition = new StringBuilder("(");
+			for (final SearchIndexCriteria criteria : anyOfCriteria)
+			{
+				if (sqlCondition.length() > 1)
+				{
+					sqlCondition.append(" OR ");
+				}
+				sqlCondition.append("si.Attributes @> ?::jsonb");
+				sqlParams.add(toJsonString(ImmutableMap.of(criteria.getAttributeKey(), criteria.getValue())));
+			}
+			sqlCondition.append(")");
+			sqlConditions.add(sqlCondition.toString());
+		}
+
+		this.sql = I_M_HU.COLUMNNAME_M_HU_ID + " IN (SELECT si.M_HU_ID FROM " + TABLENAME_M_HU_Attribute_SearchIndex + " si"
+				+ " WHERE " + String.join(" AND ", sqlConditions) + ")";
+		this.sqlParams = ImmutableList.copyOf(sqlParams);
+	}
+
+	private static String toJsonString(final Map<String, Object> map)
+	{
+		try
+		{
+			return jsonMapper.writeValueAsString(map);
+		}
+		catch (final JsonProcessingException ex)
+		{
+			throw AdempiereException.wrapIfNeeded(ex);
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + sql + ", params=" + sqlParams + "]";
+	}
+
+	@Override
+	public String getSql()
+	{
+		return sql;
+	}
+
+	@Override
+	public List<Object> getSqlParams(final Properties ctx)
+	{
+		return sqlParams;
+	}
+
+	@Override
+	public boolean accept(final I_M_HU model)
+	{
+		throw new UnsupportedOperationException("Filtering HUs by " + this + " is supported only in SQL");
+	}
+
+	@Value
+	public static final class SearchIndexCriteria
+	{
+		@NonNull
+		String attributeKey;
+		@NonNull
+		Object value;
+	}
+
+	public static final class Builder
+	{
+		/** Each list of criteria matches if any of it's criteria matches */
+		private final List<ImmutableList<SearchIndexCriteria>> anyOfCriteriaList = new ArrayList<>();
+
+		private Builder()
+		{
+		}
+
+		public HUAttributesSearchIndexQueryFilter build()
+		{
+			return new HUAttributesSearchIndexQueryFilter(this);
+		}
+
+		public boolean isEmpty()
+		{
+			return anyOfCriteriaList.isEmpty();
+		}
+
+		/**
+		 * Requires the HU to match any of the given criteria.
+		 */
+		public Builder addAnyOf(@NonNull final Collection<SearchIndexCriteria> criteria)
+		{
+			Check.assumeNotEmpty(criteria, "criteria not empty");
+			anyOfCriteriaList.add(ImmutableList.copyOf(criteria));
+			return this;
+		}
+	}
+}
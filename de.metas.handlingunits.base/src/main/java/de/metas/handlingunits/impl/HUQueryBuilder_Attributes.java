@@ -1,5 +1,6 @@
 package de.metas.handlingunits.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -12,6 +13,7 @@ import org.adempiere.mm.attributes.AttributeId;
 import org.adempiere.mm.attributes.api.IAttributeDAO;
 import org.adempiere.mm.attributes.api.IAttributeSet;
 import org.adempiere.mm.attributes.api.ImmutableAttributeSet;
+import org.adempiere.service.ISysConfigBL;
 import org.compiere.model.I_M_Attribute;
 import org.compiere.model.X_M_Attribute;
 
@@ -20,6 +22,7 @@ import com.google.common.collect.ImmutableList;
 import de.metas.dimension.DimensionSpec;
 import de.metas.dimension.IDimensionspecDAO;
 import de.metas.handlingunits.HUConstants;
+import de.metas.handlingunits.impl.HUAttributesSearchIndexQueryFilter.SearchIndexCriteria;
 import de.metas.handlingunits.model.I_M_HU;
 import de.metas.util.Check;
 import de.metas.util.Services;
@@ -125,12 +128,27 @@ final class HUQueryBuilder_Attributes
 		}
 
 		final ICompositeQueryFilter<I_M_HU> filters = queryBL.createCompositeQueryFilter(I_M_HU.class);
+		final boolean useSearchIndex = isUseSearchIndex();
+		final HUAttributesSearchIndexQueryFilter.Builder searchIndexFilter = HUAttributesSearchIndexQueryFilter.builder();
 
 		// Iterate attribute filters and add a restriction for each of them
 		// because each of them needs to be individually valid
 		for (final HUAttributeQueryFilterVO attributeFilterVO : onlyAttributes.values())
 		{
-			attributeFilterVO.appendQueryFilterTo(filters);
+			final List<SearchIndexCriteria> searchIndexCriteria = useSearchIndex ? attributeFilterVO.toSearchIndexCriteriaOrNull() : null;
+			if (searchIndexCriteria != null)
+			{
+				searchIndexFilter.addAnyOf(searchIndexCriteria);
+			}
+			else
+			{
+				attributeFilterVO.appendQueryFilterTo(filters);
+			}
+		}
+
+		if (!searchIndexFilter.isEmpty())
+		{
+			filters.addFilter(searchIndexFilter.build());
 		}
 
 		return filters;
@@ -154,9 +172,19 @@ final class HUQueryBuilder_Attributes
 			barcodeFilter.setJoinOr();
 			barcodeFilter.addEqualsFilter(I_M_HU.COLUMN_Value, barcode.trim());
 
-			for (final HUAttributeQueryFilterVO attributeFilterVO : barcodeQueryFilterVOs)
+			final List<SearchIndexCriteria> searchIndexCriteria = isUseSearchIndex() ? toSearchIndexCriteriaOrNull(barcodeQueryFilterVOs) : null;
+			if (searchIndexCriteria != null)
 			{
-				attributeFilterVO.appendQueryFilterTo(barcodeFilter);
+				barcodeFilter.addFilter(HUAttributesSearchIndexQueryFilter.builder()
+						.addAnyOf(searchIndexCriteria)
+						.build());
+			}
+			else
+			{
+				for (final HUAttributeQueryFilterVO attributeFilterVO : barcodeQueryFilterVOs)
+				{
+					attributeFilterVO.appendQueryFilterTo(barcodeFilter);
+				}
 			}
 
 			filters.addFilter(barcodeFilter);
@@ -170,6 +198,31 @@ final class HUQueryBuilder_Attributes
 		return filters;
 	}
 
+	private static List<SearchIndexCriteria> toSearchIndexCriteriaOrNull(final Collection<HUAttributeQueryFilterVO> attributeFilterVOs)
+	{
+		final List<SearchIndexCriteria> result = new ArrayList<>();
+		for (final HUAttributeQueryFilterVO attributeFilterVO : attributeFilterVOs)
+		{
+			final List<SearchIndexCriteria> searchIndexCriteria = attributeFilterVO.toSearchIndexCriteriaOrNull();
+			if (searchIndexCriteria == null)
+			{
+				return null;
+			}
+			result.addAll(searchIndexCriteria);
+		}
+		return !result.isEmpty() ? result : null;
+	}
+
+	/**
+	 * @return true if the attribute values shall be searched using <code>M_HU_Attribute_SearchIndex</code>
+	 * @see HUAttributesSearchIndexQueryFilter
+	 */
+	private boolean isUseSearchIndex()
+	{
+		return allowSql
+				&& Services.get(ISysConfigBL.class).getBooleanValue(HUAttributesSearchIndexQueryFilter.SYSCONFIG_UseSearchIndex, false);
+	}
+
 	public String getAttributesSummary()
 	{
 		if (onlyAttributes.isEmpty())
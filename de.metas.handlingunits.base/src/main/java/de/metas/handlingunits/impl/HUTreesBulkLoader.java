@@ -0,0 +1,279 @@
+package de.metas.handlingunits.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.adempiere.ad.dao.IQueryBL;
+import org.adempiere.ad.trx.api.ITrxManager;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.handlingunits.HuId;
+import de.metas.handlingunits.IHUAndItemsDAO;
+import de.metas.handlingunits.IHUContext;
+import de.metas.handlingunits.attribute.HUAndPIAttributes;
+import de.metas.handlingunits.attribute.IHUAttributesDAO;
+import de.metas.handlingunits.attribute.IHUPIAttributesDAO;
+import de.metas.handlingunits.attribute.PIAttributes;
+import de.metas.handlingunits.attribute.impl.HUAttributesBySeqNoComparator;
+import de.metas.handlingunits.model.I_M_HU;
+import de.metas.handlingunits.model.I_M_HU_Attribute;
+import de.metas.handlingunits.model.I_M_HU_Item;
+import de.metas.handlingunits.model.I_M_HU_Item_Storage;
+import de.metas.handlingunits.model.I_M_HU_PI_Attribute;
+import de.metas.handlingunits.model.I_M_HU_Storage;
+import de.metas.handlingunits.storage.IHUStorageDAO;
+import de.metas.util.Services;
+import lombok.Builder;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * de.metas.handlingunits.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Loads whole HU trees (HUs, items, included HUs, storages and attributes) using a fixed number of queries per tree level
+ * and primes the caches of the HU DAOs, so that a following walk of those trees (e.g. by an {@link de.metas.handlingunits.IHUIterator}) won't hit the database anymore.
+ * <p>
+ * Note that the caches are attached to the loaded model instances, so the caller shall work with the returned HUs.
+ *
+ * @see de.metas.handlingunits.IHandlingUnitsDAO#retrieveAndPrefetchHUTrees(IHUContext, Collection)
+ */
+/* package */ final class HUTreesBulkLoader
+{
+	// services
+	private final transient IQueryBL queryBL = Services.get(IQueryBL.class);
+	private final transient ITrxManager trxManager = Services.get(ITrxManager.class);
+	private final transient IHUPIAttributesDAO piAttributesDAO = Services.get(IHUPIAttributesDAO.class);
+
+	private final IHUAndItemsDAO huAndItemsDAO;
+	private final IHUContext huContext;
+
+	@Builder
+	private HUTreesBulkLoader(
+			@NonNull final IHUAndItemsDAO huAndItemsDAO,
+			@NonNull final IHUContext huContext)
+	{
+		this.huAndItemsDAO = huAndItemsDAO;
+		this.huContext = huContext;
+	}
+
+	/**
+	 * @return top level HUs, in the same order as the given IDs
+	 */
+	public List<I_M_HU> load(@NonNull final Collection<HuId> topLevelHuIds)
+	{
+		if (topLevelHuIds.isEmpty())
+		{
+			return ImmutableList.of();
+		}
+
+		final List<I_M_HU> topLevelHUs = retrieveHUsByIds(topLevelHuIds);
+
+		//
+		// Load the tree structure, level by level
+		final Map<Integer, I_M_HU> allHUsById = new LinkedHashMap<>();
+		final List<I_M_HU_Item> allItems = new ArrayList<>();
+		List<I_M_HU> currentLevelHUs = topLevelHUs;
+		while (!currentLevelHUs.isEmpty())
+		{
+			currentLevelHUs.forEach(hu -> allHUsById.put(hu.getM_HU_ID(), hu));
+
+			final List<I_M_HU_Item> currentLevelItems = loadItems(currentLevelHUs);
+			allItems.addAll(currentLevelItems);
+
+			currentLevelHUs = loadIncludedHUs(currentLevelItems, allHUsById.keySet());
+		}
+
+		//
+		// Load storages and attributes.
+		// Those DAOs are caching in the thread inherited transaction, so there is nothing to prime if we are running out of transaction.
+		if (!trxManager.isNull(trxManager.getThreadInheritedTrxName()))
+		{
+			final List<I_M_HU> allHUs = ImmutableList.copyOf(allHUsById.values());
+			loadStorages(allHUs);
+			loadItemStorages(allItems);
+			loadAttributes(allHUs);
+		}
+
+		return topLevelHUs;
+	}
+
+	private List<I_M_HU> retrieveHUsByIds(final Collection<HuId> huIds)
+	{
+		final Set<Integer> huRepoIds = huIds.stream().map(HuId::getRepoId).collect(ImmutableSet.toImmutableSet());
+		final ImmutableMap<Integer, I_M_HU> husById = queryBL.createQueryBuilder(I_M_HU.class, huContext)
+				.addInArrayFilter(I_M_HU.COLUMNNAME_M_HU_ID, huRepoIds)
+				.create()
+				.stream()
+				.collect(ImmutableMap.toImmutableMap(I_M_HU::getM_HU_ID, Function.identity()));
+
+		return huRepoIds.stream()
+				.map(husById::get)
+				.filter(hu -> hu != null)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private List<I_M_HU_Item> loadItems(final List<I_M_HU> hus)
+	{
+		final ImmutableListMultimap<Integer, I_M_HU_Item> itemsByHUId = queryBL.createQueryBuilder(I_M_HU_Item.class, huContext)
+				.addInArrayFilter(I_M_HU_Item.COLUMNNAME_M_HU_ID, extractHUIds(hus))
+				.addOnlyActiveRecordsFilter()
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(I_M_HU_Item::getM_HU_ID, Function.identity()));
+
+		for (final I_M_HU hu : hus)
+		{
+			final List<I_M_HU_Item> items = itemsByHUId.get(hu.getM_HU_ID());
+			items.forEach(item -> item.setM_HU(hu));
+			huAndItemsDAO.primeItemsCache(hu, items);
+		}
+
+		return ImmutableList.copyOf(itemsByHUId.values());
+	}
+
+	private List<I_M_HU> loadIncludedHUs(final List<I_M_HU_Item> items, final Set<Integer> alreadyLoadedHUIds)
+	{
+		if (items.isEmpty())
+		{
+			return ImmutableList.of();
+		}
+
+		// NOTE: we are also retrieving the inactive HUs, same as IncludedHUsLocalCache does
+		final ImmutableListMultimap<Integer, I_M_HU> includedHUsByParentItemId = queryBL.createQueryBuilder(I_M_HU.class, huContext)
+				.addInArrayFilter(I_M_HU.COLUMNNAME_M_HU_Item_Parent_ID, extractItemIds(items))
+				.orderBy(I_M_HU.COLUMNNAME_M_HU_ID)
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(I_M_HU::getM_HU_Item_Parent_ID, Function.identity()));
+
+		final List<I_M_HU> includedHUsToExpand = new ArrayList<>();
+		for (final I_M_HU_Item item : items)
+		{
+			final List<I_M_HU> includedHUs = includedHUsByParentItemId.get(item.getM_HU_Item_ID());
+			includedHUs.forEach(includedHU -> includedHU.setM_HU_Item_Parent(item));
+			huAndItemsDAO.primeIncludedHUsCache(item, includedHUs);
+
+			includedHUs.stream()
+					.filter(includedHU -> !alreadyLoadedHUIds.contains(includedHU.getM_HU_ID())) // guard against corrupted data
+					.forEach(includedHUsToExpand::add);
+		}
+
+		return includedHUsToExpand;
+	}
+
+	private void loadStorages(final List<I_M_HU> hus)
+	{
+		final ImmutableListMultimap<Integer, I_M_HU_Storage> storagesByHUId = queryBL.createQueryBuilder(I_M_HU_Storage.class, huContext)
+				.addInArrayFilter(I_M_HU_Storage.COLUMNNAME_M_HU_ID, extractHUIds(hus))
+				.addOnlyActiveRecordsFilter()
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(I_M_HU_Storage::getM_HU_ID, Function.identity()));
+
+		final IHUStorageDAO huStorageDAO = huContext.getHUStorageFactory().getHUStorageDAO();
+		for (final I_M_HU hu : hus)
+		{
+			huStorageDAO.primeStorages(hu, storagesByHUId.get(hu.getM_HU_ID()));
+		}
+	}
+
+	private void loadItemStorages(final List<I_M_HU_Item> items)
+	{
+		if (items.isEmpty())
+		{
+			return;
+		}
+
+		final ImmutableListMultimap<Integer, I_M_HU_Item_Storage> storagesByItemId = queryBL.createQueryBuilder(I_M_HU_Item_Storage.class, huContext)
+				.addInArrayFilter(I_M_HU_Item_Storage.COLUMNNAME_M_HU_Item_ID, extractItemIds(items))
+				.addOnlyActiveRecordsFilter()
+				.orderBy(I_M_HU_Item_Storage.COLUMNNAME_M_HU_Item_Storage_ID) // predictive order
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(I_M_HU_Item_Storage::getM_HU_Item_ID, Function.identity()));
+
+		final IHUStorageDAO huStorageDAO = huContext.getHUStorageFactory().getHUStorageDAO();
+		for (final I_M_HU_Item item : items)
+		{
+			huStorageDAO.primeItemStorages(item, storagesByItemId.get(item.getM_HU_Item_ID()));
+		}
+	}
+
+	private void loadAttributes(final List<I_M_HU> hus)
+	{
+		final ImmutableListMultimap<Integer, I_M_HU_Attribute> attributesByHUId = queryBL.createQueryBuilder(I_M_HU_Attribute.class, huContext)
+				.addInArrayFilter(I_M_HU_Attribute.COLUMNNAME_M_HU_ID, extractHUIds(hus))
+				.addOnlyActiveRecordsFilter()
+				.create()
+				.stream()
+				.collect(ImmutableListMultimap.toImmutableListMultimap(I_M_HU_Attribute::getM_HU_ID, Function.identity()));
+
+		//
+		// Load all PI attributes in one go
+		final ImmutableSet<Integer> allPIAttributeIds = attributesByHUId.values()
+				.stream()
+				.map(I_M_HU_Attribute::getM_HU_PI_Attribute_ID)
+				.collect(ImmutableSet.toImmutableSet());
+		final Map<Integer, I_M_HU_PI_Attribute> piAttributesById = new LinkedHashMap<>();
+		if (!allPIAttributeIds.isEmpty())
+		{
+			piAttributesDAO.retrievePIAttributesByIds(allPIAttributeIds)
+					.forEach(piAttribute -> piAttributesById.put(piAttribute.getM_HU_PI_Attribute_ID(), piAttribute));
+		}
+
+		final IHUAttributesDAO huAttributesDAO = huContext.getHUAttributeStorageFactory().getHUAttributesDAO();
+		for (final I_M_HU hu : hus)
+		{
+			final List<I_M_HU_Attribute> huAttributes = attributesByHUId.get(hu.getM_HU_ID());
+			huAttributes.forEach(huAttribute -> huAttribute.setM_HU(hu));
+
+			final PIAttributes piAttributes = PIAttributes.of(huAttributes.stream()
+					.map(I_M_HU_Attribute::getM_HU_PI_Attribute_ID)
+					.distinct()
+					.map(piAttributesById::get)
+					.filter(piAttribute -> piAttribute != null)
+					.collect(ImmutableList.toImmutableList()));
+			final ImmutableList<I_M_HU_Attribute> huAttributesSorted = HUAttributesBySeqNoComparator.of(piAttributes).sortAndCopy(huAttributes);
+
+			huAttributesDAO.primeAttributes(hu, HUAndPIAttributes.of(huAttributesSorted, piAttributes));
+		}
+	}
+
+	private static Set<Integer> extractHUIds(final Collection<I_M_HU> hus)
+	{
+		return hus.stream().map(I_M_HU::getM_HU_ID).collect(ImmutableSet.toImmutableSet());
+	}
+
+	private static Set<Integer> extractItemIds(final Collection<I_M_HU_Item> items)
+	{
+		return items.stream().map(I_M_HU_Item::getM_HU_Item_ID).collect(ImmutableSet.toImmutableSet());
+	}
+}
@@ -139,6 +139,16 @@ public class HandlingUnitsDAO implements IHandlingUnitsDAO
 		return loadByRepoIdAwares(ImmutableSet.copyOf(huIds), I_M_HU.class);
 	}
 
+	@Override
+	public List<I_M_HU> retrieveAndPrefetchHUTrees(@NonNull final IHUContext huContext, @NonNull final Collection<HuId> topLevelHuIds)
+	{
+		return HUTreesBulkLoader.builder()
+				.huAndItemsDAO(getHUAndItemsDAO())
+				.huContext(huContext)
+				.build()
+				.load(topLevelHuIds);
+	}
+
 	@Override
 	public List<I_M_HU> getByIdsOutOfTrx(@NonNull final Collection<HuId> huIds)
 	{
@@ -11,6 +11,7 @@ import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.warehouse.LocatorId;
 import org.compiere.model.I_C_BPartner;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import de.metas.bpartner.BPartnerLocationId;
@@ -19,6 +20,7 @@ import de.metas.handlingunits.HuId;
 import de.metas.handlingunits.HuPackingInstructionsId;
 import de.metas.handlingunits.IHUContext;
 import de.metas.handlingunits.IHUContextFactory;
+import de.metas.handlingunits.IHandlingUnitsDAO;
 import de.metas.handlingunits.allocation.IAllocationRequest;
 import de.metas.handlingunits.allocation.IAllocationSource;
 import de.metas.handlingunits.allocation.IHUProducerAllocationDestination;
@@ -26,6 +28,7 @@ import de.metas.handlingunits.allocation.impl.AllocationUtils;
 import de.metas.handlingunits.allocation.impl.HUListAllocationSourceDestination;
 import de.metas.handlingunits.allocation.impl.HULoader;
 import de.metas.handlingunits.allocation.impl.HUProducerDestination;
+import de.metas.handlingunits.model.I_M_HU;
 import de.metas.handlingunits.model.X_M_HU;
 import de.metas.handlingunits.picking.PickingCandidate;
 import de.metas.handlingunits.picking.PickingCandidateId;
@@ -69,6 +72,7 @@ public class ProcessPickingCandidatesCommand
 	private final IBPartnerDAO bpartnersRepo = Services.get(IBPartnerDAO.class);
 	private final IShipmentSchedulePA shipmentSchedulesRepo = Services.get(IShipmentSchedulePA.class);
 	private final IHUContextFactory huContextFactory = Services.get(IHUContextFactory.class);
+	private final IHandlingUnitsDAO handlingUnitsDAO = Services.get(IHandlingUnitsDAO.class);
 	private final IShipmentScheduleBL shipmentScheduleBL = Services.get(IShipmentScheduleBL.class);
 	private final IHUShipmentScheduleBL huShipmentScheduleBL = Services.get(IHUShipmentScheduleBL.class);
 	private final ITrxManager trxManager = Services.get(ITrxManager.class);
@@ -133,7 +137,7 @@ public class ProcessPickingCandidatesCommand
 		}
 		else
 		{
-			final IAllocationSource pickFromSource = HUListAllocationSourceDestination.ofHUId(pc.getPickFromHuId());
+			final IAllocationSource pickFromSource = createPickFromSource(pc);
 			final IHUProducerAllocationDestination packToDestination = getPackToDestination(pc);
 
 			HULoader.of(pickFromSource, packToDestination)
@@ -152,6 +156,22 @@ public class ProcessPickingCandidatesCommand
 		pickingCandidateRepository.save(pc);
 	}
 
+	/**
+	 * Loads the pick-from HU together with its whole tree in a handful of queries,
+	 * because unloading a full pallet is walking all its TUs, storages and attributes.
+	 */
+	private IAllocationSource createPickFromSource(final PickingCandidate pc)
+	{
+		final IHUContext huContext = huContextFactory.createMutableHUContextForProcessing();
+		final List<I_M_HU> pickFromHUs = handlingUnitsDAO.retrieveAndPrefetchHUTrees(huContext, ImmutableList.of(pc.getPickFromHuId()));
+		if (pickFromHUs.isEmpty())
+		{
+			throw new AdempiereException("No pick-from HU found for " + pc);
+		}
+
+		return HUListAllocationSourceDestination.of(pickFromHUs.get(0));
+	}
+
 	private IAllocationRequest createPackToAllocationRequest(final PickingCandidate pc)
 	{
 		final IHUContext huContext = huContextFactory.createMutableHUContextForProcessing();
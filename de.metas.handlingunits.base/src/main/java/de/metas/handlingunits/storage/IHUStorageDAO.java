@@ -67,6 +67,18 @@ public interface IHUStorageDAO
 
 	I_M_HU_Item_Storage retrieveItemStorage(I_M_HU_Item item, ProductId productId);
 
+	/**
+	 * Sets the given, already loaded storages of the given HU, unless they were already loaded.
+	 * Implementations which are not caching anything will just ignore this call.
+	 */
+	void primeStorages(I_M_HU hu, List<I_M_HU_Storage> huStorages);
+
+	/**
+	 * Sets the given, already loaded storages of the given HU item, unless they were already loaded.
+	 * Implementations which are not caching anything will just ignore this call.
+	 */
+	void primeItemStorages(I_M_HU_Item item, List<I_M_HU_Item_Storage> huItemStorages);
+
 	void save(I_M_HU_Item item);
 
 	/**
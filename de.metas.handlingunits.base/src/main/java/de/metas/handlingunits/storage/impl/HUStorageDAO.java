@@ -143,6 +143,18 @@ public class HUStorageDAO extends AbstractHUStorageDAO
 		InterfaceWrapperHelper.save(storageLine);
 	}
 
+	@Override
+	public void primeStorages(final I_M_HU hu, final List<I_M_HU_Storage> huStorages)
+	{
+		// nothing to prime, we are not caching
+	}
+
+	@Override
+	public void primeItemStorages(final I_M_HU_Item item, final List<I_M_HU_Item_Storage> huItemStorages)
+	{
+		// nothing to prime, we are not caching
+	}
+
 	@Override
 	public void save(final I_M_HU_Item item)
 	{
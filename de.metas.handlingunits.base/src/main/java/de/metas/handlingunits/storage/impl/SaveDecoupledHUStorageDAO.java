@@ -260,6 +260,48 @@ public class SaveDecoupledHUStorageDAO extends AbstractHUStorageDAO
 		// nothing
 	}
 
+	@Override
+	public void primeStorages(@NonNull final I_M_HU hu, @NonNull final List<I_M_HU_Storage> huStoragesList)
+	{
+		final Object huKey = mkHUKey(hu);
+		if (_hu2storage.containsKey(huKey))
+		{
+			return;
+		}
+
+		final Map<Object, I_M_HU_Storage> huStorages = new HashMap<>(huStoragesList.size());
+		for (final I_M_HU_Storage huStorage : huStoragesList)
+		{
+			huStorage.setM_HU(hu);
+			final Object huStorageKey = mkHUStorageKey(huStorage);
+			huStorages.put(huStorageKey, huStorage);
+			setReadonly(huStorage);
+		}
+
+		_hu2storage.put(huKey, huStorages);
+	}
+
+	@Override
+	public void primeItemStorages(@NonNull final I_M_HU_Item item, @NonNull final List<I_M_HU_Item_Storage> huItemStoragesList)
+	{
+		final Object itemKey = mkHUItemKey(item);
+		if (_item2itemStorage.containsKey(itemKey))
+		{
+			return;
+		}
+
+		final Map<Object, I_M_HU_Item_Storage> huItemStorages = new HashMap<>(huItemStoragesList.size());
+		for (final I_M_HU_Item_Storage huItemStorage : huItemStoragesList)
+		{
+			huItemStorage.setM_HU_Item(item);
+			final Object huItemStorageKey = mkHUItemStorageKey(huItemStorage);
+			huItemStorages.put(huItemStorageKey, huItemStorage);
+			setReadonly(huItemStorage);
+		}
+
+		_item2itemStorage.put(itemKey, huItemStorages);
+	}
+
 	@Override
 	public I_C_UOM getC_UOM(final I_M_HU_Storage storage)
 	{
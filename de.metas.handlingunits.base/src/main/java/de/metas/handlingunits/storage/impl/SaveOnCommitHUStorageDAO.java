@@ -157,6 +157,20 @@ public class SaveOnCommitHUStorageDAO implements IHUStorageDAO
 		return delegate.retrieveItemStorage(item, productId);
 	}
 
+	@Override
+	public void primeStorages(final I_M_HU hu, final List<I_M_HU_Storage> huStorages)
+	{
+		final SaveDecoupledHUStorageDAO delegate = getDelegate(hu);
+		delegate.primeStorages(hu, huStorages);
+	}
+
+	@Override
+	public void primeItemStorages(final I_M_HU_Item item, final List<I_M_HU_Item_Storage> huItemStorages)
+	{
+		final SaveDecoupledHUStorageDAO delegate = getDelegate(item);
+		delegate.primeItemStorages(item, huItemStorages);
+	}
+
 	@Override
 	public void save(final I_M_HU_Item item)
 	{
@@ -0,0 +1,46 @@
+CREATE OR REPLACE FUNCTION M_HU_Attribute_SearchIndex_Update_TGFN()
+  RETURNS trigger AS
+$BODY$
+DECLARE
+	v_AttributeValueType char(1);
+	v_Value jsonb;
+BEGIN
+	--
+	-- Remove the old attribute value
+	IF (TG_OP = 'UPDATE' OR TG_OP = 'DELETE')
+	THEN
+		UPDATE M_HU_Attribute_SearchIndex si
+		SET Attributes = si.Attributes - OLD.M_Attribute_ID::text
+		WHERE si.M_HU_ID = OLD.M_HU_ID;
+	END IF;
+
+	--
+	-- Add the new attribute value (if any)
+	IF (TG_OP = 'INSERT' OR TG_OP = 'UPDATE')
+	THEN
+		IF (NEW.IsActive = 'Y')
+		THEN
+			SELECT a.AttributeValueType INTO v_AttributeValueType FROM M_Attribute a WHERE a.M_Attribute_ID = NEW.M_Attribute_ID;
+
+			-- NOTE: keep in sync with HUAttributeQueryFilterVO and HUAttributesSearchIndexQueryFilter
+			v_Value := (CASE
+				WHEN v_AttributeValueType = 'N' THEN to_jsonb(NEW.ValueNumber)
+				WHEN v_AttributeValueType = 'D' THEN to_jsonb(to_char(NEW.ValueDate, 'YYYY-MM-DD HH24:MI:SS'))
+				ELSE to_jsonb(NEW.Value)
+			END);
+		END IF;
+
+		IF (v_Value IS NOT NULL)
+		THEN
+			INSERT INTO M_HU_Attribute_SearchIndex (M_HU_ID, Attributes)
+			VALUES (NEW.M_HU_ID, jsonb_build_object(NEW.M_Attribute_ID::text, v_Value))
+			ON CONFLICT (M_HU_ID) DO UPDATE SET Attributes = M_HU_Attribute_SearchIndex.Attributes || EXCLUDED.Attributes;
+		END IF;
+	END IF;
+
+	RETURN NULL;
+END; $BODY$
+  LANGUAGE plpgsql VOLATILE
+  COST 100;
+
+COMMENT ON FUNCTION M_HU_Attribute_SearchIndex_Update_TGFN() IS 'Keeps M_HU_Attribute_SearchIndex up to date with the active M_HU_Attribute values';
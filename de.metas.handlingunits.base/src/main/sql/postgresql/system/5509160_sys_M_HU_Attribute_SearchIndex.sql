@@ -0,0 +1,93 @@
+--
+-- Denormalized HU attributes search index: one row per HU, containing the active attribute values as {"M_Attribute_ID": value}.
+-- Used by HUQueryBuilder_Attributes, see SysConfig de.metas.handlingunits.impl.HUQueryBuilder_Attributes.UseSearchIndex
+--
+CREATE TABLE IF NOT EXISTS public.M_HU_Attribute_SearchIndex
+(
+	M_HU_ID NUMERIC(10) NOT NULL,
+	Attributes JSONB NOT NULL DEFAULT '{}'::jsonb,
+	CONSTRAINT M_HU_Attribute_SearchIndex_Key PRIMARY KEY (M_HU_ID)
+);
+
+CREATE INDEX IF NOT EXISTS m_hu_attribute_searchindex_attributes
+  ON public.M_HU_Attribute_SearchIndex
+  USING gin
+  (Attributes jsonb_path_ops);
+COMMENT ON INDEX m_hu_attribute_searchindex_attributes IS 'Supports the Attributes @> ''{...}'' lookups of HUAttributesSearchIndexQueryFilter';
+
+--
+-- Trigger function
+--
+CREATE OR REPLACE FUNCTION M_HU_Attribute_SearchIndex_Update_TGFN()
+  RETURNS trigger AS
+$BODY$
+DECLARE
+	v_AttributeValueType char(1);
+	v_Value jsonb;
+BEGIN
+	--
+	-- Remove the old attribute value
+	IF (TG_OP = 'UPDATE' OR TG_OP = 'DELETE')
+	THEN
+		UPDATE M_HU_Attribute_SearchIndex si
+		SET Attributes = si.Attributes - OLD.M_Attribute_ID::text
+		WHERE si.M_HU_ID = OLD.M_HU_ID;
+	END IF;
+
+	--
+	-- Add the new attribute value (if any)
+	IF (TG_OP = 'INSERT' OR TG_OP = 'UPDATE')
+	THEN
+		IF (NEW.IsActive = 'Y')
+		THEN
+			SELECT a.AttributeValueType INTO v_AttributeValueType FROM M_Attribute a WHERE a.M_Attribute_ID = NEW.M_Attribute_ID;
+
+			-- NOTE: keep in sync with HUAttributeQueryFilterVO and HUAttributesSearchIndexQueryFilter
+			v_Value := (CASE
+				WHEN v_AttributeValueType = 'N' THEN to_jsonb(NEW.ValueNumber)
+				WHEN v_AttributeValueType = 'D' THEN to_jsonb(to_char(NEW.ValueDate, 'YYYY-MM-DD HH24:MI:SS'))
+				ELSE to_jsonb(NEW.Value)
+			END);
+		END IF;
+
+		IF (v_Value IS NOT NULL)
+		THEN
+			INSERT INTO M_HU_Attribute_SearchIndex (M_HU_ID, Attributes)
+			VALUES (NEW.M_HU_ID, jsonb_build_object(NEW.M_Attribute_ID::text, v_Value))
+			ON CONFLICT (M_HU_ID) DO UPDATE SET Attributes = M_HU_Attribute_SearchIndex.Attributes || EXCLUDED.Attributes;
+		END IF;
+	END IF;
+
+	RETURN NULL;
+END; $BODY$
+  LANGUAGE plpgsql VOLATILE
+  COST 100;
+
+COMMENT ON FUNCTION M_HU_Attribute_SearchIndex_Update_TGFN() IS 'Keeps M_HU_Attribute_SearchIndex up to date with the active M_HU_Attribute values';
+
+DROP TRIGGER IF EXISTS M_HU_Attribute_SearchIndex_Update_TG ON M_HU_Attribute;
+CREATE TRIGGER M_HU_Attribute_SearchIndex_Update_TG
+  AFTER INSERT OR DELETE OR UPDATE OF M_HU_ID, M_Attribute_ID, Value, ValueNumber, ValueDate, IsActive
+  ON M_HU_Attribute
+  FOR EACH ROW
+  EXECUTE PROCEDURE M_HU_Attribute_SearchIndex_Update_TGFN();
+
+--
+-- Initial fill
+--
+INSERT INTO M_HU_Attribute_SearchIndex (M_HU_ID, Attributes)
+SELECT hua.M_HU_ID, jsonb_object_agg(hua.M_Attribute_ID::text, hua.SearchValue)
+FROM (
+	SELECT hua.M_HU_ID, hua.M_Attribute_ID,
+		(CASE
+			WHEN a.AttributeValueType = 'N' THEN to_jsonb(hua.ValueNumber)
+			WHEN a.AttributeValueType = 'D' THEN to_jsonb(to_char(hua.ValueDate, 'YYYY-MM-DD HH24:MI:SS'))
+			ELSE to_jsonb(hua.Value)
+		END) AS SearchValue
+	FROM M_HU_Attribute hua
+	INNER JOIN M_Attribute a ON a.M_Attribute_ID = hua.M_Attribute_ID
+	WHERE hua.IsActive = 'Y'
+) hua
+WHERE hua.SearchValue IS NOT NULL
+GROUP BY hua.M_HU_ID
+ON CONFLICT (M_HU_ID) DO UPDATE SET Attributes = EXCLUDED.Attributes;
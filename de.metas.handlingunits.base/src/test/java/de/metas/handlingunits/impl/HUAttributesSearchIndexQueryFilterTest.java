@@ -0,0 +1,75 @@
+package de.metas.handlingunits.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.adempiere.mm.attributes.AttributeId;
+import org.compiere.model.X_M_Attribute;
+import org.compiere.util.TimeUtil;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/*
+ * #%L
+ * de.metas.handlingunits.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class HUAttributesSearchIndexQueryFilterTest
+{
+	@Test
+	public void singleCriteriaOnDifferentAttributesAreMerged()
+	{
+		final HUAttributesSearchIndexQueryFilter filter = HUAttributesSearchIndexQueryFilter.builder()
+				.addAnyOf(ImmutableList.of(HUAttributesSearchIndexQueryFilter.criteria(AttributeId.ofRepoId(10), "LOT-1")))
+				.addAnyOf(ImmutableList.of(HUAttributesSearchIndexQueryFilter.criteria(AttributeId.ofRepoId(20), new BigDecimal("12.5"))))
+				.build();
+
+		assertThat(filter.getSql()).isEqualTo("M_HU_ID IN (SELECT si.M_HU_ID FROM M_HU_Attribute_SearchIndex si WHERE si.Attributes @> ?::jsonb)");
+		assertThat(filter.getSqlParams(null)).containsExactly("{\"10\":\"LOT-1\",\"20\":12.5}");
+	}
+
+	@Test
+	public void anyOfCriteriaAreCheckedWithOr()
+	{
+		final HUAttributesSearchIndexQueryFilter filter = HUAttributesSearchIndexQueryFilter.builder()
+				.addAnyOf(ImmutableList.of(HUAttributesSearchIndexQueryFilter.criteria(AttributeId.ofRepoId(10), "LOT-1")))
+				.addAnyOf(ImmutableList.of(
+						HUAttributesSearchIndexQueryFilter.criteria(AttributeId.ofRepoId(30), "A"),
+						HUAttributesSearchIndexQueryFilter.criteria(AttributeId.ofRepoId(30), "B")))
+				.build();
+
+		assertThat(filter.getSql()).isEqualTo("M_HU_ID IN (SELECT si.M_HU_ID FROM M_HU_Attribute_SearchIndex si"
+				+ " WHERE si.Attributes @> ?::jsonb AND (si.Attributes @> ?::jsonb OR si.Attributes @> ?::jsonb))");
+		assertThat(filter.getSqlParams(null)).containsExactly("{\"10\":\"LOT-1\"}", "{\"30\":\"A\"}", "{\"30\":\"B\"}");
+	}
+
+	@Test
+	public void toSearchIndexValueOrNull()
+	{
+		assertThat(HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(X_M_Attribute.ATTRIBUTEVALUETYPE_StringMax40, "abc")).isEqualTo("abc");
+		assertThat(HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(X_M_Attribute.ATTRIBUTEVALUETYPE_StringMax40, 12)).isNull();
+		assertThat(HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(X_M_Attribute.ATTRIBUTEVALUETYPE_Number, BigDecimal.TEN)).isEqualTo(BigDecimal.TEN);
+		assertThat(HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(X_M_Attribute.ATTRIBUTEVALUETYPE_Number, "10")).isNull();
+		assertThat(HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(X_M_Attribute.ATTRIBUTEVALUETYPE_Date, TimeUtil.getDay(2018, 11, 5))).isEqualTo("2018-11-05 00:00:00");
+		assertThat(HUAttributesSearchIndexQueryFilter.toSearchIndexValueOrNull(X_M_Attribute.ATTRIBUTEVALUETYPE_Date, null)).isNull();
+	}
+}
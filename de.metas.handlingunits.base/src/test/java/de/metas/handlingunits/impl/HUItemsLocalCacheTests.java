@@ -2,6 +2,7 @@ package de.metas.handlingunits.impl;
 
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 import java.util.List;
@@ -11,6 +12,8 @@ import org.adempiere.test.AdempiereTestHelper;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 import de.metas.handlingunits.model.I_M_HU;
 import de.metas.handlingunits.model.I_M_HU_Item;
 import de.metas.handlingunits.model.X_M_HU_Item;
@@ -92,4 +95,34 @@ public class HUItemsLocalCacheTests
 		assertThat(items.get(4).getM_HU_Item_ID(), greaterThan(items.get(3).getM_HU_Item_ID()));
 	}
 
+	@Test
+	public void testSetItemsIfStaled()
+	{
+		final I_M_HU hu = InterfaceWrapperHelper.newInstance(I_M_HU.class);
+		InterfaceWrapperHelper.save(hu);
+
+		final I_M_HU_Item item1 = InterfaceWrapperHelper.newInstance(I_M_HU_Item.class);
+		item1.setItemType(X_M_HU_Item.ITEMTYPE_PackingMaterial);
+		item1.setM_HU(hu);
+		InterfaceWrapperHelper.save(item1);
+
+		final I_M_HU_Item item2 = InterfaceWrapperHelper.newInstance(I_M_HU_Item.class);
+		item2.setItemType(X_M_HU_Item.ITEMTYPE_Material);
+		item2.setM_HU(hu);
+		InterfaceWrapperHelper.save(item2);
+
+		final HUItemsLocalCache cache = HUItemsLocalCache.getCreate(hu);
+		cache.setItemsIfStaled(ImmutableList.of(item1, item2));
+
+		// expect the primed instances, sorted
+		final List<I_M_HU_Item> items = cache.getItems();
+		assertThat(items.size(), is(2));
+		assertThat(items.get(0), sameInstance(item2));
+		assertThat(items.get(1), sameInstance(item1));
+
+		// expect already loaded items to be kept
+		cache.setItemsIfStaled(ImmutableList.of());
+		assertThat(cache.getItems().size(), is(2));
+	}
+
 }
@@ -0,0 +1,165 @@
+package de.metas.handlingunits.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.wrapper.POJOLookupMap;
+import org.adempiere.util.lang.IMutable;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.handlingunits.HUIteratorListenerAdapter;
+import de.metas.handlingunits.HuId;
+import de.metas.handlingunits.IHUContext;
+import de.metas.handlingunits.IHandlingUnitsDAO;
+import de.metas.handlingunits.allocation.transfer.impl.LUTUProducerDestinationTestSupport;
+import de.metas.handlingunits.model.I_M_HU;
+import de.metas.handlingunits.model.I_M_HU_Attribute;
+import de.metas.handlingunits.model.I_M_HU_Item;
+import de.metas.handlingunits.model.I_M_HU_Item_Storage;
+import de.metas.handlingunits.model.I_M_HU_Storage;
+import de.metas.handlingunits.storage.IHUItemStorage;
+import de.metas.util.Services;
+
+/*
+ * #%L
+ * de.metas.handlingunits.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class HUTreesBulkLoaderTest
+{
+	private static final ImmutableList<String> HU_TREE_TABLE_NAMES = ImmutableList.of(
+			I_M_HU.Table_Name,
+			I_M_HU_Item.Table_Name,
+			I_M_HU_Storage.Table_Name,
+			I_M_HU_Item_Storage.Table_Name,
+			I_M_HU_Attribute.Table_Name);
+
+	private LUTUProducerDestinationTestSupport testsupport;
+	private IHandlingUnitsDAO handlingUnitsDAO;
+
+	@Before
+	public void init()
+	{
+		testsupport = new LUTUProducerDestinationTestSupport();
+		handlingUnitsDAO = Services.get(IHandlingUnitsDAO.class);
+	}
+
+	/** Counts what was visited while walking the HU trees */
+	private static final class WalkResult
+	{
+		private int husCount = 0;
+		private int itemsCount = 0;
+		private int productStoragesCount = 0;
+		private int attributesCount = 0;
+	}
+
+	@Test
+	public void iteratePrefetchedHUTree_noQueries()
+	{
+		final I_M_HU lu = testsupport.createLU(5, 10);
+		final HuId luId = HuId.ofRepoId(lu.getM_HU_ID());
+
+		Services.get(ITrxManager.class).runInThreadInheritedTrx(() -> {
+			final IHUContext huContext = testsupport.helper.createMutableHUContextForProcessing(ITrx.TRXNAME_ThreadInherited);
+			final List<I_M_HU> hus = handlingUnitsDAO.retrieveAndPrefetchHUTrees(huContext, ImmutableList.of(luId));
+			assertThat(hus).hasSize(1);
+
+			POJOLookupMap.get().resetQueriesCount();
+
+			final WalkResult walkResult = walk(huContext, hus);
+			assertThat(walkResult.husCount).isEqualTo(6); // 1 LU + 5 TUs
+			assertThat(walkResult.itemsCount).isGreaterThan(6);
+			assertThat(walkResult.productStoragesCount).isGreaterThan(0);
+			assertThat(walkResult.attributesCount).isGreaterThan(0);
+
+			for (final String tableName : HU_TREE_TABLE_NAMES)
+			{
+				assertThat(POJOLookupMap.get().getQueriesCount(tableName)).as("queries on %s", tableName).isZero();
+			}
+		});
+	}
+
+	/**
+	 * Makes sure the test above is actually counting something, i.e. the same walk is hitting the database when nothing was prefetched.
+	 */
+	@Test
+	public void iterateNotPrefetchedHUTree_queries()
+	{
+		final I_M_HU lu = testsupport.createLU(5, 10);
+		final HuId luId = HuId.ofRepoId(lu.getM_HU_ID());
+
+		Services.get(ITrxManager.class).runInThreadInheritedTrx(() -> {
+			final IHUContext huContext = testsupport.helper.createMutableHUContextForProcessing(ITrx.TRXNAME_ThreadInherited);
+			final List<I_M_HU> hus = handlingUnitsDAO.retrieveByIds(ImmutableList.of(luId));
+
+			POJOLookupMap.get().resetQueriesCount();
+
+			walk(huContext, hus);
+
+			assertThat(POJOLookupMap.get().getQueriesCount(I_M_HU_Item.Table_Name)).isGreaterThan(0);
+		});
+	}
+
+	private static WalkResult walk(final IHUContext huContext, final List<I_M_HU> hus)
+	{
+		final WalkResult walkResult = new WalkResult();
+		final Date date = huContext.getDate();
+
+		final HUIterator iterator = new HUIterator();
+		iterator.setHUContext(huContext);
+		iterator.setDate(date);
+		iterator.setStorageFactory(huContext.getHUStorageFactory());
+		iterator.setListener(new HUIteratorListenerAdapter()
+		{
+			@Override
+			public Result beforeHU(final IMutable<I_M_HU> hu)
+			{
+				walkResult.husCount++;
+				walkResult.productStoragesCount += huContext.getHUStorageFactory().getStorage(hu.getValue()).getProductStorages().size();
+				walkResult.attributesCount += huContext.getHUAttributeStorageFactory().getHUAttributesDAO().retrieveAttributesOrdered(hu.getValue()).getHuAttributes().size();
+				return Result.CONTINUE;
+			}
+
+			@Override
+			public Result beforeHUItem(final IMutable<I_M_HU_Item> item)
+			{
+				walkResult.itemsCount++;
+				return Result.CONTINUE;
+			}
+
+			@Override
+			public Result afterHUItemStorage(final IHUItemStorage itemStorage)
+			{
+				walkResult.productStoragesCount += itemStorage.getProductStorages(date).size();
+				return Result.CONTINUE;
+			}
+		});
+		iterator.iterate(hus);
+
+		return walkResult;
+	}
+}
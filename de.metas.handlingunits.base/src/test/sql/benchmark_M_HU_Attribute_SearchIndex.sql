@@ -0,0 +1,97 @@
+--
+-- Compares searching HUs by attribute values
+--   * using one M_HU_Attribute sub query per attribute (HUQueryBuilder_Attributes default)
+--   * using M_HU_Attribute_SearchIndex (sysconfig de.metas.handlingunits.impl.HUQueryBuilder_Attributes.UseSearchIndex=Y)
+--
+-- Everything is generated in the scratch schema "hu_search_benchmark", so the script can be run on any database.
+-- Parameters: 2 million HUs, 5 attributes per HU (10 million M_HU_Attribute rows).
+--
+DROP SCHEMA IF EXISTS hu_search_benchmark CASCADE;
+CREATE SCHEMA hu_search_benchmark;
+SET search_path = hu_search_benchmark;
+
+CREATE TABLE M_HU (M_HU_ID NUMERIC(10) PRIMARY KEY, HUStatus CHAR(1) NOT NULL, IsActive CHAR(1) NOT NULL DEFAULT 'Y');
+
+CREATE TABLE M_HU_Attribute (
+	M_HU_Attribute_ID NUMERIC(10) PRIMARY KEY,
+	M_HU_ID NUMERIC(10) NOT NULL,
+	M_Attribute_ID NUMERIC(10) NOT NULL,
+	Value VARCHAR(255),
+	ValueNumber NUMERIC,
+	IsActive CHAR(1) NOT NULL DEFAULT 'Y');
+CREATE INDEX m_hu_attribute_hu ON M_HU_Attribute (M_HU_ID, M_Attribute_ID);
+CREATE INDEX m_hu_attribute_value ON M_HU_Attribute (M_Attribute_ID, Value);
+
+CREATE TABLE M_HU_Attribute_SearchIndex (M_HU_ID NUMERIC(10) PRIMARY KEY, Attributes JSONB NOT NULL DEFAULT '{}');
+CREATE INDEX m_hu_attribute_searchindex_attributes ON M_HU_Attribute_SearchIndex USING GIN (Attributes jsonb_path_ops);
+
+INSERT INTO M_HU (M_HU_ID, HUStatus)
+SELECT hu_id, (CASE WHEN hu_id % 10 = 0 THEN 'D' ELSE 'A' END)
+FROM generate_series(1, 2000000) hu_id;
+
+-- 1000001 = Lot (string, 20000 distinct values), 1000002 = SerialNo (unique), 1000003 = Weight (number)
+-- 1000004 = Country (string, 50 distinct values), 1000005 = QualityNote (string, 5 distinct values)
+INSERT INTO M_HU_Attribute (M_HU_Attribute_ID, M_HU_ID, M_Attribute_ID, Value, ValueNumber)
+SELECT (hu.M_HU_ID - 1) * 5 + a.idx, hu.M_HU_ID, 1000000 + a.idx,
+	(CASE a.idx
+		WHEN 1 THEN 'LOT-' || (hu.M_HU_ID % 20000)
+		WHEN 2 THEN 'SN-' || hu.M_HU_ID
+		WHEN 4 THEN 'C' || (hu.M_HU_ID % 50)
+		WHEN 5 THEN 'Q' || (hu.M_HU_ID % 5)
+	END),
+	(CASE WHEN a.idx = 3 THEN (hu.M_HU_ID % 1000)::numeric ELSE NULL END)
+FROM M_HU hu, generate_series(1, 5) a(idx);
+
+INSERT INTO M_HU_Attribute_SearchIndex (M_HU_ID, Attributes)
+SELECT ha.M_HU_ID, jsonb_object_agg(ha.M_Attribute_ID::text, (CASE WHEN ha.M_Attribute_ID = 1000003 THEN to_jsonb(ha.ValueNumber) ELSE to_jsonb(ha.Value) END))
+FROM M_HU_Attribute ha
+GROUP BY ha.M_HU_ID;
+
+ANALYZE M_HU;
+ANALYZE M_HU_Attribute;
+ANALYZE M_HU_Attribute_SearchIndex;
+
+--
+-- Query 1: Lot + Country (picking)
+--
+EXPLAIN ANALYZE
+SELECT hu.M_HU_ID FROM M_HU hu
+WHERE hu.HUStatus = 'A'
+	AND hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000001 AND ha.Value = 'LOT-4711' AND ha.IsActive = 'Y')
+	AND hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000004 AND ha.Value = 'C11' AND ha.IsActive = 'Y');
+
+EXPLAIN ANALYZE
+SELECT hu.M_HU_ID FROM M_HU hu
+WHERE hu.HUStatus = 'A'
+	AND hu.M_HU_ID IN (SELECT si.M_HU_ID FROM M_HU_Attribute_SearchIndex si WHERE si.Attributes @> '{"1000001":"LOT-4711","1000004":"C11"}'::jsonb);
+
+--
+-- Query 2: three low selective attributes (HU editor filtering)
+--
+EXPLAIN ANALYZE
+SELECT hu.M_HU_ID FROM M_HU hu
+WHERE hu.HUStatus = 'A'
+	AND hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000003 AND ha.ValueNumber = 500 AND ha.IsActive = 'Y')
+	AND hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000004 AND ha.Value = 'C0' AND ha.IsActive = 'Y')
+	AND hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000005 AND ha.Value = 'Q0' AND ha.IsActive = 'Y');
+
+EXPLAIN ANALYZE
+SELECT hu.M_HU_ID FROM M_HU hu
+WHERE hu.HUStatus = 'A'
+	AND hu.M_HU_ID IN (SELECT si.M_HU_ID FROM M_HU_Attribute_SearchIndex si WHERE si.Attributes @> '{"1000003":500,"1000004":"C0","1000005":"Q0"}'::jsonb);
+
+--
+-- Query 3: barcode (serial number OR lot)
+--
+EXPLAIN ANALYZE
+SELECT hu.M_HU_ID FROM M_HU hu
+WHERE hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000002 AND ha.Value = 'SN-123456' AND ha.IsActive = 'Y')
+	OR hu.M_HU_ID IN (SELECT ha.M_HU_ID FROM M_HU_Attribute ha WHERE ha.M_Attribute_ID = 1000001 AND ha.Value = 'SN-123456' AND ha.IsActive = 'Y');
+
+EXPLAIN ANALYZE
+SELECT hu.M_HU_ID FROM M_HU hu
+WHERE hu.M_HU_ID IN (SELECT si.M_HU_ID FROM M_HU_Attribute_SearchIndex si
+	WHERE (si.Attributes @> '{"1000002":"SN-123456"}'::jsonb OR si.Attributes @> '{"1000001":"SN-123456"}'::jsonb));
+
+RESET search_path;
+DROP SCHEMA hu_search_benchmark CASCADE;
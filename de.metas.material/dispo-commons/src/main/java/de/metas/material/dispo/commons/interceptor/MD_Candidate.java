@@ -0,0 +1,53 @@
+package de.metas.material.dispo.commons.interceptor;
+
+import org.adempiere.ad.modelvalidator.annotations.Interceptor;
+import org.adempiere.ad.modelvalidator.annotations.ModelChange;
+import org.compiere.model.ModelValidator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import de.metas.Profiles;
+import de.metas.material.dispo.commons.repository.atp.AvailableToPromiseIndexService;
+import de.metas.material.dispo.model.I_MD_Candidate;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-material-dispo-commons
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+@Interceptor(I_MD_Candidate.class)
+@Component("de.metas.material.dispo.commons.interceptor.MD_Candidate")
+@Profile(Profiles.PROFILE_MaterialDispo)
+public class MD_Candidate
+{
+	private final AvailableToPromiseIndexService availableToPromiseIndexService;
+
+	public MD_Candidate(@NonNull final AvailableToPromiseIndexService availableToPromiseIndexService)
+	{
+		this.availableToPromiseIndexService = availableToPromiseIndexService;
+	}
+
+	@ModelChange(timings = { ModelValidator.TYPE_AFTER_NEW, ModelValidator.TYPE_AFTER_CHANGE, ModelValidator.TYPE_AFTER_DELETE })
+	public void updateAvailableToPromiseIndex(final I_MD_Candidate candidateRecord)
+	{
+		availableToPromiseIndexService.onCandidateChanged(candidateRecord);
+	}
+}
@@ -0,0 +1,376 @@
+package de.metas.material.dispo.commons.repository.atp;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.compiere.util.TimeUtil;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.material.event.commons.AttributesKey;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * metasfresh-material-dispo-commons
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * In-memory index of the active {@code MD_Candidate} stock records.
+ * <p>
+ * For a given {@link AvailableToPromiseQuery}, it returns the same records as the DB function {@code de_metas_material.retrieve_atp_at_date},
+ * i.e. for each product, warehouse, customer and storage attributes key the stock record with the latest date (and seqNo) which is not after the query's date.
+ * <p>
+ * Thread-safe.
+ */
+final class AvailableToPromiseIndex
+{
+	@Value
+	@Builder
+	public static class StockRecord
+	{
+		int candidateId;
+		int productId;
+		int warehouseId;
+
+		/** {@code <= 0} means "no customer" */
+		int bpartnerId;
+
+		@NonNull
+		AttributesKey storageAttributesKey;
+
+		@NonNull
+		Instant date;
+		int seqNo;
+
+		@NonNull
+		BigDecimal qty;
+
+		private StockKey toStockKey()
+		{
+			return new StockKey(productId, warehouseId, bpartnerId > 0 ? bpartnerId : 0, storageAttributesKey);
+		}
+	}
+
+	@Value
+	private static class StockKey
+	{
+		int productId;
+		int warehouseId;
+		int bpartnerId;
+		AttributesKey storageAttributesKey;
+	}
+
+	/** Same order as the DB function: the latest record is the last one */
+	private static final Comparator<StockRecord> ORDER_BY_DATE_AND_SEQNO = Comparator.comparing(StockRecord::getDate)
+			.thenComparing(StockRecord::getSeqNo)
+			.thenComparing(StockRecord::getCandidateId);
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Integer, StockRecord> recordsByCandidateId = new HashMap<>();
+	private final Map<StockKey, NavigableSet<StockRecord>> recordsByStockKey = new HashMap<>();
+	private final Map<Integer, Set<StockKey>> stockKeysByProductId = new HashMap<>();
+
+	public int size()
+	{
+		lock.readLock().lock();
+		try
+		{
+			return recordsByCandidateId.size();
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	public void clear()
+	{
+		lock.writeLock().lock();
+		try
+		{
+			recordsByCandidateId.clear();
+			recordsByStockKey.clear();
+			stockKeysByProductId.clear();
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(@NonNull final StockRecord record)
+	{
+		lock.writeLock().lock();
+		try
+		{
+			removeNoLock(record.getCandidateId());
+
+			final StockKey stockKey = record.toStockKey();
+			recordsByCandidateId.put(record.getCandidateId(), record);
+			recordsByStockKey.computeIfAbsent(stockKey, k -> new TreeSet<>(ORDER_BY_DATE_AND_SEQNO)).add(record);
+			stockKeysByProductId.computeIfAbsent(stockKey.getProductId(), k -> new HashSet<>()).add(stockKey);
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(final int candidateId)
+	{
+		lock.writeLock().lock();
+		try
+		{
+			removeNoLock(candidateId);
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeNoLock(final int candidateId)
+	{
+		final StockRecord record = recordsByCandidateId.remove(candidateId);
+		if (record == null)
+		{
+			return;
+		}
+
+		final StockKey stockKey = record.toStockKey();
+		final NavigableSet<StockRecord> records = recordsByStockKey.get(stockKey);
+		if (records == null)
+		{
+			return;
+		}
+
+		records.remove(record);
+		if (records.isEmpty())
+		{
+			recordsByStockKey.remove(stockKey);
+
+			final Set<StockKey> productStockKeys = stockKeysByProductId.get(stockKey.getProductId());
+			productStockKeys.remove(stockKey);
+			if (productStockKeys.isEmpty())
+			{
+				stockKeysByProductId.remove(stockKey.getProductId());
+			}
+		}
+	}
+
+	/**
+	 * @return the latest stock record of each matching product, warehouse, customer and storage attributes key; no particular order.
+	 */
+	public ImmutableSet<StockRecord> query(@NonNull final Collection<AvailableToPromiseQuery> queries)
+	{
+		lock.readLock().lock();
+		try
+		{
+			final ImmutableSet.Builder<StockRecord> result = ImmutableSet.builder();
+			for (final AvailableToPromiseQuery query : queries)
+			{
+				queryNoLock(query, result);
+			}
+			return result.build();
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	private void queryNoLock(final AvailableToPromiseQuery query, final ImmutableSet.Builder<StockRecord> result)
+	{
+		final Instant date = TimeUtil.asInstant(TimeUtil.asTimestamp(query.getDate()));
+		final StockRecord latestPossibleRecord = StockRecord.builder()
+				.candidateId(Integer.MAX_VALUE)
+				.productId(1)
+				.warehouseId(1)
+				.storageAttributesKey(AttributesKey.NONE)
+				.date(date)
+				.seqNo(Integer.MAX_VALUE)
+				.qty(BigDecimal.ZERO)
+				.build();
+
+		for (final int productId : query.getProductIds())
+		{
+			final Set<StockKey> stockKeys = stockKeysByProductId.get(productId);
+			if (stockKeys == null)
+			{
+				continue;
+			}
+
+			for (final StockKey stockKey : stockKeys)
+			{
+				if (!isMatching(query, stockKey))
+				{
+					continue;
+				}
+
+				final StockRecord record = recordsByStockKey.get(stockKey).floor(latestPossibleRecord);
+				if (record != null)
+				{
+					result.add(record);
+				}
+			}
+		}
+	}
+
+	private static boolean isMatching(final AvailableToPromiseQuery query, final StockKey stockKey)
+	{
+		final Set<Integer> warehouseIds = query.getWarehouseIds();
+		if (!warehouseIds.isEmpty() && !warehouseIds.contains(stockKey.getWarehouseId()))
+		{
+			return false;
+		}
+
+		final int bpartnerId = query.getBpartnerId();
+		if (bpartnerId == AvailableToPromiseQuery.BPARTNER_ID_NONE && stockKey.getBpartnerId() > 0)
+		{
+			return false;
+		}
+		else if (bpartnerId > 0 && stockKey.getBpartnerId() > 0 && bpartnerId != stockKey.getBpartnerId())
+		{
+			return false;
+		}
+
+		return isStorageAttributesKeyMatching(query.getStorageAttributesKeys(), stockKey.getStorageAttributesKey());
+	}
+
+	/**
+	 * Same logic as {@code AttributesKeyQueryHelper}'s filter, but in memory.
+	 */
+	private static boolean isStorageAttributesKeyMatching(final List<AttributesKey> queryKeys, final AttributesKey storageAttributesKey)
+	{
+		if (queryKeys.isEmpty())
+		{
+			return true;
+		}
+
+		final String storageAttributesKeyString = storageAttributesKey.getAsString();
+		for (final AttributesKey queryKey : queryKeys)
+		{
+			if (queryKey.isAll())
+			{
+				return true;
+			}
+			else if (queryKey.isOther())
+			{
+				final boolean matchesNoOtherKey = queryKeys.stream()
+						.filter(otherQueryKey -> !otherQueryKey.isOther())
+						.noneMatch(otherQueryKey -> isLikeMatching(storageAttributesKeyString, otherQueryKey));
+				if (matchesNoOtherKey)
+				{
+					return true;
+				}
+			}
+			else if (isLikeMatching(storageAttributesKeyString, queryKey))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return true if the given string is matching the SQL expression {@code LIKE '%' || queryKey.getSqlLikeString() || '%'}
+	 */
+	private static boolean isLikeMatching(final String string, final AttributesKey queryKey)
+	{
+		int fromIndex = 0;
+		for (final Integer attributeValueId : queryKey.getAttributeValueIds())
+		{
+			final int index = string.indexOf(String.valueOf(attributeValueId), fromIndex);
+			if (index < 0)
+			{
+				return false;
+			}
+			fromIndex = index + String.valueOf(attributeValueId).length();
+		}
+		return true;
+	}
+
+	/**
+	 * @return the records which are different between this index and the given records, i.e. the records which are only in one of them; the date is ignored
+	 */
+	public ImmutableList<StockRecord> diff(
+			@NonNull final Collection<StockRecord> expectedLatestRecords,
+			@NonNull final Instant date)
+	{
+		final ImmutableSet<StockRecord> actualLatestRecords;
+		lock.readLock().lock();
+		try
+		{
+			final ImmutableSet.Builder<StockRecord> builder = ImmutableSet.builder();
+			for (final NavigableSet<StockRecord> records : recordsByStockKey.values())
+			{
+				records.stream()
+						.filter(record -> !record.getDate().isAfter(date))
+						.reduce((first, second) -> second)
+						.ifPresent(builder::add);
+			}
+			actualLatestRecords = builder.build();
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+
+		final Set<List<Object>> expectedKeys = expectedLatestRecords.stream().map(AvailableToPromiseIndex::extractComparisonKey).collect(ImmutableSet.toImmutableSet());
+		final Set<List<Object>> actualKeys = actualLatestRecords.stream().map(AvailableToPromiseIndex::extractComparisonKey).collect(ImmutableSet.toImmutableSet());
+
+		final ImmutableList.Builder<StockRecord> diff = ImmutableList.builder();
+		expectedLatestRecords.stream().filter(record -> !actualKeys.contains(extractComparisonKey(record))).forEach(diff::add);
+		actualLatestRecords.stream().filter(record -> !expectedKeys.contains(extractComparisonKey(record))).forEach(diff::add);
+		return diff.build();
+	}
+
+	private static List<Object> extractComparisonKey(final StockRecord record)
+	{
+		return ImmutableList.of(
+				record.getProductId(),
+				record.getWarehouseId(),
+				Math.max(record.getBpartnerId(), 0),
+				record.getStorageAttributesKey().getAsString(),
+				record.getQty().stripTrailingZeros());
+	}
+
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[size=" + size() + "]";
+	}
+}
@@ -0,0 +1,375 @@
+package de.metas.material.dispo.commons.repository.atp;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxListenerManager.TrxEventTiming;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.ad.trx.api.OnTrxMissingPolicy;
+import org.adempiere.exceptions.DBException;
+import org.adempiere.model.InterfaceWrapperHelper;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.util.concurrent.CustomizableThreadFactory;
+import org.compiere.util.DB;
+import org.compiere.util.TimeUtil;
+import org.slf4j.Logger;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import de.metas.Profiles;
+import de.metas.cache.CacheMgt;
+import de.metas.cache.model.CacheInvalidateMultiRequest;
+import de.metas.cache.model.CacheInvalidateRequest;
+import de.metas.logging.LogManager;
+import de.metas.material.dispo.commons.repository.atp.AvailableToPromiseIndex.StockRecord;
+import de.metas.material.dispo.model.I_MD_Candidate;
+import de.metas.material.dispo.model.X_MD_Candidate;
+import de.metas.material.event.commons.AttributesKey;
+import de.metas.util.Services;
+import lombok.NonNull;
+
+/*
+ * #%L
+ * metasfresh-material-dispo-commons
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Maintains an {@link AvailableToPromiseIndex} of all active {@code MD_Candidate} stock records, so that {@link AvailableToPromiseRepository} can answer queries without SQL.
+ * <p>
+ * The index is loaded on first use and then kept up to date:
+ * <ul>
+ * <li>local changes are applied after the transaction which saved the {@code MD_Candidate} was committed (see {@link #onCandidateChanged(I_MD_Candidate)})
+ * <li>remote changes are applied when their cache invalidation is received
+ * </ul>
+ * Every now and then, the index is checked against the DB function {@code de_metas_material.retrieve_atp_at_date}; if there are differences, it is reloaded.
+ * The consistency check is scheduled when the index is loaded for the first time, i.e. only if it's enabled.
+ * <p>
+ * Enabled via {@value #SYSCONFIG_Enabled}.
+ */
+@Service
+@Profile(Profiles.PROFILE_MaterialDispo)
+public class AvailableToPromiseIndexService
+{
+	private static final Logger logger = LogManager.getLogger(AvailableToPromiseIndexService.class);
+
+	private static final String SYSCONFIG_Enabled = "de.metas.material.dispo.commons.repository.atp.AvailableToPromiseIndex.Enabled";
+	private static final String SYSCONFIG_ConsistencyCheckIntervalMinutes = "de.metas.material.dispo.commons.repository.atp.AvailableToPromiseIndex.ConsistencyCheckIntervalMinutes";
+	private static final int DEFAULT_ConsistencyCheckIntervalMinutes = 60;
+
+	private static final String SQL_SelectStockRecords = "SELECT "
+			+ I_MD_Candidate.COLUMNNAME_MD_Candidate_ID
+			+ ", " + I_MD_Candidate.COLUMNNAME_M_Product_ID
+			+ ", " + I_MD_Candidate.COLUMNNAME_M_Warehouse_ID
+			+ ", " + I_MD_Candidate.COLUMNNAME_C_BPartner_Customer_ID
+			+ ", " + I_MD_Candidate.COLUMNNAME_StorageAttributesKey
+			+ ", " + I_MD_Candidate.COLUMNNAME_DateProjected
+			+ ", " + I_MD_Candidate.COLUMNNAME_SeqNo
+			+ ", " + I_MD_Candidate.COLUMNNAME_Qty
+			+ " FROM " + I_MD_Candidate.Table_Name
+			+ " WHERE " + I_MD_Candidate.COLUMNNAME_IsActive + "='Y'"
+			+ " AND " + I_MD_Candidate.COLUMNNAME_MD_Candidate_Type + "='" + X_MD_Candidate.MD_CANDIDATE_TYPE_STOCK + "'";
+
+	private static final String SQL_SelectATPAtDate = "SELECT 0 AS " + I_MD_Candidate.COLUMNNAME_MD_Candidate_ID
+			+ ", M_Product_ID, M_Warehouse_ID, C_BPartner_Customer_ID, StorageAttributesKey, DateProjected, SeqNo, Qty"
+			+ " FROM de_metas_material.retrieve_atp_at_date(?)";
+
+	private final AvailableToPromiseIndex index = new AvailableToPromiseIndex();
+	private final Object loadLock = new Object();
+	private volatile boolean loaded = false;
+	private final AtomicLong changesCount = new AtomicLong(0);
+	private volatile long lastConsistencyCheckMillis = System.currentTimeMillis();
+	private ScheduledExecutorService consistencyCheckExecutor; // guarded by loadLock
+
+	public AvailableToPromiseIndexService()
+	{
+		CacheMgt.get().addCacheResetListener(I_MD_Candidate.Table_Name, this::onCacheReset);
+	}
+
+	public boolean isEnabled()
+	{
+		return Services.get(ISysConfigBL.class).getBooleanValue(SYSCONFIG_Enabled, false);
+	}
+
+	/**
+	 * @return matching stock records or {@code null} if the index is not available and the caller shall query the database
+	 */
+	@Nullable
+	ImmutableSet<StockRecord> queryOrNull(@NonNull final AvailableToPromiseMultiQuery multiQuery)
+	{
+		if (!isEnabled())
+		{
+			return null;
+		}
+
+		if (!loaded)
+		{
+			loadIfNeeded();
+			if (!loaded)
+			{
+				return null;
+			}
+		}
+
+		return index.query(multiQuery.getQueries());
+	}
+
+	private void loadIfNeeded()
+	{
+		synchronized (loadLock)
+		{
+			if (loaded)
+			{
+				return;
+			}
+
+			final long changesCountBeforeLoad = changesCount.get();
+			final long startMillis = System.currentTimeMillis();
+
+			index.clear();
+			retrieveStockRecords(SQL_SelectStockRecords, ImmutableList.of()).forEach(index::put);
+
+			// if records were changed while we were loading, we can't be sure our index has the latest version of them
+			loaded = changesCount.get() == changesCountBeforeLoad;
+			logger.info("Loaded {} in {}ms; loaded={}", index, System.currentTimeMillis() - startMillis, loaded);
+
+			startConsistencyCheckIfNeeded();
+		}
+	}
+
+	private void startConsistencyCheckIfNeeded()
+	{
+		if (consistencyCheckExecutor != null)
+		{
+			return;
+		}
+
+		consistencyCheckExecutor = Executors.newSingleThreadScheduledExecutor(CustomizableThreadFactory.builder()
+				.setThreadNamePrefix(getClass().getSimpleName() + "-ConsistencyCheck")
+				.setDaemon(true)
+				.build());
+		consistencyCheckExecutor.scheduleWithFixedDelay(this::checkConsistencyIfDue, 1, 1, TimeUnit.MINUTES);
+	}
+
+	public void invalidate()
+	{
+		synchronized (loadLock)
+		{
+			loaded = false;
+			index.clear();
+		}
+	}
+
+	private long onCacheReset(@NonNull final CacheInvalidateMultiRequest multiRequest)
+	{
+		changesCount.incrementAndGet();
+		if (!loaded)
+		{
+			return 0;
+		}
+
+		final Set<Integer> candidateIds = new HashSet<>();
+		for (final CacheInvalidateRequest request : multiRequest.getRequests())
+		{
+			if (request.isAll() || (request.isAllRecords() && I_MD_Candidate.Table_Name.equals(request.getTableNameEffective())))
+			{
+				invalidate();
+				return 0;
+			}
+
+			if (I_MD_Candidate.Table_Name.equals(request.getRootTableName()) && request.getRootRecordId() > 0)
+			{
+				candidateIds.add(request.getRootRecordId());
+			}
+			if (I_MD_Candidate.Table_Name.equals(request.getChildTableName()) && request.getChildRecordId() > 0)
+			{
+				candidateIds.add(request.getChildRecordId());
+			}
+		}
+
+		if (candidateIds.isEmpty())
+		{
+			return 0;
+		}
+
+		// local changes made in a transaction are applied by onCandidateChanged, after the saving trx is committed;
+		// remote changes are already committed, so we apply them right away
+		final ITrxManager trxManager = Services.get(ITrxManager.class);
+		if (trxManager.isActive(trxManager.getThreadInheritedTrx(OnTrxMissingPolicy.ReturnTrxNone)))
+		{
+			return 0;
+		}
+
+		reloadCandidates(candidateIds);
+		return candidateIds.size();
+	}
+
+	/**
+	 * Called by the {@code MD_Candidate} model interceptor. Updates the index after the transaction which saved the given candidate was committed.
+	 */
+	public void onCandidateChanged(@NonNull final I_MD_Candidate candidateRecord)
+	{
+		changesCount.incrementAndGet();
+		if (!loaded)
+		{
+			return;
+		}
+
+		final ImmutableSet<Integer> candidateIds = ImmutableSet.of(candidateRecord.getMD_Candidate_ID());
+		Services.get(ITrxManager.class)
+				.getTrxListenerManagerOrAutoCommit(InterfaceWrapperHelper.getTrxName(candidateRecord))
+				.newEventListener(TrxEventTiming.AFTER_COMMIT)
+				.registerHandlingMethod(trx -> reloadCandidates(candidateIds));
+	}
+
+	private void reloadCandidates(final Set<Integer> candidateIds)
+	{
+		try
+		{
+			final List<Object> sqlParams = new ArrayList<>();
+			final String sql = SQL_SelectStockRecords
+					+ " AND " + DB.buildSqlList(I_MD_Candidate.COLUMNNAME_MD_Candidate_ID, candidateIds, sqlParams);
+			final List<StockRecord> records = retrieveStockRecords(sql, sqlParams);
+
+			// the candidates which are not returned are no stock records anymore (deleted, deactivated etc)
+			candidateIds.forEach(index::remove);
+			records.forEach(index::put);
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Failed updating the index for MD_Candidate_IDs={}. Invalidating the whole index.", candidateIds, ex);
+			invalidate();
+		}
+	}
+
+	private void checkConsistencyIfDue()
+	{
+		try
+		{
+			if (!loaded || !isEnabled())
+			{
+				return;
+			}
+
+			final int intervalMinutes = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_ConsistencyCheckIntervalMinutes, DEFAULT_ConsistencyCheckIntervalMinutes);
+			if (intervalMinutes <= 0 || System.currentTimeMillis() - lastConsistencyCheckMillis < TimeUnit.MINUTES.toMillis(intervalMinutes))
+			{
+				return;
+			}
+
+			checkConsistency();
+		}
+		catch (final Exception ex)
+		{
+			logger.warn("Consistency check failed. Ignored.", ex);
+		}
+	}
+
+	/**
+	 * Compares the index with what the DB function {@code de_metas_material.retrieve_atp_at_date} returns for now and invalidates the index if there are differences.
+	 *
+	 * @return how many stock records are different
+	 */
+	public int checkConsistency()
+	{
+		lastConsistencyCheckMillis = System.currentTimeMillis();
+		if (!loaded)
+		{
+			return 0;
+		}
+
+		final Instant now = Instant.now();
+		final long changesCountBeforeCheck = changesCount.get();
+		final List<StockRecord> expectedRecords = retrieveStockRecords(SQL_SelectATPAtDate, ImmutableList.of(TimeUtil.asTimestamp(now)));
+		final ImmutableList<StockRecord> diff = index.diff(expectedRecords, now);
+
+		if (diff.isEmpty())
+		{
+			logger.debug("Consistency check OK for {}", index);
+		}
+		else if (changesCount.get() != changesCountBeforeCheck)
+		{
+			// records were changed meanwhile, so the differences might be false alarms
+			logger.debug("Consistency check found {} differences, but records were changed meanwhile; will check again next time", diff.size());
+		}
+		else
+		{
+			logger.warn("Consistency check found {} differences between the index and the database. Invalidating the index. Differences: {}", diff.size(), diff);
+			invalidate();
+		}
+
+		return diff.size();
+	}
+
+	private static List<StockRecord> retrieveStockRecords(final String sql, final List<Object> sqlParams)
+	{
+		final List<StockRecord> records = new ArrayList<>();
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, ITrx.TRXNAME_None);
+			DB.setParameters(pstmt, sqlParams);
+			rs = pstmt.executeQuery();
+			while (rs.next())
+			{
+				records.add(retrieveStockRecord(rs));
+			}
+			return records;
+		}
+		catch (final SQLException ex)
+		{
+			throw new DBException(ex, sql, sqlParams);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}
+
+	private static StockRecord retrieveStockRecord(final ResultSet rs) throws SQLException
+	{
+		return StockRecord.builder()
+				.candidateId(rs.getInt(I_MD_Candidate.COLUMNNAME_MD_Candidate_ID))
+				.productId(rs.getInt(I_MD_Candidate.COLUMNNAME_M_Product_ID))
+				.warehouseId(rs.getInt(I_MD_Candidate.COLUMNNAME_M_Warehouse_ID))
+				.bpartnerId(rs.getInt(I_MD_Candidate.COLUMNNAME_C_BPartner_Customer_ID))
+				.storageAttributesKey(AttributesKey.ofString(rs.getString(I_MD_Candidate.COLUMNNAME_StorageAttributesKey)))
+				.date(TimeUtil.asInstant(rs.getTimestamp(I_MD_Candidate.COLUMNNAME_DateProjected)))
+				.seqNo(rs.getInt(I_MD_Candidate.COLUMNNAME_SeqNo))
+				.qty(rs.getBigDecimal(I_MD_Candidate.COLUMNNAME_Qty))
+				.build();
+	}
+}
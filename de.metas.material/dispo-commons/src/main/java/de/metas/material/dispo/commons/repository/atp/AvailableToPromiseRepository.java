@@ -3,6 +3,7 @@ package de.metas.material.dispo.commons.repository.atp;
 import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -10,6 +11,7 @@ import org.adempiere.service.ISysConfigBL;
 import org.compiere.model.IQuery;
 import org.compiere.util.Env;
 import org.compiere.util.TimeUtil;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -18,6 +20,7 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import de.metas.material.dispo.commons.repository.atp.AvailableToPromiseIndex.StockRecord;
 import de.metas.material.dispo.model.I_MD_Candidate_ATP_QueryResult;
 import de.metas.material.event.commons.AttributesKey;
 import de.metas.util.Services;
@@ -51,6 +54,22 @@ public class AvailableToPromiseRepository
 {
 	private static final String SYSCONFIG_ATP_ATTRIBUTES_KEYS = "de.metas.ui.web.window.descriptor.sql.ProductLookupDescriptor.ATP.AttributesKeys";
 
+	private final Optional<AvailableToPromiseIndexService> indexService;
+
+	public AvailableToPromiseRepository()
+	{
+		this(Optional.empty());
+	}
+
+	/**
+	 * @param indexService if present and enabled, queries are answered from memory instead of the database
+	 */
+	@Autowired
+	public AvailableToPromiseRepository(@NonNull final Optional<AvailableToPromiseIndexService> indexService)
+	{
+		this.indexService = indexService;
+	}
+
 	@NonNull
 	public BigDecimal retrieveAvailableStockQtySum(@NonNull final AvailableToPromiseMultiQuery multiQuery)
 	{
@@ -72,32 +91,26 @@ public class AvailableToPromiseRepository
 				? AvailableToPromiseResult.createEmptyWithPredefinedBuckets(multiQuery)
 				: AvailableToPromiseResult.createEmpty();
 
-		final IQuery<I_MD_Candidate_ATP_QueryResult> dbQuery = createDBQueryForMaterialQueryOrNull(multiQuery);
-		if (dbQuery == null)
+		final List<AddToResultGroupRequest> unsortedRequests = retrieveAddToResultGroupRequestsOrNull(multiQuery);
+		if (unsortedRequests == null)
 		{
 			return result;
 		}
 
-		final Function<I_MD_Candidate_ATP_QueryResult, Boolean> compareByWhetherRecordHasBPartnerId = record -> record.getC_BPartner_Customer_ID() > 0;
+		final Function<AddToResultGroupRequest, Boolean> compareByWhetherRequestHasBPartnerId = request -> request.getBpartnerId() > 0;
 
-		final List<I_MD_Candidate_ATP_QueryResult> atpRecords = dbQuery.list()
+		final ImmutableList<AddToResultGroupRequest> requests = unsortedRequests
 				.stream()
 				// records with dedicated bPartnerId first
 				// latest date first
 				// biggest seqNo first
 				.sorted(Comparator
-						.comparing(compareByWhetherRecordHasBPartnerId)
-						.thenComparing(I_MD_Candidate_ATP_QueryResult::getDateProjected)
-						.thenComparing(I_MD_Candidate_ATP_QueryResult::getSeqNo) // if dateProjected is equal, then SeqNo makes the difference
+						.comparing(compareByWhetherRequestHasBPartnerId)
+						.thenComparing(AddToResultGroupRequest::getDate)
+						.thenComparing(AddToResultGroupRequest::getSeqNo) // if date is equal, then SeqNo makes the difference
 						.reversed())
 				.collect(ImmutableList.toImmutableList());
 
-		// note: this is a dedicated step in order to ease debugging (i.e. have a chance to take a look at the atpRecords)
-		final ImmutableList<AddToResultGroupRequest> requests = atpRecords
-				.stream()
-				.map(AvailableToPromiseRepository::createAddToResultGroupRequest)
-				.collect(ImmutableList.toImmutableList());
-
 		for (final AddToResultGroupRequest request : requests)
 		{
 			if (multiQuery.isAddToPredefinedBuckets())
@@ -117,6 +130,34 @@ public class AvailableToPromiseRepository
 		return retrieveAvailableStock(AvailableToPromiseMultiQuery.of(query));
 	}
 
+	/**
+	 * @return requests from the in-memory index if available, else from database; {@code null} if there is nothing to query
+	 */
+	private List<AddToResultGroupRequest> retrieveAddToResultGroupRequestsOrNull(@NonNull final AvailableToPromiseMultiQuery multiQuery)
+	{
+		final ImmutableSet<StockRecord> indexedRecords = indexService
+				.map(service -> service.queryOrNull(multiQuery))
+				.orElse(null);
+		if (indexedRecords != null)
+		{
+			return indexedRecords
+					.stream()
+					.map(AvailableToPromiseRepository::createAddToResultGroupRequest)
+					.collect(ImmutableList.toImmutableList());
+		}
+
+		final IQuery<I_MD_Candidate_ATP_QueryResult> dbQuery = createDBQueryForMaterialQueryOrNull(multiQuery);
+		if (dbQuery == null)
+		{
+			return null;
+		}
+
+		return dbQuery.list()
+				.stream()
+				.map(AvailableToPromiseRepository::createAddToResultGroupRequest)
+				.collect(ImmutableList.toImmutableList());
+	}
+
 	private IQuery<I_MD_Candidate_ATP_QueryResult> createDBQueryForMaterialQueryOrNull(
 			@NonNull final AvailableToPromiseMultiQuery multiQuery)
 	{
@@ -151,6 +192,24 @@ public class AvailableToPromiseRepository
 				.build();
 	}
 
+	private static AddToResultGroupRequest createAddToResultGroupRequest(final StockRecord stockRecord)
+	{
+		final int bPpartnerIdForRequest = stockRecord.getBpartnerId() > 0
+				? stockRecord.getBpartnerId()
+				: AvailableToPromiseQuery.BPARTNER_ID_ANY // records that have no bPartner-ID are applicable to any bpartner
+		;
+
+		return AddToResultGroupRequest.builder()
+				.productId(stockRecord.getProductId())
+				.bpartnerId(bPpartnerIdForRequest)
+				.warehouseId(stockRecord.getWarehouseId())
+				.storageAttributesKey(stockRecord.getStorageAttributesKey())
+				.qty(stockRecord.getQty())
+				.date(stockRecord.getDate())
+				.seqNo(stockRecord.getSeqNo())
+				.build();
+	}
+
 	public Set<AttributesKey> getPredefinedStorageAttributeKeys()
 	{
 		final ISysConfigBL sysConfigBL = Services.get(ISysConfigBL.class);
@@ -0,0 +1,167 @@
+package de.metas.material.dispo.commons.repository.atp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.material.dispo.commons.repository.atp.AvailableToPromiseIndex.StockRecord;
+import de.metas.material.event.commons.AttributesKey;
+
+/*
+ * #%L
+ * metasfresh-material-dispo-commons
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class AvailableToPromiseIndexTest
+{
+	private static final int PRODUCT_ID = 10;
+	private static final int WAREHOUSE_ID = 20;
+	private static final int BPARTNER_ID = 30;
+
+	private static final LocalDateTime T1 = LocalDateTime.of(2018, 10, 1, 10, 0);
+	private static final LocalDateTime T2 = T1.plusDays(1);
+	private static final LocalDateTime T3 = T1.plusDays(2);
+
+	private final AvailableToPromiseIndex index = new AvailableToPromiseIndex();
+
+	private static StockRecord stockRecord(
+			final int candidateId,
+			final int bpartnerId,
+			final AttributesKey storageAttributesKey,
+			final LocalDateTime date,
+			final int seqNo,
+			final String qty)
+	{
+		return StockRecord.builder()
+				.candidateId(candidateId)
+				.productId(PRODUCT_ID)
+				.warehouseId(WAREHOUSE_ID)
+				.bpartnerId(bpartnerId)
+				.storageAttributesKey(storageAttributesKey)
+				.date(toInstant(date))
+				.seqNo(seqNo)
+				.qty(new BigDecimal(qty))
+				.build();
+	}
+
+	private static Instant toInstant(final LocalDateTime date)
+	{
+		return date.atZone(ZoneId.systemDefault()).toInstant();
+	}
+
+	private static AvailableToPromiseQuery.AvailableToPromiseQueryBuilder query(final LocalDateTime date)
+	{
+		return AvailableToPromiseQuery.builder()
+				.productId(PRODUCT_ID)
+				.date(date)
+				.bpartnerId(AvailableToPromiseQuery.BPARTNER_ID_ANY);
+	}
+
+	private Set<StockRecord> query(final AvailableToPromiseQuery query)
+	{
+		return index.query(ImmutableList.of(query));
+	}
+
+	@Test
+	public void latestRecordNotAfterDate()
+	{
+		final StockRecord record1 = stockRecord(1, 0, AttributesKey.NONE, T1, 1, "10");
+		final StockRecord record2 = stockRecord(2, 0, AttributesKey.NONE, T2, 2, "20");
+		final StockRecord record3 = stockRecord(3, 0, AttributesKey.NONE, T2, 3, "30");
+		index.put(record1);
+		index.put(record2);
+		index.put(record3);
+
+		assertThat(query(query(T1.minusSeconds(1)).build())).isEmpty();
+		assertThat(query(query(T1).build())).containsExactly(record1);
+		assertThat(query(query(T3).build())).containsExactly(record3);
+
+		index.remove(3);
+		assertThat(query(query(T3).build())).containsExactly(record2);
+
+		final StockRecord record2Moved = stockRecord(2, 0, AttributesKey.NONE, T3, 2, "25");
+		index.put(record2Moved);
+		assertThat(query(query(T2).build())).containsExactly(record1);
+		assertThat(query(query(T3).build())).containsExactly(record2Moved);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void bpartner()
+	{
+		final StockRecord recordNoBPartner = stockRecord(1, 0, AttributesKey.NONE, T1, 1, "10");
+		final StockRecord recordBPartner = stockRecord(2, BPARTNER_ID, AttributesKey.NONE, T1, 2, "20");
+		final StockRecord recordOtherBPartner = stockRecord(3, BPARTNER_ID + 1, AttributesKey.NONE, T1, 3, "30");
+		index.put(recordNoBPartner);
+		index.put(recordBPartner);
+		index.put(recordOtherBPartner);
+
+		assertThat(query(query(T1).bpartnerId(AvailableToPromiseQuery.BPARTNER_ID_ANY).build()))
+				.containsExactlyInAnyOrder(recordNoBPartner, recordBPartner, recordOtherBPartner);
+		assertThat(query(query(T1).bpartnerId(AvailableToPromiseQuery.BPARTNER_ID_NONE).build()))
+				.containsExactly(recordNoBPartner);
+		assertThat(query(query(T1).bpartnerId(BPARTNER_ID).build()))
+				.containsExactlyInAnyOrder(recordNoBPartner, recordBPartner);
+	}
+
+	@Test
+	public void storageAttributesKeys()
+	{
+		final AttributesKey key1 = AttributesKey.ofAttributeValueIds(1);
+		final AttributesKey key12 = AttributesKey.ofAttributeValueIds(1, 2);
+		final AttributesKey key3 = AttributesKey.ofAttributeValueIds(3);
+
+		final StockRecord record1 = stockRecord(1, 0, key1, T1, 1, "10");
+		final StockRecord record12 = stockRecord(2, 0, key12, T1, 2, "20");
+		final StockRecord record3 = stockRecord(3, 0, key3, T1, 3, "30");
+		index.put(record1);
+		index.put(record12);
+		index.put(record3);
+
+		assertThat(query(query(T1).storageAttributesKey(key1).build())).containsExactlyInAnyOrder(record1, record12);
+		assertThat(query(query(T1).storageAttributesKey(key12).build())).containsExactly(record12);
+		assertThat(query(query(T1).storageAttributesKey(AttributesKey.ALL).build())).containsExactlyInAnyOrder(record1, record12, record3);
+		assertThat(query(query(T1).storageAttributesKey(key1).storageAttributesKey(AttributesKey.OTHER).build())).containsExactlyInAnyOrder(record1, record12, record3);
+		assertThat(query(query(T1).storageAttributesKey(key12).storageAttributesKey(AttributesKey.OTHER).build())).containsExactlyInAnyOrder(record12, record1, record3);
+	}
+
+	@Test
+	public void diff()
+	{
+		final StockRecord record1 = stockRecord(1, 0, AttributesKey.NONE, T1, 1, "10");
+		final StockRecord record2 = stockRecord(2, 0, AttributesKey.NONE, T2, 2, "20");
+		index.put(record1);
+		index.put(record2);
+
+		final StockRecord expectedRecord = stockRecord(0, 0, AttributesKey.NONE, T2, 2, "20.00");
+		assertThat(index.diff(ImmutableList.of(expectedRecord), toInstant(T3))).isEmpty();
+
+		final StockRecord unexpectedRecord = stockRecord(0, 0, AttributesKey.NONE, T2, 2, "21");
+		assertThat(index.diff(ImmutableList.of(unexpectedRecord), toInstant(T3))).containsExactlyInAnyOrder(unexpectedRecord, record2);
+	}
+}
@@ -26,10 +26,15 @@ package de.metas.adempiere.process;
  */
 
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.adempiere.ad.dao.IQueryBL;
+import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.processor.api.ITrxItemExecutorBuilder;
 import org.adempiere.ad.trx.processor.api.ITrxItemProcessorExecutorService;
 import org.adempiere.ad.trx.processor.api.LoggerTrxItemExceptionHandler;
+import org.adempiere.ad.trx.processor.spi.TrxItemProcessorAdapter;
+import org.adempiere.service.ISysConfigBL;
 import org.compiere.Adempiere;
 import org.compiere.model.I_M_Product;
 
@@ -46,26 +51,48 @@ public class CreateProductCosts extends JavaProcess
 {
 	private final ICurrentCostsRepository currentCostsRepository = Adempiere.getBean(ICurrentCostsRepository.class);
 
-	private int count_all = 0;
+	/** How many threads shall create the product costs. If it's less than 2, the products are processed one after the other. */
+	private static final String SYSCONFIG_ThreadsCount = "de.metas.adempiere.process.CreateProductCosts.ThreadsCount";
+	/** When creating the product costs in parallel, how many products each thread takes at once */
+	private static final int PARALLEL_ITEMS_PER_BATCH = 100;
+
+	private final AtomicInteger count_all = new AtomicInteger(0);
 
 	@Override
 	@RunOutOfTrx
 	protected String doIt()
 	{
 		final Iterator<I_M_Product> products = retrieveProducts();
-		Services.get(ITrxItemProcessorExecutorService.class)
+		final ITrxItemExecutorBuilder<I_M_Product, Void> executor = Services.get(ITrxItemProcessorExecutorService.class)
 				.<I_M_Product, Void> createExecutor()
+				.setContext(getCtx(), ITrx.TRXNAME_None)
 				.setExceptionHandler(LoggerTrxItemExceptionHandler.instance)
-				.setProcessor(this::process)
-				.process(products);
+				.setProcessor(this::process);
+
+		// the product costs of a product don't depend on the other products, so they can be created in parallel
+		final int threadsCount = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_ThreadsCount, 1);
+		if (threadsCount > 1)
+		{
+			executor.setItemsPerBatch(PARALLEL_ITEMS_PER_BATCH)
+					.setParallel(threadsCount, () -> new TrxItemProcessorAdapter<I_M_Product, Void>()
+					{
+						@Override
+						public void process(final I_M_Product product)
+						{
+							CreateProductCosts.this.process(product);
+						}
+					});
+		}
+
+		executor.process(products);
 
-		return "@Updated@ #" + count_all;
+		return "@Updated@ #" + count_all.get();
 	}
 
 	private void process(final I_M_Product product)
 	{
 		currentCostsRepository.createDefaultProductCosts(product);
-		count_all++;
+		count_all.incrementAndGet();
 	}
 
 	private Iterator<I_M_Product> retrieveProducts()
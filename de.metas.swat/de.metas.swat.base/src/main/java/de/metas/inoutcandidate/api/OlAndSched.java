@@ -141,4 +141,13 @@ public final class OlAndSched
 	{
 		shipmentSchedule.setLineNetAmt(lineNetAmt);
 	}
+
+	/**
+	 * Moves the shipment schedule and the sales order line (if any) to given transaction.
+	 */
+	public void setTrxName(final String trxName)
+	{
+		InterfaceWrapperHelper.setTrxName(shipmentSchedule, trxName);
+		salesOrderLine.ifPresent(orderLine -> InterfaceWrapperHelper.setTrxName(orderLine, trxName));
+	}
 }
@@ -30,8 +30,14 @@ import java.util.Properties;
 import java.util.Set;
 
 import org.adempiere.ad.trx.api.ITrx;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.util.concurrent.OrderedParallelExecutor;
+import org.adempiere.util.lang.IAutoCloseable;
+import org.compiere.util.Env;
 import org.slf4j.Logger;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 
 import de.metas.inoutcandidate.api.IShipmentScheduleBL;
@@ -58,6 +64,16 @@ public class ShipmentScheduleUpdater implements IShipmentScheduleUpdater
 
 	private static final Logger logger = LogManager.getLogger(ShipmentScheduleUpdater.class);
 
+	/**
+	 * Number of threads used to update the shipment schedules in partitions (see {@link ShipmentSchedulesPartitioner}).
+	 * Zero or one means that all shipment schedules are updated sequentially, in the current transaction.
+	 * <p>
+	 * If greater than one, the missing shipment schedules are created and committed in their own transaction, before the update (see {@link #updateShipmentSchedule(Properties, int, PInstanceId, boolean)}).
+	 */
+	private static final String SYSCONFIG_PartitionedUpdateThreadsCount = "de.metas.inoutcandidate.api.impl.ShipmentScheduleUpdater.PartitionedUpdate.ThreadsCount";
+	/** Minimum number of invalid shipment schedules for which we do a partitioned update. */
+	private static final String SYSCONFIG_PartitionedUpdateMinSchedulesCount = "de.metas.inoutcandidate.api.impl.ShipmentScheduleUpdater.PartitionedUpdate.MinSchedulesCount";
+
 	@Override
 	public int updateShipmentSchedule(final Properties ctx, final int adUserId, final PInstanceId adPInstanceId)
 	{
@@ -65,6 +81,16 @@ public class ShipmentScheduleUpdater implements IShipmentScheduleUpdater
 		return updateShipmentSchedule(ctx, adUserId, adPInstanceId, updateOnlyLocked);
 	}
 
+	/**
+	 * If the partitioned update is enabled (see {@link #SYSCONFIG_PartitionedUpdateThreadsCount}), the current transaction is not used to change anything:
+	 * <ul>
+	 * <li>the shipment schedules without order lines are deleted and the missing shipment schedules are created and invalidated in a new transaction, which is committed right away.
+	 * That's because the partitions are updated in their own transactions, so they would not see the changes of the current transaction
+	 * and they would wait for the rows locked by it.
+	 * <li>each partition is committed on its own, so if one partition fails, the other ones might be already committed.
+	 * </ul>
+	 * Else, everything is done in the current transaction, as before.
+	 */
 	@Override
 	public int updateShipmentSchedule(
 			final Properties ctx,
@@ -74,7 +100,6 @@ public class ShipmentScheduleUpdater implements IShipmentScheduleUpdater
 	{
 		// services
 		final IShipmentScheduleInvalidateRepository invalidSchedulesRepo = Services.get(IShipmentScheduleInvalidateRepository.class);
-		final IShipmentSchedulePA shipmentSchedulePA = Services.get(IShipmentSchedulePA.class);
 		final IShipmentScheduleBL shipmentScheduleBL = Services.get(IShipmentScheduleBL.class);
 
 		final Boolean running = this.running.get();
@@ -83,21 +108,28 @@ public class ShipmentScheduleUpdater implements IShipmentScheduleUpdater
 
 		try
 		{
-			shipmentSchedulePA.deleteSchedulesWithoutOrderLines();
-
-			if (!updateOnlyLocked)
+			final int partitionedUpdateThreadsCount = getPartitionedUpdateThreadsCount();
+			if (partitionedUpdateThreadsCount > 1)
+			{
+				// the partitions shall see the new shipment schedules, so we commit them first
+				Services.get(ITrxManager.class).runInNewTrx(() -> prepareSchedulesToUpdate(ctx, updateOnlyLocked));
+			}
+			else
 			{
-				//
-				// Create and invalidate missing shipment schedules
-				final List<I_M_ShipmentSchedule> shipmentSchedulesNew = Services.get(IShipmentScheduleHandlerBL.class).createMissingCandidates(ctx, ITrx.TRXNAME_ThreadInherited);
-				final Set<ShipmentScheduleId> shipmentSchedulesNewIds = shipmentSchedulesNew.stream().map(s -> ShipmentScheduleId.ofRepoId(s.getM_ShipmentSchedule_ID())).collect(ImmutableSet.toImmutableSet());
-				invalidSchedulesRepo.invalidateShipmentSchedules(shipmentSchedulesNewIds);
+				prepareSchedulesToUpdate(ctx, updateOnlyLocked);
 			}
 
 			final List<OlAndSched> collectResult = retrieveOlsAndSchedsToProcess(adPInstanceId);
 
-			logger.debug("Invoking shipmentScheduleBL to update {} shipment schedule entries.", collectResult.size());
-			shipmentScheduleBL.updateSchedules(ctx, collectResult, ITrx.TRXNAME_ThreadInherited);
+			if (partitionedUpdateThreadsCount > 1 && collectResult.size() >= getPartitionedUpdateMinSchedulesCount())
+			{
+				updateSchedulesPartitioned(ctx, collectResult, partitionedUpdateThreadsCount);
+			}
+			else
+			{
+				logger.debug("Invoking shipmentScheduleBL to update {} shipment schedule entries.", collectResult.size());
+				shipmentScheduleBL.updateSchedules(ctx, collectResult, ITrx.TRXNAME_ThreadInherited);
+			}
 
 			// cleanup the marker/pointer tables
 			invalidSchedulesRepo.deleteRecomputeMarkersOutOfTrx(adPInstanceId);
@@ -127,6 +159,80 @@ public class ShipmentScheduleUpdater implements IShipmentScheduleUpdater
 		return running != null && running == true;
 	}
 
+	/**
+	 * Deletes the shipment schedules without order lines and, unless <code>updateOnlyLocked</code>, creates and invalidates the missing shipment schedules.
+	 */
+	private static void prepareSchedulesToUpdate(final Properties ctx, final boolean updateOnlyLocked)
+	{
+		Services.get(IShipmentSchedulePA.class).deleteSchedulesWithoutOrderLines();
+
+		if (!updateOnlyLocked)
+		{
+			//
+			// Create and invalidate missing shipment schedules
+			final List<I_M_ShipmentSchedule> shipmentSchedulesNew = Services.get(IShipmentScheduleHandlerBL.class).createMissingCandidates(ctx, ITrx.TRXNAME_ThreadInherited);
+			final Set<ShipmentScheduleId> shipmentSchedulesNewIds = shipmentSchedulesNew.stream().map(s -> ShipmentScheduleId.ofRepoId(s.getM_ShipmentSchedule_ID())).collect(ImmutableSet.toImmutableSet());
+			Services.get(IShipmentScheduleInvalidateRepository.class).invalidateShipmentSchedules(shipmentSchedulesNewIds);
+		}
+	}
+
+	private static int getPartitionedUpdateThreadsCount()
+	{
+		final int threadsCount = Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_PartitionedUpdateThreadsCount, 0);
+		return threadsCount > 1 ? threadsCount : 0;
+	}
+
+	private static int getPartitionedUpdateMinSchedulesCount()
+	{
+		return Services.get(ISysConfigBL.class).getIntValue(SYSCONFIG_PartitionedUpdateMinSchedulesCount, 1000);
+	}
+
+	/**
+	 * Splits the given shipment schedules into independent partitions and updates each partition in its own transaction, using up to <code>threadsCount</code> threads.
+	 * <p>
+	 * The shipment schedules within one partition are updated exactly like in a sequential update, so the outcome is the same.
+	 * If one partition fails, the partitions which were not started yet are skipped, but note that the other partitions might be already committed.
+	 */
+	private void updateSchedulesPartitioned(final Properties ctx, final List<OlAndSched> olsAndScheds, final int threadsCount)
+	{
+		final List<List<OlAndSched>> partitions = partition(olsAndScheds);
+		logger.debug("Updating {} shipment schedule entries in {} partitions, using {} threads", olsAndScheds.size(), partitions.size(), threadsCount);
+
+		// NOTE: the threads are created by this thread, so they inherit our "running" flag
+		try (final OrderedParallelExecutor<Void> executor = OrderedParallelExecutor.<Void> builder()
+				.threadNamePrefix(ShipmentScheduleUpdater.class.getSimpleName() + "-partition")
+				.threadsCount(Math.min(threadsCount, partitions.size()))
+				.build())
+		{
+			partitions.forEach(partition -> executor.submit(() -> updateSchedulesInNewTrx(ctx, partition)));
+			executor.awaitAll();
+		}
+		finally
+		{
+			// move our records back to the current transaction
+			olsAndScheds.forEach(olAndSched -> olAndSched.setTrxName(ITrx.TRXNAME_ThreadInherited));
+		}
+	}
+
+	@VisibleForTesting
+	List<List<OlAndSched>> partition(final List<OlAndSched> olsAndScheds)
+	{
+		return new ShipmentSchedulesPartitioner().partition(olsAndScheds);
+	}
+
+	private static void updateSchedulesInNewTrx(final Properties ctx, final List<OlAndSched> olsAndScheds)
+	{
+		// NOTE: each partition gets its own copy of the context, because the context is not thread safe
+		final Properties partitionCtx = Env.copyCtx(ctx);
+		try (final IAutoCloseable ctxRestorer = Env.switchContext(partitionCtx))
+		{
+			Services.get(ITrxManager.class).runInNewTrx(() -> {
+				olsAndScheds.forEach(olAndSched -> olAndSched.setTrxName(ITrx.TRXNAME_ThreadInherited));
+				Services.get(IShipmentScheduleBL.class).updateSchedules(partitionCtx, olsAndScheds, ITrx.TRXNAME_ThreadInherited);
+			});
+		}
+	}
+
 	private final List<OlAndSched> retrieveOlsAndSchedsToProcess(final PInstanceId adPinstanceId)
 	{
 		final IShipmentSchedulePA shipmentSchedulePA = Services.get(IShipmentSchedulePA.class);
@@ -0,0 +1,176 @@
+package de.metas.inoutcandidate.api.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.adempiere.warehouse.WarehouseId;
+import org.adempiere.warehouse.api.IWarehouseDAO;
+import org.compiere.Adempiere;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.inoutcandidate.api.IShipmentScheduleEffectiveBL;
+import de.metas.inoutcandidate.api.OlAndSched;
+import de.metas.inoutcandidate.model.I_M_ShipmentSchedule;
+import de.metas.inoutcandidate.spi.ShipmentScheduleReferencedLine;
+import de.metas.inoutcandidate.spi.ShipmentScheduleReferencedLineFactory;
+import de.metas.util.Check;
+import de.metas.util.Services;
+import lombok.NonNull;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.swat.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Splits the shipment schedules to be updated into partitions which can be updated independently of each other.
+ * <p>
+ * Two schedules end up in the same partition if they are (transitively) sharing
+ * <ul>
+ * <li>the product and the warehouse picking group, because they are allocating the same stock</li>
+ * <li>the order, the bpartner, the address or the shipper, because they could end up in the same delivery group (see {@link ShipmentScheduleBL#updateSchedules(java.util.Properties, List, String)})</li>
+ * </ul>
+ * Within each partition, the schedules are kept in the same order as they were given, so each partition is updated the same way as in one sequential run.
+ */
+final class ShipmentSchedulesPartitioner
+{
+	private final IShipmentScheduleEffectiveBL shipmentScheduleEffectiveBL = Services.get(IShipmentScheduleEffectiveBL.class);
+	private final IWarehouseDAO warehouseDAO = Services.get(IWarehouseDAO.class);
+	private final ShipmentScheduleReferencedLineFactory shipmentScheduleReferencedLineFactory = Adempiere.getBean(ShipmentScheduleReferencedLineFactory.class);
+
+	public List<List<OlAndSched>> partition(@NonNull final List<OlAndSched> olsAndScheds)
+	{
+		return partition(olsAndScheds, this::extractPartitionKeys);
+	}
+
+	private Set<Object> extractPartitionKeys(final OlAndSched olAndSched)
+	{
+		final I_M_ShipmentSchedule sched = olAndSched.getSched();
+		final ShipmentScheduleReferencedLine referencedLine = shipmentScheduleReferencedLineFactory.createFor(sched);
+
+		// NOTE: ShipmentScheduleBL.updateSchedules might change the M_Warehouse_ID to the referenced line's warehouse,
+		// so we are considering both warehouses
+		final Set<WarehouseId> warehouseIds = new HashSet<>();
+		warehouseIds.addAll(warehouseDAO.getWarehouseIdsOfSamePickingGroup(shipmentScheduleEffectiveBL.getWarehouseId(sched)));
+		warehouseIds.addAll(warehouseDAO.getWarehouseIdsOfSamePickingGroup(referencedLine.getWarehouseId()));
+
+		final Set<Object> keys = new HashSet<>();
+		for (final WarehouseId warehouseId : warehouseIds)
+		{
+			keys.add(PartitionKey.of("Product_Warehouse", olAndSched.getProductId().getRepoId() + "_" + warehouseId.getRepoId()));
+		}
+		keys.add(PartitionKey.of("Group", referencedLine.getGroupId()));
+		keys.add(PartitionKey.of("BPartner", shipmentScheduleEffectiveBL.getBPartnerId(sched).getRepoId()));
+		if (sched.getC_Order_ID() > 0)
+		{
+			keys.add(PartitionKey.of("Order", sched.getC_Order_ID()));
+		}
+		if (!Check.isEmpty(sched.getBPartnerAddress_Override(), true))
+		{
+			keys.add(PartitionKey.of("Address", sched.getBPartnerAddress_Override()));
+		}
+		referencedLine.getShipperId().ifPresent(shipperId -> keys.add(PartitionKey.of("Shipper", shipperId.getRepoId())));
+
+		return keys;
+	}
+
+	/**
+	 * Groups the given items, such that items which are (transitively) sharing at least one key are in the same group.
+	 *
+	 * @return groups, ordered by their first item; the items of each group are in the same order as in {@code items}.
+	 */
+	static <T> List<List<T>> partition(
+			@NonNull final List<T> items,
+			@NonNull final Function<T, ? extends Collection<?>> keysExtractor)
+	{
+		final int[] parents = new int[items.size()];
+		final Map<Object, Integer> firstItemIndexByKey = new HashMap<>();
+		for (int i = 0; i < items.size(); i++)
+		{
+			parents[i] = i;
+			for (final Object key : keysExtractor.apply(items.get(i)))
+			{
+				final Integer otherIndex = firstItemIndexByKey.putIfAbsent(key, i);
+				if (otherIndex != null)
+				{
+					union(parents, otherIndex, i);
+				}
+			}
+		}
+
+		final Map<Integer, List<T>> itemsByRootIndex = new LinkedHashMap<>();
+		for (int i = 0; i < items.size(); i++)
+		{
+			itemsByRootIndex.computeIfAbsent(findRoot(parents, i), rootIndex -> new ArrayList<>()).add(items.get(i));
+		}
+
+		return itemsByRootIndex.values()
+				.stream()
+				.<List<T>> map(ImmutableList::copyOf)
+				.collect(ImmutableList.toImmutableList());
+	}
+
+	private static int findRoot(final int[] parents, final int index)
+	{
+		int root = index;
+		while (parents[root] != root)
+		{
+			parents[root] = parents[parents[root]];
+			root = parents[root];
+		}
+		return root;
+	}
+
+	private static void union(final int[] parents, final int index1, final int index2)
+	{
+		final int root1 = findRoot(parents, index1);
+		final int root2 = findRoot(parents, index2);
+		if (root1 == root2)
+		{
+			return;
+		}
+
+		// keep the smallest index as root, so the partitions are ordered by their first item
+		if (root1 < root2)
+		{
+			parents[root2] = root1;
+		}
+		else
+		{
+			parents[root1] = root2;
+		}
+	}
+
+	@Value(staticConstructor = "of")
+	private static final class PartitionKey
+	{
+		String type;
+		Object value;
+	}
+}
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.adempiere.ad.dao.IQueryBuilder;
 import org.adempiere.ad.dao.impl.ModelColumnNameValue;
@@ -43,6 +44,8 @@ import org.compiere.model.I_C_OrderLine;
 import org.compiere.model.I_M_InOut;
 import org.compiere.model.I_M_InOutLine;
 
+import com.google.common.collect.ImmutableSetMultimap;
+
 import de.metas.adempiere.model.I_C_Invoice;
 import de.metas.aggregation.model.I_C_Aggregation;
 import de.metas.invoicecandidate.model.I_C_InvoiceCandidate_InOutLine;
@@ -340,6 +343,14 @@ f	 * @return invoice candidate iterator ordered by {@link I_C_Invoice_Candidate#
 	 */
 	boolean existsInvoiceCandidateInOutLinesForInvoiceCandidate(I_C_Invoice_Candidate ic, I_M_InOutLine iol);
 
+	/**
+	 * Retrieves the receipt/shipment lines which are allocated to given invoice candidates, using one query.
+	 *
+	 * @return <code>M_InOutLine_ID</code>s of the active allocations, indexed by <code>C_Invoice_Candidate_ID</code>
+	 * @see #existsInvoiceCandidateInOutLinesForInvoiceCandidate(I_C_Invoice_Candidate, I_M_InOutLine)
+	 */
+	ImmutableSetMultimap<Integer, Integer> retrieveInOutLineIdsByInvoiceCandidateId(Collection<Integer> invoiceCandidateIds);
+
 	/**
 	 * Checks if the given <code>ic</code> is referenced by a <code>C_Invoice_Candidate_Recompute</code> record. The check is made within the ic's transaction.<br>
 	 * Please use this method instead of calling the SQL-column based {@link I_C_Invoice_Candidate#isToRecompute()}.
@@ -359,12 +370,15 @@ f	 * @return invoice candidate iterator ordered by {@link I_C_Invoice_Candidate#
 	void save(I_C_Invoice_Candidate invoiceCandidate);
 
 	/**
-	 * Return all invoice candidates that have Processed='N'
+	 * Return all invoice candidates that have Processed='N'.
+	 * <p>
+	 * The candidates are fetched using a database cursor while the stream is consumed, so please close the stream when done.
 	 *
 	 * @param contextAware
 	 * @return
+	 * @see IQuery#streamUsingCursor()
 	 */
-	Iterator<I_C_Invoice_Candidate> retrieveNonProcessed(IContextAware contextAware);
+	Stream<I_C_Invoice_Candidate> streamNonProcessed(IContextAware contextAware);
 
 	/**
 	 * Invalidate all ICs that have the given <code>aggregation</code> as either their <code>HeaderAggregationKeyBuilder_ID</code> or <code>LineAggregationKeyBuilder_ID</code>.
@@ -41,6 +41,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.adempiere.ad.dao.ConstantQueryFilter;
 import org.adempiere.ad.dao.ICompositeQueryFilter;
@@ -50,6 +51,7 @@ import org.adempiere.ad.dao.IQueryBuilder;
 import org.adempiere.ad.dao.IQueryOrderBy.Direction;
 import org.adempiere.ad.dao.IQueryOrderBy.Nulls;
 import org.adempiere.ad.dao.IQueryOrderByBuilder;
+import org.adempiere.ad.dao.impl.TypedSqlQuery;
 import org.adempiere.ad.persistence.ModelDynAttributeAccessor;
 import org.adempiere.ad.security.IUserRolePermissions;
 import org.adempiere.ad.table.api.IADTableDAO;
@@ -77,6 +79,7 @@ import org.slf4j.Logger;
 import com.google.common.base.Predicates;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 
 import ch.qos.logback.classic.Level;
 import de.metas.aggregation.model.I_C_Aggregation;
@@ -135,7 +138,7 @@ public class InvoiceCandDAO implements IInvoiceCandDAO
 	}
 
 	@Override
-	public final Iterator<I_C_Invoice_Candidate> retrieveNonProcessed(final IContextAware contextAware)
+	public final Stream<I_C_Invoice_Candidate> streamNonProcessed(final IContextAware contextAware)
 	{
 		final IQueryBuilder<I_C_Invoice_Candidate> queryBuilder = Services.get(IQueryBL.class)
 				.createQueryBuilder(I_C_Invoice_Candidate.class, contextAware)
@@ -144,11 +147,11 @@ public class InvoiceCandDAO implements IInvoiceCandDAO
 		queryBuilder.orderBy()
 				.addColumn(I_C_Invoice_Candidate.COLUMN_C_Invoice_Candidate_ID);
 
+		// NOTE: using a cursor instead of a guaranteed iterator, so we are not selecting all candidate IDs into T_Query_Selection upfront
 		return queryBuilder
 				.create()
-				.setOption(IQuery.OPTION_GuaranteedIteratorRequired, true)
-				.setOption(IQuery.OPTION_IteratorBufferSize, 2000)
-				.iterate(I_C_Invoice_Candidate.class);
+				.setOption(IQuery.OPTION_CursorFetchSize, 2000)
+				.streamUsingCursor(I_C_Invoice_Candidate.class);
 	}
 
 	@Override
@@ -324,6 +327,25 @@ public class InvoiceCandDAO implements IInvoiceCandDAO
 				.match();
 	}
 
+	@Override
+	public ImmutableSetMultimap<Integer, Integer> retrieveInOutLineIdsByInvoiceCandidateId(@NonNull final Collection<Integer> invoiceCandidateIds)
+	{
+		if (invoiceCandidateIds.isEmpty())
+		{
+			return ImmutableSetMultimap.of();
+		}
+
+		return Services.get(IQueryBL.class)
+				.createQueryBuilder(I_C_InvoiceCandidate_InOutLine.class)
+				.addInArrayFilter(I_C_InvoiceCandidate_InOutLine.COLUMN_C_Invoice_Candidate_ID, invoiceCandidateIds)
+				.addOnlyActiveRecordsFilter()
+				.create()
+				.stream()
+				.collect(ImmutableSetMultimap.toImmutableSetMultimap(
+						I_C_InvoiceCandidate_InOutLine::getC_Invoice_Candidate_ID,
+						I_C_InvoiceCandidate_InOutLine::getM_InOutLine_ID));
+	}
+
 	@Cached(cacheName = I_C_InvoiceCandidate_InOutLine.Table_Name + "#by#" + I_C_Invoice_Candidate.COLUMNNAME_C_Invoice_Candidate_ID)
 	@Override
 	public List<I_C_InvoiceCandidate_InOutLine> retrieveICIOLAssociationsExclRE(@CacheModel final I_C_Invoice_Candidate invoiceCandidate)
@@ -911,10 +933,19 @@ public class InvoiceCandDAO implements IInvoiceCandDAO
 
 		final IQueryBuilder<I_C_Invoice_Candidate_Recompute> queryBuilder = retrieveInvoiceCandidatesRecomputeFor(tagRequest);
 		final IQuery<I_C_Invoice_Candidate_Recompute> query = queryBuilder.create();
-		final int count = query
-				.updateDirectly()
-				.addSetColumnValue(I_C_Invoice_Candidate_Recompute.COLUMNNAME_AD_PInstance_ID, recomputeTag.getPinstanceId())
-				.execute();
+		final int count;
+		if (tagRequest.getLimit() > 0 && query instanceof TypedSqlQuery)
+		{
+			// several taggers with limit (e.g. parallel update workpackages) are running concurrently, so skip what others are just tagging
+			count = tagToRecomputeSkipLocked(TypedSqlQuery.cast(query), recomputeTag);
+		}
+		else
+		{
+			count = query
+					.updateDirectly()
+					.addSetColumnValue(I_C_Invoice_Candidate_Recompute.COLUMNNAME_AD_PInstance_ID, recomputeTag.getPinstanceId())
+					.execute();
+		}
 		logger.debug("Marked {} {} records with recompute tag={}", count, I_C_Invoice_Candidate_Recompute.Table_Name, recomputeTag);
 		logger.debug("Query: {}", query);
 		logger.debug("Tagger: {}", tagRequest);
@@ -922,6 +953,29 @@ public class InvoiceCandDAO implements IInvoiceCandDAO
 		return count;
 	}
 
+	/**
+	 * Tags the records matched by given query, skipping those which are locked by a concurrent tagger.
+	 * <p>
+	 * Without this, two concurrent taggers could select the same records and the second one would override the first one's tag after waiting for its row locks.
+	 */
+	private static int tagToRecomputeSkipLocked(
+			@NonNull final TypedSqlQuery<I_C_Invoice_Candidate_Recompute> query,
+			@NonNull final InvoiceCandRecomputeTag recomputeTag)
+	{
+		final String tableName = I_C_Invoice_Candidate_Recompute.Table_Name;
+		final StringBuilder sqlSelectRowIds = new StringBuilder("SELECT ctid FROM ").append(tableName);
+		final String sqlCandidates = query.buildSQL(sqlSelectRowIds, false) + " FOR UPDATE SKIP LOCKED";
+
+		final String sql = "UPDATE " + tableName
+				+ " SET " + I_C_Invoice_Candidate_Recompute.COLUMNNAME_AD_PInstance_ID + "=?"
+				+ " WHERE ctid = ANY(ARRAY(" + sqlCandidates + "))";
+		final List<Object> sqlParams = new ArrayList<>();
+		sqlParams.add(recomputeTag.getPinstanceId().getRepoId());
+		sqlParams.addAll(query.getParametersEffective());
+
+		return DB.executeUpdateEx(sql, sqlParams.toArray(), query.getTrxName());
+	}
+
 	/**
 	 * @param tagRequest
 	 * @return how many {@link I_C_Invoice_Candidate_Recompute} records will be tagged by given {@link InvoiceCandRecomputeTagger}.
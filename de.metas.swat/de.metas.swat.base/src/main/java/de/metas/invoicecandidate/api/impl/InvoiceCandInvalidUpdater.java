@@ -27,7 +27,10 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.ad.trx.processor.api.FailTrxItemExceptionHandler;
@@ -39,6 +42,14 @@ import org.adempiere.model.InterfaceWrapperHelper;
 import org.adempiere.service.ISysConfigBL;
 import org.adempiere.util.lang.IAutoCloseable;
 import org.adempiere.util.lang.IContextAware;
+import org.compiere.model.I_C_OrderLine;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Iterators;
 
 import de.metas.inout.IInOutDAO;
 import de.metas.invoicecandidate.api.IInvoiceCandDAO;
@@ -51,6 +62,7 @@ import de.metas.invoicecandidate.model.I_C_Invoice_Candidate;
 import de.metas.invoicecandidate.model.I_M_InOutLine;
 import de.metas.invoicecandidate.spi.IInvoiceCandidateHandler.PriceAndTax;
 import de.metas.lock.api.ILock;
+import de.metas.order.OrderLineId;
 import de.metas.util.Check;
 import de.metas.util.Loggables;
 import de.metas.util.Services;
@@ -71,6 +83,13 @@ import lombok.NonNull;
 	private static final String SYSCONFIG_ItemsPerBatch = "de.metas.invoicecandidate.api.impl.InvoiceCandInvalidUpdater.ItemsPerBatch";
 	private static final int DEFAULT_ItemsPerBatch = 100;
 
+	/**
+	 * How many invoice candidates to prefetch the order lines and inout lines for, when we are not processing in batches.
+	 * When processing in batches, the data is prefetched for each batch. Zero or less disables the prefetching.
+	 */
+	private static final String SYSCONFIG_PrefetchSize = "de.metas.invoicecandidate.api.impl.InvoiceCandInvalidUpdater.PrefetchSize";
+	private static final int DEFAULT_PrefetchSize = 100;
+
 	//
 	// Parameters
 	private Properties _ctx;
@@ -80,6 +99,9 @@ import lombok.NonNull;
 	//
 	// State
 	private boolean executed = false;
+	private ICPrefetchedData prefetchedData = ICPrefetchedData.EMPTY;
+	/** the page of invoice candidates which was read but not prefetched yet; see {@link #prefetchIfNeeded()} */
+	private List<I_C_Invoice_Candidate> pageToPrefetch = null;
 
 	InvoiceCandInvalidUpdater(@NonNull final InvoiceCandBL invoiceCandBL)
 	{
@@ -146,6 +168,9 @@ import lombok.NonNull;
 			// no candidates found => nothing to do
 			return;
 		}
+		// NOTE: when processing in batches, the prefetch pages are the same as the batches, so each batch prefetches its data in its own transaction
+		final int prefetchSize = getPrefetchSize();
+		final Iterator<I_C_Invoice_Candidate> candidatesToUpdateWithPrefetch = prefetching(candidatesToUpdate, processInBatches && prefetchSize > 0 ? itemsPerBatch : prefetchSize);
 
 		//
 		// Update invoice candidates in chunks
@@ -173,6 +198,7 @@ import lombok.NonNull;
 						@Override
 						public void process(final I_C_Invoice_Candidate ic) throws Exception
 						{
+							prefetchIfNeeded();
 							chunkInvoiceCandidateIds.add(ic.getC_Invoice_Candidate_ID());
 
 							updateInvalid(ic);
@@ -215,10 +241,19 @@ import lombok.NonNull;
 						{
 							icTagger.deleteTaggedAndInvalidateCache(chunkInvoiceCandidateIds);
 							chunkInvoiceCandidateIds.clear();
+							prefetchedData = ICPrefetchedData.EMPTY;
+
+							result.incrementChunksCount();
+							Loggables.get().addLog("Update invalid progress: {}", result.getSummary());
 						}
 					})
 					//
-					.process(candidatesToUpdate);
+					.process(candidatesToUpdateWithPrefetch);
+		}
+		finally
+		{
+			prefetchedData = ICPrefetchedData.EMPTY;
+			pageToPrefetch = null;
 		}
 
 		//
@@ -257,7 +292,7 @@ import lombok.NonNull;
 		// Note: the code originally related to task 06502 has partially been moved to de.metas.invoicecandidate.modelvalidator.M_InoutLine
 		// we'll need those icIols to be up to date to date in order to have QtyWithIssues (updateQtyWithIssues() et al. further down),
 		// and we need them (depending on which handler) for setDeliveredData()
-		populateC_InvoiceCandidate_InOutLine(ic, ic.getC_OrderLine());
+		populateC_InvoiceCandidate_InOutLine(ic, getOrderLineOrNull(ic));
 
 		// updating qty delivered
 		// 07814-IT2 only from now on we have the correct QtyDelivered
@@ -290,7 +325,7 @@ import lombok.NonNull;
 		invoiceCandidateHandlerBL.setC_UOM_ID(ic);
 
 		// 06539 add qty overdelivery to qty delivered
-		final org.compiere.model.I_C_OrderLine ol = ic.getC_OrderLine();
+		final org.compiere.model.I_C_OrderLine ol = getOrderLineOrNull(ic);
 		if (ol != null)
 		{
 			ic.setQtyOrderedOverUnder(ol.getQtyOrderedOverUnder());
@@ -351,10 +386,16 @@ import lombok.NonNull;
 
 		final IContextAware context = InterfaceWrapperHelper.getContextAware(ic);
 
-		final List<I_M_InOutLine> inoutLines = inOutDAO.retrieveLinesForOrderLine(orderLine, I_M_InOutLine.class);
+		final boolean prefetched = prefetchedData.isPrefetched(ic);
+		final List<I_M_InOutLine> inoutLines = prefetched
+				? prefetchedData.getInOutLines(orderLine)
+				: inOutDAO.retrieveLinesForOrderLine(orderLine, I_M_InOutLine.class);
 		for (final I_M_InOutLine inOutLine : inoutLines)
 		{
-			if (invoiceCandDAO.existsInvoiceCandidateInOutLinesForInvoiceCandidate(ic, inOutLine))
+			final boolean exists = prefetched
+					? prefetchedData.existsInvoiceCandidateInOutLine(ic, inOutLine)
+					: invoiceCandDAO.existsInvoiceCandidateInOutLinesForInvoiceCandidate(ic, inOutLine);
+			if (exists)
 			{
 				continue; // nothing to to, record already exists
 			}
@@ -367,6 +408,44 @@ import lombok.NonNull;
 		}
 	}
 
+	private org.compiere.model.I_C_OrderLine getOrderLineOrNull(final I_C_Invoice_Candidate ic)
+	{
+		final I_C_OrderLine orderLine = prefetchedData.getOrderLineOrNull(ic.getC_OrderLine_ID());
+		return orderLine != null ? orderLine : ic.getC_OrderLine();
+	}
+
+	/**
+	 * Wraps the given iterator, such that the order lines, inout lines and existing {@link I_C_InvoiceCandidate_InOutLine}s are loaded with one query per <code>prefetchSize</code> invoice candidates,
+	 * instead of some queries for each invoice candidate.
+	 * <p>
+	 * The iterator is only remembering each page; the data is loaded by {@link #prefetchIfNeeded()} when the page's first invoice candidate is processed, i.e. in the chunk's transaction.
+	 */
+	private Iterator<I_C_Invoice_Candidate> prefetching(final Iterator<I_C_Invoice_Candidate> invoiceCandidates, final int prefetchSize)
+	{
+		if (prefetchSize <= 0)
+		{
+			return invoiceCandidates;
+		}
+
+		return Iterators.concat(Iterators.transform(
+				Iterators.partition(invoiceCandidates, prefetchSize),
+				page -> {
+					pageToPrefetch = page;
+					return page.iterator();
+				}));
+	}
+
+	private void prefetchIfNeeded()
+	{
+		if (pageToPrefetch == null)
+		{
+			return;
+		}
+
+		prefetchedData = ICPrefetchedData.prefetch(pageToPrefetch, inOutDAO, invoiceCandDAO);
+		pageToPrefetch = null;
+	}
+
 	private final void assertNotExecuted()
 	{
 		Check.assume(!executed, "Updater not executed: {}", this);
@@ -474,6 +553,11 @@ import lombok.NonNull;
 		return sysConfigBL.getIntValue(SYSCONFIG_ItemsPerBatch, DEFAULT_ItemsPerBatch);
 	}
 
+	private final int getPrefetchSize()
+	{
+		return sysConfigBL.getIntValue(SYSCONFIG_PrefetchSize, DEFAULT_PrefetchSize);
+	}
+
 	/**
 	 * IC update result.
 	 *
@@ -482,8 +566,10 @@ import lombok.NonNull;
 	 */
 	private static final class ICUpdateResult
 	{
+		private final Stopwatch stopwatch = Stopwatch.createStarted();
 		private int countOk = 0;
 		private int countErrors = 0;
+		private int countChunks = 0;
 
 		public final void addInvoiceCandidate(final I_C_Invoice_Candidate ic)
 		{
@@ -495,6 +581,11 @@ import lombok.NonNull;
 			countErrors++;
 		}
 
+		public void incrementChunksCount()
+		{
+			countChunks++;
+		}
+
 		@Override
 		public final String toString()
 		{
@@ -503,7 +594,89 @@ import lombok.NonNull;
 
 		public String getSummary()
 		{
-			return "Updated " + countOk + " invoice candidates, " + countErrors + " errors";
+			final long elapsedMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+			final long countPerSecond = elapsedMillis > 0 ? (countOk + countErrors) * 1000L / elapsedMillis : 0;
+			return "Updated " + countOk + " invoice candidates, " + countErrors + " errors"
+					+ " (" + countChunks + " chunks in " + stopwatch + ", " + countPerSecond + " candidates/sec)";
+		}
+	}
+
+	/**
+	 * Data loaded upfront for a page of invoice candidates to be updated.
+	 */
+	private static final class ICPrefetchedData
+	{
+		public static final ICPrefetchedData EMPTY = new ICPrefetchedData(ImmutableSet.of(), ImmutableMap.of(), ImmutableListMultimap.of(), ImmutableSetMultimap.of());
+
+		public static ICPrefetchedData prefetch(
+				final List<I_C_Invoice_Candidate> ics,
+				final IInOutDAO inOutDAO,
+				final IInvoiceCandDAO invoiceCandDAO)
+		{
+			final ImmutableSet<Integer> invoiceCandidateIds = ics.stream()
+					.map(I_C_Invoice_Candidate::getC_Invoice_Candidate_ID)
+					.collect(ImmutableSet.toImmutableSet());
+
+			final Set<OrderLineId> orderLineIds = ics.stream()
+					.map(ic -> OrderLineId.ofRepoIdOrNull(ic.getC_OrderLine_ID()))
+					.filter(orderLineId -> orderLineId != null)
+					.collect(ImmutableSet.toImmutableSet());
+
+			final ImmutableMap<Integer, I_C_OrderLine> orderLinesById = orderLineIds.isEmpty()
+					? ImmutableMap.of()
+					: Services.get(IQueryBL.class)
+							.createQueryBuilder(I_C_OrderLine.class)
+							.addInArrayFilter(I_C_OrderLine.COLUMNNAME_C_OrderLine_ID, orderLineIds)
+							.create()
+							.stream()
+							.collect(ImmutableMap.toImmutableMap(I_C_OrderLine::getC_OrderLine_ID, orderLine -> orderLine));
+
+			return new ICPrefetchedData(
+					invoiceCandidateIds,
+					orderLinesById,
+					inOutDAO.retrieveLinesForOrderLines(orderLineIds, I_M_InOutLine.class),
+					invoiceCandDAO.retrieveInOutLineIdsByInvoiceCandidateId(invoiceCandidateIds));
+		}
+
+		private final ImmutableSet<Integer> invoiceCandidateIds;
+		private final ImmutableMap<Integer, I_C_OrderLine> orderLinesById;
+		private final ImmutableListMultimap<OrderLineId, I_M_InOutLine> inoutLinesByOrderLineId;
+		private final ImmutableSetMultimap<Integer, Integer> inoutLineIdsByInvoiceCandidateId;
+
+		private ICPrefetchedData(
+				final ImmutableSet<Integer> invoiceCandidateIds,
+				final ImmutableMap<Integer, I_C_OrderLine> orderLinesById,
+				final ImmutableListMultimap<OrderLineId, I_M_InOutLine> inoutLinesByOrderLineId,
+				final ImmutableSetMultimap<Integer, Integer> inoutLineIdsByInvoiceCandidateId)
+		{
+			this.invoiceCandidateIds = invoiceCandidateIds;
+			this.orderLinesById = orderLinesById;
+			this.inoutLinesByOrderLineId = inoutLinesByOrderLineId;
+			this.inoutLineIdsByInvoiceCandidateId = inoutLineIdsByInvoiceCandidateId;
+		}
+
+		/**
+		 * @return true if the data for given invoice candidate and its (unchanged) order line was prefetched
+		 */
+		public boolean isPrefetched(final I_C_Invoice_Candidate ic)
+		{
+			return invoiceCandidateIds.contains(ic.getC_Invoice_Candidate_ID())
+					&& (ic.getC_OrderLine_ID() <= 0 || orderLinesById.containsKey(ic.getC_OrderLine_ID()));
+		}
+
+		public I_C_OrderLine getOrderLineOrNull(final int orderLineId)
+		{
+			return orderLineId > 0 ? orderLinesById.get(orderLineId) : null;
+		}
+
+		public List<I_M_InOutLine> getInOutLines(final org.compiere.model.I_C_OrderLine orderLine)
+		{
+			return inoutLinesByOrderLineId.get(OrderLineId.ofRepoId(orderLine.getC_OrderLine_ID()));
+		}
+
+		public boolean existsInvoiceCandidateInOutLine(final I_C_Invoice_Candidate ic, final I_M_InOutLine inoutLine)
+		{
+			return inoutLineIdsByInvoiceCandidateId.containsEntry(ic.getC_Invoice_Candidate_ID(), inoutLine.getM_InOutLine_ID());
 		}
 	}
 
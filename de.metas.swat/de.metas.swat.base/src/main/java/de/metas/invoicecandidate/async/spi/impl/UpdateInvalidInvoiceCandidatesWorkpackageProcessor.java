@@ -6,7 +6,9 @@ import org.adempiere.ad.trx.api.ITrxManager;
 import org.adempiere.model.InterfaceWrapperHelper;
 import org.adempiere.service.ISysConfigBL;
 
+import de.metas.async.api.IWorkPackageQueue;
 import de.metas.async.model.I_C_Queue_WorkPackage;
+import de.metas.async.processor.IWorkPackageQueueFactory;
 import de.metas.async.spi.WorkpackageProcessorAdapter;
 import de.metas.invoicecandidate.api.IInvoiceCandBL;
 import de.metas.invoicecandidate.api.IInvoiceCandDAO;
@@ -48,6 +50,7 @@ import de.metas.util.Services;
  * <li>to schedule an invoice candidates update please use {@link #schedule(Properties, String)}.
  * <li>you can set the maximum number of invalid ICs to update per run, by using <code>AD_Sysconfig</code> {@value #SYSCONFIG_MaxInvoiceCandidatesToUpdate}. If there are more invalid ICs than this
  * specified maximum, then the work package processor will schedule another workpackage for the remainder.
+ * <li>you can set how many of those workpackages shall be scheduled at once, by using <code>AD_Sysconfig</code> {@value #SYSCONFIG_MaxParallelWorkpackages}. They will be processed in parallel if the queue processor's pool size allows it.
  * </ul>
  *
  *
@@ -78,6 +81,9 @@ public class UpdateInvalidInvoiceCandidatesWorkpackageProcessor extends Workpack
 
 	private static final int DEFAULT_MaxInvoiceCandidatesToUpdate = 500;
 
+	private static final String SYSCONFIG_MaxParallelWorkpackages = "de.metas.invoicecandidate.async.spi.impl.UpdateInvalidInvoiceCandidatesWorkpackageProcessor.MaxParallelWorkpackages";
+	private static final int DEFAULT_MaxParallelWorkpackages = 1;
+
 	// services
 	private final transient ITrxManager trxManager = Services.get(ITrxManager.class);
 	private final transient ISysConfigBL sysConfigBL = Services.get(ISysConfigBL.class);
@@ -124,7 +130,13 @@ public class UpdateInvalidInvoiceCandidatesWorkpackageProcessor extends Workpack
 					.setTaggedWithNoTag()
 					.countToBeTagged();
 
-			if (countRemaining > 0)
+			final int maxParallelWorkpackages = getMaxParallelWorkpackages();
+			if (countRemaining > 0 && maxParallelWorkpackages > 1)
+			{
+				final int countScheduled = scheduleParallelWorkpackages(ctx, countRemaining, maxInvoiceCandidatesToUpdate, maxParallelWorkpackages);
+				Loggables.get().addLog("Scheduled {} workpackages for {} remaining recompute records", countScheduled, countRemaining);
+			}
+			else if (countRemaining > 0)
 			{
 				final IInvoiceCandUpdateSchedulerRequest request = InvoiceCandUpdateSchedulerRequest.of(ctx, localTrxName);
 				schedule(request);
@@ -135,9 +147,38 @@ public class UpdateInvalidInvoiceCandidatesWorkpackageProcessor extends Workpack
 		return Result.SUCCESS;
 	}
 
+	/**
+	 * Schedules as many workpackages as needed to update the remaining invalid ICs, but no more than <code>maxParallelWorkpackages</code> shall be pending at a time.
+	 * Concurrent workpackages are not updating the same ICs because each one tags its own ICs (skipping the ones which are tagged by the others).
+	 *
+	 * @return how many workpackages were scheduled
+	 */
+	private int scheduleParallelWorkpackages(final Properties ctx, final int countRemaining, final int maxInvoiceCandidatesToUpdate, final int maxParallelWorkpackages)
+	{
+		final IWorkPackageQueue queue = Services.get(IWorkPackageQueueFactory.class).getQueueForEnqueuing(ctx, UpdateInvalidInvoiceCandidatesWorkpackageProcessor.class);
+
+		final int countWorkpackagesNeeded = (countRemaining + maxInvoiceCandidatesToUpdate - 1) / maxInvoiceCandidatesToUpdate;
+		final int countWorkpackagesPending = Math.max(queue.size() - 1, 0); // the current workpackage is not yet flagged as processed
+		final int countWorkpackagesToSchedule = Math.min(countWorkpackagesNeeded, maxParallelWorkpackages) - countWorkpackagesPending;
+
+		for (int i = 0; i < countWorkpackagesToSchedule; i++)
+		{
+			queue.newBlock()
+					.newWorkpackage()
+					.build();
+		}
+
+		return Math.max(countWorkpackagesToSchedule, 0);
+	}
+
 	private final int getMaxInvoiceCandidatesToUpdate()
 	{
 		return sysConfigBL.getIntValue(SYSCONFIG_MaxInvoiceCandidatesToUpdate, DEFAULT_MaxInvoiceCandidatesToUpdate);
 	}
 
+	private final int getMaxParallelWorkpackages()
+	{
+		return sysConfigBL.getIntValue(SYSCONFIG_MaxParallelWorkpackages, DEFAULT_MaxParallelWorkpackages);
+	}
+
 }
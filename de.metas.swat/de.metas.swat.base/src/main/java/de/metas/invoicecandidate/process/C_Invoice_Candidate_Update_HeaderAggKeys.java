@@ -26,7 +26,7 @@ package de.metas.invoicecandidate.process;
  */
 
 
-import java.util.Iterator;
+import java.util.stream.Stream;
 
 import org.adempiere.ad.trx.api.ITrx;
 import org.adempiere.model.InterfaceWrapperHelper;
@@ -62,11 +62,10 @@ public class C_Invoice_Candidate_Update_HeaderAggKeys extends JavaProcess
 	{
 		int counter = 0;
 
-		final Iterator<I_C_Invoice_Candidate> unprocessedCands = invoiceCandDAO.retrieveNonProcessed(new PlainContextAware(getCtx(), ITrx.TRXNAME_None));
-
-		try (final IAutoCloseable updateInProgressCloseable = invoiceCandBL.setUpdateProcessInProgress())
+		try (final Stream<I_C_Invoice_Candidate> unprocessedCands = invoiceCandDAO.streamNonProcessed(new PlainContextAware(getCtx(), ITrx.TRXNAME_None));
+				final IAutoCloseable updateInProgressCloseable = invoiceCandBL.setUpdateProcessInProgress())
 		{
-			for (final I_C_Invoice_Candidate ic : IteratorUtils.asIterable(unprocessedCands))
+			for (final I_C_Invoice_Candidate ic : IteratorUtils.asIterable(unprocessedCands.iterator()))
 			{
 				Services.get(IAggregationBL.class)
 						.getUpdateProcessor()
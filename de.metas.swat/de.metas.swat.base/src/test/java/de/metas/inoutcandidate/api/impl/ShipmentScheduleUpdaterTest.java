@@ -0,0 +1,240 @@
+package de.metas.inoutcandidate.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.adempiere.ad.trx.api.ITrxListenerManager.TrxEventTiming;
+import org.adempiere.ad.trx.api.ITrxManager;
+import org.adempiere.inout.util.ShipmentScheduleQtyOnHandStorageFactory;
+import org.adempiere.model.InterfaceWrapperHelper;
+import org.adempiere.model.PlainContextAware;
+import org.adempiere.service.ISysConfigBL;
+import org.adempiere.test.AdempiereTestHelper;
+import org.compiere.util.Env;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import de.metas.inoutcandidate.api.IShipmentScheduleBL;
+import de.metas.inoutcandidate.api.IShipmentScheduleHandlerBL;
+import de.metas.inoutcandidate.api.IShipmentScheduleInvalidateRepository;
+import de.metas.inoutcandidate.api.IShipmentSchedulePA;
+import de.metas.inoutcandidate.api.OlAndSched;
+import de.metas.inoutcandidate.api.ShipmentScheduleId;
+import de.metas.inoutcandidate.model.I_M_ShipmentSchedule;
+import de.metas.inoutcandidate.spi.ShipmentScheduleReferencedLineFactory;
+import de.metas.material.cockpit.stock.StockRepository;
+import de.metas.process.PInstanceId;
+import de.metas.util.Services;
+import lombok.Value;
+
+/*
+ * #%L
+ * de.metas.swat.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ShipmentScheduleUpdaterTest
+{
+	private static final String SYSCONFIG_PartitionedUpdateThreadsCount = "de.metas.inoutcandidate.api.impl.ShipmentScheduleUpdater.PartitionedUpdate.ThreadsCount";
+	private static final String SYSCONFIG_PartitionedUpdateMinSchedulesCount = "de.metas.inoutcandidate.api.impl.ShipmentScheduleUpdater.PartitionedUpdate.MinSchedulesCount";
+
+	private static final int NEW_SCHEDULES_COUNT = 4;
+
+	private ITrxManager trxManager;
+
+	private final List<String> deleteSchedulesWithoutOrderLinesTrxNames = new CopyOnWriteArrayList<>();
+	private final List<String> createMissingCandidatesTrxNames = new CopyOnWriteArrayList<>();
+	private final AtomicBoolean newSchedulesCommitted = new AtomicBoolean(false);
+	private final List<I_M_ShipmentSchedule> invalidSchedules = new CopyOnWriteArrayList<>();
+	private final List<UpdateSchedulesCall> updateSchedulesCalls = new CopyOnWriteArrayList<>();
+
+	@Value
+	private static class UpdateSchedulesCall
+	{
+		String trxName;
+		boolean newSchedulesCommitted;
+		Set<ShipmentScheduleId> shipmentScheduleIds;
+	}
+
+	@Before
+	public void init()
+	{
+		AdempiereTestHelper.get().init();
+		trxManager = Services.get(ITrxManager.class);
+
+		Services.registerService(IShipmentSchedulePA.class, new ShipmentSchedulePA()
+		{
+			@Override
+			public void deleteSchedulesWithoutOrderLines()
+			{
+				deleteSchedulesWithoutOrderLinesTrxNames.add(trxManager.getThreadInheritedTrxName());
+			}
+
+			@Override
+			public List<OlAndSched> retrieveInvalid(final PInstanceId pinstanceId)
+			{
+				return invalidSchedules.stream()
+						.map(sched -> OlAndSched.builder()
+								.shipmentSchedule(sched)
+								.deliverRequest(() -> BigDecimal.ONE)
+								.build())
+						.collect(ImmutableList.toImmutableList());
+			}
+		});
+
+		Services.registerService(IShipmentScheduleHandlerBL.class, new ShipmentScheduleHandlerBL()
+		{
+			@Override
+			public List<I_M_ShipmentSchedule> createMissingCandidates(final Properties ctx, final String trxName)
+			{
+				final String trxNameEffective = trxManager.getThreadInheritedTrxName();
+				createMissingCandidatesTrxNames.add(trxNameEffective);
+				trxManager.getTrxListenerManager(trxNameEffective)
+						.newEventListener(TrxEventTiming.AFTER_COMMIT)
+						.registerHandlingMethod(trx -> newSchedulesCommitted.set(true));
+
+				final ImmutableList.Builder<I_M_ShipmentSchedule> schedules = ImmutableList.builder();
+				for (int i = 1; i <= NEW_SCHEDULES_COUNT; i++)
+				{
+					final I_M_ShipmentSchedule sched = InterfaceWrapperHelper.newInstance(I_M_ShipmentSchedule.class, PlainContextAware.newWithThreadInheritedTrx(ctx));
+					sched.setM_Product_ID(i);
+					InterfaceWrapperHelper.save(sched);
+					schedules.add(sched);
+				}
+				return schedules.build();
+			}
+		});
+
+		Services.registerService(IShipmentScheduleInvalidateRepository.class, new ShipmentScheduleInvalidateRepository()
+		{
+			@Override
+			public void invalidateShipmentSchedules(final Set<ShipmentScheduleId> shipmentScheduleIds)
+			{
+				shipmentScheduleIds.forEach(id -> invalidSchedules.add(InterfaceWrapperHelper.load(id.getRepoId(), I_M_ShipmentSchedule.class)));
+			}
+
+			@Override
+			public void markAllToRecomputeOutOfTrx(final PInstanceId pinstanceId)
+			{
+				// nothing to mark
+			}
+
+			@Override
+			public void deleteRecomputeMarkersOutOfTrx(final PInstanceId adPInstanceId)
+			{
+				// nothing to delete
+			}
+
+			@Override
+			public void releaseRecomputeMarkerOutOfTrx(final PInstanceId adPInstanceId)
+			{
+				// nothing to release
+			}
+		});
+
+		Services.registerService(IShipmentScheduleBL.class, new ShipmentScheduleBL(
+				new ShipmentScheduleQtyOnHandStorageFactory(new StockRepository()),
+				new ShipmentScheduleReferencedLineFactory())
+		{
+			@Override
+			public void updateSchedules(final Properties ctx, final List<OlAndSched> olsAndScheds, final String trxName)
+			{
+				final Set<ShipmentScheduleId> shipmentScheduleIds = olsAndScheds.stream()
+						.map(olAndSched -> ShipmentScheduleId.ofRepoId(olAndSched.getSched().getM_ShipmentSchedule_ID()))
+						.collect(Collectors.toSet());
+				updateSchedulesCalls.add(new UpdateSchedulesCall(trxManager.getThreadInheritedTrxName(), newSchedulesCommitted.get(), shipmentScheduleIds));
+			}
+		});
+	}
+
+	/** Runs the updater in a new (thread inherited) transaction, like the workpackage processor does. */
+	private String updateShipmentSchedulesInNewTrx()
+	{
+		final ShipmentScheduleUpdater updater = new ShipmentScheduleUpdater()
+		{
+			@Override
+			List<List<OlAndSched>> partition(final List<OlAndSched> olsAndScheds)
+			{
+				// each shipment schedule is a partition of its own
+				return olsAndScheds.stream().map(ImmutableList::of).collect(ImmutableList.toImmutableList());
+			}
+		};
+
+		final String[] callerTrxName = new String[1];
+		trxManager.runInNewTrx(() -> {
+			callerTrxName[0] = trxManager.getThreadInheritedTrxName();
+			updater.updateShipmentSchedule(Env.getCtx(), 0, PInstanceId.ofRepoId(1), false);
+		});
+		return callerTrxName[0];
+	}
+
+	@Test
+	public void newSchedulesAndPartitionedUpdate_newSchedulesAreCommittedBeforeUpdatingThePartitions()
+	{
+		Services.get(ISysConfigBL.class).setValue(SYSCONFIG_PartitionedUpdateThreadsCount, 2, 0);
+		Services.get(ISysConfigBL.class).setValue(SYSCONFIG_PartitionedUpdateMinSchedulesCount, 1, 0);
+
+		final String callerTrxName = updateShipmentSchedulesInNewTrx();
+
+		// the new shipment schedules were created in their own trx
+		assertThat(createMissingCandidatesTrxNames).hasSize(1);
+		final String newSchedulesTrxName = createMissingCandidatesTrxNames.get(0);
+		assertThat(newSchedulesTrxName).isNotEqualTo(callerTrxName);
+		assertThat(deleteSchedulesWithoutOrderLinesTrxNames).containsExactly(newSchedulesTrxName);
+
+		// all new shipment schedules were updated, each partition in its own trx, after the new schedules were committed
+		assertThat(updateSchedulesCalls).hasSize(NEW_SCHEDULES_COUNT);
+		assertThat(updateSchedulesCalls).allMatch(call -> call.isNewSchedulesCommitted());
+		assertThat(updateSchedulesCalls).allMatch(call -> call.getShipmentScheduleIds().size() == 1);
+		assertThat(updateSchedulesCalls.stream().flatMap(call -> call.getShipmentScheduleIds().stream()).collect(Collectors.toSet()))
+				.hasSize(NEW_SCHEDULES_COUNT);
+
+		final Set<String> partitionTrxNames = updateSchedulesCalls.stream().map(UpdateSchedulesCall::getTrxName).collect(Collectors.toSet());
+		assertThat(partitionTrxNames)
+				.hasSize(NEW_SCHEDULES_COUNT)
+				.doesNotContainNull()
+				.doesNotContain(callerTrxName, newSchedulesTrxName);
+	}
+
+	@Test
+	public void partitionedUpdateDisabled_everythingInCallerTrx()
+	{
+		Services.get(ISysConfigBL.class).setValue(SYSCONFIG_PartitionedUpdateThreadsCount, 0, 0);
+
+		final String callerTrxName = updateShipmentSchedulesInNewTrx();
+
+		assertThat(deleteSchedulesWithoutOrderLinesTrxNames).containsExactly(callerTrxName);
+		assertThat(createMissingCandidatesTrxNames).containsExactly(callerTrxName);
+
+		assertThat(updateSchedulesCalls).hasSize(1);
+		final UpdateSchedulesCall call = updateSchedulesCalls.get(0);
+		assertThat(call.getTrxName()).isEqualTo(callerTrxName);
+		assertThat(call.isNewSchedulesCommitted()).isFalse();
+		assertThat(call.getShipmentScheduleIds()).hasSize(NEW_SCHEDULES_COUNT);
+	}
+}
@@ -0,0 +1,79 @@
+package de.metas.inoutcandidate.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+
+/*
+ * #%L
+ * de.metas.swat.base
+ * %%
+ * Copyright (C) 2018 metas GmbH
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this program. If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+public class ShipmentSchedulesPartitionerTest
+{
+	/** Each item is "name:key1,key2,..." */
+	private static List<List<String>> partition(final String... items)
+	{
+		return ShipmentSchedulesPartitioner.partition(
+				ImmutableList.copyOf(items),
+				item -> Splitter.on(',').splitToList(item.substring(item.indexOf(':') + 1)));
+	}
+
+	@Test
+	public void independentItems()
+	{
+		assertThat(partition("a:p1", "b:p2", "c:p3"))
+				.containsExactly(
+						ImmutableList.of("a:p1"),
+						ImmutableList.of("b:p2"),
+						ImmutableList.of("c:p3"));
+	}
+
+	@Test
+	public void transitivelySharedKeys_keepOriginalOrder()
+	{
+		// a-c share p1, c-e share o1 => a, c, e are in the same partition
+		assertThat(partition("a:p1", "b:p2", "c:p1,o1", "d:p3", "e:p4,o1", "f:p2"))
+				.containsExactly(
+						ImmutableList.of("a:p1", "c:p1,o1", "e:p4,o1"),
+						ImmutableList.of("b:p2", "f:p2"),
+						ImmutableList.of("d:p3"));
+	}
+
+	@Test
+	public void laterItemJoinsTwoPartitions()
+	{
+		assertThat(partition("a:p1", "b:p2", "c:p3", "d:p3,p1"))
+				.containsExactly(
+						ImmutableList.of("a:p1", "c:p3", "d:p3,p1"),
+						ImmutableList.of("b:p2"));
+	}
+
+	@Test
+	public void empty()
+	{
+		assertThat(partition()).isEmpty();
+	}
+}
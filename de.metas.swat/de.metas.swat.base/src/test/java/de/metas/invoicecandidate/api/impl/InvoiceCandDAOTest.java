@@ -9,11 +9,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.adempiere.ad.dao.IQueryBL;
 import org.adempiere.test.AdempiereTestHelper;
 import org.compiere.model.I_C_PaymentTerm;
+import org.compiere.model.I_M_InOutLine;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
 
+import de.metas.invoicecandidate.model.I_C_InvoiceCandidate_InOutLine;
 import de.metas.invoicecandidate.model.I_C_Invoice_Candidate;
 import de.metas.process.PInstanceId;
 import de.metas.util.Services;
@@ -105,6 +108,44 @@ public class InvoiceCandDAOTest
 				.isLessThanOrEqualTo(0);
 	}
 
+	@Test
+	public void retrieveInOutLineIdsByInvoiceCandidateId()
+	{
+		final I_C_Invoice_Candidate ic1 = newInstance(I_C_Invoice_Candidate.class);
+		save(ic1);
+		final I_C_Invoice_Candidate ic2 = newInstance(I_C_Invoice_Candidate.class);
+		save(ic2);
+		final I_C_Invoice_Candidate icWithoutInOutLines = newInstance(I_C_Invoice_Candidate.class);
+		save(icWithoutInOutLines);
+
+		final I_M_InOutLine iol1 = newInstance(I_M_InOutLine.class);
+		save(iol1);
+		final I_M_InOutLine iol2 = newInstance(I_M_InOutLine.class);
+		save(iol2);
+
+		createICIOL(ic1, iol1, true);
+		createICIOL(ic1, iol2, true);
+		createICIOL(ic2, iol2, false); // inactive => shall be ignored
+
+		final ImmutableSetMultimap<Integer, Integer> result = new InvoiceCandDAO().retrieveInOutLineIdsByInvoiceCandidateId(ImmutableList.of(
+				ic1.getC_Invoice_Candidate_ID(),
+				ic2.getC_Invoice_Candidate_ID(),
+				icWithoutInOutLines.getC_Invoice_Candidate_ID()));
+
+		assertThat(result.get(ic1.getC_Invoice_Candidate_ID())).containsExactlyInAnyOrder(iol1.getM_InOutLine_ID(), iol2.getM_InOutLine_ID());
+		assertThat(result.get(ic2.getC_Invoice_Candidate_ID())).isEmpty();
+		assertThat(result.get(icWithoutInOutLines.getC_Invoice_Candidate_ID())).isEmpty();
+	}
+
+	private static void createICIOL(final I_C_Invoice_Candidate ic, final I_M_InOutLine iol, final boolean active)
+	{
+		final I_C_InvoiceCandidate_InOutLine iciol = newInstance(I_C_InvoiceCandidate_InOutLine.class);
+		iciol.setC_Invoice_Candidate(ic);
+		iciol.setM_InOutLine(iol);
+		iciol.setIsActive(active);
+		save(iciol);
+	}
+
 	private int getPaymentTermId(@NonNull final I_C_Invoice_Candidate ic)
 	{
 		final Integer paymentTermIdOrNull = getValueOverrideOrValue(ic, I_C_Invoice_Candidate.COLUMNNAME_C_PaymentTerm_ID);